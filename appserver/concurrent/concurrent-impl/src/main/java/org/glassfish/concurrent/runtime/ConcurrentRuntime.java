@@ -278,12 +278,38 @@ public class ConcurrentRuntime {
     }
 
 
+    /**
+     * Returns queue wait and execution times of the tasks of a managed executor service or
+     * a managed scheduled executor service.
+     * <p>
+     * The times are collected by the {@link ContextSetupProviderImpl} of the executor's context
+     * service, so they include all executors and contextual proxies sharing a configured
+     * context service.
+     *
+     * @param jndiName JNDI name of the executor
+     * @return the statistics or null if there is no such executor
+     */
+    public synchronized TaskTimingStatistics getTaskStatistics(SimpleJndiName jndiName) {
+        final AbstractManagedExecutorService executor;
+        if (managedExecutorServiceMap.containsKey(jndiName)) {
+            executor = managedExecutorServiceMap.get(jndiName);
+        } else {
+            executor = managedScheduledExecutorServiceMap.get(jndiName);
+        }
+        if (executor == null || !(executor.getContextSetupProvider() instanceof ContextSetupProviderImpl)) {
+            return null;
+        }
+        return ((ContextSetupProviderImpl) executor.getContextSetupProvider()).getTaskStatistics();
+    }
+
+
     /**
      * Shut down the runtime service.
      *
      * @param jndiName
      */
     public void shutdownManagedExecutorService(SimpleJndiName jndiName) {
+        logTaskStatistics(jndiName);
         ManagedExecutorServiceImpl mes = removeManagedExecutorService(jndiName);
         if (mes != null) {
             mes.shutdownNow();
@@ -297,6 +323,7 @@ public class ConcurrentRuntime {
      * @param jndiName
      */
     public void shutdownScheduledManagedExecutorService(SimpleJndiName jndiName) {
+        logTaskStatistics(jndiName);
         ManagedScheduledExecutorServiceImpl mses = removeManagedScheduledExecutorService(jndiName);
         if (mses != null) {
             mses.shutdownNow();
@@ -374,6 +401,13 @@ public class ConcurrentRuntime {
     }
 
 
+    private void logTaskStatistics(SimpleJndiName jndiName) {
+        if (LOG.isLoggable(Level.FINE)) {
+            LOG.log(Level.FINE, "Shutting down {0}, {1}", new Object[] {jndiName, getTaskStatistics(jndiName)});
+        }
+    }
+
+
     private TransactionSetupProvider createTxSetupProvider(boolean keepTransactionUnchanged, boolean clearTransaction) {
         return new TransactionSetupProviderImpl(transactionManager, keepTransactionUnchanged, clearTransaction);
     }
@@ -76,6 +76,8 @@ public class ContextSetupProviderImpl implements ContextSetupProvider {
 
     private final ContextSetup setup;
 
+    private transient TaskTimingStatistics taskStatistics = new TaskTimingStatistics();
+
     public ContextSetupProviderImpl(Set<ConcurrencyContextType> propagated, Set<ConcurrencyContextType> cleared,
         Set<ConcurrencyContextType> unchanged) {
         this.setup = new ContextSetup(propagated, cleared, unchanged);
@@ -92,6 +94,14 @@ public class ContextSetupProviderImpl implements ContextSetupProvider {
     }
 
 
+    /**
+     * @return queue wait and execution times of the tasks run with this provider's context.
+     */
+    public TaskTimingStatistics getTaskStatistics() {
+        return taskStatistics;
+    }
+
+
     @Override
     public ContextHandle saveContext(ContextService contextService) {
         return saveContext(contextService, Map.of());
@@ -128,6 +138,10 @@ public class ContextSetupProviderImpl implements ContextSetupProvider {
             return null;
         }
         InvocationContext invocationCtx = (InvocationContext) contextHandle;
+        long capturedAt = invocationCtx.takeTimestamp();
+        if (capturedAt != 0L) {
+            taskStatistics.recordQueueWait(System.nanoTime() - capturedAt);
+        }
         ComponentInvocation invocation = invocationCtx.getInvocation();
         final String appName = invocation == null ? null : invocation.getAppName();
 
@@ -173,6 +187,10 @@ public class ContextSetupProviderImpl implements ContextSetupProvider {
             return;
         }
         InvocationContext invocationContext = (InvocationContext) contextHandle;
+        long startedAt = invocationContext.takeTimestamp();
+        if (startedAt != 0L) {
+            taskStatistics.recordExecution(System.nanoTime() - startedAt);
+        }
         invocationContext.getContextData().endContext();
         if (invocationContext.getContextClassLoader() != null) {
             Utility.setContextClassLoader(invocationContext.getContextClassLoader());
@@ -282,6 +300,7 @@ public class ContextSetupProviderImpl implements ContextSetupProvider {
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
         in.defaultReadObject();
         boolean nullTransactionManager = in.readBoolean();
+        taskStatistics = new TaskTimingStatistics();
         ConcurrentRuntime concurrentRuntime = ConcurrentRuntime.getRuntime();
         // re-initialize transient fields
         invocationManager = concurrentRuntime.getInvocationManager();
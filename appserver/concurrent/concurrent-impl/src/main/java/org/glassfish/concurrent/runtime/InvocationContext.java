@@ -42,6 +42,9 @@ public class InvocationContext implements ContextHandle {
     private ThreadMgmtData threadCtxData;
     private final boolean useTxOfExecutionThread;
 
+    // System.nanoTime() of the creation, 0 if it was already taken or after deserialization
+    private transient long timestamp;
+
     public InvocationContext(ComponentInvocation invocation, ClassLoader contextClassLoader,
         SecurityContext securityContext, boolean useTxOfExecutionThread, ThreadMgmtData threadManagement) {
         LOG.log(Level.TRACE,
@@ -53,6 +56,7 @@ public class InvocationContext implements ContextHandle {
         this.securityContext = securityContext;
         this.useTxOfExecutionThread = useTxOfExecutionThread;
         this.threadCtxData = threadManagement;
+        this.timestamp = System.nanoTime();
     }
 
 
@@ -81,6 +85,19 @@ public class InvocationContext implements ContextHandle {
     }
 
 
+    /**
+     * A handle saved for a contextual proxy is set up for every call of the proxy,
+     * but only the first one measures the time since the capture of the context.
+     *
+     * @return the System.nanoTime() of the creation of this handle, or 0 if it was already taken.
+     */
+    synchronized long takeTimestamp() {
+        long result = timestamp;
+        timestamp = 0L;
+        return result;
+    }
+
+
     private void writeObject(ObjectOutputStream out) throws IOException {
         // write values for invocation
         String componentId = null;
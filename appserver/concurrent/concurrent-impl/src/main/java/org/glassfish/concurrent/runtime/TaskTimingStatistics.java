@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.concurrent.runtime;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue wait and execution times of the tasks run with the context of a
+ * {@link ContextSetupProviderImpl}.
+ * <p>
+ * The queue wait time is the time between the capture of the context, which happens when the
+ * task is submitted, and the setup of the context on the thread running the task.
+ * The execution time is the time between the setup and the reset of the context.
+ */
+public final class TaskTimingStatistics {
+
+    private final LongAdder taskCount = new LongAdder();
+    private final LongAdder totalQueueWaitTime = new LongAdder();
+    private final LongAccumulator maxQueueWaitTime = new LongAccumulator(Math::max, 0L);
+    private final LongAdder totalExecutionTime = new LongAdder();
+    private final LongAccumulator maxExecutionTime = new LongAccumulator(Math::max, 0L);
+
+    void recordQueueWait(long nanos) {
+        totalQueueWaitTime.add(nanos);
+        maxQueueWaitTime.accumulate(nanos);
+    }
+
+
+    void recordExecution(long nanos) {
+        totalExecutionTime.add(nanos);
+        maxExecutionTime.accumulate(nanos);
+        taskCount.increment();
+    }
+
+
+    /**
+     * @return number of completed executions
+     */
+    public long getTaskCount() {
+        return taskCount.sum();
+    }
+
+
+    public long getTotalQueueWaitTime(TimeUnit unit) {
+        return unit.convert(totalQueueWaitTime.sum(), TimeUnit.NANOSECONDS);
+    }
+
+
+    public long getMaxQueueWaitTime(TimeUnit unit) {
+        return unit.convert(maxQueueWaitTime.get(), TimeUnit.NANOSECONDS);
+    }
+
+
+    public long getTotalExecutionTime(TimeUnit unit) {
+        return unit.convert(totalExecutionTime.sum(), TimeUnit.NANOSECONDS);
+    }
+
+
+    public long getMaxExecutionTime(TimeUnit unit) {
+        return unit.convert(maxExecutionTime.get(), TimeUnit.NANOSECONDS);
+    }
+
+
+    @Override
+    public String toString() {
+        return "TaskTimingStatistics[tasks=" + getTaskCount()
+            + ", totalQueueWaitMillis=" + getTotalQueueWaitTime(TimeUnit.MILLISECONDS)
+            + ", maxQueueWaitMillis=" + getMaxQueueWaitTime(TimeUnit.MILLISECONDS)
+            + ", totalExecutionMillis=" + getTotalExecutionTime(TimeUnit.MILLISECONDS)
+            + ", maxExecutionMillis=" + getMaxExecutionTime(TimeUnit.MILLISECONDS) + "]";
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.concurrent.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.enterprise.concurrent.spi.ContextHandle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+public class ContextSetupProviderImplTest {
+
+    private ContextSetupProviderImpl provider;
+
+    @BeforeEach
+    public void before() {
+        new ConcurrentRuntime();
+        provider = new ContextSetupProviderImpl(emptySet(), emptySet(), emptySet());
+    }
+
+
+    @Test
+    public void recordsQueueWaitAndExecutionTimes() throws Exception {
+        ContextHandle saved = new InvocationContext(null, null, null, false, new ThreadMgmtData(emptyList()));
+        Thread.sleep(20L);
+        ContextHandle started = provider.setup(saved);
+        Thread.sleep(50L);
+        provider.reset(started);
+
+        TaskTimingStatistics statistics = provider.getTaskStatistics();
+        assertAll(
+            () -> assertEquals(1L, statistics.getTaskCount()),
+            () -> assertThat(statistics.getTotalQueueWaitTime(TimeUnit.MILLISECONDS), greaterThanOrEqualTo(20L)),
+            () -> assertThat(statistics.getMaxExecutionTime(TimeUnit.MILLISECONDS), greaterThanOrEqualTo(50L))
+        );
+    }
+
+
+    @Test
+    public void repeatedSetupDoesNotCountQueueWait() throws Exception {
+        ContextHandle saved = new InvocationContext(null, null, null, false, new ThreadMgmtData(emptyList()));
+        provider.reset(provider.setup(saved));
+        long queueWaitTime = provider.getTaskStatistics().getTotalQueueWaitTime(TimeUnit.NANOSECONDS);
+        Thread.sleep(20L);
+        provider.reset(provider.setup(saved));
+
+        TaskTimingStatistics statistics = provider.getTaskStatistics();
+        assertAll(
+            () -> assertEquals(2L, statistics.getTaskCount()),
+            () -> assertEquals(queueWaitTime, statistics.getTotalQueueWaitTime(TimeUnit.NANOSECONDS))
+        );
+    }
+}
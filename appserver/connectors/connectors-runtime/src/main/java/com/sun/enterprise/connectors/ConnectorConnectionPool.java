@@ -68,6 +68,7 @@ public class ConnectorConnectionPool implements Serializable {
     private boolean lazyConnectionAssoc_;
     private boolean lazyConnectionEnlist_;
     private boolean associateWithThread_;
+    private String associationScope;
     private boolean partitionedPool;
     private boolean poolingOn = true;
     private boolean pingDuringPoolCreation;
@@ -445,6 +446,24 @@ public class ConnectorConnectionPool implements Serializable {
         associateWithThread_ = enabled;
     }
 
+    /**
+     * Queries the scope resources of an associate-with-thread pool are associated with
+     *
+     * @return association scope, null for the default thread scope
+     */
+    public String getAssociationScope() {
+        return associationScope;
+    }
+
+    /**
+     * Setter method of the association scope of an associate-with-thread pool
+     *
+     * @param associationScope thread or processor
+     */
+    public void setAssociationScope(String associationScope) {
+        this.associationScope = associationScope;
+    }
+
     /**
      * Queries the non-transactional pool attribute
      *
@@ -667,6 +686,8 @@ public class ConnectorConnectionPool implements Serializable {
             sb.append(matchConnections_);
             sb.append("\nassociateWithThread_ ");
             sb.append(associateWithThread_);
+            sb.append("\nassociationScope ");
+            sb.append(associationScope);
             sb.append("\nlazyConnectionAssoc_ ");
             sb.append(lazyConnectionAssoc_);
             sb.append("\nlazyConnectionEnlist_ ");
@@ -17,6 +17,7 @@
 
 package com.sun.enterprise.connectors.util;
 
+import java.util.Objects;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -67,6 +68,10 @@ public final class ConnectionPoolReconfigHelper {
             return ReconfigAction.RECREATE_POOL;
         }
 
+        if (!Objects.equals(newCcp.getAssociationScope(), oldCcp.getAssociationScope())) {
+            return ReconfigAction.RECREATE_POOL;
+        }
+
         if (newCcp.isPartitionedPool() != oldCcp.isPartitionedPool()) {
             return ReconfigAction.RECREATE_POOL;
         }
@@ -19,6 +19,8 @@ package com.sun.enterprise.resource;
 
 import static java.util.logging.Level.FINEST;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Logger;
 
 import javax.security.auth.Subject;
@@ -57,7 +59,7 @@ public class ResourceHandle implements com.sun.appserv.connectors.internal.api.R
     private int shareCount; // sharing within a component (XA only)
     private boolean supportsXAResource;
 
-    private volatile boolean busy;
+    private final AtomicBoolean busy = new AtomicBoolean();
 
     private Subject subject;
 
@@ -69,7 +71,8 @@ public class ResourceHandle implements com.sun.appserv.connectors.internal.api.R
     private boolean supportsLazyEnlistment_;
     private boolean supportsLazyAssoc_;
 
-    public final Object lock = new Object();
+    /** Guards the association state, unlike a monitor it does not pin the carrier of a blocked virtual thread */
+    public final ReentrantLock lock = new ReentrantLock();
     private long lastValidated; // holds the latest time at which the connection was validated.
     private int usageCount; // holds the no. of times the handle(connection) is used so far.
     private int partition;
@@ -351,11 +354,22 @@ public class ResourceHandle implements com.sun.appserv.connectors.internal.api.R
     }
 
     public void setBusy(boolean isBusy) {
-        busy = isBusy;
+        busy.set(isBusy);
     }
 
     public boolean isBusy() {
-        return busy;
+        return busy.get();
+    }
+
+    /**
+     * Atomically changes the busy flag, used by lock-free pool data structures to claim and release handles.
+     *
+     * @param expected the expected current value
+     * @param isBusy the new value
+     * @return true if the flag had the expected value and was changed
+     */
+    public boolean compareAndSetBusy(boolean expected, boolean isBusy) {
+        return busy.compareAndSet(expected, isBusy);
     }
 
     public boolean getDestroyByLeakTimeOut() {
@@ -421,6 +421,11 @@ public class ConnectorConnectionPoolDeployer
                     if(LOG.isLoggable(Level.FINE)) {
                         LOG.fine("ASSOCIATEWITHTHREAD");
                     }
+                } else if ("ASSOCIATIONSCOPE".equals(ep.getName().toUpperCase(locale))) {
+                    ccp.setAssociationScope(ep.getValue());
+                    if(LOG.isLoggable(Level.FINE)) {
+                        LOG.fine("ASSOCIATIONSCOPE");
+                    }
                 } else if ("POOLDATASTRUCTURE".equals(ep.getName().toUpperCase(locale))) {
                     ccp.setPoolDataStructureType(ep.getValue());
                     if(LOG.isLoggable(Level.FINE)) {
@@ -125,4 +125,11 @@ public interface PoolLifeCycleListener {
      */
     void connectionRequestDequeued();
 
+    /**
+     * indicates that a connection request left the wait queue after the given time
+     *
+     * @param timeWaitedInMillis time spent in the wait queue
+     */
+    void connectionRequestWaited(long timeWaitedInMillis);
+
 }
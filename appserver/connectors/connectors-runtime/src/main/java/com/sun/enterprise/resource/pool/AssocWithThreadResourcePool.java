@@ -18,6 +18,7 @@
 package com.sun.enterprise.resource.pool;
 
 import java.util.Hashtable;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.glassfish.resourcebase.resources.api.PoolInfo;
 
@@ -35,15 +36,32 @@ import jakarta.transaction.Transaction;
 /**
  * Associates a resource with the thread. When the same thread is used again, it checks whether the resource associated
  * with the thread can serve the request.
+ * <p>
+ * With the <code>AssociationScope</code> pool property set to {@value #PROCESSOR_SCOPE} the resources are associated
+ * with one of a fixed number of slots, one per processor, instead of a ThreadLocal. Threads are spread over the slots by
+ * their id. This keeps the number of associated resources bounded when the pool is used by many short lived threads,
+ * such as virtual threads, which would each strand a resource in a ThreadLocal of their own.
  *
  * @author Aditya Gore, Jagadish Ramu
  */
 public class AssocWithThreadResourcePool extends ConnectionPool {
 
-    private ThreadLocal<AssocWithThreadResourceHandle> localResource = new ThreadLocal<>();
+    /** Value of the AssociationScope pool property associating resources with processor slots */
+    public static final String PROCESSOR_SCOPE = "processor";
+
+    private final ThreadLocal<AssocWithThreadResourceHandle> localResource = new ThreadLocal<>();
+
+    /** Associated resources of the processor scope, null in the thread scope */
+    private final AtomicReferenceArray<AssocWithThreadResourceHandle> processorSlots;
 
     public AssocWithThreadResourcePool(PoolInfo poolInfo, Hashtable env) throws PoolingException {
         super(poolInfo, env);
+        if (PROCESSOR_SCOPE.equalsIgnoreCase(associationScope)) {
+            int slots = Math.min(Runtime.getRuntime().availableProcessors(), maxPoolSize);
+            processorSlots = new AtomicReferenceArray<>(Math.max(slots, 1));
+        } else {
+            processorSlots = null;
+        }
     }
 
     @Override
@@ -63,12 +81,14 @@ public class AssocWithThreadResourcePool extends ConnectionPool {
      */
     @Override
     protected ResourceHandle prefetch(ResourceSpec spec, ResourceAllocator alloc, Transaction tran) {
-        AssocWithThreadResourceHandle ar = localResource.get();
+        final long associationId = getAssociationId();
+        AssocWithThreadResourceHandle ar = getAssociatedResource(associationId);
         if (ar != null) {
-            // synch on ar and do a quick-n-dirty check to see if the local
+            // lock ar and do a quick-n-dirty check to see if the local
             // resource is usable at all
-            synchronized (ar.lock) {
-                if ((ar.getThreadId() != Thread.currentThread().getId()) || ar.hasConnectionErrorOccurred() || ar.isDirty()
+            ar.lock.lock();
+            try {
+                if ((ar.getThreadId() != associationId) || ar.hasConnectionErrorOccurred() || ar.isDirty()
                         || !ar.isAssociated()) {
                     // we were associated with someone else or resource error
                     // occurred or resource was disassociated and used by some one else. So evict
@@ -77,7 +97,7 @@ public class AssocWithThreadResourcePool extends ConnectionPool {
                     // the eviction is because of a resourceError, the resource is
                     // not going to be used anyway.
 
-                    localResource.remove();
+                    removeAssociatedResource(associationId, ar);
                     return null;
                 }
 
@@ -88,7 +108,7 @@ public class AssocWithThreadResourcePool extends ConnectionPool {
                             // evict from ThreadLocal
                             // also, mark the resource as unassociated and make this resource
                             // potentially usable
-                            localResource.remove();
+                            removeAssociatedResource(associationId, ar);
                             ar.setAssociated(false);
                             if (poolLifeCycleListener != null) {
                                 poolLifeCycleListener.connectionNotMatched();
@@ -101,7 +121,7 @@ public class AssocWithThreadResourcePool extends ConnectionPool {
                     }
 
                     if (!isConnectionValid(ar, alloc)) {
-                        localResource.remove();
+                        removeAssociatedResource(associationId, ar);
                         ar.setAssociated(false);
                         // disassociating the connection from the thread.
                         // validation failure will mark the connectionErrorOccurred flag
@@ -122,6 +142,8 @@ public class AssocWithThreadResourcePool extends ConnectionPool {
                     }
                     return ar;
                 }
+            } finally {
+                ar.lock.unlock();
             }
         }
 
@@ -134,16 +156,48 @@ public class AssocWithThreadResourcePool extends ConnectionPool {
     }
 
     /**
-     * to associate a resource with the thread
+     * Identifies what resources are associated with: the id of the current thread, or the index of its slot in the
+     * processor scope.
+     *
+     * @return association id of the current thread
+     */
+    private long getAssociationId() {
+        long threadId = Thread.currentThread().getId();
+        return processorSlots == null ? threadId : threadId % processorSlots.length();
+    }
+
+    private AssocWithThreadResourceHandle getAssociatedResource(long associationId) {
+        return processorSlots == null ? localResource.get() : processorSlots.get((int) associationId);
+    }
+
+    private void removeAssociatedResource(long associationId, AssocWithThreadResourceHandle h) {
+        if (processorSlots == null) {
+            localResource.remove();
+        } else {
+            processorSlots.compareAndSet((int) associationId, h, null);
+        }
+    }
+
+    /**
+     * to associate a resource with the thread, or with its slot in the processor scope
      *
      * @param h ResourceHandle
      */
-    private void setInThreadLocal(AssocWithThreadResourceHandle h) {
+    private void associate(AssocWithThreadResourceHandle h) {
         if (h != null) {
-            synchronized (h.lock) {
-                h.setThreadId(Thread.currentThread().getId());
+            h.lock.lock();
+            try {
+                long associationId = getAssociationId();
+                if (processorSlots == null) {
+                    localResource.set(h);
+                } else if (!processorSlots.compareAndSet((int) associationId, null, h)) {
+                    // another thread of the slot associated a resource meanwhile
+                    return;
+                }
+                h.setThreadId(associationId);
                 h.setAssociated(true);
-                localResource.set(h);
+            } finally {
+                h.lock.unlock();
             }
         }
     }
@@ -176,12 +230,15 @@ public class AssocWithThreadResourcePool extends ConnectionPool {
         // It is possible that Resizer might have marked the resource for recycle
         // and hence we should not use this resource.
         if (result != null) {
-            synchronized (result.lock) {
-                if (dataStructure.getAllResources().contains(result) && ((AssocWithThreadResourceHandle) result).isDirty()) {
+            result.lock.lock();
+            try {
+                if (((AssocWithThreadResourceHandle) result).isDirty() && dataStructure.contains(result)) {
                     // Remove the resource and set to null
                     dataStructure.removeResource(result);
                     result = null;
                 }
+            } finally {
+                result.lock.unlock();
             }
         }
         // If we came here, that's because free doesn't have anything
@@ -193,13 +250,15 @@ public class AssocWithThreadResourcePool extends ConnectionPool {
 
         // DISASSOCIATE
         if (result == null) {
-            synchronized (this) {
-
+            // the pool lock also excludes flushing, resizing and reconfiguring the pool
+            poolLock.lock();
+            try {
                 for (ResourceHandle resource : dataStructure.getAllResources()) {
-                    synchronized (resource.lock) {
+                    resource.lock.lock();
+                    try {
                         // though we are checking resources from within the free list,
                         // we could have a situation where the resource was free upto
-                        // this point, put just before we entered the synchronized block,
+                        // this point, put just before we took the pool lock,
                         // the resource "h" got used by the thread that was associating it
                         // so we need to check for isFree also
 
@@ -214,15 +273,17 @@ public class AssocWithThreadResourcePool extends ConnectionPool {
 
                             break;
                         }
+                    } finally {
+                        resource.lock.unlock();
                     }
                 }
+            } finally {
+                poolLock.unlock();
             }
         }
 
-        if (localResource.get() == null) {
-            if (result instanceof AssocWithThreadResourceHandle) {
-                setInThreadLocal((AssocWithThreadResourceHandle) result);
-            }
+        if (result instanceof AssocWithThreadResourceHandle && getAssociatedResource(getAssociationId()) == null) {
+            associate((AssocWithThreadResourceHandle) result);
         }
 
         return result;
@@ -234,27 +295,32 @@ public class AssocWithThreadResourcePool extends ConnectionPool {
      * @param h ResourceHandle
      */
     @Override
-    protected synchronized void freeUnenlistedResource(ResourceHandle h) {
-        if (this.cleanupResource(h)) {
-            if (h instanceof AssocWithThreadResourceHandle) {
-                // Only when resource handle usage count is more than maxConnUsage
-                if (maxConnectionUsage_ > 0 && h.getUsageCount() >= maxConnectionUsage_) {
-                    performMaxConnectionUsageOperation(h);
-                } else {
-
-                    if (!((AssocWithThreadResourceHandle) h).isAssociated()) {
-                        dataStructure.returnResource(h);
-                    }
-                    // update monitoring data
-                    if (poolLifeCycleListener != null) {
-                        poolLifeCycleListener.decrementConnectionUsed(h.getId());
-                        poolLifeCycleListener.incrementNumConnFree(false, steadyPoolSize);
+    protected void freeUnenlistedResource(ResourceHandle h) {
+        poolLock.lock();
+        try {
+            if (this.cleanupResource(h)) {
+                if (h instanceof AssocWithThreadResourceHandle) {
+                    // Only when resource handle usage count is more than maxConnUsage
+                    if (maxConnectionUsage_ > 0 && h.getUsageCount() >= maxConnectionUsage_) {
+                        performMaxConnectionUsageOperation(h);
+                    } else {
+
+                        if (!((AssocWithThreadResourceHandle) h).isAssociated()) {
+                            dataStructure.returnResource(h);
+                        }
+                        // update monitoring data
+                        if (poolLifeCycleListener != null) {
+                            poolLifeCycleListener.decrementConnectionUsed(h.getId());
+                            poolLifeCycleListener.incrementNumConnFree(false, steadyPoolSize);
+                        }
                     }
+                    // for both the cases of free.add and maxConUsageOperation, a free resource is added.
+                    // Hence notify waiting threads
+                    notifyWaitingThreads();
                 }
-                // for both the cases of free.add and maxConUsageOperation, a free resource is added.
-                // Hence notify waiting threads
-                notifyWaitingThreads();
             }
+        } finally {
+            poolLock.unlock();
         }
     }
 
@@ -277,8 +343,11 @@ public class AssocWithThreadResourcePool extends ConnectionPool {
             // resource
 
             if (resourceHandle instanceof AssocWithThreadResourceHandle) {
-                synchronized (resourceHandle.lock) {
+                resourceHandle.lock.lock();
+                try {
                     ((AssocWithThreadResourceHandle) resourceHandle).setDirty();
+                } finally {
+                    resourceHandle.lock.unlock();
                 }
             }
         }
@@ -27,6 +27,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.Timer;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -45,6 +46,7 @@ import com.sun.enterprise.resource.listener.PoolLifeCycleListener;
 import com.sun.enterprise.resource.pool.datastructure.DataStructure;
 import com.sun.enterprise.resource.pool.datastructure.DataStructureFactory;
 import com.sun.enterprise.resource.pool.resizer.Resizer;
+import com.sun.enterprise.resource.pool.waitqueue.HandoffPoolWaitQueue;
 import com.sun.enterprise.resource.pool.waitqueue.PoolWaitQueue;
 import com.sun.enterprise.resource.pool.waitqueue.PoolWaitQueueFactory;
 import com.sun.enterprise.transaction.api.JavaEETransaction;
@@ -110,10 +112,17 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
     protected String dataStructureType;
     protected String dataStructureParameters;
 
+    /**
+     * Guards initializing, flushing, resizing and reconfiguring the pool. A lock instead of the pool monitor, so that
+     * blocked virtual threads do not pin their carrier.
+     */
+    protected final ReentrantLock poolLock = new ReentrantLock();
+
     protected PoolWaitQueue waitQueue;
     protected PoolWaitQueue reconfigWaitQueue;
     private long reconfigWaitTime;
     protected String poolWaitQueueClass;
+    protected String associationScope;
 
     protected final PoolInfo poolInfo; // poolName
 
@@ -141,7 +150,9 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
 
     protected void initializePoolWaitQueue() throws PoolingException {
         waitQueue = PoolWaitQueueFactory.createPoolWaitQueue(poolWaitQueueClass);
-        reconfigWaitQueue = PoolWaitQueueFactory.createPoolWaitQueue(poolWaitQueueClass);
+        // waiters of the reconfig-wait-queue are notified as monitors by the pool deployer
+        reconfigWaitQueue = PoolWaitQueueFactory.createPoolWaitQueue(
+            waitQueue instanceof HandoffPoolWaitQueue ? null : poolWaitQueueClass);
     }
 
     protected void initializePoolDataStructure() throws PoolingException {
@@ -182,6 +193,7 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         dataStructureType = poolResource.getPoolDataStructureType();
         dataStructureParameters = poolResource.getDataStructureParameters();
         poolWaitQueueClass = poolResource.getPoolWaitQueue();
+        associationScope = poolResource.getAssociationScope();
         resourceSelectionStrategyClass = poolResource.getResourceSelectionStrategyClass();
         resourceGatewayClass = poolResource.getResourceGatewayClass();
         reconfigWaitTime = poolResource.getDynamicReconfigWaitTimeout();
@@ -203,31 +215,36 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         }
     }
 
-    // This method does not need to be synchronized since all caller methods are,
+    // This method does not need to hold the pool lock since all caller methods do,
     // but it does not hurt. Just to be safe.
-    protected synchronized void initPool(ResourceAllocator allocator) throws PoolingException {
-        if (poolInitialized) {
-            return;
-        }
+    protected void initPool(ResourceAllocator allocator) throws PoolingException {
+        poolLock.lock();
+        try {
+            if (poolInitialized) {
+                return;
+            }
 
-        this.allocator = allocator;
+            this.allocator = allocator;
 
-        createResources(this.allocator, steadyPoolSize - dataStructure.getResourcesSize());
+            createResources(this.allocator, steadyPoolSize - dataStructure.getResourcesSize());
 
-        // if the idle time out is 0, then don't schedule the resizer task
-        if (idletime > 0) {
-            scheduleResizerTask();
-        }
+            // if the idle time out is 0, then don't schedule the resizer task
+            if (idletime > 0) {
+                scheduleResizerTask();
+            }
 
-        // Need to set the numConnFree of monitoring statistics to the steadyPoolSize
-        // as monitoring might be ON during the initialization of pool.
-        // Need not worry about the numConnUsed here as it would be initialized to
-        // 0 automatically.
-        if (poolLifeCycleListener != null) {
-            poolLifeCycleListener.connectionsFreed(steadyPoolSize);
-        }
+            // Need to set the numConnFree of monitoring statistics to the steadyPoolSize
+            // as monitoring might be ON during the initialization of pool.
+            // Need not worry about the numConnUsed here as it would be initialized to
+            // 0 automatically.
+            if (poolLifeCycleListener != null) {
+                poolLifeCycleListener.connectionsFreed(steadyPoolSize);
+            }
 
-        poolInitialized = true;
+            poolInitialized = true;
+        } finally {
+            poolLock.unlock();
+        }
     }
 
     /**
@@ -382,33 +399,47 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
 
                 if (!blocked) {
                     // add to wait-queue
-                    Object waitMonitor = new Object();
                     if (poolLifeCycleListener != null) {
                         poolLifeCycleListener.connectionRequestQueued();
                     }
-                    synchronized (waitMonitor) {
-                        waitQueue.addToQueue(waitMonitor);
+                    long queuedTime = System.currentTimeMillis();
+                    try {
+                        if (waitQueue instanceof HandoffPoolWaitQueue) {
+                            if (!waitForHandoff((HandoffPoolWaitQueue) waitQueue, remainingWaitTime)) {
+                                // Could be system shutdown.
+                                break;
+                            }
+                        } else {
+                            Object waitMonitor = new Object();
+                            synchronized (waitMonitor) {
+                                waitQueue.addToQueue(waitMonitor);
 
-                        try {
-                            logFine("Resource Pool: getting on wait queue");
-                            waitMonitor.wait(remainingWaitTime);
+                                try {
+                                    logFine("Resource Pool: getting on wait queue");
+                                    waitMonitor.wait(remainingWaitTime);
 
-                        } catch (InterruptedException ex) {
-                            // Could be system shutdown.
-                            break;
-                        }
+                                } catch (InterruptedException ex) {
+                                    // Could be system shutdown.
+                                    break;
+                                }
 
-                        // Try to remove in case that the monitor has timed out. We don't expect the queue to grow to great numbers
-                        // so the overhead for removing inexistant objects is low.
-                        if (_logger.isLoggable(FINE)) {
-                            _logger.log(FINE, "removing wait monitor from queue: " + waitMonitor);
-                        }
+                                // Try to remove in case that the monitor has timed out. We don't expect the queue to grow to great numbers
+                                // so the overhead for removing inexistant objects is low.
+                                if (_logger.isLoggable(FINE)) {
+                                    _logger.log(FINE, "removing wait monitor from queue: " + waitMonitor);
+                                }
 
-                        if (waitQueue.removeFromQueue(waitMonitor)) {
-                            if (poolLifeCycleListener != null) {
-                                poolLifeCycleListener.connectionRequestDequeued();
+                                if (waitQueue.removeFromQueue(waitMonitor)) {
+                                    if (poolLifeCycleListener != null) {
+                                        poolLifeCycleListener.connectionRequestDequeued();
+                                    }
+                                }
                             }
                         }
+                    } finally {
+                        if (poolLifeCycleListener != null) {
+                            poolLifeCycleListener.connectionRequestWaited(System.currentTimeMillis() - queuedTime);
+                        }
                     }
                 } else {
                     // Add to reconfig-wait-queue
@@ -449,6 +480,27 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         return result;
     }
 
+    /**
+     * Parks the current thread in the handoff wait queue until a released resource is signalled
+     * to it or the wait time expires.
+     *
+     * @param handoffQueue the wait queue of this pool
+     * @param waitTime maximum time to wait in milliseconds, 0 to wait without timeout
+     * @return false if the thread was interrupted while waiting
+     */
+    private boolean waitForHandoff(HandoffPoolWaitQueue handoffQueue, long waitTime) {
+        HandoffPoolWaitQueue.Waiter waiter = handoffQueue.enqueue();
+        logFine("Resource Pool: parking on wait queue");
+        if (handoffQueue.await(waiter, waitTime) != null) {
+            // the releasing thread already accounted the dequeue
+            return true;
+        }
+        if (poolLifeCycleListener != null) {
+            poolLifeCycleListener.connectionRequestDequeued();
+        }
+        return !Thread.interrupted();
+    }
+
     /**
      * Overridden in AssocWithThreadResourcePool to fetch the resource cached in the ThreadLocal In ConnectionPool this
      * simply returns null.
@@ -1183,6 +1235,18 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
     }
 
     protected void notifyWaitingThreads() {
+        if (waitQueue instanceof HandoffPoolWaitQueue) {
+            // wake up exactly the oldest waiter, without taking any monitor
+            if (((HandoffPoolWaitQueue) waitQueue).handoff(HandoffPoolWaitQueue.SIGNAL) && poolLifeCycleListener != null) {
+                poolLifeCycleListener.connectionRequestDequeued();
+            }
+            return;
+        }
+        // common case: nobody is waiting, avoid taking the wait queue monitor
+        if (waitQueue.isKnownEmpty()) {
+            logFine(" Wait monitor is null");
+            return;
+        }
         // notify the first thread in the waitqueue
         Object waitMonitor = null;
         synchronized (waitQueue) {
@@ -1293,28 +1357,32 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
      * @throws com.sun.appserv.connectors.internal.api.PoolingException
      */
     @Override
-    public synchronized boolean flushConnectionPool() throws PoolingException {
+    public boolean flushConnectionPool() throws PoolingException {
+        poolLock.lock();
+        try {
+            logFine("Flush Connection Pool entered");
 
-        logFine("Flush Connection Pool entered");
+            if (!poolInitialized) {
+                _logger.log(Level.WARNING, "poolmgr.flush_noop_pool_not_initialized", getPoolInfo());
+                String exString = localStrings.getString("poolmgr.flush_noop_pool_not_initialized", poolInfo.toString());
+                throw new PoolingException(exString);
+            }
 
-        if (!poolInitialized) {
-            _logger.log(Level.WARNING, "poolmgr.flush_noop_pool_not_initialized", getPoolInfo());
-            String exString = localStrings.getString("poolmgr.flush_noop_pool_not_initialized", poolInfo.toString());
-            throw new PoolingException(exString);
-        }
+            try {
+                cancelResizerTask();
+                dataStructure.removeAll();
+                scheduleResizerTask();
+                increaseSteadyPoolSize(steadyPoolSize);
+            } catch (PoolingException ex) {
+                _logger.log(Level.WARNING, "pool.flush_pool_failure", new Object[] { getPoolInfo(), ex.getMessage() });
+                throw ex;
+            }
+            logFine("Flush Connection Pool done");
 
-        try {
-            cancelResizerTask();
-            dataStructure.removeAll();
-            scheduleResizerTask();
-            increaseSteadyPoolSize(steadyPoolSize);
-        } catch (PoolingException ex) {
-            _logger.log(Level.WARNING, "pool.flush_pool_failure", new Object[] { getPoolInfo(), ex.getMessage() });
-            throw ex;
+            return true;
+        } finally {
+            poolLock.unlock();
         }
-        logFine("Flush Connection Pool done");
-
-        return true;
     }
 
     /**
@@ -1325,74 +1393,79 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
      * @throws PoolingException if the pool resizing fails
      */
     @Override
-    public synchronized void reconfigurePool(ConnectorConnectionPool poolResource) throws PoolingException {
-        int _idleTime = Integer.parseInt(poolResource.getIdleTimeoutInSeconds()) * 1000;
-        if (poolInitialized) {
-            if (_idleTime != idletime && _idleTime != 0) {
-                idletime = _idleTime;
-                scheduleResizerTask();
-            }
-            if (_idleTime == 0) {
-                // resizerTask.cancel();
-                cancelResizerTask();
+    public void reconfigurePool(ConnectorConnectionPool poolResource) throws PoolingException {
+        poolLock.lock();
+        try {
+            int _idleTime = Integer.parseInt(poolResource.getIdleTimeoutInSeconds()) * 1000;
+            if (poolInitialized) {
+                if (_idleTime != idletime && _idleTime != 0) {
+                    idletime = _idleTime;
+                    scheduleResizerTask();
+                }
+                if (_idleTime == 0) {
+                    // resizerTask.cancel();
+                    cancelResizerTask();
+                }
             }
-        }
-        idletime = _idleTime;
+            idletime = _idleTime;
 
-        resizeQuantity = Integer.parseInt(poolResource.getPoolResizeQuantity());
+            resizeQuantity = Integer.parseInt(poolResource.getPoolResizeQuantity());
 
-        maxWaitTime = Integer.parseInt(poolResource.getMaxWaitTimeInMillis());
-        // Make sure it's not negative.
-        if (maxWaitTime < 0) {
-            maxWaitTime = 0;
-        }
+            maxWaitTime = Integer.parseInt(poolResource.getMaxWaitTimeInMillis());
+            // Make sure it's not negative.
+            if (maxWaitTime < 0) {
+                maxWaitTime = 0;
+            }
 
-        validation = poolResource.isIsConnectionValidationRequired();
-        failAllConnections = poolResource.isFailAllConnections();
-        setAdvancedPoolConfiguration(poolResource);
+            validation = poolResource.isIsConnectionValidationRequired();
+            failAllConnections = poolResource.isFailAllConnections();
+            setAdvancedPoolConfiguration(poolResource);
 
-        // Self managed quantities. These are ignored if self management
-        // is on
-        if (!isSelfManaged()) {
-            int _maxPoolSize = Integer.parseInt(poolResource.getMaxPoolSize());
-            int oldMaxPoolSize = maxPoolSize;
+            // Self managed quantities. These are ignored if self management
+            // is on
+            if (!isSelfManaged()) {
+                int _maxPoolSize = Integer.parseInt(poolResource.getMaxPoolSize());
+                int oldMaxPoolSize = maxPoolSize;
 
-            if (_maxPoolSize < steadyPoolSize) {
-                // should not happen, admin must throw exception when this condition happens.
-                // as a precaution set max pool size to steady pool size
-                maxPoolSize = steadyPoolSize;
-            } else {
-                maxPoolSize = _maxPoolSize;
-            }
+                if (_maxPoolSize < steadyPoolSize) {
+                    // should not happen, admin must throw exception when this condition happens.
+                    // as a precaution set max pool size to steady pool size
+                    maxPoolSize = steadyPoolSize;
+                } else {
+                    maxPoolSize = _maxPoolSize;
+                }
 
-            if (oldMaxPoolSize != maxPoolSize) {
-                dataStructure.setMaxSize(maxPoolSize);
-            }
-            int _steadyPoolSize = Integer.parseInt(poolResource.getSteadyPoolSize());
-            int oldSteadyPoolSize = steadyPoolSize;
+                if (oldMaxPoolSize != maxPoolSize) {
+                    dataStructure.setMaxSize(maxPoolSize);
+                }
+                int _steadyPoolSize = Integer.parseInt(poolResource.getSteadyPoolSize());
+                int oldSteadyPoolSize = steadyPoolSize;
 
-            if (_steadyPoolSize > maxPoolSize) {
-                // should not happen, admin must throw exception when this condition happens.
-                // as a precaution set steady pool size to max pool size
-                steadyPoolSize = maxPoolSize;
-            } else {
-                steadyPoolSize = _steadyPoolSize;
-            }
+                if (_steadyPoolSize > maxPoolSize) {
+                    // should not happen, admin must throw exception when this condition happens.
+                    // as a precaution set steady pool size to max pool size
+                    steadyPoolSize = maxPoolSize;
+                } else {
+                    steadyPoolSize = _steadyPoolSize;
+                }
 
-            if (poolInitialized) {
-                // In this case we need to kill extra connections in the pool
-                // For the case where the value is increased, we need not
-                // do anything
-                // num resources to kill is decided by the resources in the pool.
-                // if we have less than current maxPoolSize resources, we need to
-                // kill less.
-                int toKill = dataStructure.getResourcesSize() - maxPoolSize;
+                if (poolInitialized) {
+                    // In this case we need to kill extra connections in the pool
+                    // For the case where the value is increased, we need not
+                    // do anything
+                    // num resources to kill is decided by the resources in the pool.
+                    // if we have less than current maxPoolSize resources, we need to
+                    // kill less.
+                    int toKill = dataStructure.getResourcesSize() - maxPoolSize;
 
-                if (toKill > 0) {
-                    killExtraResources(toKill);
+                    if (toKill > 0) {
+                        killExtraResources(toKill);
+                    }
                 }
+                reconfigureSteadyPoolSize(oldSteadyPoolSize, _steadyPoolSize);
             }
-            reconfigureSteadyPoolSize(oldSteadyPoolSize, _steadyPoolSize);
+        } finally {
+            poolLock.unlock();
         }
     }
 
@@ -1489,27 +1562,36 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
     }
 
     @Override
-    public synchronized void cancelResizerTask() {
-
-        logFine("Cancelling resizer");
-        if (resizerTask != null) {
-            resizerTask.cancel();
-        }
-        resizerTask = null;
+    public void cancelResizerTask() {
+        poolLock.lock();
+        try {
+            logFine("Cancelling resizer");
+            if (resizerTask != null) {
+                resizerTask.cancel();
+            }
+            resizerTask = null;
 
-        if (timer != null) {
-            timer.purge();
+            if (timer != null) {
+                timer.purge();
+            }
+        } finally {
+            poolLock.unlock();
         }
     }
 
     /**
      * This method can be used for debugging purposes
      */
-    public synchronized void dumpPoolStatus() {
-        _logger.log(Level.INFO, "Name of pool :" + poolInfo);
-        _logger.log(Level.INFO, "Free connections :" + dataStructure.getFreeListSize());
-        _logger.log(Level.INFO, "Total connections :" + dataStructure.getResourcesSize());
-        _logger.log(Level.INFO, "Pool's matching is :" + matchConnections);
+    public void dumpPoolStatus() {
+        poolLock.lock();
+        try {
+            _logger.log(Level.INFO, "Name of pool :" + poolInfo);
+            _logger.log(Level.INFO, "Free connections :" + dataStructure.getFreeListSize());
+            _logger.log(Level.INFO, "Total connections :" + dataStructure.getResourcesSize());
+            _logger.log(Level.INFO, "Pool's matching is :" + matchConnections);
+        } finally {
+            poolLock.unlock();
+        }
     }
 
     private void logFine(String msg) {
@@ -1547,7 +1629,8 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
     @Override
     public void setMaxPoolSize(int size) {
         if (size < dataStructure.getResourcesSize()) {
-            synchronized (this) {
+            poolLock.lock();
+            try {
                 int toKill = dataStructure.getResourcesSize() - size;
                 if (toKill > 0) {
                     try {
@@ -1559,6 +1642,8 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
                         }
                     }
                 }
+            } finally {
+                poolLock.unlock();
             }
         }
         maxPoolSize = size;
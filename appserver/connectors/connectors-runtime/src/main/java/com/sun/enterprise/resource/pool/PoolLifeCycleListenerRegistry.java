@@ -206,4 +206,11 @@ public class PoolLifeCycleListenerRegistry implements PoolLifeCycleListener {
             listener.connectionRequestDequeued();
         }
     }
+
+    @Override
+    public void connectionRequestWaited(long timeWaitedInMillis) {
+        for (PoolLifeCycleListener listener : poolListenersList) {
+            listener.connectionRequestWaited(timeWaitedInMillis);
+        }
+    }
 }
@@ -54,6 +54,7 @@ import java.util.Hashtable;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -376,10 +377,19 @@ public class PoolManagerImpl extends AbstractPoolManager implements ComponentInv
         if (poolInfo != null) {
             ResourcePool pool = poolTable.get(poolInfo);
             if (pool != null) {
-                synchronized (pool) {
+                // the pool lock keeps the pool from being flushed, resized or reconfigured meanwhile
+                ReentrantLock poolLock = pool instanceof ConnectionPool ? ((ConnectionPool) pool).poolLock : null;
+                if (poolLock != null) {
+                    poolLock.lock();
+                }
+                try {
                     pool.resourceClosed(resourceHandle);
                     resourceHandle.setConnectionErrorOccurred();
                     pool.resourceErrorOccurred(resourceHandle);
+                } finally {
+                    if (poolLock != null) {
+                        poolLock.unlock();
+                    }
                 }
             }
         }
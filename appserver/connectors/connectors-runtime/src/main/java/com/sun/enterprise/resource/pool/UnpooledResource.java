@@ -49,14 +49,19 @@ public class UnpooledResource extends ConnectionPool {
     }
 
     @Override
-    protected synchronized void initPool(ResourceAllocator allocator) throws PoolingException {
-        if (poolInitialized) {
-            return;
-        }
+    protected void initPool(ResourceAllocator allocator) throws PoolingException {
+        poolLock.lock();
+        try {
+            if (poolInitialized) {
+                return;
+            }
 
-        // Nothing needs to be done as pooling is disabled
-        poolSize = 0;
-        poolInitialized = true;
+            // Nothing needs to be done as pooling is disabled
+            poolSize = 0;
+            poolInitialized = true;
+        } finally {
+            poolLock.unlock();
+        }
     }
 
     @Override
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.logging.LogDomains;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lock-free datastructure for the pool, modelled after a concurrent bag.
+ * <p>
+ * A resource is claimed by atomically switching {@link ResourceHandle#isBusy()} from false to true, so no monitor
+ * or lock is taken on {@link #getResource()} and {@link #returnResource(ResourceHandle)}. Lookup order is:
+ * <ol>
+ * <li>the resource last returned by the calling thread (thread-affine fast slot),
+ * <li>the shared FIFO queue of returned resources, so the longest idle resource is handed out first.
+ * </ol>
+ * Each resource is present in the shared queue at most once, stale queue entries (resources claimed through the fast
+ * slot of their last user) are skipped.
+ */
+public class ConcurrentBagDataStructure implements DataStructure {
+
+    private static final Logger LOG = LogDomains.getLogger(ConcurrentBagDataStructure.class, LogDomains.RSR_LOGGER);
+
+    private volatile int maxSize;
+
+    private final ResourceHandler handler;
+
+    /** All resources of the pool, also used for the membership test of returned and thread-local resources */
+    private final ConcurrentHashMap<ResourceHandle, BagEntry> entries;
+    private final ConcurrentLinkedQueue<BagEntry> free = new ConcurrentLinkedQueue<>();
+    /** Weak, so that threads don't keep resources reachable after they were removed from the pool */
+    private final ThreadLocal<WeakReference<BagEntry>> lastReturned = new ThreadLocal<>();
+
+    /** Number of resources, including reservations for resources being created */
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger freeCount = new AtomicInteger();
+
+
+    public ConcurrentBagDataStructure(String parameters, int maxSize, ResourceHandler handler, String strategyClass) {
+        this.entries = new ConcurrentHashMap<>(Math.min(maxSize, 1000));
+        this.handler = handler;
+        this.maxSize = maxSize;
+        LOG.log(Level.FINEST, "Initializing concurrent bag datastructure, maxSize={0}", maxSize);
+    }
+
+
+    @Override
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+
+    @Override
+    public int addResource(ResourceAllocator allocator, int count) throws PoolingException {
+        int numResAdded = 0;
+        for (int i = 0; i < count && reserveSlot(); i++) {
+            final ResourceHandle handle;
+            try {
+                handle = handler.createResource(allocator);
+            } catch (Exception e) {
+                size.decrementAndGet();
+                PoolingException pe = new PoolingException(e.getMessage());
+                pe.initCause(e);
+                throw pe;
+            }
+            BagEntry entry = new BagEntry(handle);
+            entries.put(handle, entry);
+            handle.setBusy(false);
+            freeCount.incrementAndGet();
+            enqueue(entry);
+            numResAdded++;
+        }
+        return numResAdded;
+    }
+
+
+    @Override
+    public ResourceHandle getResource() {
+        WeakReference<BagEntry> lastEntry = lastReturned.get();
+        BagEntry entry = lastEntry == null ? null : lastEntry.get();
+        // the slot is kept, a claimed or removed resource just fails the claim
+        if (entry != null && claim(entry)) {
+            return entry.handle;
+        }
+        while ((entry = free.poll()) != null) {
+            entry.queued.set(false);
+            if (claim(entry)) {
+                return entry.handle;
+            }
+        }
+        return null;
+    }
+
+
+    @Override
+    public void removeResource(ResourceHandle resource) {
+        BagEntry entry = entries.remove(resource);
+        if (entry == null) {
+            return;
+        }
+        size.decrementAndGet();
+        // Removing a free resource (ie. removeAll) - claim it, so nobody else can take it.
+        if (resource.compareAndSetBusy(false, true)) {
+            freeCount.decrementAndGet();
+        }
+        handler.deleteResource(resource);
+    }
+
+
+    @Override
+    public void returnResource(ResourceHandle resource) {
+        BagEntry entry = entries.get(resource);
+        if (entry == null || !resource.compareAndSetBusy(true, false)) {
+            // Already removed from the pool or returned twice.
+            return;
+        }
+        freeCount.incrementAndGet();
+        WeakReference<BagEntry> lastEntry = lastReturned.get();
+        if (lastEntry == null || lastEntry.get() != entry) {
+            lastReturned.set(new WeakReference<>(entry));
+        }
+        enqueue(entry);
+    }
+
+
+    @Override
+    public int getFreeListSize() {
+        return Math.max(0, freeCount.get());
+    }
+
+
+    @Override
+    public void removeAll() {
+        for (ResourceHandle handle : entries.keySet()) {
+            removeResource(handle);
+        }
+        free.clear();
+    }
+
+
+    @Override
+    public int getResourcesSize() {
+        return entries.size();
+    }
+
+
+    @Override
+    public boolean contains(ResourceHandle resource) {
+        return entries.containsKey(resource);
+    }
+
+
+    @Override
+    public ArrayList<ResourceHandle> getAllResources() {
+        return new ArrayList<>(entries.keySet());
+    }
+
+
+    private boolean reserveSlot() {
+        while (true) {
+            int current = size.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (size.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+
+    private boolean claim(BagEntry entry) {
+        if (!entry.handle.compareAndSetBusy(false, true)) {
+            return false;
+        }
+        if (entries.containsKey(entry.handle)) {
+            freeCount.decrementAndGet();
+            return true;
+        }
+        // removed from the pool after we got the entry, keep it busy forever. removeResource could not
+        // claim it anymore, so the free count is updated here.
+        freeCount.decrementAndGet();
+        return false;
+    }
+
+
+    private void enqueue(BagEntry entry) {
+        if (entry.queued.compareAndSet(false, true)) {
+            free.offer(entry);
+        }
+    }
+
+
+    private static final class BagEntry {
+
+        private final ResourceHandle handle;
+        private final AtomicBoolean queued = new AtomicBoolean();
+
+        BagEntry(ResourceHandle handle) {
+            this.handle = handle;
+        }
+    }
+}
@@ -92,6 +92,17 @@ public interface DataStructure {
      */
     int getResourcesSize();
 
+    /**
+     * check whether the resource belongs to the datastructure<br>
+     * The default copies all resources, implementations override it with a direct lookup.
+     *
+     * @param resource ResourceHandle
+     * @return true if the resource was added and not yet removed
+     */
+    default boolean contains(ResourceHandle resource) {
+        return getAllResources().contains(resource);
+    }
+
     /**
      * Get all resources in the datastructure Note : do not use this for normal usages as it can potentially represent all
      * resources (including the ones in use). This is used under special circumstances where there is a need to process all
@@ -19,6 +19,7 @@ package com.sun.enterprise.resource.pool.datastructure;
 
 import java.util.ArrayList;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.sun.appserv.connectors.internal.api.PoolingException;
 import com.sun.enterprise.resource.ResourceHandle;
@@ -38,6 +39,8 @@ public class ListDataStructure implements DataStructure {
     // the connection pool.
     private int maxSize;
     private final DynamicSemaphore dynSemaphore;
+    // guards both lists, a lock instead of monitors so that blocked virtual threads do not pin their carrier
+    private final ReentrantLock lock = new ReentrantLock();
 
     private ResourceHandler handler;
     private ResourceSelectionStrategy strategy;
@@ -64,24 +67,28 @@ public class ListDataStructure implements DataStructure {
      * @param newMaxSize
      */
     @Override
-    public synchronized void setMaxSize(int newMaxSize) {
+    public void setMaxSize(int newMaxSize) {
+        lock.lock();
+        try {
+            //Find currently open with the current maxsize
+            int permits = newMaxSize - this.maxSize;
 
-        //Find currently open with the current maxsize
-        int permits = newMaxSize - this.maxSize;
-
-        if (permits == 0) {
-            //None are open
-            return;
-        } else if (permits > 0) {
-            //Case when no of permits are increased
-            this.dynSemaphore.release(permits);
-        } else {
-            //permits would be a -ve value
-            //Case when no of permits are to be reduced.
-            permits *= -1;
-            this.dynSemaphore.reducePermits(permits);
+            if (permits == 0) {
+                //None are open
+                return;
+            } else if (permits > 0) {
+                //Case when no of permits are increased
+                this.dynSemaphore.release(permits);
+            } else {
+                //permits would be a -ve value
+                //Case when no of permits are to be reduced.
+                permits *= -1;
+                this.dynSemaphore.reducePermits(permits);
+            }
+            this.maxSize = newMaxSize;
+        } finally {
+            lock.unlock();
         }
-        this.maxSize = newMaxSize;
     }
 
     private void initializeStrategy(String strategyClass) {
@@ -103,12 +110,13 @@ public class ListDataStructure implements DataStructure {
             if(lockAcquired) {
                 try {
                     ResourceHandle handle = handler.createResource(allocator);
-                    synchronized (resources) {
-                        synchronized (free) {
-                            free.add(handle);
-                            resources.add(handle);
-                            numResAdded++;
-                        }
+                    lock.lock();
+                    try {
+                        free.add(handle);
+                        resources.add(handle);
+                        numResAdded++;
+                    } finally {
+                        lock.unlock();
                     }
                 } catch (Exception e) {
                     dynSemaphore.release();
@@ -132,10 +140,13 @@ public class ListDataStructure implements DataStructure {
         if (strategy != null) {
             resource = strategy.retrieveResource();
         } else {
-            synchronized (free) {
+            lock.lock();
+            try {
                 if (free.size() > 0){
                     resource = free.remove(0);
                 }
+            } finally {
+                lock.unlock();
             }
         }
         return resource;
@@ -149,11 +160,12 @@ public class ListDataStructure implements DataStructure {
     @Override
     public void removeResource(ResourceHandle resource) {
         boolean removed = false;
-        synchronized (resources) {
-            synchronized (free) {
-                free.remove(resource);
-                removed = resources.remove(resource);
-            }
+        lock.lock();
+        try {
+            free.remove(resource);
+            removed = resources.remove(resource);
+        } finally {
+            lock.unlock();
         }
         if(removed) {
             dynSemaphore.release();
@@ -168,8 +180,11 @@ public class ListDataStructure implements DataStructure {
      */
     @Override
     public void returnResource(ResourceHandle resource) {
-        synchronized (free) {
+        lock.lock();
+        try {
             free.add(resource);
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -188,18 +203,19 @@ public class ListDataStructure implements DataStructure {
      */
     @Override
     public void removeAll() {
-        synchronized (resources) {
-            synchronized (free) {
-                while (resources.size() > 0) {
-                    ResourceHandle handle = resources.remove(0);
-                    free.remove(handle);
-                    dynSemaphore.release();
-                    handler.deleteResource(handle);
-                }
+        lock.lock();
+        try {
+            while (resources.size() > 0) {
+                ResourceHandle handle = resources.remove(0);
+                free.remove(handle);
+                dynSemaphore.release();
+                handler.deleteResource(handle);
             }
+            free.clear();
+            resources.clear();
+        } finally {
+            lock.unlock();
         }
-        free.clear();
-        resources.clear();
     }
 
     /**
@@ -212,12 +228,29 @@ public class ListDataStructure implements DataStructure {
         return resources.size();
     }
 
+    @Override
+    public boolean contains(ResourceHandle resource) {
+        lock.lock();
+        try {
+            return resources.contains(resource);
+        } finally {
+            lock.unlock();
+        }
+    }
+
     /**
      * {@inheritDoc}
+     * <p>
+     * Returns a snapshot, so that it can be iterated while other threads add or remove resources.
      */
     @Override
     public ArrayList<ResourceHandle> getAllResources() {
-        return this.resources;
+        lock.lock();
+        try {
+            return new ArrayList<>(resources);
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -174,6 +174,16 @@ public class RWLockDataStructure implements DataStructure {
         return resources.size();
     }
 
+    @Override
+    public boolean contains(ResourceHandle resource) {
+        readLock.lock();
+        try {
+            return resources.contains(resource);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     @Override
     public void setMaxSize(int maxSize) {
         this.maxSize = maxSize;
@@ -296,6 +296,18 @@ public class ConnectionPoolEmitterImpl implements PoolLifeCycleListener {
         poolProbeProvider.connectionRequestDequeuedEvent(poolInfo.getName().toString(), poolInfo.getApplicationName(), poolInfo.getModuleName());
     }
 
+    /**
+     * Fires probe event related to the fact that a connection request of the
+     * given jdbc connection pool left the wait queue after
+     * <code>timeWaitedInMillis</code>.
+     *
+     * @param timeWaitedInMillis time spent in the wait queue
+     */
+    @Override
+    public void connectionRequestWaited(long timeWaitedInMillis) {
+        poolProbeProvider.connectionRequestWaitedEvent(poolInfo.getName().toString(), poolInfo.getApplicationName(), poolInfo.getModuleName(), timeWaitedInMillis);
+    }
+
     private String getAppName(long resourceHandleId) {
 
         // if monitoring is disabled, avoid sending events
@@ -221,4 +221,17 @@ public abstract class ConnectionPoolProbeProvider {
      */
     public void connectionRequestDequeuedEvent(String poolName, String appName, String moduleName) {
     }
+
+    /**
+     * Emits probe event/notification that a connection request spent
+     * <code>timeWaitedInMillis</code> in the wait queue of the given
+     * connection pool <code>poolName</code>
+     *
+     * @param poolName
+     * @param appName application-name in which the pool is defined
+     * @param moduleName module-name in which the pool is defined
+     * @param timeWaitedInMillis time spent in the wait queue
+     */
+    public void connectionRequestWaitedEvent(String poolName, String appName, String moduleName, long timeWaitedInMillis) {
+    }
 }
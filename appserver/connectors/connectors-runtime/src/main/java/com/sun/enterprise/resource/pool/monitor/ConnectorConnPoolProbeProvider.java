@@ -274,4 +274,20 @@ public class ConnectorConnPoolProbeProvider extends ConnectionPoolProbeProvider
                                                @ProbeParam("appName") String appName,
                                                @ProbeParam("moduleName") String moduleName
                                                ) { }
+
+    /**
+     * Emits probe event/notification that a connection request spent
+     * <code>timeWaitedInMillis</code> in the wait queue of the given
+     * connector connection pool <code>poolName</code>
+     *
+     * @param poolName
+     * @param timeWaitedInMillis time spent in the wait queue
+     */
+    @Probe(name="connectionRequestWaitedEvent")
+    @Override
+    public void connectionRequestWaitedEvent(@ProbeParam("poolName") String poolName,
+                                             @ProbeParam("appName") String appName,
+                                             @ProbeParam("moduleName") String moduleName,
+                                             @ProbeParam("timeWaitedInMillis") long timeWaitedInMillis
+                                             ) { }
 }
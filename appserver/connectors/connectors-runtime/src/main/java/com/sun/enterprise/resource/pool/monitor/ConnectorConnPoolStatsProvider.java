@@ -116,6 +116,9 @@ public class ConnectorConnPoolStatsProvider {
     private final CountStatisticImpl averageConnWaitTime = new CountStatisticImpl(
             "AverageConnWaitTime", StatisticImpl.UNIT_MILLISECOND,
             "Average wait-time-duration per successful connection request");
+    private final CountStatisticImpl totalWaitQueueTime = new CountStatisticImpl(
+            "TotalWaitQueueTime", StatisticImpl.UNIT_MILLISECOND,
+            "Total time connection requests spent in the wait queue");
     private final CountStatisticImpl waitQueueLength = new CountStatisticImpl(
             "WaitQueueLength", StatisticImpl.UNIT_COUNT,
             "Number of connection requests in the queue waiting to be serviced.");
@@ -460,6 +463,7 @@ public class ConnectorConnPoolStatsProvider {
         averageConnWaitTime.reset();
         totalConnRequestWaitTime.reset();
         waitQueueLength.reset();
+        totalWaitQueueTime.reset();
     }
 
     /**
@@ -541,6 +545,27 @@ public class ConnectorConnPoolStatsProvider {
         }
     }
 
+    /**
+     * When a connection request leaves the wait queue, add the time it spent
+     * waiting to totalWaitQueueTime.
+     */
+    @ProbeListener(JCA_PROBE_LISTENER + "connectionRequestWaitedEvent")
+    public void connectionRequestWaitedEvent(
+            @ProbeParam("poolName") String poolName,
+            @ProbeParam("appName") String appName,
+            @ProbeParam("moduleName") String moduleName,
+            @ProbeParam("timeWaitedInMillis") long timeWaitedInMillis) {
+
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if(this.poolInfo.equals(poolInfo)) {
+            if(logger.isLoggable(Level.FINEST)) {
+                logger.finest("Connection request waited event received - " +
+                    "poolName = " + poolName);
+            }
+            totalWaitQueueTime.increment(timeWaitedInMillis);
+        }
+    }
+
     protected PoolInfo getPoolInfo() {
         return poolInfo;
     }
@@ -626,4 +651,9 @@ public class ConnectorConnPoolStatsProvider {
     public CountStatistic getWaitQueueLength() {
         return waitQueueLength;
     }
+
+    @ManagedAttribute(id="totalwaitqueuetime")
+    public CountStatistic getTotalWaitQueueTime() {
+        return totalWaitQueueTime;
+    }
 }
@@ -65,18 +65,22 @@ public class AssocWithThreadPoolResizer extends Resizer {
             try {
                 for (ResourceHandle h : dataStructure.getAllResources()) {
                     if (scaleDownQuantity > 0) {
-                        synchronized (h.lock) {
+                        h.lock.lock();
+                        try {
                             if (!h.isBusy()) {
                                 resourcesToRemove.add(h);
                                 ((AssocWithThreadResourceHandle) h).setDirty();
                                 scaleDownQuantity--;
                             }
+                        } finally {
+                            h.lock.unlock();
                         }
                     }
                 }
             } finally {
+                Set<ResourceHandle> allResources = new HashSet<>(dataStructure.getAllResources());
                 for (ResourceHandle resourceToRemove : resourcesToRemove) {
-                    if (dataStructure.getAllResources().contains(resourceToRemove)) {
+                    if (allResources.contains(resourceToRemove)) {
                         dataStructure.removeResource(resourceToRemove);
                     }
                 }
@@ -106,7 +110,8 @@ public class AssocWithThreadPoolResizer extends Resizer {
         try {
             //iterate through all the resources to find idle-time lapsed ones.
             for (ResourceHandle h : dataStructure.getAllResources()) {
-                synchronized (h.lock) {
+                h.lock.lock();
+                try {
                     state = h.getResourceState();
                     if (!state.isBusy()) {
                         if (currentTime - state.getTimestamp() < pool.getIdleTimeout()) {
@@ -136,11 +141,14 @@ public class AssocWithThreadPoolResizer extends Resizer {
                             }
                         }
                     }
+                } finally {
+                    h.lock.unlock();
                 }
             }
         } finally {
+            Set<ResourceHandle> allResources = new HashSet<>(dataStructure.getAllResources());
             for (ResourceHandle resourceToRemove : resourcesToRemove) {
-                if (dataStructure.getAllResources().contains(resourceToRemove)) {
+                if (allResources.contains(resourceToRemove)) {
                     dataStructure.removeResource(resourceToRemove);
                 }
             }
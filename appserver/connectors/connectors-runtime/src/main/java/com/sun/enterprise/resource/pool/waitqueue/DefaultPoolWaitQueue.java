@@ -32,6 +32,8 @@ import com.sun.logging.LogDomains;
 public class DefaultPoolWaitQueue implements PoolWaitQueue {
 
     private LinkedList list;
+    /** Mirrors list.size() for {@link #isKnownEmpty()} */
+    private volatile int size;
     protected final static Logger _logger = LogDomains.getLogger(DefaultPoolWaitQueue.class, LogDomains.RSR_LOGGER);
 
     private void initializeDefaultQueue() {
@@ -52,11 +54,14 @@ public class DefaultPoolWaitQueue implements PoolWaitQueue {
     public synchronized void addToQueue(Object waitMonitor) {
 
         list.addLast(waitMonitor);
+        size = list.size();
     }
 
     @Override
     public synchronized boolean removeFromQueue(Object o) {
-        return list.remove(o);
+        boolean removed = list.remove(o);
+        size = list.size();
+        return removed;
     }
 
     /*
@@ -65,7 +70,14 @@ public class DefaultPoolWaitQueue implements PoolWaitQueue {
 
     @Override
     public synchronized Object remove() {
-        return list.removeFirst();
+        Object first = list.removeFirst();
+        size = list.size();
+        return first;
+    }
+
+    @Override
+    public boolean isKnownEmpty() {
+        return size == 0;
     }
 
     @Override
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.waitqueue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wait queue whose waiting threads park on their own {@link Waiter} instead of waiting on a
+ * monitor object. A thread releasing a resource hands a signal to the oldest waiter with a
+ * single compare-and-set and unparks exactly that thread, so neither side takes a lock and
+ * a signal is never lost: a waiter giving up concurrently with a handoff still receives it
+ * and can pass it on.
+ * <p>
+ * Waiters are created with {@link #enqueue()}; {@link #addToQueue(Object)} accepts only
+ * {@link Waiter} instances.
+ */
+public class HandoffPoolWaitQueue implements PoolWaitQueue {
+
+    /** Item handed to a waiter when only a wake-up is needed */
+    public static final Object SIGNAL = new Object();
+
+    private static final Object CANCELLED = new Object();
+
+    private final ConcurrentLinkedQueue<Waiter> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Adds a waiter for the current thread at the tail of the queue.
+     *
+     * @return the waiter to pass to {@link #await(Waiter, long)}
+     */
+    public Waiter enqueue() {
+        Waiter waiter = new Waiter(Thread.currentThread());
+        addToQueue(waiter);
+        return waiter;
+    }
+
+    /**
+     * Parks the current thread until an item is handed to the waiter, the timeout elapses
+     * or the thread is interrupted. The waiter is removed from the queue in every case.
+     *
+     * @param waiter waiter created by the current thread with {@link #enqueue()}
+     * @param timeoutMillis maximum time to wait, 0 or less to wait without timeout
+     * @return the handed item, or null if none was handed before the timeout or interrupt
+     */
+    public Object await(Waiter waiter, long timeoutMillis) {
+        final long deadline = timeoutMillis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis) : 0L;
+        Object item;
+        while ((item = waiter.state.get()) == null) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            if (timeoutMillis > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+            } else {
+                LockSupport.park(this);
+            }
+        }
+        if (item == null && !waiter.state.compareAndSet(null, CANCELLED)) {
+            // handed over while giving up, the item must not be lost
+            item = waiter.state.get();
+        }
+        removeFromQueue(waiter);
+        return item;
+    }
+
+    /**
+     * Hands the item to the oldest waiter which is still waiting and unparks its thread.
+     *
+     * @param item item to hand over, {@link #SIGNAL} to just wake the waiter up
+     * @return true if a waiter received the item, false if nobody was waiting
+     */
+    public boolean handoff(Object item) {
+        Waiter waiter;
+        while ((waiter = queue.poll()) != null) {
+            size.decrementAndGet();
+            if (waiter.state.compareAndSet(null, item)) {
+                LockSupport.unpark(waiter.thread);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int getQueueLength() {
+        return size.get();
+    }
+
+    @Override
+    public void addToQueue(Object o) {
+        queue.add((Waiter) o);
+        size.incrementAndGet();
+    }
+
+    @Override
+    public boolean removeFromQueue(Object o) {
+        if (queue.remove(o)) {
+            size.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Object remove() {
+        Waiter waiter = queue.poll();
+        if (waiter != null) {
+            size.decrementAndGet();
+        }
+        return waiter;
+    }
+
+    @Override
+    public Object peek() {
+        return queue.peek();
+    }
+
+    @Override
+    public Collection getQueueContents() {
+        return Collections.unmodifiableCollection(new ArrayList<>(queue));
+    }
+
+    /**
+     * A thread waiting in the queue. The state is null while waiting, then either the handed
+     * item or a cancellation marker; only the first transition succeeds.
+     */
+    public static final class Waiter {
+
+        private final Thread thread;
+        private final AtomicReference<Object> state = new AtomicReference<>();
+
+        Waiter(Thread thread) {
+            this.thread = thread;
+        }
+
+        @Override
+        public String toString() {
+            return "Waiter[" + thread.getName() + "]";
+        }
+    }
+}
@@ -28,6 +28,7 @@ import java.util.Collection;
 public interface PoolWaitQueue {
     String DEFAULT_WAIT_QUEUE = "DEFAULT_WAIT_QUEUE";
     String THREAD_PRIORITY_BASED_WAIT_QUEUE = "THREAD_PRIORITY_BASED_WAIT_QUEUE";
+    String HANDOFF_WAIT_QUEUE = "HANDOFF_WAIT_QUEUE";
 
     /**
      * returns the length of wait queue
@@ -36,6 +37,17 @@ public interface PoolWaitQueue {
      */
     int getQueueLength();
 
+    /**
+     * tells whether the queue is known to be empty, without taking the lock of the queue<br>
+     * A thread being added concurrently may not be seen yet. Implementations which cannot tell it
+     * cheaply keep the default and are always locked by the pool.
+     *
+     * @return true if nobody waits in the queue, false if somebody waits or if it is unknown
+     */
+    default boolean isKnownEmpty() {
+        return false;
+    }
+
     /**
      * resource requesting thread will be added to queue<br>
      * and the object on which it is made to wait is returned
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.connectors.ConnectorConnectionPool;
+import com.sun.enterprise.resource.AssocWithThreadResourceHandle;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+
+import jakarta.resource.spi.ManagedConnection;
+
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the association of resources with threads and with processor slots.
+ */
+public class AssocWithThreadResourcePoolTest {
+
+    private static final String POOL_CONFIGURATION = "test.pool.configuration";
+    private static final int MAX_POOL_SIZE = 8;
+
+    private final ResourceAllocator allocator = new TestAllocator();
+
+
+    @Test
+    public void threadScopeReusesTheResourceOfTheThread() throws Exception {
+        AssocWithThreadResourcePool pool = createPool(null);
+        ResourceHandle first = pool.getUnenlistedResource(null, allocator, null);
+        assertNotNull(first);
+        pool.resourceClosed(first);
+
+        AssocWithThreadResourceHandle associated = (AssocWithThreadResourceHandle) first;
+        assertAll(
+            () -> assertTrue(associated.isAssociated()),
+            () -> assertEquals(Thread.currentThread().getId(), associated.getThreadId()),
+            () -> assertSame(first, pool.prefetch(null, allocator, null))
+        );
+    }
+
+
+    @Test
+    public void processorScopeSharesTheResourceOfTheSlot() throws Exception {
+        AssocWithThreadResourcePool pool = createPool(AssocWithThreadResourcePool.PROCESSOR_SCOPE);
+        ResourceHandle first = pool.getUnenlistedResource(null, allocator, null);
+        assertNotNull(first);
+        pool.resourceClosed(first);
+
+        long slot = Thread.currentThread().getId() % getSlotCount();
+        assertEquals(slot, ((AssocWithThreadResourceHandle) first).getThreadId());
+
+        // another thread of the same slot gets the same resource
+        Thread sameSlot;
+        List<Thread> otherSlots = new ArrayList<>();
+        AtomicReference<ResourceHandle> prefetched = new AtomicReference<>();
+        while (true) {
+            Thread thread = new Thread(() -> prefetched.set(pool.prefetch(null, allocator, null)));
+            if (thread.getId() % getSlotCount() == slot) {
+                sameSlot = thread;
+                break;
+            }
+            otherSlots.add(thread);
+        }
+        sameSlot.start();
+        sameSlot.join(10_000L);
+        assertSame(first, prefetched.get());
+        pool.resourceClosed(first);
+
+        // while the threads of the other slots do not
+        for (Thread otherSlot : otherSlots) {
+            otherSlot.start();
+            otherSlot.join(10_000L);
+            assertNull(prefetched.getAndSet(null));
+        }
+    }
+
+
+    @Test
+    public void processorScopeBoundsTheAssociatedResources() throws Exception {
+        AssocWithThreadResourcePool pool = createPool(AssocWithThreadResourcePool.PROCESSOR_SCOPE);
+        List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < 4 * MAX_POOL_SIZE; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    ResourceHandle handle = pool.prefetch(null, allocator, null);
+                    if (handle == null) {
+                        handle = pool.getUnenlistedResource(null, allocator, null);
+                    }
+                    assertNotNull(handle);
+                    pool.resourceClosed(handle);
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            thread.start();
+            thread.join(10_000L);
+        }
+
+        int associated = 0;
+        for (ResourceHandle handle : pool.dataStructure.getAllResources()) {
+            if (((AssocWithThreadResourceHandle) handle).isAssociated()) {
+                associated++;
+            }
+        }
+        int associatedResources = associated;
+        assertAll(
+            () -> assertTrue(failures.isEmpty(), () -> failures.toString()),
+            () -> assertThat(associatedResources, lessThanOrEqualTo(getSlotCount())),
+            () -> assertThat(pool.dataStructure.getResourcesSize(), lessThanOrEqualTo(MAX_POOL_SIZE))
+        );
+    }
+
+
+    @Test
+    public void dirtyResourceIsNotAssociated() throws Exception {
+        AssocWithThreadResourcePool pool = createPool(AssocWithThreadResourcePool.PROCESSOR_SCOPE);
+        ResourceHandle first = pool.getUnenlistedResource(null, allocator, null);
+        pool.resourceClosed(first);
+        pool.deleteResource(first);
+
+        AssocWithThreadResourceHandle dirty = (AssocWithThreadResourceHandle) first;
+        assertAll(
+            () -> assertTrue(dirty.isDirty()),
+            () -> assertNull(pool.prefetch(null, allocator, null)),
+            () -> assertFalse(first == pool.getUnenlistedResource(null, allocator, null))
+        );
+    }
+
+
+    private static int getSlotCount() {
+        return Math.min(Runtime.getRuntime().availableProcessors(), MAX_POOL_SIZE);
+    }
+
+
+    private static AssocWithThreadResourcePool createPool(String associationScope) throws PoolingException {
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of("test-pool"));
+        ConnectorConnectionPool configuration = new ConnectorConnectionPool(poolInfo);
+        configuration.setSteadyPoolSize("0");
+        configuration.setMaxPoolSize(Integer.toString(MAX_POOL_SIZE));
+        configuration.setPoolResizeQuantity("1");
+        configuration.setMaxWaitTimeInMillis("0");
+        configuration.setIdleTimeoutInSeconds("0");
+        configuration.setMaxConnectionUsage("0");
+        configuration.setConCreationRetryAttempts("0");
+        configuration.setConCreationRetryInterval("0");
+        configuration.setValidateAtmostOncePeriod("0");
+        configuration.setConnectionLeakTracingTimeout("0");
+        configuration.setAssociationScope(associationScope);
+
+        Hashtable<String, Object> env = new Hashtable<>();
+        env.put(POOL_CONFIGURATION, configuration);
+        return new TestPool(poolInfo, env);
+    }
+
+
+    /**
+     * Takes its configuration from the environment instead of the naming service.
+     */
+    private static class TestPool extends AssocWithThreadResourcePool {
+
+        TestPool(PoolInfo poolInfo, Hashtable env) throws PoolingException {
+            super(poolInfo, env);
+        }
+
+        @Override
+        protected ConnectorConnectionPool getPoolConfigurationFromJndi(Hashtable env) {
+            return (ConnectorConnectionPool) env.get(POOL_CONFIGURATION);
+        }
+    }
+
+
+    private class TestAllocator implements ResourceAllocator {
+
+        @Override
+        public ResourceHandle createResource() {
+            return new AssocWithThreadResourceHandle(new Object(), null, this, null);
+        }
+
+        @Override
+        public void fillInResourceObjects(ResourceHandle resource) {
+        }
+
+        @Override
+        public void closeUserConnection(ResourceHandle resource) {
+        }
+
+        @Override
+        public void destroyResource(ResourceHandle resource) {
+        }
+
+        @Override
+        public boolean matchConnection(ResourceHandle h) {
+            return true;
+        }
+
+        @Override
+        public boolean isTransactional() {
+            return false;
+        }
+
+        @Override
+        public void cleanup(ResourceHandle resource) {
+        }
+
+        @Override
+        public boolean shareableWithinComponent() {
+            return false;
+        }
+
+        @Override
+        public Object getSharedConnection(ResourceHandle h) {
+            return null;
+        }
+
+        @Override
+        public Set<ManagedConnection> getInvalidConnections(Set<ManagedConnection> connectionSet) {
+            return Set.of();
+        }
+
+        @Override
+        public boolean isConnectionValid(ResourceHandle resource) {
+            return true;
+        }
+
+        @Override
+        public boolean hasValidatingMCF() {
+            return false;
+        }
+    }
+}
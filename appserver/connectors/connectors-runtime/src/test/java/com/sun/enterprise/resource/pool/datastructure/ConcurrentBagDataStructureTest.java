@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.enterprise.resource.ResourceHandle;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import static com.sun.enterprise.resource.pool.datastructure.TestResourceHandler.createDataStructure;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentBagDataStructureTest {
+
+    @Test
+    public void getReturnRemove() throws Exception {
+        DataStructure ds = createDataStructure(ConcurrentBagDataStructure.class.getName(), 2);
+        assertEquals(2, ds.getResourcesSize());
+        assertEquals(2, ds.getFreeListSize());
+
+        ResourceHandle first = ds.getResource();
+        ResourceHandle second = ds.getResource();
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNull(ds.getResource());
+        assertEquals(0, ds.getFreeListSize());
+
+        ds.returnResource(first);
+        assertEquals(1, ds.getFreeListSize());
+        // thread-affine fast slot
+        assertEquals(first, ds.getResource());
+
+        ds.removeResource(first);
+        assertFalse(ds.contains(first));
+        ds.returnResource(first);
+        assertEquals(1, ds.getResourcesSize());
+        assertEquals(0, ds.getFreeListSize());
+        assertNull(ds.getResource());
+
+        assertTrue(ds.contains(second));
+        ds.returnResource(second);
+        ds.removeAll();
+        assertEquals(0, ds.getResourcesSize());
+        assertEquals(0, ds.getFreeListSize());
+        assertNull(ds.getResource());
+    }
+
+
+    @Test
+    public void returnedTwice() throws Exception {
+        DataStructure ds = createDataStructure(ConcurrentBagDataStructure.class.getName(), 1);
+        ResourceHandle handle = ds.getResource();
+        ds.returnResource(handle);
+        ds.returnResource(handle);
+        assertEquals(1, ds.getFreeListSize());
+        assertEquals(handle, ds.getResource());
+        assertNull(ds.getResource());
+    }
+
+
+    @Test
+    public void removedResourceIsNotKeptByTheThread() throws Exception {
+        TestResourceHandler handler = new TestResourceHandler();
+        DataStructure ds = DataStructureFactory.getDataStructure(ConcurrentBagDataStructure.class.getName(), null, 1,
+            handler, null);
+        assertEquals(1, ds.addResource(null, 1));
+        ResourceHandle handle = ds.getResource();
+        ds.returnResource(handle);
+        // taken from the thread-affine slot, which keeps pointing to it
+        assertEquals(handle, ds.getResource());
+        ds.removeResource(handle);
+        // skips the stale entry of the shared queue
+        assertNull(ds.getResource());
+
+        handler.deleted.clear();
+        WeakReference<ResourceHandle> removed = new WeakReference<>(handle);
+        handle = null;
+        for (int i = 0; i < 100 && removed.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertNull(removed.get(), "Removed resource is still reachable");
+    }
+
+
+    @Test
+    public void resourceClaimedWhileBeingRemoved() throws Exception {
+        TestResourceHandler handler = new TestResourceHandler();
+        DataStructure ds = DataStructureFactory.getDataStructure(ConcurrentBagDataStructure.class.getName(), null, 1,
+            handler, null);
+        ClaimedWhileRemovedHandle handle = new ClaimedWhileRemovedHandle();
+        handler.created.add(handle);
+        assertEquals(1, ds.addResource(null, 1));
+        assertEquals(1, ds.getFreeListSize());
+
+        // another thread claims the free resource after it left the pool, before removeResource claims it
+        handle.beforeClaim = () -> assertNull(ds.getResource());
+        ds.removeResource(handle);
+        assertEquals(0, ds.getResourcesSize());
+        assertEquals(0, ds.getFreeListSize());
+
+        assertEquals(1, ds.addResource(null, 1));
+        assertEquals(1, ds.getFreeListSize());
+    }
+
+
+    @Test
+    public void concurrentThreadsNeverShareAResource() throws Exception {
+        DataStructure ds = createDataStructure(ConcurrentBagDataStructure.class.getName(), 4);
+        Set<ResourceHandle> inUse = ConcurrentHashMap.newKeySet();
+        List<Throwable> failures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    ResourceHandle handle = ds.getResource();
+                    if (handle == null) {
+                        continue;
+                    }
+                    if (!inUse.add(handle)) {
+                        synchronized (failures) {
+                            failures.add(new AssertionError("Handed out twice: " + handle));
+                        }
+                    }
+                    inUse.remove(handle);
+                    ds.returnResource(handle);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(30_000L);
+        }
+
+        assertTrue(failures.isEmpty(), failures::toString);
+        assertEquals(4, ds.getFreeListSize());
+        Set<ResourceHandle> all = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            all.add(ds.getResource());
+        }
+        assertEquals(4, all.size());
+        assertFalse(all.contains(null));
+    }
+
+
+    private static class ClaimedWhileRemovedHandle extends ResourceHandle {
+
+        Runnable beforeClaim;
+
+        ClaimedWhileRemovedHandle() {
+            super(new Object(), null, null, null);
+        }
+
+
+        @Override
+        public boolean compareAndSetBusy(boolean expected, boolean isBusy) {
+            Runnable action = beforeClaim;
+            beforeClaim = null;
+            if (action != null) {
+                action.run();
+            }
+            return super.compareAndSetBusy(expected, isBusy);
+        }
+    }
+}
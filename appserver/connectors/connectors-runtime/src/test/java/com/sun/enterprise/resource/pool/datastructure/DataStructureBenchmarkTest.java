@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.enterprise.resource.ResourceHandle;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares the get/return round trip of the {@link ConcurrentBagDataStructure} with the
+ * {@link RWLockDataStructure} under growing contention.
+ */
+@State(Scope.Benchmark)
+public class DataStructureBenchmarkTest {
+
+    private static final int POOL_SIZE = 32;
+
+    @Param({"com.sun.enterprise.resource.pool.datastructure.RWLockDataStructure",
+        "com.sun.enterprise.resource.pool.datastructure.ConcurrentBagDataStructure"})
+    public String dataStructureClass;
+
+    private DataStructure dataStructure;
+
+
+    @Test
+    public void getAndReturn_8threads() throws Exception {
+        // fewer threads than resources, the locked pool is hardly contended on a small machine
+        runBenchmark(8, 0.8);
+    }
+
+
+    @Test
+    public void getAndReturn_64threads() throws Exception {
+        runBenchmark(64, 1.0);
+    }
+
+
+    @Test
+    public void getAndReturn_512threads() throws Exception {
+        runBenchmark(512, 1.0);
+    }
+
+
+    /**
+     * @param minimumRatio the throughput of the concurrent bag relative to the locked data structure
+     */
+    private void runBenchmark(int threads, double minimumRatio) throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".getAndReturn$")
+            .warmupForks(0).warmupIterations(1).warmupTime(TimeValue.milliseconds(100L))
+            .measurementIterations(1).forks(1).measurementTime(TimeValue.milliseconds(300L))
+            .threads(threads).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+        Map<String, Double> scores = new HashMap<>();
+        for (RunResult result : results) {
+            String dataStructure = result.getParams().getParam("dataStructureClass");
+            scores.put(dataStructure.substring(dataStructure.lastIndexOf('.') + 1),
+                result.getPrimaryResult().getScore());
+        }
+        assertThat(scores.toString(), scores.get("ConcurrentBagDataStructure"),
+            greaterThan(scores.get("RWLockDataStructure") * minimumRatio));
+    }
+
+
+    @Setup(Level.Trial)
+    public void createDataStructure() throws Exception {
+        dataStructure = TestResourceHandler.createDataStructure(dataStructureClass, POOL_SIZE);
+    }
+
+
+    @TearDown(Level.Trial)
+    public void destroyDataStructure() {
+        dataStructure.removeAll();
+    }
+
+
+    @Benchmark
+    public void getAndReturn(Blackhole blackhole) {
+        ResourceHandle handle = dataStructure.getResource();
+        if (handle != null) {
+            blackhole.consume(handle.getId());
+            dataStructure.returnResource(handle);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.enterprise.resource.ResourceHandle;
+
+import org.junit.jupiter.api.Test;
+
+import static com.sun.enterprise.resource.pool.datastructure.TestResourceHandler.createDataStructure;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ListDataStructureTest {
+
+    @Test
+    public void allResourcesSnapshot() throws Exception {
+        DataStructure ds = createDataStructure(ListDataStructure.class.getName(), 4);
+        int iterated = 0;
+        for (ResourceHandle handle : ds.getAllResources()) {
+            ds.removeResource(handle);
+            iterated++;
+        }
+        assertEquals(4, iterated);
+        assertEquals(0, ds.getResourcesSize());
+        assertEquals(0, ds.getFreeListSize());
+        assertNull(ds.getResource());
+    }
+
+
+    @Test
+    public void contains() throws Exception {
+        DataStructure ds = createDataStructure(ListDataStructure.class.getName(), 2);
+        ResourceHandle handle = ds.getResource();
+        assertTrue(ds.contains(handle));
+        ds.removeResource(handle);
+        assertFalse(ds.contains(handle));
+        assertEquals(1, ds.getResourcesSize());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+
+import jakarta.resource.spi.ManagedConnection;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Creates plain resources and remembers the deleted ones.
+ */
+class TestResourceHandler implements ResourceHandler {
+
+    final List<ResourceHandle> deleted = new ArrayList<>();
+    /** Handed out by {@link #createResource(ResourceAllocator)} before new plain resources */
+    final Deque<ResourceHandle> created = new ArrayDeque<>();
+
+    static DataStructure createDataStructure(String className, int size) throws PoolingException {
+        DataStructure ds = DataStructureFactory.getDataStructure(className, null, size, new TestResourceHandler(), null);
+        assertEquals(size, ds.addResource(null, size));
+        return ds;
+    }
+
+
+    @Override
+    public void deleteResource(ResourceHandle resourceHandle) {
+        deleted.add(resourceHandle);
+    }
+
+
+    @Override
+    public ResourceHandle createResource(ResourceAllocator allocator) {
+        ResourceHandle handle = created.poll();
+        return handle == null ? new ResourceHandle(new Object(), null, allocator, null) : handle;
+    }
+
+
+    @Override
+    public void createResourceAndAddToPool() {
+    }
+
+
+    @Override
+    public Set<ManagedConnection> getInvalidConnections(Set<ManagedConnection> connections) {
+        return Set.of();
+    }
+
+
+    @Override
+    public void invalidConnectionDetected(ResourceHandle h) {
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.resource.pool.waitqueue;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DefaultPoolWaitQueueTest {
+
+    @Test
+    public void knownEmpty() {
+        DefaultPoolWaitQueue queue = new DefaultPoolWaitQueue();
+        assertTrue(queue.isKnownEmpty());
+
+        Object first = new Object();
+        Object second = new Object();
+        queue.addToQueue(first);
+        queue.addToQueue(second);
+        assertFalse(queue.isKnownEmpty());
+        assertEquals(2, queue.getQueueLength());
+
+        assertSame(first, queue.remove());
+        assertFalse(queue.isKnownEmpty());
+        assertTrue(queue.removeFromQueue(second));
+        assertTrue(queue.isKnownEmpty());
+        assertFalse(queue.removeFromQueue(second));
+        assertTrue(queue.isKnownEmpty());
+    }
+}
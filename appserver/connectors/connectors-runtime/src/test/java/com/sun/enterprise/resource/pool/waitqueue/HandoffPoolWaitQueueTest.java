@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.waitqueue;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HandoffPoolWaitQueueTest {
+
+    @Test
+    public void handoff_oldestWaiterFirst() throws Exception {
+        HandoffPoolWaitQueue queue = new HandoffPoolWaitQueue();
+        AtomicReference<Object> first = new AtomicReference<>();
+        AtomicReference<Object> second = new AtomicReference<>();
+        Thread firstWaiter = startWaiter(queue, first, 1);
+        Thread secondWaiter = startWaiter(queue, second, 2);
+
+        assertTrue(queue.handoff("a"));
+        firstWaiter.join(10_000L);
+        assertFalse(firstWaiter.isAlive());
+        assertEquals("a", first.get());
+        assertTrue(secondWaiter.isAlive());
+        assertEquals(1, queue.getQueueLength());
+
+        assertTrue(queue.handoff("b"));
+        secondWaiter.join(10_000L);
+        assertFalse(secondWaiter.isAlive());
+        assertEquals("b", second.get());
+        assertEquals(0, queue.getQueueLength());
+        assertFalse(queue.handoff("c"));
+    }
+
+
+    @Test
+    public void handoff_timeoutAndInterrupt() {
+        HandoffPoolWaitQueue queue = new HandoffPoolWaitQueue();
+        assertNull(queue.await(queue.enqueue(), 10L));
+        assertEquals(0, queue.getQueueLength());
+
+        Thread.currentThread().interrupt();
+        assertNull(queue.await(queue.enqueue(), 10_000L));
+        assertTrue(Thread.interrupted());
+        assertEquals(0, queue.getQueueLength());
+        assertFalse(queue.handoff(HandoffPoolWaitQueue.SIGNAL));
+    }
+
+
+    @Test
+    public void factory_handoffQueue() throws Exception {
+        assertInstanceOf(HandoffPoolWaitQueue.class,
+            PoolWaitQueueFactory.createPoolWaitQueue(PoolWaitQueue.HANDOFF_WAIT_QUEUE));
+        assertInstanceOf(DefaultPoolWaitQueue.class, PoolWaitQueueFactory.createPoolWaitQueue(null));
+    }
+
+
+    private static Thread startWaiter(HandoffPoolWaitQueue queue, AtomicReference<Object> handed, int queueLength)
+        throws InterruptedException {
+        Thread thread = new Thread(() -> handed.set(queue.await(queue.enqueue(), 10_000L)));
+        thread.start();
+        while (queue.getQueueLength() < queueLength) {
+            Thread.sleep(1L);
+        }
+        return thread;
+    }
+}
@@ -201,6 +201,7 @@ public interface RuntimeTagNames extends TagNames {
     public static final String THREAD_QUEUE_CAPACITY = "thread-queue-capacity";
     public static final String ALLOW_CORE_THREAD_TIMEOUT = "allow-core-thread-timeout";
     public static final String PRESTART_ALL_CORE_THREADS = "prestart-all-core-threads";
+    public static final String VIRTUAL_THREADS = "virtual-threads";
 
     // flush-at-end-of-method
     public static final String FLUSH_AT_END_OF_METHOD =
@@ -373,7 +373,11 @@ public interface EjbContainer extends ConfigBeanProxy, PropertyBag, ConfigExtens
         @PropertyDesc(name = "thread-keep-alive-seconds"),
         @PropertyDesc(name = "thread-queue-capacity"),
         @PropertyDesc(name = "allow-core-thread-timeout"),
-        @PropertyDesc(name = "prestart-all-core-threads")
+        @PropertyDesc(name = "prestart-all-core-threads"),
+        @PropertyDesc(name = "virtual-threads",
+        defaultValue = "false",
+        values = {"true", "false"},
+        description = "Run the asynchronous invocations in virtual threads, if the JVM supports them")
     })
     @Element
     List<Property> getProperty();
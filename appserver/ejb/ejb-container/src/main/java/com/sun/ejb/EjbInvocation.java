@@ -25,7 +25,6 @@ import com.sun.ejb.containers.EjbFutureTask;
 import com.sun.ejb.containers.SimpleEjbResourceHandlerImpl;
 import com.sun.ejb.containers.interceptors.InterceptorManager;
 import com.sun.ejb.containers.interceptors.InterceptorUtil;
-import com.sun.enterprise.deployment.EjbBundleDescriptor;
 import com.sun.enterprise.deployment.MethodDescriptor;
 import com.sun.enterprise.transaction.spi.TransactionOperationsManager;
 
@@ -63,14 +62,13 @@ public class EjbInvocation extends ComponentInvocation
 
     private TransactionOperationsManager transactionOperationsManager;
 
-    EjbInvocation(String compEnvId, Container container) {
+    EjbInvocation(String compEnvId, Container container, String appName, String moduleName) {
         super.componentId = compEnvId;
         super.container = container;
         super.setComponentInvocationType(ComponentInvocation.ComponentInvocationType.EJB_INVOCATION);
 
-        EjbBundleDescriptor ejbBundleDesc = container.getEjbDescriptor().getEjbBundleDescriptor();
-        moduleName = ejbBundleDesc.getModuleName();
-        appName = ejbBundleDesc.getApplication().getAppName();
+        this.moduleName = moduleName;
+        this.appName = appName;
 
         // By default we enable TransactionOperationsManager checks. But EjbInvocation.clone()
         // clears transactionOperationsManager so that, be default, cloned invocations
@@ -223,6 +221,9 @@ public class EjbInvocation extends ComponentInvocation
     // True if lock is currently held for this invocation
     private boolean holdingSFSBSerializedLock = false;
 
+    // True if the invocation is handed back to the EjbInvocationFactory after the call
+    private boolean recyclable;
+
     public ClassLoader getOriginalContextClassLoader() {
         return originalContextClassLoader;
     }
@@ -271,9 +272,68 @@ public class EjbInvocation extends ComponentInvocation
         this.doTxProcessingInPostInvoke = doTxProcessingInPostInvoke;
     }
 
+    boolean isRecyclable() {
+        return recyclable;
+    }
+
+    void setRecyclable(boolean recyclable) {
+        this.recyclable = recyclable;
+    }
+
+    /**
+     * Resets all the fields to their initial values. The container is cleared too: the
+     * invocation is kept by a thread local of the EjbInvocationFactory and must not keep the
+     * container and the application classes reachable after undeployment.
+     */
+    @Override
+    protected void recycle() {
+        super.recycle();
+        super.container = null;
+        context = null;
+        transactionOperationsManager = this;
+        ejbObject = null;
+        isLocal = false;
+        isRemote = false;
+        invocationInfo = null;
+        isBusinessInterface = false;
+        isWebService = false;
+        isTimerCallback = false;
+        isMessageDriven = false;
+        isHome = false;
+        clientInterface = null;
+        method = null;
+        ejb = null;
+        exception = null;
+        exceptionFromBeanMethod = null;
+        clientTx = null;
+        transactionAttribute = 0;
+        containerStartsTx = false;
+        originalContextClassLoader = null;
+        methodParams = null;
+        timer = null;
+        preInvokeTxStatus = null;
+        foundInTxCache = false;
+        useFastPath = false;
+        cmcLock = null;
+        doTxProcessingInPostInvoke = false;
+        invId = 0L;
+        yetToSubmitStatus = true;
+        asyncFuture = null;
+        wasCancelCalled = false;
+        webServiceMethod = null;
+        holdingSFSBSerializedLock = false;
+        interceptorIndex = 0;
+        beanMethod = null;
+        webServiceContext = null;
+        message = null;
+        soapMessage = null;
+        contextData = null;
+    }
+
     @Override
     public EjbInvocation clone() {
         EjbInvocation newInv = (EjbInvocation) super.clone();
+        newInv.recyclable = false;
 
         newInv.ejb = null;
         newInv.exception = null;
@@ -16,31 +16,87 @@
 
 package com.sun.ejb;
 
+import com.sun.enterprise.deployment.EjbBundleDescriptor;
+
+import java.util.ArrayDeque;
+
 /**
  * @author Mahesh Kannan
  *         Date: Jan 30, 2008
  */
 public class EjbInvocationFactory {
 
+    // Free invocations kept per thread, more than one for nested calls on the same bean
+    private static final int MAX_RECYCLED_INVOCATIONS = 4;
+
     private String compEnvId;
 
     private Container container;
 
+    private final String appName;
+
+    private final String moduleName;
+
+    private final ThreadLocal<ArrayDeque<EjbInvocation>> recycledInvocations =
+        ThreadLocal.withInitial(() -> new ArrayDeque<>(MAX_RECYCLED_INVOCATIONS));
+
     public EjbInvocationFactory(String compEnvId, Container container) {
         this.compEnvId = compEnvId;
         this.container = container;
+
+        EjbBundleDescriptor ejbBundleDesc = container.getEjbDescriptor().getEjbBundleDescriptor();
+        this.moduleName = ejbBundleDesc.getModuleName();
+        this.appName = ejbBundleDesc.getApplication().getAppName();
+    }
+
+    EjbInvocationFactory(String compEnvId, Container container, String appName, String moduleName) {
+        this.compEnvId = compEnvId;
+        this.container = container;
+        this.appName = appName;
+        this.moduleName = moduleName;
     }
 
     public EjbInvocation create() {
-        return new EjbInvocation(compEnvId, container);
+        return new EjbInvocation(compEnvId, container, appName, moduleName);
     }
 
     public <C extends ComponentContext> EjbInvocation create(Object ejb, C ctx) {
-        EjbInvocation ejbInv = new EjbInvocation(compEnvId, container);
+        EjbInvocation ejbInv = create();
         ejbInv.ejb = ejb;
         ejbInv.instance = ejb;
         ejbInv.context = ctx;
 
         return ejbInv;
     }
+
+    /**
+     * Returns an invocation recycled by a previous call of the current thread, or a new one.
+     * Only for synchronous calls: the invocation must not be referenced after it is handed back
+     * with {@link #recycle(EjbInvocation)}.
+     */
+    public EjbInvocation createRecyclable() {
+        EjbInvocation ejbInv = recycledInvocations.get().pollFirst();
+        if (ejbInv == null) {
+            ejbInv = create();
+            ejbInv.setRecyclable(true);
+        } else {
+            ejbInv.container = container;
+        }
+        return ejbInv;
+    }
+
+    /**
+     * Resets the invocation and keeps it for the next call of the current thread.
+     * Invocations not created by {@link #createRecyclable()} are ignored.
+     */
+    public void recycle(EjbInvocation ejbInv) {
+        if (!ejbInv.isRecyclable()) {
+            return;
+        }
+        ejbInv.recycle();
+        ArrayDeque<EjbInvocation> free = recycledInvocations.get();
+        if (free.size() < MAX_RECYCLED_INVOCATIONS) {
+            free.addFirst(ejbInv);
+        }
+    }
 }
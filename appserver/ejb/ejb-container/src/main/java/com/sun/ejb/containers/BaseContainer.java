@@ -233,6 +233,21 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
 
     protected static final String SINGLETON_BEAN_POOL_PROP = "singleton-bean-pool";
 
+    /**
+     * Enterprise beans property selecting the striped bean pool, either true for all pooled beans
+     * of the module or a comma separated list of ejb names.
+     */
+    protected static final String STRIPED_BEAN_POOL_PROP = "striped-bean-pool";
+
+    /**
+     * Enterprise beans property enabling the reuse of the invocation objects of synchronous local
+     * business calls, either true for all beans of the module or a comma separated list of ejb
+     * names.
+     */
+    protected static final String RECYCLE_LOCAL_INVOCATIONS_PROP = "recycle-local-invocations";
+
+    private boolean recycleLocalInvocations;
+
     protected final ClassLoader loader;
     protected Class<?> ejbClass;
     protected Class<?> sfsbSerializedClass;
@@ -3203,6 +3218,35 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         return invFactory.create(ejb, context);
     }
 
+    /**
+     * Creates the invocation of a local business method call. If enabled by the
+     * {@value #RECYCLE_LOCAL_INVOCATIONS_PROP} property, the invocation of a synchronous call is
+     * reused from a previous call of the same thread and must be handed back with
+     * {@link #releaseLocalEjbInvocation(EjbInvocation)} once the call completed.
+     */
+    EjbInvocation createLocalEjbInvocation(InvocationInfo invInfo) {
+        if (recycleLocalInvocations && !invInfo.isAsynchronous()) {
+            return invFactory.createRecyclable();
+        }
+        return createEjbInvocation();
+    }
+
+    /**
+     * Hands back an invocation created by {@link #createLocalEjbInvocation(InvocationInfo)},
+     * it must not be used anymore.
+     */
+    void releaseLocalEjbInvocation(EjbInvocation inv) {
+        invFactory.recycle(inv);
+    }
+
+    /**
+     * Containers which neither keep the invocation after postInvoke nor customize it in
+     * {@link #createEjbInvocation()} allow to recycle it.
+     */
+    protected boolean supportsInvocationRecycling() {
+        return false;
+    }
+
     // default impl
     protected EJBLocalHomeInvocationHandler getEJBLocalHomeInvocationHandler(Class homeIntfClass) throws Exception {
         return new EJBLocalHomeInvocationHandler(ejbDescriptor, homeIntfClass);
@@ -3426,6 +3470,7 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         ComponentEnvManager envManager = ejbContainerUtilImpl.getComponentEnvManager();
         componentId = envManager.bindToComponentNamespace(ejbDescriptor);
         invFactory = new EjbInvocationFactory(componentId, this);
+        recycleLocalInvocations = supportsInvocationRecycling() && isEnabledForThisBean(RECYCLE_LOCAL_INVOCATIONS_PROP);
         ejbContainerUtilImpl.registerContainer(this);
         // create envProps object to be returned from EJBContext.getEnvironment
         Set env = ejbDescriptor.getEnvironmentProperties();
@@ -4036,6 +4081,33 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         // No-op by default
     }
 
+    /**
+     * @return true if the {@value #STRIPED_BEAN_POOL_PROP} property selects the striped bean pool
+     *         for this bean.
+     */
+    protected boolean isStripedBeanPool() {
+        return isEnabledForThisBean(STRIPED_BEAN_POOL_PROP);
+    }
+
+    /**
+     * @return true if the enterprise beans property is true or lists the name of this bean.
+     */
+    protected boolean isEnabledForThisBean(String propertyName) {
+        final String value = ejbDescriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(propertyName);
+        if (value == null) {
+            return false;
+        }
+        if (Boolean.parseBoolean(value.trim())) {
+            return true;
+        }
+        for (String ejbName : value.split(",")) {
+            if (ejbName.trim().equals(ejbDescriptor.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected boolean isApplicationException(Throwable exception) {
         return !isSystemUncheckedException(exception);
     }
@@ -4309,6 +4381,10 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         timerProbeNotifier.ejbTimerDeliveredEvent();
     }
 
+    protected void recordTimerExpirationLag(long lagMillis) {
+        timerProbeNotifier.ejbTimerExpirationLagEvent(lagMillis);
+    }
+
     private static class JndiInfo {
         SimpleJndiName name;
         Object object;
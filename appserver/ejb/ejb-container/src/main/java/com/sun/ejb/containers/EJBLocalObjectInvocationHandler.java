@@ -146,7 +146,7 @@ public final class EJBLocalObjectInvocationHandler extends EJBLocalObjectImpl im
             }
 
             // Process application-specific method.
-            EjbInvocation inv = container.createEjbInvocation();
+            EjbInvocation inv = container.createLocalEjbInvocation(invInfo);
             inv.isLocal = true;
             inv.isBusinessInterface = !isLocalHomeView();
             inv.isHome = false;
@@ -174,8 +174,10 @@ public final class EJBLocalObjectInvocationHandler extends EJBLocalObjectImpl im
                 container.postInvoke(inv);
             }
 
-            if (inv.exception != null) {
-                InvocationHandlerUtil.throwLocalException(inv.exception, method.getExceptionTypes());
+            Throwable exception = inv.exception;
+            container.releaseLocalEjbInvocation(inv);
+            if (exception != null) {
+                InvocationHandlerUtil.throwLocalException(exception, method.getExceptionTypes());
             }
             return returnValue;
         } finally {
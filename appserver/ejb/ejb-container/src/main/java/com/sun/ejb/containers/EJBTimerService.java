@@ -18,6 +18,7 @@
 package com.sun.ejb.containers;
 
 import com.sun.ejb.PersistentTimerService;
+import com.sun.ejb.containers.util.TimerWheel;
 import com.sun.enterprise.admin.monitor.callflow.Agent;
 import com.sun.enterprise.admin.monitor.callflow.RequestType;
 import com.sun.enterprise.deployment.MethodDescriptor;
@@ -45,6 +46,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -131,6 +136,19 @@ public class EJBTimerService {
     private static final String RESCHEDULE_FAILED_TIMER = "reschedule-failed-timer";
     private boolean rescheduleFailedTimer = false;
 
+    // Precision of the timer wheel dispatching the timer expirations
+    private static final String TIMER_WHEEL_TICK = "timer-wheel-tick-in-millis";
+    private static final long DEFAULT_TIMER_WHEEL_TICK = 10;
+    private long timerWheelTick_ = DEFAULT_TIMER_WHEEL_TICK;
+
+    // Number of threads dedicated to timeout delivery, the EJB container
+    // thread pool is used if not set
+    private static final String TIMEOUT_THREAD_POOL_SIZE = "timeout-thread-pool-size";
+    private int timeoutThreadPoolSize_ = 0;
+
+    private ExecutorService timeoutExecutor_;
+    private final TimerWheel timerWheel_;
+
     // Flag that allows to load EJBTimerService on the 1st access and
     // distinguish between not available and not loaded
     private static volatile boolean _timerServiceVerified = false;
@@ -151,6 +169,24 @@ public class EJBTimerService {
         isDas = env.isDas() || env.isEmbedded();
 
         initProperties();
+
+        Executor timeoutExecutor = ejbContainerUtil::addWork;
+        if (timeoutThreadPoolSize_ > 0) {
+            timeoutExecutor_ = createTimeoutExecutor(timeoutThreadPoolSize_);
+            timeoutExecutor = timeoutExecutor_;
+        }
+        timerWheel_ = new TimerWheel("ejb-timer-wheel", timerWheelTick_, timeoutExecutor);
+    }
+
+    private static ExecutorService createTimeoutExecutor(int threads) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "ejb-timer-timeout-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            // avoid keeping a reference to the class loader of the first timed application
+            thread.setContextClassLoader(EJBTimerService.class.getClassLoader());
+            return thread;
+        });
     }
 
     protected static void setEJBTimerService(EJBTimerService es) {
@@ -253,6 +289,18 @@ public class EJBTimerService {
 
                 rescheduleFailedTimer = Boolean.valueOf(ejbt.getPropertyValue(RESCHEDULE_FAILED_TIMER));
 
+                valString = ejbt.getPropertyValue(TIMER_WHEEL_TICK);
+                val = (valString != null) ? Long.parseLong(valString) : -1;
+                if( val > 0 ) {
+                    timerWheelTick_ = val;
+                }
+
+                valString = ejbt.getPropertyValue(TIMEOUT_THREAD_POOL_SIZE);
+                val = (valString != null) ? Long.parseLong(valString) : -1;
+                if( val > 0 ) {
+                    timeoutThreadPoolSize_ = (int) val;
+                }
+
                 // Load confing listener
                 ejbContainerUtil.getServices().getService(EJBTimerServiceConfigListener.class);
             }
@@ -265,7 +313,9 @@ public class EJBTimerService {
         logger.log(Level.FINE, "EJB Timer Service properties : " +
                    "min delivery interval = " + getMinimumDeliveryInterval() +
                    "\nmax redeliveries = " + maxRedeliveries_ +
-                   "\nredelivery interval = " + getRedeliveryInterval());
+                   "\nredelivery interval = " + getRedeliveryInterval() +
+                   "\ntimer wheel tick = " + timerWheelTick_ +
+                   "\ntimeout thread pool size = " + timeoutThreadPoolSize_);
     }
 
     synchronized void timedObjectCount() {
@@ -335,6 +385,10 @@ public class EJBTimerService {
     private void shutdown() {
         // Set flag to prevent any new timer expirations.
         shutdown_ = true;
+        timerWheel_.stop();
+        if (timeoutExecutor_ != null) {
+            timeoutExecutor_.shutdown();
+        }
     }
 
     /**
@@ -412,6 +466,34 @@ public class EJBTimerService {
 
     void scheduleTask(TimerPrimaryKey timerId, Date expiration,
                       boolean rescheduled) {
+        EJBTimerTask timerTask = createTask(timerId, expiration, rescheduled);
+        if( timerTask != null ) {
+            timerWheel_.schedule(timerTask);
+        }
+    }
+
+    /**
+     * Schedules the first expiration of many timers at once, like the timers
+     * restored from the database at startup.
+     */
+    protected void scheduleTasks(Map<TimerPrimaryKey, Date> expirations) {
+        List<EJBTimerTask> timerTasks = new ArrayList<>(expirations.size());
+        for (Map.Entry<TimerPrimaryKey, Date> next : expirations.entrySet()) {
+            EJBTimerTask timerTask = createTask(next.getKey(), next.getValue(), false);
+            if( timerTask != null ) {
+                timerTasks.add(timerTask);
+            }
+        }
+        timerWheel_.scheduleAll(timerTasks);
+    }
+
+    /**
+     * Moves the timer to the SCHEDULED state.
+     *
+     * @return the task to add to the timer wheel, null if the timer does not exist
+     */
+    private EJBTimerTask createTask(TimerPrimaryKey timerId, Date expiration,
+                                    boolean rescheduled) {
 
         RuntimeTimerState timerState = getTimerState(timerId);
 
@@ -445,17 +527,15 @@ public class EJBTimerService {
                 } else {
                     timerState.scheduled(timerTask);
                 }
-
-                java.util.Timer jdkTimer = ejbContainerUtil.getTimer();
-                jdkTimer.schedule(timerTask, timerExpiration);
+                return timerTask;
             }
-        } else {
-
-            logger.log(Level.FINE, "No timer state found for " +
-                       (rescheduled ? "RE-schedule" : "schedule") +
-                       " request of " + timerId +
-                       " for timeout at " + expiration);
         }
+
+        logger.log(Level.FINE, "No timer state found for " +
+                   (rescheduled ? "RE-schedule" : "schedule") +
+                   " request of " + timerId +
+                   " for timeout at " + expiration);
+        return null;
     }
 
 
@@ -1366,38 +1446,43 @@ public class EJBTimerService {
     }
 
     /**
-     * This method is called back from the EJBTimerTask object
-     * on the JDK Timer Thread.  Work performed in this callback
-     * should be short-lived, so do a little bookkeeping and then
-     * launch a separate thread to invoke ejbTimeout, etc.
+     * This method is called back from the EJBTimerTask object on a thread
+     * of the timeout executor, after the timer wheel found it expired.
+     * Do a little bookkeeping and then invoke ejbTimeout, etc.
      */
 
-    void taskExpired(TimerPrimaryKey timerId) {
+    void taskExpired(TimerPrimaryKey timerId, EJBTimerTask timerTask) {
         RuntimeTimerState timerState = getTimerState(timerId);
 
         if( timerState != null ) {
             synchronized(timerState) {
-                if( timerState.isScheduled() ) {
-                    timerState.delivered();
-
-                    if( logger.isLoggable(Level.FINE) ) {
-                        logger.log(Level.FINE,
-                           "Adding work pool task for timer " + timerId);
-                    }
-
-                    TaskExpiredWork work = new TaskExpiredWork(this, timerId);
-                    ejbContainerUtil.addWork(work);
-                } else {
+                if( !timerState.isScheduled() ) {
                     logger.log(Level.FINE, "Timer " + timerId +
                                " is not in scheduled state.  Current state = "
                                + timerState.stateToString());
+                    return;
                 }
+                if( timerState.getCurrentTimerTask() != timerTask ) {
+                    logger.log(Level.FINE, "Ignoring stale expiration of timer " + timerId);
+                    return;
+                }
+                timerState.delivered();
+            }
+
+            long lag = System.currentTimeMillis() - timerTask.getTimeout().getTime();
+            BaseContainer container = getContainer(timerState.getContainerId());
+            if( container != null && lag > 0 ) {
+                container.recordTimerExpirationLag(lag);
             }
+
+            if( logger.isLoggable(Level.FINE) ) {
+                logger.log(Level.FINE,
+                   "Delivering timeout for timer " + timerId + " " + lag + " ms after expiration");
+            }
+            deliverTimeout(timerId);
         } else {
             logger.log(Level.FINE, "null timer state for timer id " + timerId);
         }
-
-        return;
     }
 
     /**
@@ -1868,28 +1953,6 @@ public class EJBTimerService {
 
     } //TimerCache{}
 
-    /**
-     * This class gets a callback on a worker thread where the actual
-     * ejbTimeout invocation will be made.
-     */
-    private static class TaskExpiredWork implements Runnable {
-        private final EJBTimerService timerService_;
-        private final TimerPrimaryKey timerId_;
-
-        public TaskExpiredWork(EJBTimerService timerService,
-                               TimerPrimaryKey timerId) {
-            timerService_ = timerService;
-            timerId_ = timerId;
-        }
-
-        @Override
-        public void run() {
-            // Delegate to Timer Service.
-            timerService_.deliverTimeout(timerId_);
-        }
-
-    } // TaskExpiredWork
-
     private static class TimerSynch implements Synchronization {
 
         private final TimerPrimaryKey timerId_;
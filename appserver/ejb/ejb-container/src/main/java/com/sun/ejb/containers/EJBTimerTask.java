@@ -17,16 +17,17 @@
 package com.sun.ejb.containers;
 
 
+import com.sun.ejb.containers.util.TimerWheel;
+
 import java.util.Date;
-import java.util.TimerTask;
 
 
 /*
- * JDK timer task for timer expirations.
+ * Timer wheel task for timer expirations.
  *
  * @author Kenneth Saks
  */
-public class EJBTimerTask extends TimerTask {
+public class EJBTimerTask extends TimerWheel.Timeout {
 
     private Date timeout_;
     private TimerPrimaryKey timerId_;
@@ -35,6 +36,7 @@ public class EJBTimerTask extends TimerTask {
     EJBTimerTask(Date timeout, TimerPrimaryKey timerId,
                  EJBTimerService timerService)
     {
+        super(timeout.getTime());
         timeout_ = timeout;
         timerId_ = timerId;
         timerService_ = timerService;
@@ -42,7 +44,7 @@ public class EJBTimerTask extends TimerTask {
 
     public void run() {
         // Delegate to Timer Service.
-        timerService_.taskExpired(timerId_);
+        timerService_.taskExpired(timerId_, this);
     }
 
     public Date getTimeout() {
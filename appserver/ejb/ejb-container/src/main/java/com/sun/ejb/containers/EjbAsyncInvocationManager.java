@@ -119,7 +119,7 @@ public class EjbAsyncInvocationManager {
         futureTask.getEjbAsyncTask().initialize(asyncInv);
 
         EjbContainerUtil ejbContainerUtil = EjbContainerUtilImpl.getInstance();
-        return ejbContainerUtil.getThreadPoolExecutor(null).submit(futureTask.getEjbAsyncTask());
+        return ejbContainerUtil.getThreadPoolExecutor(EjbContainerUtil.ASYNC_THREAD_POOL_NAME).submit(futureTask.getEjbAsyncTask());
     }
 
     public void cleanupContainerTasks(Container container) {
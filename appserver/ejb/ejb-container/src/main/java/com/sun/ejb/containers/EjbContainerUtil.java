@@ -58,6 +58,9 @@ public interface EjbContainerUtil {
 
     String DEFAULT_THREAD_POOL_NAME = "__ejb-thread-pool";
 
+    // Pool of the asynchronous invocations, the default pool unless they run in virtual threads
+    String ASYNC_THREAD_POOL_NAME = "__ejb-async-thread-pool";
+
     // Used by the TimerService upgrade
     long MINIMUM_TIMER_DELIVERY_INTERVAL = 1000;
 
@@ -19,6 +19,7 @@ package com.sun.ejb.containers;
 
 import com.sun.ejb.base.io.EJBObjectInputStreamHandler;
 import com.sun.ejb.base.io.EJBObjectOutputStreamHandler;
+import com.sun.ejb.monitoring.stats.EjbThreadPoolStatsProvider;
 import com.sun.enterprise.admin.monitor.callflow.Agent;
 import com.sun.enterprise.config.serverbeans.Config;
 import com.sun.enterprise.config.serverbeans.Domain;
@@ -86,6 +87,13 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
 
     private ThreadPoolExecutor defaultThreadPoolExecutor;
 
+    private EjbThreadPoolStatsProvider defaultThreadPoolStatsProvider;
+
+    // Virtual thread executor of the asynchronous invocations, null when they use the default pool
+    private ThreadPoolExecutor asyncThreadPoolExecutor;
+
+    private EjbThreadPoolStatsProvider asyncThreadPoolStatsProvider;
+
     @Inject
     private ServiceLocator services;
 
@@ -167,7 +175,17 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
                     });
         }
 
-        defaultThreadPoolExecutor = createThreadPoolExecutor(DEFAULT_THREAD_POOL_NAME);
+        EjbThreadPoolExecutor threadPoolExecutor = createThreadPoolExecutor(DEFAULT_THREAD_POOL_NAME);
+        defaultThreadPoolExecutor = threadPoolExecutor;
+        defaultThreadPoolStatsProvider = new EjbThreadPoolStatsProvider(DEFAULT_THREAD_POOL_NAME, threadPoolExecutor);
+        defaultThreadPoolStatsProvider.register();
+
+        EjbThreadPoolExecutor virtualThreadExecutor = createVirtualThreadExecutor(ASYNC_THREAD_POOL_NAME);
+        if (virtualThreadExecutor != null) {
+            asyncThreadPoolExecutor = virtualThreadExecutor;
+            asyncThreadPoolStatsProvider = new EjbThreadPoolStatsProvider(ASYNC_THREAD_POOL_NAME, virtualThreadExecutor);
+            asyncThreadPoolStatsProvider.register();
+        }
 
         //avoid starting JDK timer in application class loader.  The life of _timer
         //field is longer than deployed apps, and any reference to app class loader
@@ -190,10 +208,22 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
 
     @Override
     public void preDestroy() {
+        if (defaultThreadPoolStatsProvider != null) {
+            defaultThreadPoolStatsProvider.unregister();
+            defaultThreadPoolStatsProvider = null;
+        }
         if (defaultThreadPoolExecutor != null) {
             defaultThreadPoolExecutor.shutdown();
             defaultThreadPoolExecutor = null;
         }
+        if (asyncThreadPoolStatsProvider != null) {
+            asyncThreadPoolStatsProvider.unregister();
+            asyncThreadPoolStatsProvider = null;
+        }
+        if (asyncThreadPoolExecutor != null) {
+            asyncThreadPoolExecutor.shutdown();
+            asyncThreadPoolExecutor = null;
+        }
         EJBTimerService.onShutdown();
         EJBTimerService.unsetEJBTimerService();
     }
@@ -470,8 +500,33 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
         return env.isDas() || env.isEmbedded();
     }
 
-    private ThreadPoolExecutor createThreadPoolExecutor(String poolName) {
-        ThreadPoolExecutor result = null;
+    /**
+     * Creates the executor of the asynchronous invocations when the virtual-threads property
+     * is set. Only the asynchronous invocations run in virtual threads: the timers, the
+     * passivation and the pool resizing submitted through {@link #addWork(Runnable)} stay in
+     * the default pool.
+     *
+     * @return the virtual thread executor, null if the asynchronous invocations use the default pool
+     */
+    private EjbThreadPoolExecutor createVirtualThreadExecutor(String poolName) {
+        String val = ejbContainer.getPropertyValue(RuntimeTagNames.VIRTUAL_THREADS);
+        if (val == null || !Boolean.parseBoolean(val.trim())) {
+            return null;
+        }
+        if (!EjbThreadPoolExecutor.isVirtualThreadSupported()) {
+            _logger.warning(RuntimeTagNames.VIRTUAL_THREADS
+                    + " is not supported by this JVM, using platform threads");
+            return null;
+        }
+        EjbThreadPoolExecutor result = EjbThreadPoolExecutor.newVirtualThreadExecutor(poolName);
+        if (_logger.isLoggable(Level.FINE)) {
+            _logger.fine("Created " + result.toString());
+        }
+        return result;
+    }
+
+    private EjbThreadPoolExecutor createThreadPoolExecutor(String poolName) {
+        EjbThreadPoolExecutor result = null;
         String val = ejbContainer.getPropertyValue(RuntimeTagNames.THREAD_CORE_POOL_SIZE);
         int corePoolSize = initCorePoolSize(val);
 
@@ -591,6 +646,9 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
         if(poolName == null) {
             return defaultThreadPoolExecutor;
         }
+        if (ASYNC_THREAD_POOL_NAME.equals(poolName)) {
+            return asyncThreadPoolExecutor == null ? defaultThreadPoolExecutor : asyncThreadPoolExecutor;
+        }
         return null;
 //        TODO retrieve the named ThreadPoolExecutor
     }
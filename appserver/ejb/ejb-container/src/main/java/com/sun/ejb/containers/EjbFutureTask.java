@@ -41,6 +41,10 @@ public class EjbFutureTask<V>
     private volatile V resultValue;
     private volatile Throwable resultException;
 
+    // System.nanoTime() of the submission to and of the start by the EjbThreadPoolExecutor
+    private long submitTime;
+    private long startTime;
+
 
     public EjbFutureTask(EjbAsyncTask<V> callable, EjbAsyncInvocationManager mgr) {
         super(callable);
@@ -194,6 +198,22 @@ public class EjbFutureTask<V>
         return resultException;
     }
 
+    long getSubmitTime() {
+        return submitTime;
+    }
+
+    void setSubmitTime(long submitTime) {
+        this.submitTime = submitTime;
+    }
+
+    long getStartTime() {
+        return startTime;
+    }
+
+    void setStartTime(long startTime) {
+        this.startTime = startTime;
+    }
+
     public String toString() {
 
         StringBuffer sbuf = new StringBuffer();
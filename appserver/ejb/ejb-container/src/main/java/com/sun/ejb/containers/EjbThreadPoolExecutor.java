@@ -18,21 +18,100 @@ package com.sun.ejb.containers;
 
 import com.sun.enterprise.deployment.xml.RuntimeTagNames;
 import com.sun.enterprise.transaction.api.JavaEETransactionManager;
+import com.sun.enterprise.util.VirtualThreads;
 import jakarta.transaction.Status;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.Callable;
 import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Logger;
 
 public class EjbThreadPoolExecutor extends ThreadPoolExecutor {
+
+    private final boolean virtualThreads;
+
+    // Times of the EjbFutureTasks, in nanoseconds
+    private final LongAdder timedTaskCount = new LongAdder();
+    private final LongAdder totalQueueWaitTime = new LongAdder();
+    private final LongAccumulator maxQueueWaitTime = new LongAccumulator(Math::max, 0L);
+    private final LongAdder totalExecutionTime = new LongAdder();
+    private final LongAccumulator maxExecutionTime = new LongAccumulator(Math::max, 0L);
+
     public EjbThreadPoolExecutor(int corePoolSize, int maximumPoolSize,
             long keepAliveTime, BlockingQueue<Runnable> workQueue, String threadPoolName) {
-        super(corePoolSize, maximumPoolSize, keepAliveTime, TimeUnit.SECONDS, workQueue,
-                new ThreadFactoryImpl(threadPoolName));
+        this(corePoolSize, maximumPoolSize, keepAliveTime, workQueue, new ThreadFactoryImpl(threadPoolName), false);
+    }
+
+    private EjbThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime,
+            BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory, boolean virtualThreads) {
+        super(corePoolSize, maximumPoolSize, keepAliveTime, TimeUnit.SECONDS, workQueue, threadFactory);
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Creates an executor which hands every task over to a new virtual thread, so the number
+     * of concurrently running tasks is not bounded by a number of platform threads.
+     *
+     * @param threadPoolName the prefix of the thread names
+     * @return the new executor
+     * @throws UnsupportedOperationException if the JVM does not support virtual threads
+     */
+    public static EjbThreadPoolExecutor newVirtualThreadExecutor(String threadPoolName) {
+        if (!isVirtualThreadSupported()) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this JVM");
+        }
+        return new EjbThreadPoolExecutor(0, Integer.MAX_VALUE, 0L, new SynchronousQueue<Runnable>(),
+                new VirtualThreadFactory(threadPoolName), true);
+    }
+
+    /**
+     * @return true if the running JVM supports virtual threads
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VirtualThreads.isSupported();
+    }
+
+    /**
+     * @return true if the tasks run in virtual threads
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * @return the number of completed async EJB tasks, whose queue wait and execution times
+     * are recorded
+     */
+    public long getTimedTaskCount() {
+        return timedTaskCount.sum();
+    }
+
+    /**
+     * @return the total time the async EJB tasks waited between their submission and their start
+     */
+    public long getTotalQueueWaitTime(TimeUnit unit) {
+        return unit.convert(totalQueueWaitTime.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxQueueWaitTime(TimeUnit unit) {
+        return unit.convert(maxQueueWaitTime.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the total time the async EJB tasks took to run
+     */
+    public long getTotalExecutionTime(TimeUnit unit) {
+        return unit.convert(totalExecutionTime.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxExecutionTime(TimeUnit unit) {
+        return unit.convert(maxExecutionTime.get(), TimeUnit.NANOSECONDS);
     }
 
     /**
@@ -48,9 +127,21 @@ public class EjbThreadPoolExecutor extends ThreadPoolExecutor {
         return super.newTaskFor(callable);
     }
 
+    @Override
+    public void execute(Runnable command) {
+        if (command instanceof EjbFutureTask) {
+            ((EjbFutureTask<?>) command).setSubmitTime(System.nanoTime());
+        }
+        super.execute(command);
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("EjbThreadPoolExecutor with ");
+        if (virtualThreads) {
+            sb.append(RuntimeTagNames.VIRTUAL_THREADS).append(" ").append(true).append(" ");
+            return sb.toString();
+        }
         sb.append(RuntimeTagNames.THREAD_CORE_POOL_SIZE).append(" ").append(getCorePoolSize()).append(" ");
         sb.append(RuntimeTagNames.THREAD_MAX_POOL_SIZE).append(" ").append(getMaximumPoolSize()).append(" ");
         sb.append(RuntimeTagNames.THREAD_KEEP_ALIVE_SECONDS).append(" ").append(getKeepAliveTime(TimeUnit.SECONDS)).append(" ");
@@ -59,9 +150,28 @@ public class EjbThreadPoolExecutor extends ThreadPoolExecutor {
         return sb.toString();
     }
 
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        super.beforeExecute(t, r);
+        if (r instanceof EjbFutureTask) {
+            EjbFutureTask<?> task = (EjbFutureTask<?>) r;
+            long now = System.nanoTime();
+            long queueWaitTime = now - task.getSubmitTime();
+            totalQueueWaitTime.add(queueWaitTime);
+            maxQueueWaitTime.accumulate(queueWaitTime);
+            task.setStartTime(now);
+        }
+    }
+
     @Override
     protected void afterExecute(Runnable r, Throwable t) {
         super.afterExecute(r, t);
+        if (r instanceof EjbFutureTask) {
+            long executionTime = System.nanoTime() - ((EjbFutureTask<?>) r).getStartTime();
+            totalExecutionTime.add(executionTime);
+            maxExecutionTime.accumulate(executionTime);
+            timedTaskCount.increment();
+        }
         try {
             JavaEETransactionManager tm = EjbContainerUtilImpl.getInstance().getTransactionManager();
             if (tm.getTransaction() != null) {
@@ -95,4 +205,20 @@ public class EjbThreadPoolExecutor extends ThreadPoolExecutor {
             return th;
         }
     }
+
+    private static class VirtualThreadFactory implements ThreadFactory {
+        private final ThreadFactory factory;
+
+        VirtualThreadFactory(String threadPoolName) {
+            factory = VirtualThreads.newThreadFactory(threadPoolName, 1L);
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            // virtual threads are always daemon threads
+            Thread th = factory.newThread(r);
+            th.setContextClassLoader(null); //Prevent any app classloader being set as CCL
+            return th;
+        }
+    }
 }
@@ -32,6 +32,7 @@ import com.sun.ejb.ContainerFactory;
 import com.sun.ejb.base.container.util.CacheProperties;
 import com.sun.ejb.base.sfsb.util.ScrambledKeyGenerator;
 import com.sun.ejb.base.sfsb.util.SimpleKeyGenerator;
+import com.sun.ejb.containers.util.cache.ConcurrentSessionCache;
 import com.sun.ejb.containers.util.cache.FIFOSessionCache;
 import com.sun.ejb.containers.util.cache.LruSessionCache;
 import com.sun.ejb.containers.util.cache.NRUSessionCache;
@@ -66,7 +67,7 @@ import org.glassfish.logging.annotation.LogMessageInfo;
  * A builder for StatefulSessionContainer. Takes care of
  * building / initializing the StatefulSessionContainer
  * with the following classes:
- * a) Cache (LRU / NRU / FIFO / UnBounded)
+ * a) Cache (LRU / NRU / FIFO / Concurrent / UnBounded)
  * b) SFSBStoreManager (Using PersistenceStrategyBuilder)
  * c) Cache passivation task (if idle-timeout is greater than 0)
  * d) Passivated sessions removal task (if removal-timeout is greater than 0)
@@ -356,6 +357,13 @@ public class StatefulContainerFactory extends BaseContainerFactory
             sessionCache = new UnBoundedSessionCache(cacheName, sfsbContainer,
                     cacheProps.getCacheIdleTimeoutInSeconds(),
                     cacheProps.getRemovalTimeoutInSeconds());
+        } else if (sfsbContainer.isConcurrentSessionCache()) {
+            ConcurrentSessionCache concurrentCache = new ConcurrentSessionCache(cacheName, sfsbContainer,
+                    cacheProps.getCacheIdleTimeoutInSeconds(),
+                    cacheProps.getRemovalTimeoutInSeconds(),
+                    EjbContainerUtilImpl.getInstance()::addWork);
+            concurrentCache.setMaxCacheWeight(sfsbContainer.getConcurrentSessionCacheMaxWeight());
+            sessionCache = concurrentCache;
         } else if ("lru".equalsIgnoreCase(victimPolicy)) {
             sessionCache = new LruSessionCache(cacheName, sfsbContainer,
                     cacheProps.getCacheIdleTimeoutInSeconds(),
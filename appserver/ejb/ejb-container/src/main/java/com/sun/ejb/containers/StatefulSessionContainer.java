@@ -27,6 +27,7 @@ import com.sun.ejb.MethodLockInfo;
 import com.sun.ejb.base.stats.HAStatefulSessionStoreMonitor;
 import com.sun.ejb.base.stats.StatefulSessionStoreMonitor;
 import com.sun.ejb.containers.EJBContextImpl.BeanState;
+import com.sun.ejb.containers.util.cache.ConcurrentSessionCache;
 import com.sun.ejb.containers.util.cache.LruSessionCache;
 import com.sun.ejb.monitoring.probes.EjbCacheProbeProvider;
 import com.sun.ejb.monitoring.stats.EjbCacheStatsProvider;
@@ -266,9 +267,26 @@ public final class StatefulSessionContainer
         level   = "WARNING")
     private static final String ERROR_WHILE_BACKSTORE_SIZE_ACCESS = "AS-EJB-00063";
 
+    @LogMessageInfo(
+        message = "Ignoring the invalid value of the {0} property: {1}",
+        level   = "WARNING")
+    private static final String INVALID_CONCURRENT_SESSION_CACHE_MAX_WEIGHT = "AS-EJB-00065";
+
     // We do not want too many ORB task for passivation
     public static final int MIN_PASSIVATION_BATCH_COUNT = 8;
 
+    /**
+     * Enterprise beans property selecting the {@link ConcurrentSessionCache}, either true for all
+     * stateful beans of the module or a comma separated list of ejb names.
+     */
+    static final String CONCURRENT_SESSION_CACHE_PROP = "concurrent-session-cache";
+
+    /**
+     * Enterprise beans property bounding the size in bytes of the serialized state of the beans
+     * kept by the {@link ConcurrentSessionCache}.
+     */
+    static final String CONCURRENT_SESSION_CACHE_MAX_WEIGHT_PROP = "concurrent-session-cache-max-weight";
+
     private final static long CONCURRENCY_NOT_ALLOWED = 0;
     private final static long BLOCK_INDEFINITELY = -1;
 
@@ -517,7 +535,9 @@ public final class StatefulSessionContainer
         sbuf.append(" { asyncTaskCount=").append(asyncTaskCount)
             .append("; asyncCummTaskCount=").append(asyncCummTaskCount)
             .append("; passivationBatchCount=").append(passivationBatchCount)
-            .append("; passivationQSz=").append(passivationCandidates.size())
+            .append("; passivationQSz=").append(getPassivationQueueDepth())
+            .append("; avgPassivationLatency=").append(getAveragePassivationLatency())
+            .append("; maxPassivationLatency=").append(getMaxPassivationLatency())
             .append("; trimEventCount=").append(containerTrimCount)
             .append(" }");
         return sbuf.toString();
@@ -2945,6 +2965,74 @@ public final class StatefulSessionContainer
     }
 
 
+    /**
+     * @return the number of beans selected by the cache and waiting for their passivation
+     */
+    public int getPassivationQueueDepth() {
+        int depth;
+        synchronized (asyncTaskSemaphore) {
+            depth = passivationCandidates.size();
+        }
+        if (sessionBeanCache instanceof ConcurrentSessionCache) {
+            depth += ((ConcurrentSessionCache) sessionBeanCache).getPassivationQueueDepth();
+        }
+        return depth;
+    }
+
+
+    /**
+     * @return the mean time in milliseconds between the selection of a bean for passivation and
+     *         its passivation, measured by the {@link ConcurrentSessionCache} only
+     */
+    public long getAveragePassivationLatency() {
+        if (sessionBeanCache instanceof ConcurrentSessionCache) {
+            return ((ConcurrentSessionCache) sessionBeanCache).getAveragePassivationLatency();
+        }
+        return 0L;
+    }
+
+
+    /**
+     * @return the longest time in milliseconds between the selection of a bean for passivation
+     *         and its passivation, measured by the {@link ConcurrentSessionCache} only
+     */
+    public long getMaxPassivationLatency() {
+        if (sessionBeanCache instanceof ConcurrentSessionCache) {
+            return ((ConcurrentSessionCache) sessionBeanCache).getMaxPassivationLatency();
+        }
+        return 0L;
+    }
+
+
+    /**
+     * @return true if the {@value #CONCURRENT_SESSION_CACHE_PROP} property selects the concurrent
+     *         session cache for this bean.
+     */
+    boolean isConcurrentSessionCache() {
+        return isEnabledForThisBean(CONCURRENT_SESSION_CACHE_PROP);
+    }
+
+
+    /**
+     * @return the value of the {@value #CONCURRENT_SESSION_CACHE_MAX_WEIGHT_PROP} property, 0 if
+     *         not set or invalid.
+     */
+    long getConcurrentSessionCacheMaxWeight() {
+        String value = ejbDescriptor.getEjbBundleDescriptor()
+            .getEnterpriseBeansProperty(CONCURRENT_SESSION_CACHE_MAX_WEIGHT_PROP);
+        if (value == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            _logger.log(Level.WARNING, INVALID_CONCURRENT_SESSION_CACHE_MAX_WEIGHT,
+                new Object[] {CONCURRENT_SESSION_CACHE_MAX_WEIGHT_PROP, value});
+            return 0L;
+        }
+    }
+
+
     public BackingStore<Serializable, SimpleMetadata> getBackingStore() {
         return backingStore;
     }
@@ -39,6 +39,7 @@ import com.sun.ejb.EjbInvocation;
 import com.sun.ejb.containers.util.pool.AbstractPool;
 import com.sun.ejb.containers.util.pool.NonBlockingPool;
 import com.sun.ejb.containers.util.pool.ObjectFactory;
+import com.sun.ejb.containers.util.pool.StripedPool;
 import com.sun.ejb.monitoring.stats.EjbMonitoringStatsProvider;
 import com.sun.ejb.monitoring.stats.EjbPoolStatsProvider;
 import com.sun.ejb.monitoring.stats.StatelessSessionBeanStatsProvider;
@@ -148,6 +149,12 @@ public class StatelessSessionContainer extends BaseContainer {
     }
 
 
+    @Override
+    protected boolean supportsInvocationRecycling() {
+        return true;
+    }
+
+
     @Override
     protected EjbMonitoringStatsProvider getMonitoringStatsProvider(String appName, String modName, String ejbName) {
         return new StatelessSessionBeanStatsProvider(this, getContainerId(), appName, modName, ejbName);
@@ -206,10 +213,17 @@ public class StatelessSessionContainer extends BaseContainer {
         }
 
         poolProp = new PoolProperties(ejbContainer, beanPoolDes);
-        String val = ejbDescriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP);
-        pool = new NonBlockingPool(getContainerId(), ejbDescriptor.getName(), sessionCtxFactory,
-            poolProp.steadyPoolSize, poolProp.poolResizeQuantity, poolProp.maxPoolSize,
-            poolProp.poolIdleTimeoutInSeconds, loader, Boolean.parseBoolean(val));
+        boolean singletonBeanPool = Boolean.parseBoolean(
+            ejbDescriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP));
+        if (!singletonBeanPool && isStripedBeanPool()) {
+            pool = new StripedPool(getContainerId(), ejbDescriptor.getName(), sessionCtxFactory,
+                poolProp.steadyPoolSize, poolProp.poolResizeQuantity, poolProp.maxPoolSize,
+                poolProp.poolIdleTimeoutInSeconds, loader);
+        } else {
+            pool = new NonBlockingPool(getContainerId(), ejbDescriptor.getName(), sessionCtxFactory,
+                poolProp.steadyPoolSize, poolProp.poolResizeQuantity, poolProp.maxPoolSize,
+                poolProp.poolIdleTimeoutInSeconds, loader, singletonBeanPool);
+        }
     }
 
 
@@ -24,6 +24,7 @@ import static java.util.logging.Level.CONFIG;
 import static java.util.logging.Level.FINE;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -48,7 +49,6 @@ import com.sun.enterprise.deployment.LifecycleCallbackDescriptor.CallbackType;
 import com.sun.enterprise.deployment.MethodDescriptor;
 
 import jakarta.annotation.PostConstruct;
-import jakarta.ejb.EJBException;
 import jakarta.interceptor.InvocationContext;
 
 /**
@@ -719,61 +719,16 @@ class AroundInvokeChainImpl implements InterceptorManager.InterceptorChain {
 class AroundInvokeInterceptor {
     protected int index;
     protected Method method;
+    protected MethodHandle handle;
 
     AroundInvokeInterceptor(int index, Method method) {
         this.index = index;
         this.method = method;
-
-        try {
-            final Method finalM = method;
-            if (System.getSecurityManager() == null) {
-                if (!finalM.isAccessible()) {
-                    finalM.setAccessible(true);
-                }
-            } else {
-                java.security.AccessController.doPrivileged(new java.security.PrivilegedExceptionAction() {
-                    @Override
-                    public java.lang.Object run() throws Exception {
-                        if (!finalM.isAccessible()) {
-                            finalM.setAccessible(true);
-                        }
-                        return null;
-                    }
-                });
-            }
-        } catch (Exception e) {
-            throw new EJBException(e);
-        }
-
+        this.handle = InterceptorUtil.toMethodHandle(method);
     }
 
     Object intercept(final InterceptorManager.AroundInvokeContext invCtx) throws Throwable {
-        try {
-            final Object[] interceptors = invCtx.getInterceptorInstances();
-
-            if (System.getSecurityManager() != null) {
-                // Wrap actual value insertion in doPrivileged to
-                // allow for private/protected field access.
-                return java.security.AccessController.doPrivileged(new java.security.PrivilegedExceptionAction() {
-                    @Override
-                    public java.lang.Object run() throws Exception {
-                        return method.invoke(interceptors[index], invCtx);
-                    }
-                });
-            } else {
-
-                return method.invoke(interceptors[index], invCtx);
-
-            }
-        } catch (java.lang.reflect.InvocationTargetException invEx) {
-            throw invEx.getCause();
-        } catch (java.security.PrivilegedActionException paEx) {
-            Throwable th = paEx.getCause();
-            if (th.getCause() != null) {
-                throw th.getCause();
-            }
-            throw th;
-        }
+        return InterceptorUtil.invoke(handle, invCtx.getInterceptorInstances()[index], invCtx);
     }
 
     @Override
@@ -784,7 +739,6 @@ class AroundInvokeInterceptor {
 }
 
 class BeanAroundInvokeInterceptor extends AroundInvokeInterceptor {
-    private static final Object[] NULL_ARGS = null;
 
     BeanAroundInvokeInterceptor(Method method) {
         super(-1, method);
@@ -792,90 +746,23 @@ class BeanAroundInvokeInterceptor extends AroundInvokeInterceptor {
 
     @Override
     Object intercept(final InterceptorManager.AroundInvokeContext invCtx) throws Throwable {
-        try {
-
-            if (System.getSecurityManager() != null) {
-                // Wrap actual value insertion in doPrivileged to
-                // allow for private/protected field access.
-                return java.security.AccessController.doPrivileged(new java.security.PrivilegedExceptionAction() {
-                    @Override
-                    public java.lang.Object run() throws Exception {
-                        return method.invoke(invCtx.getTarget(), invCtx);
-                    }
-                });
-            } else {
-                return method.invoke(invCtx.getTarget(), invCtx);
-            }
-        } catch (java.lang.reflect.InvocationTargetException invEx) {
-            throw invEx.getCause();
-        } catch (java.security.PrivilegedActionException paEx) {
-            Throwable th = paEx.getCause();
-            if (th.getCause() != null) {
-                throw th.getCause();
-            }
-            throw th;
-        }
+        return InterceptorUtil.invoke(handle, invCtx.getTarget(), invCtx);
     }
 }
 
 class CallbackInterceptor {
     protected int index;
     protected Method method;
+    protected MethodHandle handle;
 
     CallbackInterceptor(int index, Method method) {
         this.index = index;
         this.method = method;
-
-        try {
-            final Method finalM = method;
-            if (System.getSecurityManager() == null) {
-                if (!finalM.isAccessible()) {
-                    finalM.setAccessible(true);
-                }
-            } else {
-                java.security.AccessController.doPrivileged(new java.security.PrivilegedExceptionAction() {
-                    @Override
-                    public java.lang.Object run() throws Exception {
-                        if (!finalM.isAccessible()) {
-                            finalM.setAccessible(true);
-                        }
-                        return null;
-                    }
-                });
-            }
-        } catch (Exception e) {
-            throw new EJBException(e);
-        }
-
+        this.handle = InterceptorUtil.toMethodHandle(method);
     }
 
     Object intercept(final CallbackInvocationContext invContext) throws Throwable {
-        try {
-
-            final Object[] interceptors = invContext.getInterceptorInstances();
-
-            if (System.getSecurityManager() != null) {
-                // Wrap actual value insertion in doPrivileged to
-                // allow for private/protected field access.
-                return java.security.AccessController.doPrivileged(new java.security.PrivilegedExceptionAction() {
-                    @Override
-                    public java.lang.Object run() throws Exception {
-                        return method.invoke(interceptors[index], invContext);
-                    }
-                });
-            } else {
-                return method.invoke(interceptors[index], invContext);
-
-            }
-        } catch (java.lang.reflect.InvocationTargetException invEx) {
-            throw invEx.getCause();
-        } catch (java.security.PrivilegedActionException paEx) {
-            Throwable th = paEx.getCause();
-            if (th.getCause() != null) {
-                throw th.getCause();
-            }
-            throw th;
-        }
+        return InterceptorUtil.invoke(handle, invContext.getInterceptorInstances()[index], invContext);
     }
 
     boolean isBeanCallback() {
@@ -889,7 +776,6 @@ class CallbackInterceptor {
 }
 
 class BeanCallbackInterceptor extends CallbackInterceptor {
-    private static final Object[] NULL_ARGS = null;
 
     BeanCallbackInterceptor(Method method) {
         super(-1, method);
@@ -897,35 +783,8 @@ class BeanCallbackInterceptor extends CallbackInterceptor {
 
     @Override
     Object intercept(final CallbackInvocationContext invContext) throws Throwable {
-        try {
-
-            if (System.getSecurityManager() != null) {
-                // Wrap actual value insertion in doPrivileged to
-                // allow for private/protected field access.
-                java.security.AccessController.doPrivileged(new java.security.PrivilegedExceptionAction() {
-                    @Override
-                    public java.lang.Object run() throws Exception {
-
-                        method.invoke(invContext.getTarget(), NULL_ARGS);
-                        return null;
-
-                    }
-                });
-            } else {
-                method.invoke(invContext.getTarget(), NULL_ARGS);
-            }
-
-            return invContext.proceed();
-
-        } catch (java.lang.reflect.InvocationTargetException invEx) {
-            throw invEx.getCause();
-        } catch (java.security.PrivilegedActionException paEx) {
-            Throwable th = paEx.getCause();
-            if (th.getCause() != null) {
-                throw th.getCause();
-            }
-            throw th;
-        }
+        InterceptorUtil.invoke(handle, invContext.getTarget(), invContext);
+        return invContext.proceed();
     }
 
     @Override
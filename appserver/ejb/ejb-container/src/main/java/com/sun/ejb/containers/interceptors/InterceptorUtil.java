@@ -19,16 +19,33 @@
  */
 package com.sun.ejb.containers.interceptors;
 
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.security.AccessController;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import jakarta.ejb.EJBException;
+import jakarta.interceptor.InvocationContext;
+
 /**
  */
 public class InterceptorUtil {
 
+    /**
+     * Common type of the interceptor method handles: (instance, InvocationContext) returning the result.
+     */
+    static final MethodType INTERCEPTOR_METHOD_TYPE = methodType(Object.class, Object.class, InvocationContext.class);
+
     private static Map<Class, Set<Class>> compatiblePrimitiveWrapper = new HashMap<Class, Set<Class>>();
 
     static {
@@ -122,4 +139,74 @@ public class InterceptorUtil {
 
     }
 
+    /**
+     * Makes the interceptor method accessible and converts it to a method handle of the
+     * {@link #INTERCEPTOR_METHOD_TYPE}. Bean class lifecycle callbacks take no InvocationContext,
+     * it is dropped, and void methods return null.
+     * <p>
+     * The handle is created once when the interceptor chain is built. Unlike Method.invoke, invoking
+     * it neither re-checks access nor wraps exceptions, and the JIT can inline through it.
+     */
+    static MethodHandle toMethodHandle(final Method method) {
+        try {
+            if (System.getSecurityManager() == null) {
+                if (!method.isAccessible()) {
+                    method.setAccessible(true);
+                }
+            } else {
+                AccessController.doPrivileged(new PrivilegedExceptionAction<Void>() {
+                    @Override
+                    public Void run() throws Exception {
+                        if (!method.isAccessible()) {
+                            method.setAccessible(true);
+                        }
+                        return null;
+                    }
+                });
+            }
+
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (method.getParameterCount() == 0) {
+                handle = MethodHandles.dropArguments(handle, 1, InvocationContext.class);
+            }
+            return handle.asType(INTERCEPTOR_METHOD_TYPE);
+        } catch (Exception e) {
+            throw new EJBException(e);
+        }
+    }
+
+    /**
+     * Invokes the interceptor method handle. Any exception thrown by the interceptor method is
+     * propagated as is.
+     */
+    static Object invoke(final MethodHandle handle, final Object instance, final InvocationContext invContext) throws Throwable {
+        if (System.getSecurityManager() == null) {
+            return (Object) handle.invokeExact(instance, invContext);
+        }
+
+        try {
+            // Wrap the invocation in doPrivileged to run the interceptor
+            // with the container permissions.
+            return AccessController.doPrivileged(new PrivilegedExceptionAction<Object>() {
+                @Override
+                public Object run() throws Exception {
+                    try {
+                        return (Object) handle.invokeExact(instance, invContext);
+                    } catch (Exception | Error e) {
+                        throw e;
+                    } catch (Throwable t) {
+                        throw new UndeclaredThrowableException(t);
+                    }
+                }
+            });
+        } catch (PrivilegedActionException paEx) {
+            throw paEx.getCause();
+        } catch (UndeclaredThrowableException utEx) {
+            if (utEx.getCause() != null) {
+                throw utEx.getCause();
+            }
+            throw utEx;
+        }
+    }
+
 }
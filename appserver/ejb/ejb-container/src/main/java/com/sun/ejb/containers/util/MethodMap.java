@@ -42,8 +42,13 @@ import java.util.Set;
  * be implemented but are not necessary at this point since the main use
  * is for the container's method info, which is invariant after initialization.
  * <p>
+ * Dynamic proxy classes pass the same {@link Method} instances on every call,
+ * so {@link #get(Method, int)} also remembers the instances it resolved by their
+ * identity. Later lookups of the same instance neither hash nor compare Method
+ * objects.
+ * <p>
  * As this is a map for Method objects, null keys are not supported.
- * This map is unsynchronized.
+ * This map is unsynchronized, except for the lookups, which may run concurrently.
  */
 public final class MethodMap extends HashMap<Method, InvocationInfo> {
 
@@ -65,12 +70,21 @@ public final class MethodMap extends HashMap<Method, InvocationInfo> {
     // returns new Method instances.
     private MethodInfo[] methodInfo_;
 
+    // Open addressing table of resolved Method instances, hashed by their identity:
+    // Method at even indexes followed by its InvocationInfo. Replaced as a whole
+    // when an entry is added, so lookups need no lock.
+    private transient volatile Object[] identityTable_;
+
+    // Number of entries in the identityTable_
+    private transient int identityTableSize_;
+
     public MethodMap(Map<Method, InvocationInfo> methodMap) {
         super(methodMap);
 
         numBuckets_ = methodMap.size() * DEFAULT_BUCKET_MULTIPLIER;
 
         buildLookupTable(methodMap);
+        identityTable_ = createIdentityTable(methodMap.size());
     }
 
 
@@ -83,6 +97,7 @@ public final class MethodMap extends HashMap<Method, InvocationInfo> {
 
         numBuckets_ = numBuckets;
         buildLookupTable(methodMap);
+        identityTable_ = createIdentityTable(methodMap.size());
     }
 
 
@@ -108,13 +123,32 @@ public final class MethodMap extends HashMap<Method, InvocationInfo> {
     public InvocationInfo get(Object key) {
         if (key instanceof Method) {
             Method m = (Method) key;
-            Class<?>[] paramTypes = m.getParameterTypes();
-            return get(m, paramTypes.length);
+            return get(m, m.getParameterCount());
         }
         return null;
     }
 
     public InvocationInfo get(Method m, int numParams) {
+        final Object[] identityTable = identityTable_;
+        if (identityTable != null) {
+            final int mask = (identityTable.length >> 1) - 1;
+            for (int i = System.identityHashCode(m) & mask;; i = (i + 1) & mask) {
+                final Object method = identityTable[i << 1];
+                if (method == m) {
+                    return (InvocationInfo) identityTable[(i << 1) + 1];
+                } else if (method == null) {
+                    break;
+                }
+            }
+        }
+        InvocationInfo value = resolve(m, numParams);
+        if (value != null && identityTable != null) {
+            addToIdentityTable(m, value);
+        }
+        return value;
+    }
+
+    private InvocationInfo resolve(Method m, int numParams) {
         if (methodInfo_ == null) {
             return null;
         } else if (numParams < 0) {
@@ -133,13 +167,45 @@ public final class MethodMap extends HashMap<Method, InvocationInfo> {
     }
 
     @Override
-    public void clear() {
+    public synchronized void clear() {
         if (methodInfo_ != null) {
             methodInfo_ = null;
+            identityTable_ = null;
             super.clear();
         }
     }
 
+    private static Object[] createIdentityTable(int numMethods) {
+        // Room for two Method instances of every method, e.g. of a local and of a remote proxy class,
+        // at a load factor of 1/2.
+        int capacity = Integer.highestOneBit(Math.max(8, numMethods) * 4 - 1) << 1;
+        return new Object[capacity << 1];
+    }
+
+    private synchronized void addToIdentityTable(Method m, InvocationInfo value) {
+        final Object[] identityTable = identityTable_;
+        // Stop caching when half full. Callers creating new Method instances
+        // for every call then use just the bucket lookup.
+        if (identityTable == null || (identityTableSize_ + 1) << 2 > identityTable.length) {
+            return;
+        }
+        final Object[] newTable = identityTable.clone();
+        final int mask = (newTable.length >> 1) - 1;
+        for (int i = System.identityHashCode(m) & mask;; i = (i + 1) & mask) {
+            final Object method = newTable[i << 1];
+            if (method == m) {
+                // added concurrently
+                return;
+            } else if (method == null) {
+                newTable[i << 1] = m;
+                newTable[(i << 1) + 1] = value;
+                break;
+            }
+        }
+        identityTableSize_++;
+        identityTable_ = newTable;
+    }
+
     private void buildLookupTable(Map<Method, InvocationInfo> methodMap) {
         methodInfo_ = new MethodInfo[numBuckets_];
         Set<Integer> occupied = new HashSet<>();
@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hierarchical hashed timing wheel.
+ * <p>
+ * Time is divided into ticks. The wheel has {@link #LEVELS} levels of 64 slots: a slot of the
+ * first level holds the timeouts of one tick, a slot of the next level the timeouts of 64 ticks
+ * of the previous level and so on, so scheduling and cancellation take constant time
+ * regardless of the number of timeouts. When the first level completes a revolution, the
+ * current slot of the next level is cascaded down.
+ * <p>
+ * The slots are owned by a single daemon thread which only moves the timeouts around and hands
+ * the expired ones to the {@link Executor}; a slow task never delays other expirations.
+ * {@link #schedule(Timeout)} and {@link Timeout#cancel()} just add the timeout to a lock-free
+ * queue drained by that thread on the next tick. A timeout never expires before its deadline
+ * and at most one tick after it, unless the executor or the machine is overloaded.
+ */
+public final class TimerWheel {
+
+    private static final Logger LOG = Logger.getLogger(TimerWheel.class.getName());
+
+    /** Number of levels, with 10 ms ticks the wheel covers more than 20 years */
+    static final int LEVELS = 6;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private static final int STATE_INIT = 0;
+    private static final int STATE_CANCELLED = 1;
+    private static final int STATE_EXPIRED = 2;
+
+    private final long tickMillis;
+    private final Executor executor;
+    private final long startMillis;
+    private final Slot[][] wheel = new Slot[LEVELS][SLOTS];
+    private final ConcurrentLinkedQueue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final Thread ticker;
+
+    // owned by the ticker thread
+    private long currentTick;
+    private int timeoutCount;
+
+    private volatile boolean idle;
+    private volatile boolean stopped;
+
+    // written by the ticker thread only
+    private volatile long expiredCount;
+
+    /**
+     * Creates and starts the wheel.
+     *
+     * @param name name of the ticker thread
+     * @param tickMillis length of a tick, the precision of the wheel
+     * @param executor executes the expired timeouts
+     */
+    public TimerWheel(String name, long tickMillis, Executor executor) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.executor = executor;
+        for (Slot[] level : wheel) {
+            for (int i = 0; i < SLOTS; i++) {
+                level[i] = new Slot();
+            }
+        }
+        this.startMillis = System.currentTimeMillis();
+        this.ticker = new Thread(this::run, name);
+        this.ticker.setDaemon(true);
+        this.ticker.setContextClassLoader(TimerWheel.class.getClassLoader());
+        this.ticker.start();
+    }
+
+    /**
+     * Schedules the timeout to expire at its deadline.
+     *
+     * @param timeout timeout not scheduled before
+     * @return the timeout
+     */
+    public <T extends Timeout> T schedule(T timeout) {
+        scheduled.add(timeout);
+        wakeUp();
+        return timeout;
+    }
+
+    /**
+     * Schedules many timeouts at once, with a single wake up of the ticker thread.
+     *
+     * @param timeouts timeouts not scheduled before
+     */
+    public void scheduleAll(Collection<? extends Timeout> timeouts) {
+        if (!timeouts.isEmpty()) {
+            scheduled.addAll(timeouts);
+            wakeUp();
+        }
+    }
+
+    /**
+     * Stops the ticker thread. Timeouts which did not expire yet never will.
+     */
+    public void stop() {
+        stopped = true;
+        LockSupport.unpark(ticker);
+    }
+
+    /**
+     * @return number of timeouts which were handed to the executor
+     */
+    public long getExpiredCount() {
+        return expiredCount;
+    }
+
+    private void wakeUp() {
+        if (idle) {
+            LockSupport.unpark(ticker);
+        }
+    }
+
+    private void run() {
+        while (!stopped) {
+            try {
+                final long targetTick = (System.currentTimeMillis() - startMillis) / tickMillis;
+                if (timeoutCount == 0 && currentTick < targetTick) {
+                    // nothing to cascade, jump over the ticks elapsed while idle
+                    currentTick = targetTick;
+                }
+                processCancelled();
+                processScheduled();
+                while (currentTick < targetTick && !stopped) {
+                    currentTick++;
+                    cascade();
+                    expire(wheel[0][(int) currentTick & SLOT_MASK]);
+                    processCancelled();
+                    processScheduled();
+                }
+                park();
+            } catch (Throwable t) {
+                LOG.log(Level.WARNING, "Timer wheel tick failed", t);
+            }
+        }
+    }
+
+    private void park() {
+        if (timeoutCount > 0) {
+            final long nextTickMillis = startMillis + (currentTick + 1) * tickMillis;
+            final long delay = nextTickMillis - System.currentTimeMillis();
+            if (delay > 0) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(delay));
+            }
+            return;
+        }
+        idle = true;
+        if (scheduled.isEmpty() && !stopped) {
+            LockSupport.park(this);
+        }
+        idle = false;
+    }
+
+    private void processScheduled() {
+        Timeout timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            // publish the owner before reading the state: a concurrent cancel either sees the
+            // owner and enqueues the timeout, or happened before and is seen here
+            timeout.wheel = this;
+            if (timeout.state.get() == STATE_INIT) {
+                timeout.deadlineTick = toTick(timeout.deadlineMillis);
+                timeoutCount++;
+                place(timeout);
+            }
+        }
+    }
+
+    private void processCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.slot != null) {
+                timeout.slot.remove(timeout);
+                timeoutCount--;
+            }
+        }
+    }
+
+    /**
+     * @return the first tick starting at or after the deadline, so the timeout never expires
+     *         before its deadline
+     */
+    private long toTick(long deadlineMillis) {
+        final long sinceStart = deadlineMillis - startMillis;
+        if (sinceStart <= 0) {
+            return 0;
+        }
+        return (sinceStart + tickMillis - 1) / tickMillis;
+    }
+
+    /**
+     * Puts the timeout into the level of the highest tick digit differing from the current tick.
+     * The slot is reached, and cascaded to lower levels, before the deadline tick.
+     */
+    private void place(Timeout timeout) {
+        final long deadlineTick = timeout.deadlineTick;
+        if (deadlineTick <= currentTick) {
+            timeoutCount--;
+            dispatch(timeout);
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS - 1
+            && (deadlineTick >>> (SLOT_BITS * (level + 1))) != (currentTick >>> (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        wheel[level][(int) (deadlineTick >>> (SLOT_BITS * level)) & SLOT_MASK].add(timeout);
+    }
+
+    /**
+     * Moves the timeouts of the higher level slots starting at the current tick one level down,
+     * from the highest level, as those may land in the lower level slots cascaded next.
+     */
+    private void cascade() {
+        int levels = 0;
+        while (levels < LEVELS - 1 && (currentTick & ((1L << (SLOT_BITS * (levels + 1))) - 1)) == 0) {
+            levels++;
+        }
+        for (int level = levels; level > 0; level--) {
+            Timeout timeout = wheel[level][(int) (currentTick >>> (SLOT_BITS * level)) & SLOT_MASK].clear();
+            while (timeout != null) {
+                final Timeout next = timeout.next;
+                timeout.next = null;
+                timeout.prev = null;
+                place(timeout);
+                timeout = next;
+            }
+        }
+    }
+
+    private void expire(Slot slot) {
+        Timeout timeout = slot.clear();
+        while (timeout != null) {
+            final Timeout next = timeout.next;
+            timeout.next = null;
+            timeout.prev = null;
+            timeoutCount--;
+            dispatch(timeout);
+            timeout = next;
+        }
+    }
+
+    private void dispatch(Timeout timeout) {
+        if (!timeout.state.compareAndSet(STATE_INIT, STATE_EXPIRED)) {
+            return;
+        }
+        expiredCount++;
+        try {
+            executor.execute(timeout);
+        } catch (RejectedExecutionException e) {
+            LOG.log(Level.WARNING, "Expired timeout " + timeout + " rejected by the executor", e);
+        }
+    }
+
+    /**
+     * A task to run once at its deadline.
+     */
+    public abstract static class Timeout implements Runnable {
+
+        private final long deadlineMillis;
+        private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+
+        // owned by the ticker thread
+        private volatile TimerWheel wheel;
+        private long deadlineTick;
+        private Slot slot;
+        private Timeout prev;
+        private Timeout next;
+
+        /**
+         * @param deadlineMillis time in milliseconds since the epoch when the timeout expires
+         */
+        protected Timeout(long deadlineMillis) {
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+
+        /**
+         * Cancels the timeout.
+         *
+         * @return true if the timeout was cancelled before it expired
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(STATE_INIT, STATE_CANCELLED)) {
+                return false;
+            }
+            final TimerWheel owner = wheel;
+            if (owner != null) {
+                // unlinked from its slot by the ticker thread
+                owner.cancelled.add(this);
+            }
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == STATE_CANCELLED;
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts, only accessed by the ticker thread.
+     */
+    private static final class Slot {
+
+        private Timeout head;
+
+        void add(Timeout timeout) {
+            timeout.slot = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.slot = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        /**
+         * @return the removed timeouts, linked by {@link Timeout#next}
+         */
+        Timeout clear() {
+            final Timeout first = head;
+            head = null;
+            for (Timeout timeout = first; timeout != null; timeout = timeout.next) {
+                timeout.slot = null;
+            }
+            return first;
+        }
+    }
+}
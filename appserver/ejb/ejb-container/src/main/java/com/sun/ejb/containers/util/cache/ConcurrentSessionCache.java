@@ -0,0 +1,765 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.cache;
+
+import com.sun.ejb.spi.container.SFSBContainerCallback;
+import com.sun.ejb.spi.container.StatefulEJBContext;
+import com.sun.enterprise.util.Utility;
+
+import java.io.NotSerializableException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import org.glassfish.logging.annotation.LogMessageInfo;
+
+/**
+ * A stateful session bean cache without a global lock.
+ * <p>
+ * The beans are kept in a {@link ConcurrentHashMap}. A cache hit only sets the referenced bit of
+ * the entry, the victims are selected with the CLOCK (second chance) algorithm by one thread at
+ * a time, while the other threads keep working with the cache.
+ * <p>
+ * The cache is bounded by the number of beans and optionally by their weight, the size of their
+ * serialized state in bytes. The weight of a bean is the size of its state when it was activated,
+ * or the running mean of the state sizes seen by this cache for beans not serialized yet.
+ * <p>
+ * The selected victims are queued for passivation and written to the backing store in batches
+ * of {@link SFSBContainerCallback#getPassivationBatchCount()} beans by background tasks, the
+ * threads which overflow the cache never serialize beans.
+ */
+public class ConcurrentSessionCache extends LruSessionCache {
+
+    @LogMessageInfo(
+        message = "[{0}]: Cannot schedule the passivation of {1} beans",
+        level = "WARNING")
+    private static final String CANNOT_SCHEDULE_PASSIVATION = "AS-EJB-00064";
+
+    private static final int LOADING = 0;
+    private static final int RESIDENT = 1;
+    private static final int TRIMMED = 2;
+    private static final int PASSIVATED = 3;
+    private static final int REMOVED = 4;
+
+    private final ConcurrentHashMap<Object, Entry> entries = new ConcurrentHashMap<>();
+
+    /** Minimal number of unmapped entries left in the clock before it is swept */
+    private static final int MIN_CLOCK_SWEEP = 64;
+
+    /** Resident entries in the order of the CLOCK hand */
+    private final ConcurrentLinkedQueue<Entry> clock = new ConcurrentLinkedQueue<>();
+    /** Estimated number of unmapped entries still in the clock */
+    private final AtomicInteger deadInClock = new AtomicInteger();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final AtomicInteger residentCount = new AtomicInteger();
+    private final AtomicLong residentWeight = new AtomicLong();
+    private volatile long meanWeight;
+
+    private final Executor passivationExecutor;
+    private final int maxPassivators = Runtime.getRuntime().availableProcessors();
+    private final ConcurrentLinkedQueue<Entry> passivationQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger passivationQueueDepth = new AtomicInteger();
+    private final AtomicInteger passivatorCount = new AtomicInteger();
+
+    private int maxResidentCount = Integer.MAX_VALUE;
+    private int lowResidentCount = Integer.MAX_VALUE;
+    private long maxWeight;
+    private long lowWeight;
+    private float loadFactor = 0.75f;
+
+    private volatile boolean running = true;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder victimsAccessed = new LongAdder();
+    private final LongAdder passivations = new LongAdder();
+    private final LongAdder totalPassivationLatency = new LongAdder();
+    private final AtomicLong maxPassivationLatency = new AtomicLong();
+
+    /**
+     * @param passivationExecutor runs the background passivation tasks
+     */
+    public ConcurrentSessionCache(String cacheName, SFSBContainerCallback container, int cacheIdleTime,
+        int removalTime, Executor passivationExecutor) {
+        super("Concurrent-" + cacheName, container, cacheIdleTime, removalTime);
+        this.passivationExecutor = passivationExecutor;
+    }
+
+    /**
+     * The hash buckets of the base cache are not used, only the bounds are kept.
+     */
+    @Override
+    public void init(int maxEntries, float loadFactor, Properties props) {
+        super.init(1, loadFactor, props);
+        this.maxEntries = maxEntries;
+        if (loadFactor > 0 && loadFactor <= 1) {
+            this.loadFactor = loadFactor;
+        }
+        this.maxResidentCount = this.maxEntries;
+        this.lowResidentCount = Math.min((int) (this.maxEntries * this.loadFactor), this.maxEntries - 1);
+        this.threshold = lowResidentCount;
+        setMaxCacheWeight(maxWeight);
+    }
+
+    /**
+     * @param maxWeight the maximal size in bytes of the serialized state of the cached beans,
+     *            not bounded if zero or negative
+     */
+    public void setMaxCacheWeight(long maxWeight) {
+        this.maxWeight = Math.max(maxWeight, 0L);
+        this.lowWeight = (long) (this.maxWeight * loadFactor);
+    }
+
+    public long getMaxCacheWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * @return the estimated size in bytes of the serialized state of the cached beans
+     */
+    public long getCacheWeight() {
+        return residentWeight.get();
+    }
+
+    @Override
+    public Object get(Object key) {
+        Entry entry = entries.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        return entries.containsKey(key);
+    }
+
+    @Override
+    public Object put(Object key, Object value) {
+        Entry entry = new Entry(key, value, RESIDENT, (int) meanWeight);
+        Entry previous = entries.put(key, entry);
+        Object previousValue = null;
+        if (previous != null) {
+            previousValue = previous.value;
+            removed(previous);
+            unmapped(previous);
+            incrementRefreshCount();
+        } else {
+            incrementAddCount();
+        }
+        becameResident(entry);
+        evictIfNeeded();
+        return previousValue;
+    }
+
+    @Override
+    public Object put(Object key, Object value, int size) {
+        return put(key, value);
+    }
+
+    @Override
+    public StatefulEJBContext lookupEJB(Serializable sessionKey, SFSBContainerCallback container, Object cookie) {
+        while (true) {
+            Entry entry = entries.get(sessionKey);
+            if (entry == null) {
+                // don't try to lookup session store when passivation capable is false
+                if (!container.isPassivationCapable()) {
+                    misses.increment();
+                    if (_logger.isLoggable(Level.INFO)) {
+                        _logger.log(Level.INFO, SFSB_NOT_FOUND_WHEN_PASSIVATION_DISABLED);
+                    }
+                    return null;
+                }
+                Entry loading = new Entry(sessionKey, null, LOADING, (int) meanWeight);
+                if (entries.putIfAbsent(sessionKey, loading) == null) {
+                    misses.increment();
+                    return load(loading, container, cookie);
+                }
+                continue;
+            }
+
+            switch (entry.state) {
+                case RESIDENT:
+                    if (!entry.referenced) {
+                        entry.referenced = true;
+                    }
+                    StatefulEJBContext ctx = (StatefulEJBContext) entry.value;
+                    if (ctx == null) {
+                        // removed meanwhile
+                        continue;
+                    }
+                    hits.increment();
+                    return ctx;
+                case TRIMMED:
+                    // accessed after it was selected for passivation
+                    if (entry.casState(TRIMMED, RESIDENT)) {
+                        victimsAccessed.increment();
+                        entry.referenced = true;
+                        becameResident(entry);
+                        evictIfNeeded();
+                    }
+                    continue;
+                case LOADING:
+                    misses.increment();
+                    return entry.awaitLoaded();
+                default:
+                    // passivated or removed, but not yet unmapped
+                    entries.remove(sessionKey, entry);
+                    continue;
+            }
+        }
+    }
+
+    private StatefulEJBContext load(Entry loading, SFSBContainerCallback container, Object cookie) {
+        Serializable sessionKey = (Serializable) loading.key;
+        Object value = null;
+        try {
+            value = getStateFromStore(sessionKey, container);
+            if (value == null) {
+                loading.state = REMOVED;
+                if (entries.remove(sessionKey, loading)) {
+                    unmapped(loading);
+                }
+            } else {
+                container.activateEJB(sessionKey, (StatefulEJBContext) value, cookie);
+                loading.value = value;
+                if (loading.casState(LOADING, RESIDENT)) {
+                    becameResident(loading);
+                }
+            }
+        } catch (jakarta.ejb.EJBException ejbEx) {
+            remove(sessionKey);
+            value = null;
+        } finally {
+            loading.loaded.countDown();
+        }
+        evictIfNeeded();
+        return (StatefulEJBContext) value;
+    }
+
+    @Override
+    public Object remove(Object sessionKey, boolean removeFromStore) {
+        Entry entry = entries.remove(sessionKey);
+        if (entry != null) {
+            removed(entry);
+            unmapped(entry);
+            incrementRemovalCount();
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        if (removeFromStore) {
+            removeFromBackingStore((Serializable) sessionKey);
+        }
+        return null;
+    }
+
+    // Called by the container on a passivation task, the container holds the lock of the context
+    @Override
+    public boolean passivateEJB(StatefulEJBContext ctx, Serializable sessionKey) throws NotSerializableException {
+        try {
+            Entry entry = entries.get(sessionKey);
+            if (entry == null || entry.value != ctx) {
+                // could have been removed
+                return true;
+            }
+            if (entry.state != TRIMMED) {
+                if (_logger.isLoggable(Level.FINE)) {
+                    _logger.log(Level.FINE, cacheName + ": session accessed after marked for passivation: " + sessionKey);
+                }
+                return false;
+            }
+
+            // we don't do passivation when passivation is disabled, but we still need remove the trimmed
+            // bean from cache
+            if (container.isPassivationCapable() && !saveStateToStore(sessionKey, ctx)) {
+                return false;
+            }
+            if (!entry.casState(TRIMMED, PASSIVATED)) {
+                // was accessed while its state was saved
+                return false;
+            }
+            if (entries.remove(sessionKey, entry)) {
+                unmapped(entry);
+            }
+            incrementRemovalCount();
+            return true;
+        } catch (NotSerializableException notSerEx) {
+            _logger.log(Level.FINE, "", notSerEx);
+            throw notSerEx;
+        } catch (Exception ex) {
+            _logger.log(Level.WARNING, PASSIVATE_EJB_EXCEPTION_CAUGHT, new Object[] {cacheName, ex});
+            _logger.log(Level.FINE, "", ex);
+        }
+        return false;
+    }
+
+    @Override
+    protected void recordStateSize(Serializable sessionKey, int size) {
+        long mean = meanWeight;
+        meanWeight = mean == 0L ? size : mean + (size - mean) / 8;
+        Entry entry = entries.get(sessionKey);
+        if (entry != null && entry.state == LOADING) {
+            entry.weight = size;
+        }
+    }
+
+    private void becameResident(Entry entry) {
+        residentCount.incrementAndGet();
+        residentWeight.addAndGet(entry.weight);
+        if (entry.casInClock(false, true)) {
+            clock.offer(entry);
+        }
+    }
+
+    private void removed(Entry entry) {
+        int previousState = entry.getAndSetState(REMOVED);
+        if (previousState == RESIDENT) {
+            residentCount.decrementAndGet();
+            residentWeight.addAndGet(-entry.weight);
+        }
+    }
+
+    /**
+     * Releases the bean of an entry removed from the map. The clock still references the entry
+     * until the hand reaches it, so the clock is swept when there are too many of them.
+     */
+    private void unmapped(Entry entry) {
+        entry.value = null;
+        if (entry.inClock != 0 && deadInClock.incrementAndGet() > Math.max(MIN_CLOCK_SWEEP, residentCount.get())) {
+            sweepClock();
+        }
+    }
+
+    /**
+     * Drops the entries which are no longer resident from the clock.
+     * The CLOCK hand is stopped meanwhile, if it is moving, the sweep is left to the next removal.
+     */
+    private void sweepClock() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            deadInClock.set(0);
+            clock.removeIf(entry -> {
+                if (entry.state == RESIDENT) {
+                    return false;
+                }
+                entry.inClock = 0;
+                // if it became resident meanwhile, keep it unless it was offered again
+                return entry.state != RESIDENT || !entry.casInClock(false, true);
+            });
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * @return the number of entries in the clock, including the unmapped ones not swept yet
+     */
+    int getClockSize() {
+        return clock.size();
+    }
+
+    private boolean trim(Entry entry) {
+        if (!entry.casState(RESIDENT, TRIMMED)) {
+            return false;
+        }
+        residentCount.decrementAndGet();
+        residentWeight.addAndGet(-entry.weight);
+        entry.trimmedAt = System.nanoTime();
+        return true;
+    }
+
+    private boolean isOverflowing() {
+        return residentCount.get() > maxResidentCount || (maxWeight > 0L && residentWeight.get() > maxWeight);
+    }
+
+    private boolean isAboveLowWaterMark() {
+        return residentCount.get() > lowResidentCount || (maxWeight > 0L && residentWeight.get() > lowWeight);
+    }
+
+    /**
+     * Selects the victims with the CLOCK hand until the cache is back under its low water mark.
+     * Only one thread does it at a time, the others just go on.
+     */
+    private void evictIfNeeded() {
+        while (running && isOverflowing() && evicting.compareAndSet(false, true)) {
+            List<Entry> victims = new ArrayList<>();
+            try {
+                // after one revolution all the referenced bits are cleared
+                // the unmapped entries are dropped without counting as a scan
+                int maxScans = 2 * residentCount.get() + 1;
+                int scans = 0;
+                while (scans < maxScans && isAboveLowWaterMark()) {
+                    Entry entry = clock.poll();
+                    if (entry == null) {
+                        break;
+                    }
+                    entry.inClock = 0;
+                    if (entry.state != RESIDENT) {
+                        if (entry.state != TRIMMED && deadInClock.get() > 0) {
+                            deadInClock.decrementAndGet();
+                        }
+                        continue;
+                    }
+                    scans++;
+                    if (entry.referenced) {
+                        entry.referenced = false;
+                        if (entry.casInClock(false, true)) {
+                            clock.offer(entry);
+                        }
+                        continue;
+                    }
+                    if (trim(entry)) {
+                        victims.add(entry);
+                    }
+                }
+                synchronized (this) {
+                    trimCount += victims.size();
+                }
+            } finally {
+                evicting.set(false);
+            }
+            queueForPassivation(victims);
+        }
+    }
+
+    private void queueForPassivation(List<Entry> victims) {
+        if (victims.isEmpty()) {
+            return;
+        }
+        passivationQueue.addAll(victims);
+        passivationQueueDepth.addAndGet(victims.size());
+        schedulePassivators();
+    }
+
+    private void schedulePassivators() {
+        int batchSize = Math.max(1, container.getPassivationBatchCount());
+        while (running) {
+            int passivators = passivatorCount.get();
+            int required = Math.min(maxPassivators, (passivationQueueDepth.get() + batchSize - 1) / batchSize);
+            if (passivators >= required) {
+                return;
+            }
+            if (passivatorCount.compareAndSet(passivators, passivators + 1)) {
+                try {
+                    passivationExecutor.execute(new BatchPassivator(batchSize));
+                } catch (RuntimeException e) {
+                    passivatorCount.decrementAndGet();
+                    _logger.log(Level.WARNING, CANNOT_SCHEDULE_PASSIVATION,
+                        new Object[] {cacheName, passivationQueueDepth.get(), e});
+                    return;
+                }
+            }
+        }
+    }
+
+    private void passivate(Entry entry) {
+        if (!running || entry.state != TRIMMED) {
+            // accessed or removed since it was selected
+            return;
+        }
+        StatefulEJBContext ctx = (StatefulEJBContext) entry.value;
+        if (ctx == null) {
+            return;
+        }
+        container.passivateEJB(ctx);
+        if (entry.state == PASSIVATED) {
+            long latency = System.nanoTime() - entry.trimmedAt;
+            passivations.increment();
+            totalPassivationLatency.add(latency);
+            maxPassivationLatency.accumulateAndGet(latency, Math::max);
+        } else if (entry.casState(TRIMMED, RESIDENT)) {
+            // in use or could not be saved; keep it and give it a second chance
+            entry.referenced = true;
+            becameResident(entry);
+        }
+    }
+
+    /**
+     * Trims the beans idle for more than the cache idle timeout.
+     * There is no ordered list to stop at, all the beans are checked.
+     */
+    @Override
+    public void trimTimedoutItems(int maxTrimCount) {
+        long idleThreshold = System.currentTimeMillis() - cacheIdleTimeoutInSeconds * 1000L;
+        List<Entry> victims = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (!running || victims.size() >= maxTrimCount) {
+                break;
+            }
+            StatefulEJBContext ctx = (StatefulEJBContext) entry.value;
+            if (entry.state == RESIDENT && ctx != null && ctx.getLastAccessTime() <= idleThreshold
+                && ctx.canBePassivated() && trim(entry)) {
+                victims.add(entry);
+            }
+        }
+        synchronized (this) {
+            trimCount += victims.size();
+        }
+        queueForPassivation(victims);
+        if (_logger.isLoggable(Level.FINE)) {
+            _logger.log(Level.FINE,
+                "[" + cacheName + "]: TrimTimedoutBeans finished after trimming " + victims.size() + " idle beans");
+        }
+    }
+
+    @Override
+    public void trimUnSortedTimedoutItems(int maxCount) {
+        trimTimedoutItems(maxCount);
+    }
+
+    @Override
+    public Iterator values() {
+        List<Object> values = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            Object value = entry.value;
+            if (value != null && (entry.state == RESIDENT || entry.state == TRIMMED)) {
+                values.add(value);
+            }
+        }
+        return values.iterator();
+    }
+
+    /**
+     * Passivates all the beans, including the queued ones, on the calling thread.
+     */
+    @Override
+    public void shutdown() {
+        List<StatefulEJBContext> contexts = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            StatefulEJBContext ctx = (StatefulEJBContext) entry.value;
+            if (ctx != null && (trim(entry) || entry.state == TRIMMED)) {
+                contexts.add(ctx);
+            }
+        }
+        passivationQueue.clear();
+        passivationQueueDepth.set(0);
+        for (StatefulEJBContext ctx : contexts) {
+            container.passivateEJB(ctx);
+        }
+    }
+
+    @Override
+    public void setShutdownState() {
+        super.setShutdownState();
+        running = false;
+    }
+
+    @Override
+    public void setUndeployedState() {
+        super.setUndeployedState();
+        running = false;
+    }
+
+    @Override
+    public int clear() {
+        int count = entries.size();
+        entries.clear();
+        clock.clear();
+        deadInClock.set(0);
+        passivationQueue.clear();
+        passivationQueueDepth.set(0);
+        residentCount.set(0);
+        residentWeight.set(0L);
+        return count;
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        clear();
+        super.destroy();
+    }
+
+    @Override
+    public int getEntryCount() {
+        return entries.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    @Override
+    public int getNumVictimsAccessed() {
+        return victimsAccessed.intValue();
+    }
+
+    /**
+     * @return the number of beans selected for passivation and not yet passivated
+     */
+    public int getPassivationQueueDepth() {
+        return passivationQueueDepth.get();
+    }
+
+    /**
+     * @return the number of beans passivated by the background tasks
+     */
+    public long getBackgroundPassivationCount() {
+        return passivations.sum();
+    }
+
+    /**
+     * @return the mean time in milliseconds from the selection of a victim to the end of its passivation
+     */
+    public long getAveragePassivationLatency() {
+        long count = passivations.sum();
+        return count == 0L ? 0L : TimeUnit.NANOSECONDS.toMillis(totalPassivationLatency.sum() / count);
+    }
+
+    /**
+     * @return the longest time in milliseconds from the selection of a victim to the end of its passivation
+     */
+    public long getMaxPassivationLatency() {
+        return TimeUnit.NANOSECONDS.toMillis(maxPassivationLatency.get());
+    }
+
+    @Override
+    public void appendStats(StringBuffer sbuf) {
+        sbuf.append("[Cache: ")
+        .append("Size=").append(entries.size()).append("; ")
+        .append("Resident=").append(residentCount.get()).append("; ")
+        .append("Weight=").append(residentWeight.get()).append("; ")
+        .append("HitCount=").append(hits.sum()).append("; ")
+        .append("MissCount=").append(misses.sum()).append("; ")
+        .append("PassivationQSz=").append(passivationQueueDepth.get()).append("; ")
+        .append("Passivations=").append(passivations.sum()).append("; ");
+        if (configData != null) {
+            sbuf.append(configData);
+        }
+        sbuf.append("]");
+    }
+
+    @Override
+    public int getCacheHits() {
+        return hits.intValue();
+    }
+
+    @Override
+    public int getCacheMisses() {
+        return misses.intValue();
+    }
+
+    @Override
+    public int getNumBeansInCache() {
+        return entries.size();
+    }
+
+
+    /**
+     * Drains the passivation queue in batches.
+     */
+    private class BatchPassivator implements Runnable {
+
+        private final int batchSize;
+
+        BatchPassivator(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void run() {
+            final ClassLoader previousClassLoader = Utility.setContextClassLoader(container.getClassLoader());
+            try {
+                List<Entry> batch = new ArrayList<>(batchSize);
+                while (running) {
+                    Entry entry;
+                    while (batch.size() < batchSize && (entry = passivationQueue.poll()) != null) {
+                        batch.add(entry);
+                    }
+                    if (batch.isEmpty()) {
+                        break;
+                    }
+                    passivationQueueDepth.addAndGet(-batch.size());
+                    for (Entry victim : batch) {
+                        passivate(victim);
+                    }
+                    batch.clear();
+                }
+            } catch (Throwable th) {
+                _logger.log(Level.WARNING, PASSIVATE_EJB_EXCEPTION_CAUGHT, new Object[] {cacheName, th});
+            } finally {
+                passivatorCount.decrementAndGet();
+                Utility.setContextClassLoader(previousClassLoader);
+            }
+            if (!passivationQueue.isEmpty()) {
+                schedulePassivators();
+            }
+        }
+    }
+
+
+    private static final class Entry {
+
+        private static final AtomicIntegerFieldUpdater<Entry> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Entry.class, "state");
+        private static final AtomicIntegerFieldUpdater<Entry> IN_CLOCK =
+            AtomicIntegerFieldUpdater.newUpdater(Entry.class, "inClock");
+
+        final Object key;
+        final CountDownLatch loaded;
+        volatile Object value;
+        volatile int state;
+        volatile int inClock;
+        volatile boolean referenced;
+        volatile int weight;
+        volatile long trimmedAt;
+
+        Entry(Object key, Object value, int state, int weight) {
+            this.key = key;
+            this.value = value;
+            this.state = state;
+            this.weight = weight;
+            this.loaded = state == LOADING ? new CountDownLatch(1) : null;
+        }
+
+        boolean casState(int expected, int newState) {
+            return STATE.compareAndSet(this, expected, newState);
+        }
+
+        int getAndSetState(int newState) {
+            return STATE.getAndSet(this, newState);
+        }
+
+        boolean casInClock(boolean expected, boolean newValue) {
+            return IN_CLOCK.compareAndSet(this, expected ? 1 : 0, newValue ? 1 : 0);
+        }
+
+        StatefulEJBContext awaitLoaded() {
+            try {
+                loaded.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return (StatefulEJBContext) value;
+        }
+    }
+}
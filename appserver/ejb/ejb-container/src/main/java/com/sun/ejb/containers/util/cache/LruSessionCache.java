@@ -46,7 +46,7 @@ public class LruSessionCache
     @LogMessageInfo(
         message = "[{0}]: passivateEJB(), Exception caught ->",
         level = "WARNING")
-    private static final String PASSIVATE_EJB_EXCEPTION_CAUGHT = "AS-EJB-00003";
+    static final String PASSIVATE_EJB_EXCEPTION_CAUGHT = "AS-EJB-00003";
 
     @LogMessageInfo(
         message = "[{0}]: Cannot load from  BACKUPSTORE FOR Key: <[{1}]>",
@@ -98,7 +98,7 @@ public class LruSessionCache
         message = "Cannot find stateful session bean [{0}] in memory, and will not read it from disk because " +
                   "current stateful session bean passivation-capable value is false",
         level = "INFO")
-    private static final String SFSB_NOT_FOUND_WHEN_PASSIVATION_DISABLED = "AS-EJB-00049";
+    static final String SFSB_NOT_FOUND_WHEN_PASSIVATION_DISABLED = "AS-EJB-00049";
 
     protected int cacheIdleTimeoutInSeconds;
     protected int removalTimeoutInSeconds;
@@ -375,14 +375,7 @@ public class LruSessionCache
 
             //  remove it from BackingStore outside sync block
             if (removeFromStore) {
-                try {
-                    if (backingStore != null) {
-                        backingStore.remove((Serializable) sessionKey);
-                    }
-                } catch (BackingStoreException sfsbEx) {
-                    _logger.log(Level.WARNING, EXCEPTION_BACKING_STORE_REMOVE,
-                        new Object[] {cacheName, sessionKey, sfsbEx});
-                }
+                removeFromBackingStore((Serializable) sessionKey);
             }
         }
 
@@ -397,6 +390,17 @@ public class LruSessionCache
         return null;
     }
 
+    protected void removeFromBackingStore(Serializable sessionKey) {
+        try {
+            if (backingStore != null) {
+                backingStore.remove(sessionKey);
+            }
+        } catch (BackingStoreException sfsbEx) {
+            _logger.log(Level.WARNING, EXCEPTION_BACKING_STORE_REMOVE,
+                new Object[] {cacheName, sessionKey, sfsbEx});
+        }
+    }
+
     /**
      * Called by StatefulSessionContainer before passivation to determine whether
      * or not removal-timeout has elapsed for a cache item.  If so, it will be
@@ -493,7 +497,7 @@ public class LruSessionCache
         return false;
     } //passivateEJB
 
-    private Object getStateFromStore(Serializable sessionKey, SFSBContainerCallback container) {
+    protected Object getStateFromStore(Serializable sessionKey, SFSBContainerCallback container) {
 
         Object object = null;
         try {
@@ -510,6 +514,7 @@ public class LruSessionCache
                 }
             }  else {
                 //sfsbStoreMonitor.setActivationSize(data.length);
+                recordStateSize(sessionKey, data.length);
                 incrementLoadFromBackupCount();
                 object = container.deserializeData(data);
             }
@@ -522,7 +527,7 @@ public class LruSessionCache
         return object;
     }
 
-    private boolean saveStateToStore(Serializable sessionKey, StatefulEJBContext ctx)
+    protected boolean saveStateToStore(Serializable sessionKey, StatefulEJBContext ctx)
     throws java.io.NotSerializableException, java.io.IOException
     {
         byte[] data = container.serializeContext(ctx);
@@ -542,6 +547,7 @@ public class LruSessionCache
                 if(backingStore != null) {
                     backingStore.save(sessionKey, beanState, !ctx.existsInStore());
                     // sfsbStoreMonitor.setPassivationSize(data.length);
+                    recordStateSize(sessionKey, data.length);
                     status = true;
                 }
             } catch (BackingStoreException sfsbEx) {
@@ -552,6 +558,13 @@ public class LruSessionCache
         return status;
     }
 
+    /**
+     * Called with the size of the serialized state of a bean loaded from
+     * or saved to the backing store.
+     */
+    protected void recordStateSize(Serializable sessionKey, int size) {
+    }
+
     private void trimSelectedVictims(ArrayList victims) {
         int sz = victims.size();
 
@@ -0,0 +1,547 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import static com.sun.enterprise.util.Utility.setContextClassLoader;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.ejb.containers.EJBContextImpl;
+import com.sun.ejb.containers.EjbContainerUtilImpl;
+
+/**
+ * <p>
+ * StripedPool is a non blocking pool with the same sizing behaviour as the {@link NonBlockingPool}, but without a
+ * pool wide lock.
+ *
+ * <p>
+ * Free objects are kept in one lock-free stack per stripe, there are at least as many stripes as processors. A thread
+ * takes and returns objects on the stripe selected by its id, so threads running on different processors rarely touch
+ * the same stripe. When its own stripe is empty, the thread steals the least recently used object of another stripe.
+ * The max pool size is split among the stripes; an object returned to a full stripe goes to the next stripe with free
+ * capacity and is destroyed only if all stripes are full.
+ *
+ * <p>
+ * If the pool is empty a new object is created, so the pool never blocks. The steady pool size is maintained and idle
+ * objects above it are removed by an asynchronous resize task, like in the {@link NonBlockingPool}.
+ */
+public class StripedPool extends AbstractPool {
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final boolean maintainSteadySize;
+    // share of the steady pool size of one stripe, rounded up
+    private final int steadyStripeSize;
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder success = new LongAdder();
+    private final LongAdder returned = new LongAdder();
+
+    private final AtomicBoolean addedResizeTask = new AtomicBoolean();
+    private final AtomicBoolean addedIdleBeanWork = new AtomicBoolean();
+    private final AtomicBoolean inResizing = new AtomicBoolean();
+
+    private TimerTask poolTimerTask;
+
+    // Set to true by close(). Prevents the async resize task
+    // from kicking in after close().
+    private volatile boolean poolClosed;
+
+    public StripedPool(long beanId, String poolName, ObjectFactory factory, int steadyPoolSize, int resizeQuantity, int maxPoolSize,
+            int idleTimeoutInSeconds, ClassLoader loader) {
+        this.poolName = poolName;
+        this.beanId = beanId;
+        this.pooledObjectFactory = factory;
+        this.steadyPoolSize = steadyPoolSize <= 0 ? 0 : steadyPoolSize;
+        this.resizeQuantity = resizeQuantity <= 0 ? 0 : resizeQuantity;
+        this.maxPoolSize = maxPoolSize <= 0 ? Integer.MAX_VALUE : maxPoolSize;
+        this.steadyPoolSize = this.steadyPoolSize > this.maxPoolSize ? this.maxPoolSize : this.steadyPoolSize;
+        this.idleTimeoutInSeconds = idleTimeoutInSeconds <= 0 ? 0 : idleTimeoutInSeconds;
+        this.containerClassLoader = loader;
+        this.maintainSteadySize = this.steadyPoolSize > 0;
+
+        int stripeCount = 1;
+        int processors = Runtime.getRuntime().availableProcessors();
+        while (stripeCount < processors && stripeCount < this.maxPoolSize) {
+            stripeCount <<= 1;
+        }
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            // split the max pool size, the first stripes get the remainder
+            int capacity = this.maxPoolSize / stripeCount + (i < this.maxPoolSize % stripeCount ? 1 : 0);
+            stripes[i] = new Stripe(capacity);
+        }
+        stripeMask = stripeCount - 1;
+        steadyStripeSize = (this.steadyPoolSize + stripeCount - 1) / stripeCount;
+
+        if (this.idleTimeoutInSeconds > 0 && this.resizeQuantity > 0) {
+            try {
+                this.poolTimerTask = new PoolResizeTimerTask();
+                EjbContainerUtilImpl.getInstance()
+                                    .getTimer()
+                                    .scheduleAtFixedRate(
+                                        poolTimerTask, idleTimeoutInSeconds * 1000L, idleTimeoutInSeconds * 1000L);
+
+                _logger.log(FINE, () -> "[StripedPool-" + poolName + "]: Added PoolResizeTimerTask...");
+            } catch (Throwable th) {
+                _logger.log(WARNING, "[StripedPool-" + poolName + "]: Could not add" + " PoolTimerTask. Continuing anyway...", th);
+            }
+        }
+    }
+
+    @Override
+    public Object getObject(Object param) {
+        final int home = homeStripe();
+        final Object pooledObject = take(home);
+        if (pooledObject != null) {
+            success.increment();
+            // summing all stripes costs a read of every stripe counter, so the pool size is
+            // only checked when the own stripe dropped below its share of the steady size
+            if (maintainSteadySize && !addedResizeTask.get() && stripes[home].size.get() < steadyStripeSize
+                && getSize() < steadyPoolSize) {
+                addResizeTaskForImmediateExecution();
+            }
+            return pooledObject;
+        }
+
+        poolProbeNotifier.ejbObjectAddedEvent(beanId, appName, modName, ejbName);
+        created.increment(); // hope that everything will be OK.
+        if (maintainSteadySize && !addedResizeTask.get()) {
+            addResizeTaskForImmediateExecution();
+        }
+
+        try {
+            return pooledObjectFactory.create(param);
+        } catch (RuntimeException th) {
+            poolProbeNotifier.ejbObjectAddFailedEvent(beanId, appName, modName, ejbName);
+            created.decrement();
+            throw th;
+        }
+    }
+
+    private void addResizeTaskForImmediateExecution() {
+        if (!addedResizeTask.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            EjbContainerUtilImpl.getInstance().addWork(new ReSizeWork());
+            _logger.log(FINE, () -> "[StripedPool-" + poolName + "]: Added ReSizeWork...");
+        } catch (Exception ex) {
+            addedResizeTask.set(false);
+            _logger.log(WARNING, ex, () -> "[StripedPool-" + poolName + "]: Cannot perform " + " pool resize task");
+        }
+    }
+
+    /**
+     * Return an object back to the pool. An object that is obtained through getObject() must always be returned back to the
+     * pool using either returnObject(obj) or through destroyObject(obj).
+     */
+    @Override
+    public void returnObject(Object object) {
+        if (!poolClosed && offer(homeStripe(), object)) {
+            returned.increment();
+            return;
+        }
+
+        poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+        destroyed.increment();
+        try {
+            pooledObjectFactory.destroy(object);
+        } catch (Exception ex) {
+            _logger.log(FINE, "exception in returnObj", ex);
+        }
+    }
+
+    /**
+     * Destroys an Object. Note that applications should not ignore the reference to the object that they got from
+     * getObject(). An object that is obtained through getObject() must always be returned back to the pool using either
+     * returnObject(obj) or through destroyObject(obj). This method tells that the object should be destroyed and cannot be
+     * reused.
+     */
+    @Override
+    public void destroyObject(Object object) {
+        poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+        destroyed.increment();
+        try {
+            pooledObjectFactory.destroy(object);
+        } catch (Exception ex) {
+            _logger.log(FINE, "exception in destroyObject", ex);
+        }
+    }
+
+    /**
+     * Preload the pool with objects.
+     *
+     * @param count the number of objects to be added.
+     */
+    @Override
+    protected void preload(int count) {
+        final int home = homeStripe();
+        for (int i = 0; i < count; i++) {
+            final Object pooledObject;
+            try {
+                pooledObject = pooledObjectFactory.create(null);
+            } catch (Exception ex) {
+                // Need not throw this exception up since we are pre-populating
+                return;
+            }
+            poolProbeNotifier.ejbObjectAddedEvent(beanId, appName, modName, ejbName);
+            created.increment();
+            // spread the new objects over the stripes
+            if (poolClosed || !offer((home + i) & stripeMask, pooledObject)) {
+                // Destroys unnecessary instances
+                destroyObject(pooledObject);
+            }
+        }
+    }
+
+    /**
+     * Close the pool
+     */
+    @Override
+    public void close() {
+        poolClosed = true;
+        if (poolTimerTask != null) {
+            try {
+                poolTimerTask.cancel();
+                _logger.log(FINE, () -> "[StripedPool-" + poolName + "]: Cancelled pool timer task " + " at: " + (new java.util.Date()));
+            } catch (Throwable th) {
+                // Can safely ignore this!!
+            }
+            poolTimerTask = null;
+        }
+
+        // Since we're calling into EJB code, we need to set context class loader
+        ClassLoader origLoader = setContextClassLoader(containerClassLoader);
+        try {
+            int count = 0;
+            for (Stripe stripe : stripes) {
+                Object pooledObject;
+                while ((pooledObject = stripe.pollLast()) != null) {
+                    count++;
+                    destroyObject(pooledObject);
+                }
+            }
+            final int destroyedObjects = count;
+            _logger.log(FINE, () -> "[StripedPool-" + poolName + "]: Destroyed " + destroyedObjects + " beans from the pool...");
+            unregisterProbeProvider();
+        } finally {
+            setContextClassLoader(origLoader);
+        }
+        _logger.log(FINE, "[StripedPool-" + poolName + "]: Pool closed....");
+    }
+
+    @Override
+    protected void remove(int count) {
+        List<Object> removeList = new ArrayList<>();
+        final int home = homeStripe();
+        for (int i = 0; i < stripes.length && removeList.size() < count; i++) {
+            Stripe stripe = stripes[(home + i) & stripeMask];
+            Object pooledObject;
+            while (removeList.size() < count && (pooledObject = stripe.pollLast()) != null) {
+                removeList.add(pooledObject);
+            }
+        }
+
+        for (Object pooledObject : removeList) {
+            destroyObject(pooledObject);
+        }
+    }
+
+    @Override
+    protected void removeIdleObjects() {
+        doResize();
+    }
+
+    protected void doResize() {
+        if (poolClosed || !inResizing.compareAndSet(false, true)) {
+            return;
+        }
+
+        // We need to set the context class loader for this (deamon) thread!!
+        final ClassLoader previousClassLoader = setContextClassLoader(containerClassLoader);
+        try {
+            _logger.log(FINE, () -> "[StripedPool-" + poolName + "]: Resize started; steadyPoolSize ::"
+                        + steadyPoolSize + " resizeQuantity ::" + resizeQuantity + " maxPoolSize ::" + maxPoolSize);
+
+            final int curSize = getSize();
+            if (curSize > steadyPoolSize) {
+
+                // possible to reduce pool size....
+                if (idleTimeoutInSeconds > 0 && resizeQuantity > 0) {
+                    int victimCount = (curSize > (steadyPoolSize + resizeQuantity)) ? resizeQuantity : (curSize - steadyPoolSize);
+                    _logger.log(FINE, () -> "[StripedPool-" + poolName + "]: Resize:: reducing " + " pool size by: " + victimCount);
+                    removeIdleObjects(victimCount, System.currentTimeMillis() - idleTimeoutInSeconds * 1000L);
+                }
+            } else if (curSize < steadyPoolSize && maintainSteadySize) {
+
+                // Need to populate....
+                int populateCount = 0;
+                if (resizeQuantity <= 0) {
+                    populateCount = steadyPoolSize - curSize;
+                } else {
+                    while ((curSize + populateCount) < steadyPoolSize) {
+                        populateCount += resizeQuantity;
+                    }
+                    if ((curSize + populateCount) > maxPoolSize) {
+                        populateCount -= (curSize + populateCount) - maxPoolSize;
+                    }
+                }
+                if (populateCount > 0) {
+                    preload(populateCount);
+                }
+            }
+        } catch (Throwable th) {
+            _logger.log(WARNING, "[StripedPool-" + poolName + "]: Exception during reSize", th);
+        } finally {
+            inResizing.set(false);
+            setContextClassLoader(previousClassLoader);
+        }
+
+        _logger.log(FINE, () -> "[StripedPool-" + poolName + "]: Resize completed; after reSize: " + getAllAttrValues());
+    }
+
+    /**
+     * Destroys up to victimCount objects which were not used since allowedIdleTime. The least recently used objects
+     * are at the bottom of the stripes.
+     */
+    private void removeIdleObjects(int victimCount, long allowedIdleTime) {
+        int removed = 0;
+        for (Stripe stripe : stripes) {
+            Object pooledObject;
+            while (removed < victimCount && (pooledObject = stripe.pollFirst()) != null) {
+                if (pooledObject instanceof EJBContextImpl
+                    && ((EJBContextImpl) pooledObject).getLastTimeUsed() > allowedIdleTime) {
+                    stripe.pushFirst(pooledObject);
+                    break;
+                }
+                removed++;
+                destroyObject(pooledObject);
+            }
+        }
+    }
+
+    /**
+     * @return index of the stripe used by the current thread
+     */
+    private int homeStripe() {
+        // spread sequential thread ids over the stripes
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return (int) (id >>> 32) & stripeMask;
+    }
+
+    private Object take(int home) {
+        Object pooledObject = stripes[home].pollLast();
+        if (pooledObject != null) {
+            return pooledObject;
+        }
+        // steal the least recently used object of another stripe
+        for (int i = 1; i < stripes.length; i++) {
+            pooledObject = stripes[(home + i) & stripeMask].pollFirst();
+            if (pooledObject != null) {
+                return pooledObject;
+            }
+        }
+        return null;
+    }
+
+    private boolean offer(int home, Object pooledObject) {
+        for (int i = 0; i < stripes.length; i++) {
+            if (stripes[(home + i) & stripeMask].offer(pooledObject)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**************** For Monitoring ***********************/
+    /*******************************************************/
+
+    @Override
+    public int getCreatedCount() {
+        return created.intValue();
+    }
+
+    @Override
+    public int getDestroyedCount() {
+        return destroyed.intValue();
+    }
+
+    @Override
+    public int getPoolSuccess() {
+        return success.intValue();
+    }
+
+    @Override
+    public int getSize() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size.get();
+        }
+        return size;
+    }
+
+    @Override
+    public int getNumBeansInPool() {
+        return getSize();
+    }
+
+    @Override
+    public int getTotalBeansCreated() {
+        return getCreatedCount();
+    }
+
+    @Override
+    public int getTotalBeansDestroyed() {
+        return getDestroyedCount();
+    }
+
+    @Override
+    public void appendStats(StringBuffer sbuf) {
+        sbuf.append("[Pool: ")
+            .append("SZ=").append(getSize()).append("; ")
+            .append("CC=").append(getCreatedCount()).append("; ")
+            .append("DC=").append(getDestroyedCount()).append("; ")
+            .append("WC=").append(waitCount).append("; ")
+            .append("MSG=0");
+
+        if (configData != null) {
+            sbuf.append(configData);
+        }
+
+        sbuf.append("]");
+    }
+
+    @Override
+    public String getAllMonitoredAttrbuteValues() {
+        StringBuffer sbuf = new StringBuffer();
+        sbuf.append("createdCount=").append(getCreatedCount()).append(";")
+            .append("destroyedCount=").append(getDestroyedCount()).append(";")
+            .append("waitCount=").append(waitCount).append(";")
+            .append("size=").append(getSize()).append(";")
+            .append("maxPoolSize=").append(maxPoolSize).append(";");
+        return sbuf.toString();
+    }
+
+    @Override
+    public String getAllAttrValues() {
+        StringBuffer sbuf = new StringBuffer("[StripedPool-" + poolName + "] ");
+        sbuf.append("CC=").append(getCreatedCount()).append("; ").append("DC=").append(getDestroyedCount()).append("; ")
+            .append("PR=").append(returned.intValue()).append("; ").append("CS=").append(getSize()).append("; ")
+            .append("SS=").append(steadyPoolSize).append("; ").append("MS=").append(maxPoolSize).append("; ")
+            .append("ST=").append(stripes.length).append(";");
+        return sbuf.toString();
+    }
+
+    /**
+     * Free objects of one stripe, the most recently returned on top.
+     */
+    private static final class Stripe {
+
+        private final ConcurrentLinkedDeque<Object> freeObjects = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final int capacity;
+
+        Stripe(int capacity) {
+            this.capacity = capacity;
+        }
+
+        boolean offer(Object pooledObject) {
+            int current;
+            do {
+                current = size.get();
+                if (current >= capacity) {
+                    return false;
+                }
+            } while (!size.compareAndSet(current, current + 1));
+            freeObjects.addLast(pooledObject);
+            return true;
+        }
+
+        /**
+         * Puts back an object taken by {@link #pollFirst()}, ignoring the capacity.
+         */
+        void pushFirst(Object pooledObject) {
+            size.incrementAndGet();
+            freeObjects.addFirst(pooledObject);
+        }
+
+        Object pollLast() {
+            return taken(freeObjects.pollLast());
+        }
+
+        Object pollFirst() {
+            return taken(freeObjects.pollFirst());
+        }
+
+        private Object taken(Object pooledObject) {
+            if (pooledObject != null) {
+                size.decrementAndGet();
+            }
+            return pooledObject;
+        }
+    }
+
+    private class ReSizeWork implements Runnable {
+        @Override
+        public void run() {
+            try {
+                doResize();
+            } catch (Exception ex) {
+                _logger.log(WARNING, "[StripedPool-" + poolName + "]: Exception during reSize", ex);
+            } finally {
+                addedResizeTask.set(false);
+            }
+        }
+    }
+
+    private class IdleBeanWork implements Runnable {
+        @Override
+        public void run() {
+            try {
+                doResize();
+            } catch (Exception ex) {
+            } finally {
+                addedIdleBeanWork.set(false);
+            }
+        }
+    }
+
+    private class PoolResizeTimerTask extends TimerTask {
+        @Override
+        public void run() {
+            if (!addedIdleBeanWork.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                EjbContainerUtilImpl.getInstance().addWork(new IdleBeanWork());
+            } catch (Exception ex) {
+                addedIdleBeanWork.set(false);
+                _logger.log(WARNING, "[StripedPool-" + poolName + "]: Cannot perform " + " pool idle bean cleanup", ex);
+            }
+        }
+    }
+}
@@ -37,4 +37,8 @@ public class EjbTimedObjectProbeProvider {
     @Probe(name="timerDeliveredEvent")
     public void ejbTimerDeliveredEvent() {}
 
+    @Probe(name="timerExpirationLagEvent")
+    public void ejbTimerExpirationLagEvent(
+            @ProbeParam("lagMillis") long lagMillis) {}
+
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.monitoring.stats;
+
+import com.sun.ejb.containers.EjbContainerUtilImpl;
+import com.sun.ejb.containers.EjbThreadPoolExecutor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.external.probe.provider.PluginPoint;
+import org.glassfish.external.probe.provider.StatsProviderManager;
+import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.RangeStatistic;
+import org.glassfish.external.statistics.impl.BoundedRangeStatisticImpl;
+import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.gmbal.AMXMetadata;
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedObject;
+
+/**
+ * Statistics of the thread pool running the asynchronous EJB invocations, read from the
+ * {@link EjbThreadPoolExecutor} when they are requested.
+ */
+@AMXMetadata(type="ejb-thread-pool-mon", group="monitoring", isSingleton=false)
+@ManagedObject
+@Description("Ejb Thread Pool Statistics")
+public class EjbThreadPoolStatsProvider {
+
+    private static final Logger _logger = EjbContainerUtilImpl.getLogger();
+
+    private final String poolName;
+    private final EjbThreadPoolExecutor executor;
+    private boolean registered = false;
+
+    private final BoundedRangeStatisticImpl activeCount;
+
+    private final CountStatisticImpl completedTaskCount = new CountStatisticImpl("CompletedTaskCount",
+            "count", "Number of asynchronous invocations completed by the pool");
+
+    private final CountStatisticImpl totalQueueWaitTime = new CountStatisticImpl("TotalQueueWaitTime",
+            "milliseconds", "Total time the asynchronous invocations waited for a thread");
+
+    private final CountStatisticImpl maxQueueWaitTime = new CountStatisticImpl("MaxQueueWaitTime",
+            "milliseconds", "Longest time an asynchronous invocation waited for a thread");
+
+    private final CountStatisticImpl totalExecutionTime = new CountStatisticImpl("TotalExecutionTime",
+            "milliseconds", "Total execution time of the asynchronous invocations");
+
+    private final CountStatisticImpl maxExecutionTime = new CountStatisticImpl("MaxExecutionTime",
+            "milliseconds", "Longest execution time of an asynchronous invocation");
+
+    public EjbThreadPoolStatsProvider(String poolName, EjbThreadPoolExecutor executor) {
+        this.poolName = poolName;
+        this.executor = executor;
+
+        long now = System.currentTimeMillis();
+        activeCount = new BoundedRangeStatisticImpl(
+            0, 0, 0, executor.getMaximumPoolSize(), 0,
+            "ActiveCount", "count", "Number of threads running tasks",
+            now, now);
+    }
+
+    public void register() {
+        try {
+            StatsProviderManager.register(EjbMonitoringUtils.EJB_MONITORING_NODE, PluginPoint.SERVER,
+                    "thread-pool/ejb/threadpool/" + poolName, this);
+            registered = true;
+        } catch (Exception ex) {
+            _logger.log(Level.SEVERE, "[**EjbThreadPoolStatsProvider**] Could not register listener for "
+                    + poolName, ex);
+        }
+    }
+
+    public void unregister() {
+        if (registered) {
+            registered = false;
+            StatsProviderManager.unregister(this);
+        }
+    }
+
+    @ManagedAttribute(id="activecount")
+    @Description( "Number of threads running tasks")
+    public RangeStatistic getActiveCount() {
+        activeCount.setCurrent(executor.getActiveCount());
+        return activeCount;
+    }
+
+    @ManagedAttribute(id="completedtaskcount")
+    @Description( "Number of asynchronous invocations completed by the pool")
+    public CountStatistic getCompletedTaskCount() {
+        completedTaskCount.setCount(executor.getTimedTaskCount());
+        return completedTaskCount;
+    }
+
+    @ManagedAttribute(id="totalqueuewaittime")
+    @Description( "Total time in milliseconds the asynchronous invocations waited for a thread")
+    public CountStatistic getTotalQueueWaitTime() {
+        totalQueueWaitTime.setCount(executor.getTotalQueueWaitTime(TimeUnit.MILLISECONDS));
+        return totalQueueWaitTime;
+    }
+
+    @ManagedAttribute(id="maxqueuewaittime")
+    @Description( "Longest time in milliseconds an asynchronous invocation waited for a thread")
+    public CountStatistic getMaxQueueWaitTime() {
+        maxQueueWaitTime.setCount(executor.getMaxQueueWaitTime(TimeUnit.MILLISECONDS));
+        return maxQueueWaitTime;
+    }
+
+    @ManagedAttribute(id="totalexecutiontime")
+    @Description( "Total execution time in milliseconds of the asynchronous invocations")
+    public CountStatistic getTotalExecutionTime() {
+        totalExecutionTime.setCount(executor.getTotalExecutionTime(TimeUnit.MILLISECONDS));
+        return totalExecutionTime;
+    }
+
+    @ManagedAttribute(id="maxexecutiontime")
+    @Description( "Longest execution time in milliseconds of an asynchronous invocation")
+    public CountStatistic getMaxExecutionTime() {
+        maxExecutionTime.setCount(executor.getMaxExecutionTime(TimeUnit.MILLISECONDS));
+        return maxExecutionTime;
+    }
+}
@@ -46,6 +46,9 @@ public class EjbTimedObjectStatsProvider {
     private CountStatisticImpl timerDeliveredStat = new CountStatisticImpl("NumTimersDelivered",
             "count", "Number of timers delivered by the system");
 
+    private CountStatisticImpl timerExpirationLagStat = new CountStatisticImpl("TotalExpirationLag",
+            "milliseconds", "Total time between the timer expirations and their delivery");
+
     private static final Logger _logger = EjbContainerUtilImpl.getLogger();
 
     private String appName = null;
@@ -94,6 +97,13 @@ public class EjbTimedObjectStatsProvider {
         timerDeliveredStat.increment();
     }
 
+    @ProbeListener("glassfish:ejb:timers:timerExpirationLagEvent")
+    public void ejbTimerExpirationLagEvent(
+            @ProbeParam("lagMillis") long lagMillis) {
+        _logger.fine("=== timerExpirationLagEvent");
+        timerExpirationLagStat.increment(lagMillis);
+    }
+
     @ManagedAttribute(id="numtimerscreated")
     @Description( "Number of timers created in the system")
     public CountStatistic getNumTimersCreated() {
@@ -111,4 +121,10 @@ public class EjbTimedObjectStatsProvider {
     public CountStatistic getNumTimersDelivered() {
         return timerDeliveredStat;
     }
+
+    @ManagedAttribute(id="totalexpirationlag")
+    @Description( "Total time between the timer expirations and their delivery")
+    public CountStatistic getTotalExpirationLag() {
+        return timerExpirationLagStat;
+    }
 }
@@ -35,6 +35,16 @@ public class StatefulSessionBeanStatsProvider extends EjbMonitoringStatsProvider
 
     private BoundedRangeStatisticImpl methodReadyStat = null;
     private BoundedRangeStatisticImpl passiveCount = null;
+    private BoundedRangeStatisticImpl passivationQueueDepth = null;
+
+    private CountStatisticImpl avgPassivationLatency = new CountStatisticImpl(
+            "AveragePassivationLatency", "millisecond",
+            "Average time between the selection of a bean for passivation and its passivation");
+    private CountStatisticImpl maxPassivationLatency = new CountStatisticImpl(
+            "MaxPassivationLatency", "millisecond",
+            "Longest time between the selection of a bean for passivation and its passivation");
+
+    private final StatefulSessionContainer delegate;
 
     private AtomicLong methodReadyCount = new AtomicLong();
     private AtomicLong passivations = new AtomicLong();
@@ -43,6 +53,7 @@ public class StatefulSessionBeanStatsProvider extends EjbMonitoringStatsProvider
             long beanId, String appName, String moduleName, String beanName) {
 
         super(beanId, appName, moduleName, beanName);
+        this.delegate = delegate;
 
         long now = System.currentTimeMillis();
 
@@ -55,6 +66,11 @@ public class StatefulSessionBeanStatsProvider extends EjbMonitoringStatsProvider
             0, 0, 0, Long.MAX_VALUE, 0,
             "PassiveCount", "count", "Number of stateful session beans in Passive state",
             now, now);
+
+        passivationQueueDepth = new BoundedRangeStatisticImpl(
+            0, 0, 0, Long.MAX_VALUE, 0,
+            "PassivationQueueDepth", "count", "Number of stateful session beans waiting for their passivation",
+            now, now);
     }
 
     @ManagedAttribute(id="methodreadycount")
@@ -71,6 +87,27 @@ public class StatefulSessionBeanStatsProvider extends EjbMonitoringStatsProvider
         return passiveCount;
     }
 
+    @ManagedAttribute(id="passivationqueuedepth")
+    @Description( "Number of stateful session beans waiting for their passivation")
+    public RangeStatistic getPassivationQueueDepth() {
+        passivationQueueDepth.setCurrent(delegate.getPassivationQueueDepth());
+        return passivationQueueDepth;
+    }
+
+    @ManagedAttribute(id="averagepassivationlatency")
+    @Description( "Average time in milliseconds between the selection of a bean for passivation and its passivation")
+    public CountStatistic getAveragePassivationLatency() {
+        avgPassivationLatency.setCount(delegate.getAveragePassivationLatency());
+        return avgPassivationLatency;
+    }
+
+    @ManagedAttribute(id="maxpassivationlatency")
+    @Description( "Longest time in milliseconds between the selection of a bean for passivation and its passivation")
+    public CountStatistic getMaxPassivationLatency() {
+        maxPassivationLatency.setCount(delegate.getMaxPassivationLatency());
+        return maxPassivationLatency;
+    }
+
     @ProbeListener("glassfish:ejb:bean:methodReadyAddEvent")
     public void methodReadyAddEvent(
             @ProbeParam("beanId") long beanId,
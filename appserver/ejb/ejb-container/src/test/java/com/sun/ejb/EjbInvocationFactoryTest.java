@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb;
+
+import java.lang.reflect.Proxy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the recycling of the invocations of local business calls.
+ */
+public class EjbInvocationFactoryTest {
+
+    private final Container container = createContainer();
+    private final EjbInvocationFactory factory = new EjbInvocationFactory("comp", container, "app", "module");
+
+
+    @Test
+    public void recycledInvocationIsReset() throws Exception {
+        EjbInvocation inv = factory.createRecyclable();
+        inv.isLocal = true;
+        inv.method = Comparable.class.getMethod("compareTo", Object.class);
+        inv.methodParams = new Object[] {1};
+        inv.ejb = new Object();
+        inv.getContextData().put("key", "value");
+        inv.setAuth(true);
+        inv.setPreInvokeDone(true);
+        inv.exception = new IllegalStateException();
+        factory.recycle(inv);
+
+        EjbInvocation next = factory.createRecyclable();
+        assertSame(inv, next);
+        assertAll(
+            () -> assertSame(container, next.getContainer()),
+            () -> assertEquals("comp", next.getComponentId()),
+            () -> assertEquals("app", next.getAppName()),
+            () -> assertEquals("module", next.getModuleName()),
+            () -> assertSame(next, next.getTransactionOperationsManager()),
+            () -> assertNull(next.getAuth()),
+            () -> assertFalse(next.isPreInvokeDone()),
+            () -> assertNull(next.method),
+            () -> assertNull(next.methodParams),
+            () -> assertNull(next.ejb),
+            () -> assertNull(next.exception),
+            () -> assertFalse(next.isLocal),
+            () -> assertTrue(next.getContextData().isEmpty())
+        );
+    }
+
+
+    @Test
+    public void nestedCallsUseDistinctInvocations() {
+        EjbInvocation outer = factory.createRecyclable();
+        EjbInvocation inner = factory.createRecyclable();
+        assertNotSame(outer, inner);
+        factory.recycle(inner);
+        factory.recycle(outer);
+        assertSame(outer, factory.createRecyclable());
+        assertSame(inner, factory.createRecyclable());
+    }
+
+
+    @Test
+    public void onlyRecyclableInvocationsAreKept() {
+        EjbInvocation inv = factory.create();
+        factory.recycle(inv);
+        assertNotSame(inv, factory.createRecyclable());
+
+        EjbInvocation recyclable = factory.createRecyclable();
+        EjbInvocation clone = recyclable.clone();
+        factory.recycle(clone);
+        assertNotSame(clone, factory.createRecyclable());
+    }
+
+
+    private static Container createContainer() {
+        return (Container) Proxy.newProxyInstance(Container.class.getClassLoader(), new Class<?>[] {Container.class},
+            (proxy, method, args) -> {
+                if (method.getDeclaringClass() == Object.class) {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return "TestContainer";
+                    }
+                }
+                throw new UnsupportedOperationException(method.toString());
+            });
+    }
+}
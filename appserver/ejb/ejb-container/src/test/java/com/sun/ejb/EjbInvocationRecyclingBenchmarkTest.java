@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Compares the allocations of a local business call with a new and with a recycled
+ * {@link EjbInvocation}.
+ */
+@State(Scope.Benchmark)
+public class EjbInvocationRecyclingBenchmarkTest {
+
+    private static final Method BUSINESS_METHOD = getBusinessMethod();
+
+    private final EjbInvocationFactory factory = new EjbInvocationFactory("comp", null, "app", "module");
+    private final Object bean = new Object();
+
+
+    @Test
+    public void allocationsPerCall() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".(newInvocation|recycledInvocation)$")
+            .warmupForks(0).warmupIterations(1).warmupTime(TimeValue.milliseconds(100L))
+            .measurementIterations(1).forks(1).measurementTime(TimeValue.milliseconds(300L))
+            .timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .addProfiler(GCProfiler.class)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+        Map<String, Double> allocatedBytes = new HashMap<>();
+        for (RunResult result : results) {
+            String benchmark = result.getParams().getBenchmark();
+            for (Map.Entry<String, Result> secondary : result.getSecondaryResults().entrySet()) {
+                if (secondary.getKey().endsWith("gc.alloc.rate.norm")) {
+                    allocatedBytes.put(benchmark.substring(benchmark.lastIndexOf('.') + 1),
+                        secondary.getValue().getScore());
+                }
+            }
+        }
+        assertThat(allocatedBytes.toString(), allocatedBytes.get("recycledInvocation"),
+            lessThan(allocatedBytes.get("newInvocation")));
+    }
+
+
+    @Benchmark
+    public Object newInvocation() {
+        EjbInvocation inv = factory.create();
+        return call(inv, 1);
+    }
+
+
+    @Benchmark
+    public Object recycledInvocation() {
+        EjbInvocation inv = factory.createRecyclable();
+        Object result = call(inv, 1);
+        factory.recycle(inv);
+        return result;
+    }
+
+
+    /**
+     * Sets the invocation fields like the local object invocation handler and the container do.
+     */
+    private Object call(EjbInvocation inv, int argument) {
+        inv.isLocal = true;
+        inv.isBusinessInterface = true;
+        inv.method = BUSINESS_METHOD;
+        inv.beanMethod = BUSINESS_METHOD;
+        inv.methodParams = new Object[] {argument};
+        inv.transactionAttribute = 1;
+        inv.ejb = bean;
+        inv.instance = bean;
+        inv.setPreInvokeTxStatus(0);
+        inv.setPreInvokeTxStatus(null);
+        return inv.methodParams[0];
+    }
+
+
+    private static Method getBusinessMethod() {
+        try {
+            return Comparable.class.getMethod("compareTo", Object.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
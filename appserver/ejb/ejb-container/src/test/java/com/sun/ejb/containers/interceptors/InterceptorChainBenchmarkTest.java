@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.ejb.containers.interceptors;
+
+import com.sun.ejb.containers.interceptors.InterceptorChainTest.Bean;
+import com.sun.ejb.containers.interceptors.InterceptorChainTest.CountingInterceptor;
+
+import jakarta.interceptor.InvocationContext;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Measures the per call overhead of an around invoke interceptor chain with method handles and
+ * with the former reflective invocation of the interceptor methods.
+ */
+@State(Scope.Benchmark)
+public class InterceptorChainBenchmarkTest {
+
+    @Param({"0", "3", "8"})
+    public int interceptorCount;
+
+    @Param({"MethodHandle", "Reflection"})
+    public String invocation;
+
+    private Bean bean;
+    private Method beanMethod;
+    private Object[] interceptorInstances;
+    private InterceptorManager.InterceptorChain chain;
+
+
+    @Test
+    public void invoke_0_3_8interceptors() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".invoke$")
+            .warmupForks(0).warmupIterations(1).warmupTime(TimeValue.milliseconds(100L))
+            .measurementIterations(1).forks(1).measurementTime(TimeValue.milliseconds(300L))
+            .timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(6));
+        Map<String, Double> scores = new HashMap<>();
+        for (RunResult result : results) {
+            scores.put(result.getParams().getParam("invocation") + result.getParams().getParam("interceptorCount"),
+                result.getPrimaryResult().getScore());
+        }
+        // without interceptors both chains run the same code, with a few the difference is within the noise
+        assertThat(scores.toString(), scores.get("MethodHandle0"), greaterThan(scores.get("Reflection0") * 0.8));
+        assertThat(scores.toString(), scores.get("MethodHandle3"), greaterThan(scores.get("Reflection3") * 0.8));
+        assertThat(scores.toString(), scores.get("MethodHandle8"), greaterThan(scores.get("Reflection8")));
+    }
+
+
+    @Setup(Level.Trial)
+    public void createChain() throws Exception {
+        bean = new Bean();
+        beanMethod = Bean.class.getMethod("increment", int.class);
+        Method aroundInvoke = CountingInterceptor.class.getMethod("aroundInvoke", InvocationContext.class);
+        interceptorInstances = new Object[interceptorCount];
+        AroundInvokeInterceptor[] interceptors = new AroundInvokeInterceptor[interceptorCount];
+        for (int i = 0; i < interceptorCount; i++) {
+            interceptorInstances[i] = new CountingInterceptor("interceptor" + i);
+            interceptors[i] = "Reflection".equals(invocation)
+                ? new ReflectiveAroundInvokeInterceptor(i, aroundInvoke)
+                : new AroundInvokeInterceptor(i, aroundInvoke);
+        }
+        chain = new AroundInvokeChainImpl(interceptors);
+    }
+
+
+    @Benchmark
+    public Object invoke() throws Throwable {
+        return chain.invokeNext(0,
+            new AroundInvokeInvocationContext(bean, interceptorInstances, chain, beanMethod, new Object[] {1}));
+    }
+
+
+    /**
+     * The interceptor invocation through {@link Method#invoke} used before the method handles.
+     */
+    private static class ReflectiveAroundInvokeInterceptor extends AroundInvokeInterceptor {
+
+        ReflectiveAroundInvokeInterceptor(int index, Method method) {
+            super(index, method);
+        }
+
+        @Override
+        Object intercept(InterceptorManager.AroundInvokeContext invCtx) throws Throwable {
+            try {
+                return method.invoke(invCtx.getInterceptorInstances()[index], invCtx);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.interceptors;
+
+import jakarta.interceptor.InvocationContext;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Invokes around invoke and callback interceptor chains through their method handles.
+ */
+public class InterceptorChainTest {
+
+    private final Bean bean = new Bean();
+    private Object[] interceptorInstances;
+    private InterceptorManager.InterceptorChain chain;
+
+
+    @Test
+    public void interceptorsProceedToTheBeanMethod() throws Throwable {
+        createChain(3);
+        AroundInvokeInvocationContext ctx = newContext(20);
+        assertEquals(24, chain.invokeNext(0, ctx));
+        assertEquals(3, ctx.getContextData().size());
+    }
+
+
+    @Test
+    public void exceptionsPropagateUnwrapped() throws Throwable {
+        createChain(2);
+        AroundInvokeInvocationContext ctx = newContext(-1);
+        IOException e = assertThrows(IOException.class, () -> chain.invokeNext(0, ctx));
+        assertSame(Bean.FAILURE, e);
+    }
+
+
+    @Test
+    public void beanCallbackWithoutInvocationContext() throws Throwable {
+        Method callback = Bean.class.getDeclaredMethod("postConstruct");
+        CallbackChainImpl callbackChain = new CallbackChainImpl(
+            new CallbackInterceptor[] {new BeanCallbackInterceptor(callback)});
+        Bean target = new Bean();
+        callbackChain.invokeNext(0, new CallbackInvocationContext(target, new Object[0], callbackChain));
+        assertEquals(1, target.postConstructCount);
+    }
+
+
+    private void createChain(int interceptorCount) throws Exception {
+        Method aroundInvoke = CountingInterceptor.class.getMethod("aroundInvoke", InvocationContext.class);
+        interceptorInstances = new Object[interceptorCount];
+        AroundInvokeInterceptor[] interceptors = new AroundInvokeInterceptor[interceptorCount];
+        for (int i = 0; i < interceptorCount; i++) {
+            interceptorInstances[i] = new CountingInterceptor("interceptor" + i);
+            interceptors[i] = new AroundInvokeInterceptor(i, aroundInvoke);
+        }
+        chain = new AroundInvokeChainImpl(interceptors);
+    }
+
+
+    private AroundInvokeInvocationContext newContext(int value) throws NoSuchMethodException {
+        return new AroundInvokeInvocationContext(bean, interceptorInstances, chain,
+            Bean.class.getMethod("increment", int.class), new Object[] {value});
+    }
+
+
+    public static class Bean {
+
+        static final IOException FAILURE = new IOException("negative");
+
+        int postConstructCount;
+
+        public int increment(int value) throws IOException {
+            if (value < 0) {
+                throw FAILURE;
+            }
+            return value + 1;
+        }
+
+        private void postConstruct() {
+            postConstructCount++;
+        }
+    }
+
+
+    public static class CountingInterceptor {
+
+        private final String name;
+
+        CountingInterceptor(String name) {
+            this.name = name;
+        }
+
+        public Object aroundInvoke(InvocationContext ctx) throws Exception {
+            ctx.getContextData().put(name, Boolean.TRUE);
+            Object[] parameters = ctx.getParameters();
+            if ((Integer) parameters[0] >= 0) {
+                parameters[0] = (Integer) parameters[0] + 1;
+            }
+            return ctx.proceed();
+        }
+    }
+}
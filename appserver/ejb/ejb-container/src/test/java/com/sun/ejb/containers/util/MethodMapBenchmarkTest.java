@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.ejb.containers.util;
+
+import com.sun.ejb.InvocationInfo;
+import com.sun.ejb.containers.util.MethodMapTest.Calculator;
+import com.sun.ejb.containers.util.MethodMapTest.CalculatorBean;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static com.sun.ejb.containers.util.MethodMapTest.createInvocationInfos;
+import static com.sun.ejb.containers.util.MethodMapTest.createProxy;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares the overhead of calls through a dynamic proxy resolving the {@link InvocationInfo}
+ * in a {@link HashMap} and in a {@link MethodMap}, as the local business object invocation
+ * handler does.
+ */
+@State(Scope.Benchmark)
+public class MethodMapBenchmarkTest {
+
+    @Param({"HashMap", "MethodMap"})
+    public String mapType;
+
+    private Calculator calculator;
+
+
+    @Test
+    public void proxyCalls() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".proxyCall$")
+            .warmupForks(0).warmupIterations(1).warmupTime(TimeValue.milliseconds(100L))
+            .measurementIterations(1).forks(1).measurementTime(TimeValue.milliseconds(300L))
+            .timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+        Map<String, Double> scores = new HashMap<>();
+        for (RunResult result : results) {
+            scores.put(result.getParams().getParam("mapType"), result.getPrimaryResult().getScore());
+        }
+        assertThat(scores.toString(), scores.get("MethodMap"), greaterThan(scores.get("HashMap")));
+    }
+
+
+    @Setup(Level.Trial)
+    public void createCalculator() throws Exception {
+        Map<Method, InvocationInfo> infos = createInvocationInfos();
+        Map<Method, InvocationInfo> map = "HashMap".equals(mapType) ? new HashMap<>(infos) : new MethodMap(infos);
+        CalculatorBean bean = new CalculatorBean();
+        calculator = createProxy((p, method, args) -> {
+            InvocationInfo info = map instanceof MethodMap
+                ? ((MethodMap) map).get(method, args == null ? 0 : args.length)
+                : map.get(method);
+            return info.targetMethod1.invoke(bean, args);
+        });
+    }
+
+
+    @Benchmark
+    public long proxyCall() {
+        return calculator.add(1, 2) + calculator.add(1L, 2L) + calculator.add(1, 2, 3);
+    }
+}
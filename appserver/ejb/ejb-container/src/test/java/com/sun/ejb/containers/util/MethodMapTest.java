@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util;
+
+import com.sun.ejb.InvocationInfo;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks the lookups of the {@link MethodMap} by the methods of a dynamic proxy, as the local
+ * business object invocation handler does.
+ */
+public class MethodMapTest {
+
+    @Test
+    public void resolvesOverloadedMethods() throws Exception {
+        Map<Method, InvocationInfo> infos = createInvocationInfos();
+        MethodMap methodMap = new MethodMap(infos);
+        Calculator proxy = createProxy((p, method, args) -> {
+            InvocationInfo info = methodMap.get(method, args == null ? 0 : args.length);
+            assertEquals(method, info.method);
+            return info.targetMethod1.invoke(new CalculatorBean(), args);
+        });
+
+        for (int i = 0; i < 3; i++) {
+            assertAll(
+                () -> assertEquals(3, proxy.add(1, 2)),
+                () -> assertEquals(3L, proxy.add(1L, 2L)),
+                () -> assertEquals(6, proxy.add(1, 2, 3)),
+                () -> assertEquals("calculator", proxy.name())
+            );
+        }
+        for (Method method : Calculator.class.getMethods()) {
+            assertEquals(method, methodMap.get(method).method);
+        }
+        assertNull(methodMap.get(Object.class.getMethod("toString")));
+
+        methodMap.clear();
+        assertNull(methodMap.get(Calculator.class.getMethod("name")));
+    }
+
+
+    static Map<Method, InvocationInfo> createInvocationInfos() throws Exception {
+        Map<Method, InvocationInfo> infos = new HashMap<>();
+        for (Method method : Calculator.class.getMethods()) {
+            InvocationInfo info = new InvocationInfo(method);
+            info.targetMethod1 = CalculatorBean.class.getMethod(method.getName(), method.getParameterTypes());
+            infos.put(method, info);
+        }
+        return infos;
+    }
+
+
+    static Calculator createProxy(InvocationHandler handler) {
+        return (Calculator) Proxy.newProxyInstance(Calculator.class.getClassLoader(),
+            new Class<?>[] {Calculator.class}, handler);
+    }
+
+
+    public interface Calculator {
+
+        int add(int a, int b);
+
+        long add(long a, long b);
+
+        int add(int a, int b, int c);
+
+        String name();
+    }
+
+
+    public static class CalculatorBean implements Calculator {
+
+        @Override
+        public int add(int a, int b) {
+            return a + b;
+        }
+
+        @Override
+        public long add(long a, long b) {
+            return a + b;
+        }
+
+        @Override
+        public int add(int a, int b, int c) {
+            return a + b + c;
+        }
+
+        @Override
+        public String name() {
+            return "calculator";
+        }
+    }
+}
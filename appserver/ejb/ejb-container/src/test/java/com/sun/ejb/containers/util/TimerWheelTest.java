@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the expirations of the {@link TimerWheel}.
+ */
+public class TimerWheelTest {
+
+    @Test
+    public void expiresInDeadlineOrderAndNeverEarly() throws Exception {
+        TimerWheel wheel = new TimerWheel("test-wheel", 5L, Runnable::run);
+        try {
+            long now = System.currentTimeMillis();
+            CountDownLatch latch = new CountDownLatch(3);
+            ConcurrentLinkedQueue<RecordingTimeout> expired = new ConcurrentLinkedQueue<>();
+            RecordingTimeout third = new RecordingTimeout(now + 300L, latch, expired);
+            RecordingTimeout first = new RecordingTimeout(now + 20L, latch, expired);
+            RecordingTimeout second = new RecordingTimeout(now + 150L, latch, expired);
+            wheel.schedule(third);
+            wheel.schedule(first);
+            wheel.schedule(second);
+
+            assertTrue(latch.await(10L, TimeUnit.SECONDS));
+            assertEquals(List.of(first, second, third), new ArrayList<>(expired));
+            for (RecordingTimeout timeout : expired) {
+                assertThat(timeout.expiredAt, greaterThanOrEqualTo(timeout.getDeadlineMillis()));
+            }
+            assertEquals(3, wheel.getExpiredCount());
+        } finally {
+            wheel.stop();
+        }
+    }
+
+
+    @Test
+    public void cancelledTimeoutNeverExpires() throws Exception {
+        TimerWheel wheel = new TimerWheel("test-wheel", 5L, Runnable::run);
+        try {
+            long now = System.currentTimeMillis();
+            CountDownLatch latch = new CountDownLatch(1);
+            ConcurrentLinkedQueue<RecordingTimeout> expired = new ConcurrentLinkedQueue<>();
+            RecordingTimeout cancelled = wheel.schedule(new RecordingTimeout(now + 50L, latch, expired));
+            RecordingTimeout later = wheel.schedule(new RecordingTimeout(now + 200L, latch, expired));
+            assertTrue(cancelled.cancel());
+            assertFalse(cancelled.cancel());
+
+            assertTrue(latch.await(10L, TimeUnit.SECONDS));
+            assertAll(
+                () -> assertEquals(List.of(later), new ArrayList<>(expired)),
+                () -> assertTrue(cancelled.isCancelled()),
+                () -> assertFalse(later.cancel())
+            );
+        } finally {
+            wheel.stop();
+        }
+    }
+
+
+    @Test
+    public void pastDeadlinesExpireImmediately() throws Exception {
+        TimerWheel wheel = new TimerWheel("test-wheel", 5L, Runnable::run);
+        try {
+            long now = System.currentTimeMillis();
+            CountDownLatch latch = new CountDownLatch(100);
+            ConcurrentLinkedQueue<RecordingTimeout> expired = new ConcurrentLinkedQueue<>();
+            List<RecordingTimeout> timeouts = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                timeouts.add(new RecordingTimeout(now - i * 1000L, latch, expired));
+            }
+            wheel.scheduleAll(timeouts);
+            assertTrue(latch.await(10L, TimeUnit.SECONDS));
+            assertEquals(100, expired.size());
+        } finally {
+            wheel.stop();
+        }
+    }
+
+
+    @Test
+    public void cascadesTimeoutsFromHigherLevels() throws Exception {
+        // 1 ms ticks: deadlines above 64 and 4096 ticks start in the second and third level
+        TimerWheel wheel = new TimerWheel("test-wheel", 1L, Runnable::run);
+        try {
+            long now = System.currentTimeMillis();
+            CountDownLatch latch = new CountDownLatch(3);
+            ConcurrentLinkedQueue<RecordingTimeout> expired = new ConcurrentLinkedQueue<>();
+            RecordingTimeout level0 = new RecordingTimeout(now + 30L, latch, expired);
+            RecordingTimeout level1 = new RecordingTimeout(now + 700L, latch, expired);
+            RecordingTimeout level2 = new RecordingTimeout(now + 4500L, latch, expired);
+            wheel.scheduleAll(List.of(level2, level1, level0));
+
+            assertTrue(latch.await(20L, TimeUnit.SECONDS));
+            assertEquals(List.of(level0, level1, level2), new ArrayList<>(expired));
+            for (RecordingTimeout timeout : expired) {
+                assertThat(timeout.expiredAt, greaterThanOrEqualTo(timeout.getDeadlineMillis()));
+            }
+        } finally {
+            wheel.stop();
+        }
+    }
+
+
+    @Test
+    public void concurrentlyCancelledTimeoutsNeverExpire() throws Exception {
+        TimerWheel wheel = new TimerWheel("test-wheel", 1L, Runnable::run);
+        try {
+            List<Thread> threads = new ArrayList<>();
+            List<Throwable> failures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                Thread thread = new Thread(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        long deadline = System.currentTimeMillis() + 100L + ThreadLocalRandom.current().nextInt(5_000);
+                        if (!wheel.schedule(new NoopTimeout(deadline)).cancel()) {
+                            synchronized (failures) {
+                                failures.add(new AssertionError("Not cancelled before " + deadline));
+                            }
+                        }
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join(30_000L);
+            }
+            assertAll(
+                () -> assertTrue(failures.isEmpty(), failures::toString),
+                () -> assertEquals(0, wheel.getExpiredCount())
+            );
+        } finally {
+            wheel.stop();
+        }
+    }
+
+
+    private static class RecordingTimeout extends TimerWheel.Timeout {
+
+        private final CountDownLatch latch;
+        private final Collection<RecordingTimeout> expired;
+        volatile long expiredAt;
+
+        RecordingTimeout(long deadlineMillis, CountDownLatch latch, Collection<RecordingTimeout> expired) {
+            super(deadlineMillis);
+            this.latch = latch;
+            this.expired = expired;
+        }
+
+        @Override
+        public void run() {
+            expiredAt = System.currentTimeMillis();
+            expired.add(this);
+            latch.countDown();
+        }
+    }
+
+
+    private static class NoopTimeout extends TimerWheel.Timeout {
+
+        NoopTimeout(long deadlineMillis) {
+            super(deadlineMillis);
+        }
+
+        @Override
+        public void run() {
+        }
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.cache;
+
+import com.sun.ejb.spi.container.SFSBContainerCallback;
+import com.sun.ejb.spi.container.StatefulEJBContext;
+
+import jakarta.ejb.SessionContext;
+
+import java.io.NotSerializableException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the eviction and the background passivation of the {@link ConcurrentSessionCache}.
+ */
+public class ConcurrentSessionCacheTest {
+
+    @Test
+    public void evictsInBackgroundDownToTheLowWaterMark() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            TestContainer container = new TestContainer();
+            ConcurrentSessionCache cache = new ConcurrentSessionCache("test", container, 0, 0, executor);
+            container.cache = cache;
+            cache.init(100, 0.9f, null);
+
+            for (int i = 0; i < 150; i++) {
+                cache.put(i, new TestContext(i));
+            }
+            awaitPassivations(executor, cache);
+
+            int cached = cache.getNumBeansInCache();
+            assertAll(
+                () -> assertThat(cached, both(greaterThanOrEqualTo(90)).and(lessThanOrEqualTo(100))),
+                () -> assertEquals(150 - cached, cache.getBackgroundPassivationCount()),
+                () -> assertEquals(0, cache.getPassivationQueueDepth()),
+                () -> assertFalse(container.passivatedOnCallerThread),
+                () -> assertThat(cache.getMaxPassivationLatency(), greaterThanOrEqualTo(0L))
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    @Test
+    public void accessedVictimStaysCached() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        TestContainer container = new TestContainer();
+        ConcurrentSessionCache cache = new ConcurrentSessionCache("test", container, 0, 0, tasks::add);
+        container.cache = cache;
+        cache.init(10, 0.9f, null);
+
+        TestContext first = new TestContext(0);
+        cache.put(0, first);
+        for (int i = 1; i < 11; i++) {
+            cache.put(i, new TestContext(i));
+        }
+        // the two oldest beans were selected
+        assertEquals(2, cache.getPassivationQueueDepth());
+        assertSame(first, cache.lookupEJB(0, container, null));
+
+        for (Runnable task : new ArrayList<>(tasks)) {
+            task.run();
+        }
+        assertAll(
+            () -> assertTrue(cache.contains(0)),
+            () -> assertFalse(cache.contains(1)),
+            () -> assertEquals(1, cache.getBackgroundPassivationCount()),
+            () -> assertEquals(1, cache.getNumVictimsAccessed())
+        );
+    }
+
+
+    @Test
+    public void boundedByWeight() {
+        List<Runnable> tasks = new ArrayList<>();
+        TestContainer container = new TestContainer();
+        ConcurrentSessionCache cache = new ConcurrentSessionCache("test", container, 0, 0, tasks::add);
+        container.cache = cache;
+        cache.init(1000, 0.9f, null);
+        cache.setMaxCacheWeight(10_000L);
+        cache.recordStateSize("passivated", 1000);
+
+        for (int i = 0; i < 11; i++) {
+            cache.put(i, new TestContext(i));
+        }
+        assertAll(
+            () -> assertEquals(2, cache.getPassivationQueueDepth()),
+            () -> assertEquals(9_000L, cache.getCacheWeight())
+        );
+    }
+
+
+    @Test
+    public void removedEntriesDoNotAccumulateInTheClock() {
+        List<Runnable> tasks = new ArrayList<>();
+        TestContainer container = new TestContainer();
+        ConcurrentSessionCache cache = new ConcurrentSessionCache("test", container, 0, 0, tasks::add);
+        container.cache = cache;
+        cache.init(100, 0.9f, null);
+
+        for (int i = 0; i < 50; i++) {
+            cache.put(i, new TestContext(i));
+        }
+        // below the limit, the CLOCK hand never moves
+        for (int i = 50; i < 100_050; i++) {
+            cache.put(i, new TestContext(i));
+            cache.put(i, new TestContext(i));
+            cache.remove(i);
+        }
+        assertAll(
+            () -> assertEquals(50, cache.getNumBeansInCache()),
+            () -> assertThat(cache.getClockSize(), lessThanOrEqualTo(50 + 2 * 64 + 1)),
+            () -> assertNull(cache.get(100_049)),
+            () -> assertTrue(tasks.isEmpty())
+        );
+    }
+
+
+    @Test
+    public void passivatedEntriesDoNotAccumulateInTheClock() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            TestContainer container = new TestContainer();
+            ConcurrentSessionCache cache = new ConcurrentSessionCache("test", container, 0, 0, executor);
+            container.cache = cache;
+            cache.init(100, 0.9f, null);
+
+            for (int i = 0; i < 100; i++) {
+                cache.put(i, new TestContext(i));
+            }
+            // idle beans trimmed in place stay in the clock until they are passivated
+            for (int round = 0; round < 100; round++) {
+                cache.trimTimedoutItems(100);
+                awaitPassivations(executor, cache);
+                for (int i = 0; i < 100; i++) {
+                    cache.put(i, new TestContext(i));
+                }
+            }
+            assertAll(
+                () -> assertEquals(100, cache.getNumBeansInCache()),
+                () -> assertThat(cache.getClockSize(), lessThanOrEqualTo(2 * 100 + 1)),
+                () -> assertEquals(100 * 100, cache.getBackgroundPassivationCount())
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    /**
+     * The executor runs one task at a time, so a task submitted after the passivation tasks
+     * completes after them.
+     */
+    private static void awaitPassivations(ExecutorService executor, ConcurrentSessionCache cache) throws Exception {
+        do {
+            executor.submit(() -> { }).get(10L, TimeUnit.SECONDS);
+        } while (cache.getPassivationQueueDepth() > 0);
+        // a task rescheduled by the last one may still hold its batch
+        executor.submit(() -> { }).get(10L, TimeUnit.SECONDS);
+    }
+
+
+    /**
+     * Passivates like the stateful session container, without a backing store.
+     */
+    private static class TestContainer implements SFSBContainerCallback {
+
+        volatile LruSessionCache cache;
+        volatile boolean passivatedOnCallerThread;
+        private final Thread callerThread = Thread.currentThread();
+
+        @Override
+        public ClassLoader getClassLoader() {
+            return getClass().getClassLoader();
+        }
+
+        @Override
+        public int getPassivationBatchCount() {
+            return 8;
+        }
+
+        @Override
+        public void invokePeriodically(long delay, long periodicity, Runnable target) {
+        }
+
+        @Override
+        public void activateEJB(Object sessionKey, StatefulEJBContext ctx, Object cookie) {
+        }
+
+        @Override
+        public boolean passivateEJB(StatefulEJBContext ctx) {
+            if (Thread.currentThread() == callerThread) {
+                passivatedOnCallerThread = true;
+            }
+            try {
+                return cache.passivateEJB(ctx, ((TestContext) ctx).key);
+            } catch (NotSerializableException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public boolean isPassivationCapable() {
+            return false;
+        }
+
+        @Override
+        public byte[] serializeContext(StatefulEJBContext ctx) {
+            return new byte[0];
+        }
+
+        @Override
+        public Object deserializeData(byte[] data) {
+            return null;
+        }
+    }
+
+
+    private static class TestContext implements StatefulEJBContext {
+
+        final Integer key;
+        private long version;
+
+        TestContext(Integer key) {
+            this.key = key;
+        }
+
+        @Override
+        public long getLastAccessTime() {
+            return 0L;
+        }
+
+        @Override
+        public boolean canBePassivated() {
+            return true;
+        }
+
+        @Override
+        public SessionContext getSessionContext() {
+            return null;
+        }
+
+        @Override
+        public boolean existsInStore() {
+            return false;
+        }
+
+        @Override
+        public void setExistsInStore(boolean val) {
+        }
+
+        @Override
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public long incrementAndGetVersion() {
+            return ++version;
+        }
+
+        @Override
+        public void setVersion(long versionInBackingStore) {
+            version = versionInBackingStore;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.monitoring.probes.EjbPoolProbeProvider;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares the {@link StripedPool} with the {@link NonBlockingPool} on the stateless bean
+ * invocation pattern: take a bean instance, use it shortly and return it.
+ */
+@State(Scope.Benchmark)
+public class PoolBenchmarkTest {
+
+    private static final int MAX_POOL_SIZE = 32;
+
+    @Param({"NonBlockingPool", "StripedPool"})
+    public String poolType;
+
+    private AbstractPool pool;
+
+
+    @Test
+    public void getAndReturn_1thread() throws Exception {
+        // an uncontended monitor is cheap, the striped pool only has to keep up
+        runBenchmark(1, 0.8);
+    }
+
+
+    @Test
+    public void getAndReturn_16threads() throws Exception {
+        runBenchmark(16, 1.0);
+    }
+
+
+    @Test
+    public void getAndReturn_64threads() throws Exception {
+        runBenchmark(64, 1.0);
+    }
+
+
+    /**
+     * @param minimumRatio the throughput of the striped pool relative to the non-blocking pool
+     */
+    private void runBenchmark(int threads, double minimumRatio) throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".getAndReturn$")
+            .warmupForks(0).warmupIterations(1).warmupTime(TimeValue.milliseconds(100L))
+            .measurementIterations(1).forks(1).measurementTime(TimeValue.milliseconds(300L))
+            .threads(threads).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+        Map<String, Double> scores = new HashMap<>();
+        for (RunResult result : results) {
+            scores.put(result.getParams().getParam("poolType"), result.getPrimaryResult().getScore());
+        }
+        assertThat(scores.toString(), scores.get("StripedPool"),
+            greaterThan(scores.get("NonBlockingPool") * minimumRatio));
+    }
+
+
+    @Setup(Level.Trial)
+    public void createPool() {
+        ClassLoader loader = PoolBenchmarkTest.class.getClassLoader();
+        ObjectFactory factory = new BeanFactory();
+        // steady size and idle timeout disabled, no resize tasks are scheduled
+        if ("StripedPool".equals(poolType)) {
+            pool = new StripedPool(1L, poolType, factory, 0, 0, MAX_POOL_SIZE, 0, loader);
+        } else {
+            pool = new NonBlockingPool(1L, poolType, factory, 0, 0, MAX_POOL_SIZE, 0, loader);
+        }
+        pool.poolProbeNotifier = new EjbPoolProbeProvider();
+    }
+
+
+    @Benchmark
+    public void getAndReturn() {
+        Object bean = pool.getObject(null);
+        Blackhole.consumeCPU(64L);
+        pool.returnObject(bean);
+    }
+
+
+    private static class BeanFactory implements ObjectFactory {
+
+        @Override
+        public Object create(Object param) {
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object object) {
+        }
+    }
+}
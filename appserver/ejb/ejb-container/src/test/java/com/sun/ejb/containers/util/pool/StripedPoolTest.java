@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.monitoring.probes.EjbPoolProbeProvider;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class StripedPoolTest {
+
+    @Test
+    public void reusesReturnedObjects() {
+        CountingFactory factory = new CountingFactory();
+        AbstractPool striped = createPool(factory, 4);
+
+        Object first = striped.getObject(null);
+        striped.returnObject(first);
+        assertSame(first, striped.getObject(null));
+        assertAll(
+            () -> assertEquals(1, factory.created.get()),
+            () -> assertEquals(1, striped.getCreatedCount()),
+            () -> assertEquals(1, striped.getPoolSuccess()),
+            () -> assertEquals(0, striped.getSize())
+        );
+    }
+
+
+    @Test
+    public void stealsFromOtherThreads() throws Exception {
+        CountingFactory factory = new CountingFactory();
+        AbstractPool striped = createPool(factory, 4);
+        Object returned = striped.getObject(null);
+        striped.returnObject(returned);
+
+        AtomicReference<Object> taken = new AtomicReference<>();
+        Thread thread = new Thread(() -> taken.set(striped.getObject(null)));
+        thread.start();
+        thread.join(10_000L);
+        assertSame(returned, taken.get());
+        assertEquals(1, factory.created.get());
+    }
+
+
+    @Test
+    public void destroysObjectsAboveMaxPoolSize() {
+        CountingFactory factory = new CountingFactory();
+        AbstractPool striped = createPool(factory, 4);
+        Object[] objects = new Object[6];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = striped.getObject(null);
+        }
+        for (Object object : objects) {
+            striped.returnObject(object);
+        }
+        assertAll(
+            () -> assertEquals(6, striped.getCreatedCount()),
+            () -> assertEquals(4, striped.getSize()),
+            () -> assertEquals(2, striped.getDestroyedCount()),
+            () -> assertEquals(2, factory.destroyed.get())
+        );
+
+        striped.destroyObject(striped.getObject(null));
+        assertEquals(3, striped.getSize());
+        assertEquals(3, striped.getDestroyedCount());
+    }
+
+
+    private static AbstractPool createPool(ObjectFactory factory, int maxPoolSize) {
+        ClassLoader loader = StripedPoolTest.class.getClassLoader();
+        // steady size and idle timeout disabled, no resize tasks are scheduled
+        AbstractPool pool = new StripedPool(1L, "StripedPool", factory, 0, 0, maxPoolSize, 0, loader);
+        pool.poolProbeNotifier = new EjbPoolProbeProvider();
+        return pool;
+    }
+
+
+    private static class CountingFactory implements ObjectFactory {
+
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        public Object create(Object param) {
+            created.incrementAndGet();
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object object) {
+            destroyed.incrementAndGet();
+        }
+    }
+}
@@ -65,6 +65,7 @@ import com.sun.ejb.containers.RuntimeTimerState;
 import com.sun.ejb.containers.util.pool.AbstractPool;
 import com.sun.ejb.containers.util.pool.NonBlockingPool;
 import com.sun.ejb.containers.util.pool.ObjectFactory;
+import com.sun.ejb.containers.util.pool.StripedPool;
 import com.sun.ejb.monitoring.stats.EjbMonitoringStatsProvider;
 import com.sun.ejb.monitoring.stats.EjbPoolStatsProvider;
 import com.sun.ejb.spi.container.OptionalLocalInterfaceProvider;
@@ -359,17 +360,32 @@ public final class MessageBeanContainer extends BaseContainer implements Message
         // The protocol manager implementation enforces a limit
         // on message bean resources independent of the pool.
 
-        messageBeanPool =
-            new NonBlockingPool(
-                getContainerId(),
-                appEJBName_,
-                new MessageBeanContextFactory(),
-                beanPoolDescriptor.getSteadyPoolSize(),
-                beanPoolDescriptor.getPoolResizeQuantity(),
-                beanPoolDescriptor.getMaxPoolSize(),
-                beanPoolDescriptor.getPoolIdleTimeoutInSeconds(),
-                loader,
-                Boolean.parseBoolean(descriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP)));
+        boolean singletonBeanPool =
+            Boolean.parseBoolean(descriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP));
+        if (!singletonBeanPool && isStripedBeanPool()) {
+            messageBeanPool =
+                new StripedPool(
+                    getContainerId(),
+                    appEJBName_,
+                    new MessageBeanContextFactory(),
+                    beanPoolDescriptor.getSteadyPoolSize(),
+                    beanPoolDescriptor.getPoolResizeQuantity(),
+                    beanPoolDescriptor.getMaxPoolSize(),
+                    beanPoolDescriptor.getPoolIdleTimeoutInSeconds(),
+                    loader);
+        } else {
+            messageBeanPool =
+                new NonBlockingPool(
+                    getContainerId(),
+                    appEJBName_,
+                    new MessageBeanContextFactory(),
+                    beanPoolDescriptor.getSteadyPoolSize(),
+                    beanPoolDescriptor.getPoolResizeQuantity(),
+                    beanPoolDescriptor.getMaxPoolSize(),
+                    beanPoolDescriptor.getPoolIdleTimeoutInSeconds(),
+                    loader,
+                    singletonBeanPool);
+        }
     }
 
     protected static int stringToInt(String val, String appName, Logger logger) {
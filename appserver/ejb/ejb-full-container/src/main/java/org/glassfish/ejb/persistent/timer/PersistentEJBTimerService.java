@@ -578,14 +578,17 @@ public class PersistentEJBTimerService extends EJBTimerService {
             timerLocal_.remove(timerIdsToRemove);
         }
 
+        Map<TimerPrimaryKey, Date> expirations = new HashMap<>(timersToRestore.size());
         for (Object element : timersToRestore.entrySet()) {
             Map.Entry next = (Map.Entry) element;
             RuntimeTimerState nextTimer = (RuntimeTimerState) next.getKey();
             TimerPrimaryKey timerId = nextTimer.getTimerId();
             Date expiration = (Date) next.getValue();
-            scheduleTask(timerId, expiration);
+            expirations.put(timerId, expiration);
             logger.log(Level.FINE, "EJBTimerService.restoreTimers(), scheduling timer " + nextTimer);
         }
+        // hand all restored timers to the timer wheel at once
+        scheduleTasks(expirations);
 
         logger.log(Level.FINE, "DONE EJBTimerService.restoreTimers()");
         return result;
@@ -41,6 +41,8 @@ public class FileBackingStore<K extends Serializable, V extends Serializable>
 
     private static Level TRACE_LEVEL = Level.FINE;
 
+    private static final String SETTING_PROPERTY_PREFIX = "org.glassfish.ha.store.";
+
     private String debugStr;
 
     private FileBackingStoreFactory factory;
@@ -86,6 +88,15 @@ public class FileBackingStore<K extends Serializable, V extends Serializable>
         }
     }
 
+    /**
+     * Returns the vendor specific setting, or else the system property with the same name
+     * prefixed by {@code org.glassfish.ha.store.}
+     */
+    /*package*/ static String getSetting(BackingStoreConfiguration<?, ?> conf, String name) {
+        Object value = conf.getVendorSpecificSettings().get(name);
+        return value == null ? System.getProperty(SETTING_PROPERTY_PREFIX + name) : value.toString();
+    }
+
     /*package*/ void setFileBackingStoreFactory(FileBackingStoreFactory factory) {
         this.factory = factory;
     }
@@ -302,7 +313,7 @@ public class FileBackingStore<K extends Serializable, V extends Serializable>
         return success;
     }
 
-    private byte[] getSerializedState(K key, V value)
+    protected byte[] getSerializedState(K key, V value)
             throws BackingStoreException {
 
         byte[] data = null;
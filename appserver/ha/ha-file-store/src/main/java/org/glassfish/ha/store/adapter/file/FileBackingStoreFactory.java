@@ -23,6 +23,9 @@ import java.io.Serializable;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Creates a {@link FileBackingStore}, or a {@link SegmentedLogBackingStore} when the
+ * {@code file.store.engine} setting is {@code segmented-log}.
+ *
  * @author Mahesh Kannan
  */
 @Service(name = "file")
@@ -47,7 +50,9 @@ public class FileBackingStoreFactory
     public <K extends Serializable, V extends Serializable> BackingStore<K, V> createBackingStore(
             BackingStoreConfiguration<K, V> conf)
                 throws BackingStoreException {
-        FileBackingStore<K, V> fs = new FileBackingStore<K, V>();
+        FileBackingStore<K, V> fs = SegmentedLogBackingStore.ENGINE.equals(
+                FileBackingStore.getSetting(conf, SegmentedLogBackingStore.ENGINE_PROP))
+                ? new SegmentedLogBackingStore<K, V>() : new FileBackingStore<K, V>();
         fs.initialize(conf);
         fs.setFileBackingStoreFactory(this);
         _stores.put(conf.getStoreName(), fs);
@@ -0,0 +1,1006 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * A FileBackingStore engine that appends the saved states to segmented log files
+ * instead of writing a file per key.
+ * <p>
+ * An in-memory index maps every key to the position of its latest state. Concurrent
+ * writes are combined: the thread holding the write lock appends the records queued by
+ * the other threads with a single gathering {@link FileChannel} write. Sealed segments
+ * are read through memory mappings. A background task copies the live records of the
+ * segments that mostly hold superseded or removed states to the active segment and
+ * deletes them.
+ * <p>
+ * A record is made of its length (int), the CRC32 of the rest of the record (int),
+ * its type (byte), a timestamp (long), the key length (int), the key
+ * ({@code key.toString()} in UTF-8) and the serialized value.
+ */
+public class SegmentedLogBackingStore<K extends Serializable, V extends Serializable>
+        extends FileBackingStore<K, V> {
+
+    static final String ENGINE_PROP = "file.store.engine";
+
+    static final String ENGINE = "segmented-log";
+
+    static final String SEGMENT_SIZE_PROP = "file.store.segment.size";
+
+    static final String COMPACTION_THRESHOLD_PROP = "file.store.compaction.threshold";
+
+    static final String SYNC_PROP = "file.store.sync";
+
+    static final String MEMORY_MAPPED_READS_PROP = "file.store.memory.mapped.reads";
+
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final byte PUT = 1;
+
+    private static final byte DELETE = 2;
+
+    private static final byte TOUCH = 3;
+
+    private static final int HEADER_SIZE = 21;
+
+    private static final int CHECKED_OFFSET = 8;
+
+    private static final int TYPE_OFFSET = 8;
+
+    private static final int TIMESTAMP_OFFSET = 9;
+
+    private static final int KEY_LENGTH_OFFSET = 17;
+
+    private static final int MAX_BATCH_BYTES = 1 << 20;
+
+    private static final long DEFAULT_SEGMENT_SIZE = 16L << 20;
+
+    private static final long MAX_SEGMENT_SIZE = 1L << 30;
+
+    private static final double DEFAULT_COMPACTION_THRESHOLD = 0.5;
+
+    private static final Level TRACE_LEVEL = Level.FINE;
+
+    /**
+     * Compacts the segments of all the stores. The thread stops when it has been idle for a minute.
+     */
+    private static final ThreadPoolExecutor COMPACTOR = createCompactor();
+
+    private final ConcurrentHashMap<String, Entry> index = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+    private final Queue<Write> pendingWrites = new ConcurrentLinkedQueue<>();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+
+    // guarded by writeLock
+    private Segment activeSegment;
+
+    private long segmentSize = DEFAULT_SEGMENT_SIZE;
+
+    private double compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+
+    private boolean sync;
+
+    private boolean memoryMappedReads = true;
+
+    private volatile boolean closed;
+
+    private String debugStr;
+
+    public SegmentedLogBackingStore() {
+    }
+
+    @Override
+    protected void initialize(BackingStoreConfiguration<K, V> conf)
+        throws BackingStoreException {
+
+        super.initialize(conf);
+        debugStr = "[SegmentedLogBackingStore - " + conf.getStoreName() + "] ";
+
+        try {
+            segmentSize = Math.min(Long.parseLong(getSetting(conf, SEGMENT_SIZE_PROP)), MAX_SEGMENT_SIZE);
+        } catch (Exception ex) {
+            //Ignore. Use default
+        }
+        try {
+            compactionThreshold = Double.parseDouble(getSetting(conf, COMPACTION_THRESHOLD_PROP));
+        } catch (Exception ex) {
+            //Ignore. Use default
+        }
+        sync = Boolean.parseBoolean(getSetting(conf, SYNC_PROP));
+        memoryMappedReads = !"false".equals(getSetting(conf, MEMORY_MAPPED_READS_PROP));
+
+        try {
+            recover();
+        } catch (IOException ex) {
+            closeSegments();
+            throw new BackingStoreException(debugStr + "Cannot open the log in " + baseDir.getAbsolutePath(), ex);
+        }
+        logger.log(Level.INFO, debugStr + "Opened the log in " + baseDir.getAbsolutePath() + " with "
+                + index.size() + " entries in " + segments.size() + " segments");
+        scheduleCompaction();
+    }
+
+    @Override
+    public V load(K key, String version) throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered load(" + key + ", " + version + ")");
+        }
+
+        String id = key.toString();
+        while (true) {
+            Entry entry = index.get(id);
+            if (entry == null) {
+                return null;
+            }
+            Segment segment = entry.segment;
+            if (!segment.retain()) {
+                // compacted meanwhile, the index now points to the copy
+                continue;
+            }
+            try {
+                V value = readValue(segment.read(entry.position, entry.length));
+
+                if (logger.isLoggable(TRACE_LEVEL)) {
+                    logger.log(TRACE_LEVEL, debugStr + "Done load(" + key + ", " + version + ")");
+                }
+                return value;
+            } catch (Exception ex) {
+                logger.log(Level.WARNING, debugStr + "Failed to load(" + key + ", " + version + ")", ex);
+                return null;
+            } finally {
+                segment.release();
+            }
+        }
+    }
+
+    /**
+     * Deserializes the value that follows the key of the record.
+     */
+    @SuppressWarnings("unchecked")
+    private V readValue(ByteBuffer record) throws IOException, ClassNotFoundException {
+        record.position(HEADER_SIZE + record.getInt(KEY_LENGTH_OFFSET));
+        ObjectInputStream ois = createObjectInputStream(new ByteBufferInputStream(record));
+        return (V) ois.readObject();
+    }
+
+    @Override
+    public String save(K sessionKey, V value, boolean isNew)
+            throws BackingStoreException {
+
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered save(" + sessionKey + ")");
+        }
+        ByteBuffer data = ByteBuffer.wrap(getSerializedState(sessionKey, value));
+        append(Collections.singletonList(
+                new Write(PUT, sessionKey.toString(), data, System.currentTimeMillis())));
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done save(" + sessionKey + ")");
+        }
+        return getBackingStoreConfiguration().getInstanceName();
+    }
+
+    @Override
+    public void remove(K sessionKey) {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered remove(" + sessionKey + ")");
+        }
+        try {
+            Write write = new Write(DELETE, sessionKey.toString(), null, System.currentTimeMillis());
+            append(Collections.singletonList(write));
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Done remove( " + sessionKey + "); status => " + write.applied);
+            }
+        } catch (BackingStoreException ex) {
+            logger.log(Level.WARNING, debugStr + "Failed to remove(" + sessionKey + ")", ex);
+        }
+    }
+
+    @Override
+    public void updateTimestamp(K sessionKey, long time)
+            throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered updateTimestamp(" + sessionKey + ", " + time + ")");
+        }
+        Write write = new Write(TOUCH, sessionKey.toString(), null, time);
+        append(Collections.singletonList(write));
+        if (!write.applied) {
+            logger.log(Level.WARNING, debugStr
+                    + ": Cannot update timsestamp for: " + sessionKey
+                    + "; Entry does not exist");
+        }
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done updateTimestamp(" + sessionKey + ", " + time + ")");
+        }
+    }
+
+    @Override
+    public int removeExpired(long idleForMillis) {
+        long threshold = System.currentTimeMillis() - idleForMillis;
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered removeExpired()");
+        }
+        List<Write> removals = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : index.entrySet()) {
+            if (entry.getValue().timestamp < threshold) {
+                Write write = new Write(DELETE, entry.getKey(), null, System.currentTimeMillis());
+                write.expiredBefore = threshold;
+                removals.add(write);
+            }
+        }
+        if (removals.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            append(removals);
+        } catch (BackingStoreException ex) {
+            logger.log(Level.WARNING, debugStr + " Exception while removing expired entries", ex);
+        }
+        int expiredSessions = 0;
+        for (Write write : removals) {
+            if (write.applied) {
+                expiredSessions++;
+            }
+        }
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done removeExpired()");
+        }
+        return expiredSessions;
+    }
+
+    @Override
+    public int size() throws BackingStoreException {
+        return index.size();
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        writeLock.lock();
+        try {
+            if (!closed) {
+                activeSegment.channel.force(false);
+            }
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, debugStr + " shutdown() failed to force the active segment", ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws BackingStoreException {
+        closed = true;
+        writeLock.lock();
+        try {
+            activeSegment.channel.force(false);
+        } catch (IOException ex) {
+            throw new BackingStoreException(debugStr + "Cannot force the active segment", ex);
+        } finally {
+            closeSegments();
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+        writeLock.lock();
+        try {
+            closeSegments();
+            index.clear();
+            segments.clear();
+        } finally {
+            writeLock.unlock();
+        }
+        super.destroy();
+    }
+
+    /**
+     * Replays the segments found in the base directory to rebuild the index, and opens a
+     * new active segment.
+     */
+    private void recover() throws IOException {
+        TreeMap<Long, File> files = new TreeMap<>();
+        String[] fileNames = baseDir.list();
+        if (fileNames != null) {
+            for (String fileName : fileNames) {
+                long sequence = getSequence(fileName);
+                if (sequence > 0) {
+                    files.put(sequence, new File(baseDir, fileName));
+                }
+            }
+        }
+
+        for (Map.Entry<Long, File> file : files.entrySet()) {
+            Segment segment = new Segment(file.getKey(), file.getValue(), false, logger);
+            segments.put(segment.sequence, segment);
+            long end = scan(segment, (type, timestamp, key, record, position) -> {
+                if (type == PUT) {
+                    Entry old = index.put(key, new Entry(segment, position, record.remaining(), timestamp));
+                    segment.liveBytes.addAndGet(record.remaining());
+                    if (old != null) {
+                        old.segment.liveBytes.addAndGet(-old.length);
+                    }
+                } else if (type == DELETE) {
+                    Entry old = index.remove(key);
+                    if (old != null) {
+                        old.segment.liveBytes.addAndGet(-old.length);
+                    }
+                } else {
+                    index.computeIfPresent(key, (k, e) -> e.touch(timestamp));
+                }
+            });
+            if (end < segment.channel.size()) {
+                logger.log(Level.WARNING, debugStr + "Truncating the incomplete record at " + end
+                        + " in " + segment.file.getAbsolutePath());
+                segment.channel.truncate(end);
+            }
+            segment.size = end;
+            segment.seal(memoryMappedReads);
+        }
+
+        activeSegment = createSegment(files.isEmpty() ? 1L : files.lastKey() + 1L);
+    }
+
+    private Segment createSegment(long sequence) throws IOException {
+        File file = new File(baseDir, String.format("%s%019d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+        Segment segment = new Segment(sequence, file, true, logger);
+        segments.put(sequence, segment);
+        return segment;
+    }
+
+    /**
+     * Calls the visitor for every valid record of the segment.
+     *
+     * @return the end of the last valid record
+     */
+    private static long scan(Segment segment, RecordVisitor visitor) throws IOException {
+        long size = segment.sealed ? segment.size : segment.channel.size();
+        long position = 0;
+        while (position + HEADER_SIZE <= size) {
+            int length = segment.read(position, HEADER_SIZE).getInt(0);
+            if (length < HEADER_SIZE || position + length > size) {
+                break;
+            }
+            ByteBuffer record = segment.read(position, length);
+            int keyLength = record.getInt(KEY_LENGTH_OFFSET);
+            if (keyLength < 0 || keyLength > length - HEADER_SIZE || record.getInt(4) != checksum(record)) {
+                break;
+            }
+            byte[] key = new byte[keyLength];
+            ((ByteBuffer) record.duplicate().position(HEADER_SIZE)).get(key);
+            visitor.visit(record.get(TYPE_OFFSET), record.getLong(TIMESTAMP_OFFSET),
+                    new String(key, StandardCharsets.UTF_8), record, position);
+            position += length;
+        }
+        return position;
+    }
+
+    private static int checksum(ByteBuffer record) {
+        CRC32 crc = new CRC32();
+        crc.update((ByteBuffer) record.duplicate().position(CHECKED_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private static long getSequence(String fileName) {
+        if (fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(SEGMENT_SUFFIX)) {
+            try {
+                return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(),
+                        fileName.length() - SEGMENT_SUFFIX.length()));
+            } catch (NumberFormatException ex) {
+                //Not a segment
+            }
+        }
+        return -1L;
+    }
+
+    /**
+     * Queues the writes and appends them, together with the writes queued by other
+     * threads meanwhile.
+     */
+    private void append(List<Write> writes) throws BackingStoreException {
+        pendingWrites.addAll(writes);
+        Write last = writes.get(writes.size() - 1);
+        writeLock.lock();
+        try {
+            while (!last.done) {
+                if (!flushBatch()) {
+                    throw new IllegalStateException(debugStr + "Lost a queued write");
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        for (Write write : writes) {
+            if (write.failure != null) {
+                throw new BackingStoreException(debugStr + "Could not append to the log: " + write.key, write.failure);
+            }
+        }
+    }
+
+    /**
+     * Appends the next queued writes. Called with the write lock held.
+     *
+     * @return false if there was no queued write
+     */
+    private boolean flushBatch() {
+        List<Write> batch = new ArrayList<>();
+        // the effect of the writes of this batch, which the index does not reflect yet
+        Map<String, Write> batched = new HashMap<>();
+        int batchBytes = 0;
+        boolean polled = false;
+        for (Write write; batchBytes < MAX_BATCH_BYTES && (write = pendingWrites.poll()) != null;) {
+            polled = true;
+            if (accept(write, batched.get(write.key))) {
+                batched.put(write.key, write);
+                write.record = encode(write);
+                batch.add(write);
+                batchBytes += write.length;
+            } else {
+                write.done = true;
+            }
+        }
+        if (!batch.isEmpty()) {
+            appendBatch(batch, batchBytes);
+        }
+        return polled;
+    }
+
+    private boolean accept(Write write, Write previous) {
+        switch (write.type) {
+            case PUT:
+                return true;
+            case TOUCH:
+                return previous == null ? index.containsKey(write.key) : previous.type != DELETE;
+            default:
+                if (previous != null) {
+                    // an expired entry that has just been saved or touched is kept
+                    return previous.type != DELETE && write.expiredBefore == 0L;
+                }
+                Entry entry = index.get(write.key);
+                return entry != null && (write.expiredBefore == 0L || entry.timestamp < write.expiredBefore);
+        }
+    }
+
+    /**
+     * Appends the batch to the active segment and applies it to the index. Called with
+     * the write lock held.
+     */
+    private void appendBatch(List<Write> batch, int batchBytes) {
+        Segment segment = activeSegment;
+        try {
+            if (segment.size > 0L && segment.size + batchBytes > segmentSize) {
+                segment = rollOver();
+            }
+        } catch (IOException ex) {
+            fail(batch, ex);
+            return;
+        }
+
+        ByteBuffer[] buffers = new ByteBuffer[batch.size()];
+        long position = segment.size;
+        for (int i = 0; i < buffers.length; i++) {
+            Write write = batch.get(i);
+            write.position = position;
+            position += write.length;
+            buffers[i] = write.record;
+        }
+        try {
+            for (long written = 0L; written < batchBytes;) {
+                written += segment.channel.write(buffers);
+            }
+            if (sync) {
+                segment.channel.force(false);
+            }
+        } catch (IOException ex) {
+            try {
+                // drop the partially written records
+                segment.channel.truncate(segment.size);
+                segment.channel.position(segment.size);
+            } catch (IOException ex1) {
+                logger.log(Level.FINE, debugStr + "Cannot truncate " + segment.file.getAbsolutePath(), ex1);
+            }
+            fail(batch, ex);
+            return;
+        }
+        segment.size = position;
+
+        for (Write write : batch) {
+            apply(write, segment);
+            write.record = null;
+            write.applied = true;
+            write.done = true;
+        }
+    }
+
+    private void apply(Write write, Segment segment) {
+        if (write.compacted != null) {
+            if (write.type == PUT) {
+                Entry old = index.put(write.key, new Entry(segment, write.position, write.length, write.timestamp));
+                segment.liveBytes.addAndGet(write.length);
+                old.segment.liveBytes.addAndGet(-old.length);
+            }
+            return;
+        }
+
+        Entry old;
+        switch (write.type) {
+            case PUT:
+                old = index.put(write.key, new Entry(segment, write.position, write.length, write.timestamp));
+                segment.liveBytes.addAndGet(write.length);
+                break;
+            case TOUCH:
+                index.computeIfPresent(write.key, (k, e) -> e.touch(write.timestamp));
+                return;
+            default:
+                old = index.remove(write.key);
+        }
+        if (old != null) {
+            old.segment.liveBytes.addAndGet(-old.length);
+            if (old.segment.sealed && isCompactable(old.segment)) {
+                scheduleCompaction();
+            }
+        }
+    }
+
+    private static void fail(List<Write> batch, IOException ex) {
+        for (Write write : batch) {
+            write.record = null;
+            write.failure = ex;
+            write.done = true;
+        }
+    }
+
+    /**
+     * Seals the active segment and opens the next one. Called with the write lock held.
+     */
+    private Segment rollOver() throws IOException {
+        Segment sealed = activeSegment;
+        Segment segment = createSegment(sealed.sequence + 1L);
+        activeSegment = segment;
+        sealed.seal(memoryMappedReads);
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Sealed " + sealed.file.getName() + "; live bytes: "
+                    + sealed.liveBytes.get() + " of " + sealed.size);
+        }
+        if (isCompactable(sealed)) {
+            scheduleCompaction();
+        }
+        return segment;
+    }
+
+    private boolean isCompactable(Segment segment) {
+        long size = segment.size;
+        return size - segment.liveBytes.get() >= size * compactionThreshold;
+    }
+
+    private void scheduleCompaction() {
+        if (!closed && compactionScheduled.compareAndSet(false, true)) {
+            try {
+                COMPACTOR.execute(this::compact);
+            } catch (RejectedExecutionException ex) {
+                compactionScheduled.set(false);
+                logger.log(Level.WARNING, debugStr + "Cannot schedule the compaction", ex);
+            }
+        }
+    }
+
+    /**
+     * Compacts the sealed segments holding enough garbage, the oldest first.
+     */
+    private void compact() {
+        // later triggers schedule another pass
+        compactionScheduled.set(false);
+        for (Segment segment : segments.values()) {
+            if (closed) {
+                return;
+            }
+            if (segment.sealed && isCompactable(segment)) {
+                try {
+                    compact(segment);
+                } catch (IOException | RuntimeException ex) {
+                    logger.log(closed ? Level.FINE : Level.WARNING,
+                            debugStr + "Failed to compact " + segment.file.getAbsolutePath(), ex);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the live records of the segment to the active segment, then deletes it.
+     * <ul>
+     * <li>a stored state is copied as long as the index points to it
+     * <li>a timestamp update is copied when the state it applies to is in an older segment
+     * <li>a removal is copied as long as an older segment may hold a state of the key
+     * </ul>
+     */
+    private void compact(Segment segment) throws IOException {
+        if (!segment.retain()) {
+            return;
+        }
+        try {
+            List<Write> copies = new ArrayList<>();
+            Set<String> touched = new HashSet<>();
+            AtomicInteger copyBytes = new AtomicInteger();
+            scan(segment, (type, timestamp, key, record, position) -> {
+                Entry entry = index.get(key);
+                Write copy = null;
+                if (type == PUT) {
+                    if (entry != null && entry.segment == segment && entry.position == position) {
+                        record.position(HEADER_SIZE + record.getInt(KEY_LENGTH_OFFSET));
+                        copy = new Write(PUT, key, record.slice(), timestamp);
+                        copy.compactedPosition = position;
+                    }
+                } else if (type == TOUCH) {
+                    if (entry != null && entry.segment.sequence < segment.sequence && touched.add(key)) {
+                        copy = new Write(TOUCH, key, null, timestamp);
+                    }
+                } else if (entry == null && segments.firstKey() < segment.sequence) {
+                    copy = new Write(DELETE, key, null, timestamp);
+                }
+                if (copy != null) {
+                    copy.compacted = segment;
+                    copies.add(copy);
+                    if (copyBytes.addAndGet(record.limit()) >= MAX_BATCH_BYTES) {
+                        appendCopies(copies);
+                        copies.clear();
+                        copyBytes.set(0);
+                    }
+                }
+            });
+            appendCopies(copies);
+
+            segments.remove(segment.sequence);
+            segment.retire();
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Compacted " + segment.file.getName());
+            }
+        } finally {
+            segment.release();
+        }
+    }
+
+    /**
+     * Appends the copies that are still needed in a batch of their own, so they only
+     * depend on the index.
+     */
+    private void appendCopies(List<Write> copies) throws IOException {
+        if (copies.isEmpty()) {
+            return;
+        }
+        List<Write> batch = new ArrayList<>();
+        int batchBytes = 0;
+        writeLock.lock();
+        try {
+            if (closed) {
+                throw new IOException(debugStr + "The store is closed");
+            }
+            for (Write copy : copies) {
+                if (acceptCopy(copy)) {
+                    copy.record = encode(copy);
+                    batch.add(copy);
+                    batchBytes += copy.length;
+                }
+            }
+            if (!batch.isEmpty()) {
+                appendBatch(batch, batchBytes);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        for (Write copy : batch) {
+            if (copy.failure != null) {
+                throw copy.failure;
+            }
+        }
+    }
+
+    private boolean acceptCopy(Write copy) {
+        Entry entry = index.get(copy.key);
+        switch (copy.type) {
+            case PUT:
+                if (entry == null || entry.segment != copy.compacted || entry.position != copy.compactedPosition) {
+                    return false;
+                }
+                copy.timestamp = entry.timestamp;
+                return true;
+            case TOUCH:
+                if (entry == null || entry.segment.sequence >= copy.compacted.sequence) {
+                    return false;
+                }
+                copy.timestamp = entry.timestamp;
+                return true;
+            default:
+                return entry == null && segments.firstKey() < copy.compacted.sequence;
+        }
+    }
+
+    private static ByteBuffer encode(Write write) {
+        byte[] key = write.key.getBytes(StandardCharsets.UTF_8);
+        int length = HEADER_SIZE + key.length + (write.value == null ? 0 : write.value.remaining());
+        ByteBuffer record = ByteBuffer.allocate(length);
+        record.putInt(length).putInt(0).put(write.type).putLong(write.timestamp).putInt(key.length).put(key);
+        if (write.value != null) {
+            record.put(write.value.duplicate());
+        }
+        record.flip();
+        record.putInt(4, checksum(record));
+        write.length = length;
+        return record;
+    }
+
+    private void closeSegments() {
+        for (Segment segment : segments.values()) {
+            try {
+                segment.channel.close();
+            } catch (IOException ex) {
+                logger.log(Level.FINE, debugStr + "Error while closing " + segment.file.getAbsolutePath(), ex);
+            }
+        }
+    }
+
+    private static ThreadPoolExecutor createCompactor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "file-store-compactor");
+                    thread.setDaemon(true);
+                    thread.setContextClassLoader(SegmentedLogBackingStore.class.getClassLoader());
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private interface RecordVisitor {
+        void visit(byte type, long timestamp, String key, ByteBuffer record, long position) throws IOException;
+    }
+
+    /**
+     * The location and the last access time of the latest state of a key.
+     */
+    private static final class Entry {
+
+        final Segment segment;
+
+        final long position;
+
+        final int length;
+
+        final long timestamp;
+
+        Entry(Segment segment, long position, int length, long timestamp) {
+            this.segment = segment;
+            this.position = position;
+            this.length = length;
+            this.timestamp = timestamp;
+        }
+
+        Entry touch(long time) {
+            return new Entry(segment, position, length, time);
+        }
+    }
+
+    /**
+     * A queued record, or a record copied from a compacted segment.
+     */
+    private static final class Write {
+
+        final byte type;
+
+        final String key;
+
+        final ByteBuffer value;
+
+        long timestamp;
+
+        // removals by removeExpired() only apply to entries accessed before this time
+        long expiredBefore;
+
+        // set for compaction copies
+        Segment compacted;
+
+        long compactedPosition;
+
+        ByteBuffer record;
+
+        long position;
+
+        int length;
+
+        // guarded by writeLock
+        boolean done;
+
+        boolean applied;
+
+        IOException failure;
+
+        Write(byte type, String key, ByteBuffer value, long timestamp) {
+            this.type = type;
+            this.key = key;
+            this.value = value;
+            this.timestamp = timestamp;
+        }
+    }
+
+    /**
+     * A log file. Readers retain the segment so that it is deleted after the last read
+     * once compacted.
+     */
+    private static final class Segment {
+
+        final long sequence;
+
+        final File file;
+
+        final FileChannel channel;
+
+        final AtomicLong liveBytes = new AtomicLong();
+
+        volatile long size;
+
+        volatile boolean sealed;
+
+        private volatile ByteBuffer mapping;
+
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        private volatile boolean retired;
+
+        private final Logger logger;
+
+        Segment(long sequence, File file, boolean create, Logger logger) throws IOException {
+            this.sequence = sequence;
+            this.file = file;
+            this.logger = logger;
+            channel = create
+                    ? FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW,
+                            StandardOpenOption.READ, StandardOpenOption.WRITE)
+                    : FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        void seal(boolean map) throws IOException {
+            if (map && size > 0L) {
+                mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+            }
+            sealed = true;
+        }
+
+        ByteBuffer read(long position, int length) throws IOException {
+            ByteBuffer mapped = mapping;
+            if (mapped != null) {
+                ByteBuffer buffer = mapped.duplicate();
+                buffer.limit((int) position + length).position((int) position);
+                return buffer.slice();
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of " + file.getAbsolutePath());
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+
+        boolean retain() {
+            while (true) {
+                int count = references.get();
+                if (count == 0) {
+                    return false;
+                }
+                if (references.compareAndSet(count, count + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void release() {
+            if (references.decrementAndGet() == 0 && retired) {
+                try {
+                    channel.close();
+                } catch (IOException ex) {
+                    logger.log(Level.FINE, "Error while closing " + file.getAbsolutePath(), ex);
+                }
+                mapping = null;
+                if (!file.delete() && file.exists()) {
+                    logger.log(Level.WARNING, "Couldn't remove compacted segment: " + file.getAbsolutePath());
+                }
+            }
+        }
+
+        void retire() {
+            retired = true;
+            release();
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SegmentedLogBackingStoreTest {
+
+    private static final long SEGMENT_SIZE = 1024L;
+
+    @TempDir
+    Path tempDir;
+
+
+    @Test
+    public void recoveryDropsTheTruncatedLastRecord() throws Exception {
+        BackingStore<String, String> store = createStore();
+        store.save("a", "first", true);
+        store.save("b", "second", true);
+        store.close();
+
+        File segment = getSegments()[0];
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(file.length() - 3L);
+        }
+
+        BackingStore<String, String> recovered = createStore();
+        assertAll(
+            () -> assertEquals(1, recovered.size()),
+            () -> assertEquals("first", recovered.load("a", null)),
+            () -> assertNull(recovered.load("b", null))
+        );
+
+        // the truncated segment stays readable, the new records go to the next one
+        recovered.save("c", "third", true);
+        recovered.close();
+        BackingStore<String, String> reopened = createStore();
+        assertAll(
+            () -> assertEquals(2, reopened.size()),
+            () -> assertEquals("first", reopened.load("a", null)),
+            () -> assertEquals("third", reopened.load("c", null))
+        );
+        reopened.close();
+    }
+
+
+    @Test
+    public void compactionKeepsTheLiveEntries() throws Exception {
+        BackingStore<String, String> store = createStore();
+        int keys = 16;
+        for (int round = 0; round < 30; round++) {
+            for (int i = 0; i < keys; i++) {
+                store.save("key-" + i, value(i, round), round == 0);
+            }
+        }
+        for (int i = 0; i < keys; i += 4) {
+            store.remove("key-" + i);
+        }
+        int live = keys - keys / 4;
+        assertEquals(live, store.size());
+
+        // roughly 70 segments were written, the live states fit in a few of them
+        waitFor(() -> getSegments().length <= 8);
+        assertThat(getSegments().length, lessThanOrEqualTo(8));
+        assertLive(store, keys, 29);
+        store.close();
+
+        BackingStore<String, String> reopened = createStore();
+        assertEquals(live, reopened.size());
+        assertLive(reopened, keys, 29);
+        reopened.close();
+    }
+
+
+    @Test
+    public void concurrentSaveLoadAndRemove() throws Exception {
+        BackingStore<String, String> store = createStore();
+        int threads = 8;
+        int rounds = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String owned = "owned-" + t;
+                String removed = "removed-" + t;
+                tasks.add(() -> {
+                    for (int round = 0; round < rounds; round++) {
+                        store.save(owned, value(round, round), round == 0);
+                        assertEquals(value(round, round), store.load(owned, null));
+
+                        store.save(removed, value(round, round), true);
+                        store.remove(removed);
+                        assertNull(store.load(removed, null));
+
+                        store.save("shared", value(0, round), false);
+                        assertTrue(store.load("shared", null).startsWith("value-0-"));
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get(60L, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads + 1, store.size());
+        for (int t = 0; t < threads; t++) {
+            assertEquals(value(rounds - 1, rounds - 1), store.load("owned-" + t, null));
+            assertNull(store.load("removed-" + t, null));
+        }
+        store.close();
+
+        BackingStore<String, String> reopened = createStore();
+        assertEquals(threads + 1, reopened.size());
+        for (int t = 0; t < threads; t++) {
+            assertEquals(value(rounds - 1, rounds - 1), reopened.load("owned-" + t, null));
+            assertNull(reopened.load("removed-" + t, null));
+        }
+        reopened.close();
+    }
+
+
+    private BackingStore<String, String> createStore() throws Exception {
+        BackingStoreConfiguration<String, String> conf = new BackingStoreConfiguration<>();
+        conf.setStoreName("test-store").setInstanceName("test-instance")
+                .setBaseDirectory(tempDir.toFile())
+                .setKeyClazz(String.class)
+                .setValueClazz(String.class)
+                .setClassLoader(getClass().getClassLoader());
+        conf.getVendorSpecificSettings().put(SegmentedLogBackingStore.ENGINE_PROP, SegmentedLogBackingStore.ENGINE);
+        conf.getVendorSpecificSettings().put(SegmentedLogBackingStore.SEGMENT_SIZE_PROP, Long.toString(SEGMENT_SIZE));
+        return new FileBackingStoreFactory().createBackingStore(conf);
+    }
+
+
+    private File[] getSegments() {
+        File[] segments = tempDir.toFile().listFiles((dir, name) -> name.endsWith(".log"));
+        Arrays.sort(segments);
+        return segments;
+    }
+
+
+    private static void assertLive(BackingStore<String, String> store, int keys, int round) throws Exception {
+        for (int i = 0; i < keys; i++) {
+            if (i % 4 == 0) {
+                assertNull(store.load("key-" + i, null));
+            } else {
+                assertEquals(value(i, round), store.load("key-" + i, null));
+            }
+        }
+    }
+
+
+    private static String value(int key, int round) {
+        StringBuilder value = new StringBuilder("value-").append(key).append('-').append(round).append('-');
+        while (value.length() < 100) {
+            value.append('x');
+        }
+        return value.toString();
+    }
+
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+    }
+}
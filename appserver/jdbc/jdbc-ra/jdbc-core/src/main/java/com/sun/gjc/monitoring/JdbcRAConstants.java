@@ -37,6 +37,16 @@ public interface JdbcRAConstants {
      */
     public static final String STATEMENT_CACHE_MISS = "statementCacheMissEvent";
 
+    /**
+     * Represents the statement cache eviction monitoring event.
+     */
+    public static final String STATEMENT_CACHE_EVICTION = "statementCacheEvictionEvent";
+
+    /**
+     * Represents the statement cache pre-warm monitoring event.
+     */
+    public static final String STATEMENT_CACHE_PREWARM = "statementCachePrewarmEvent";
+
     /**
      * Represents caching of sql query event.
      */
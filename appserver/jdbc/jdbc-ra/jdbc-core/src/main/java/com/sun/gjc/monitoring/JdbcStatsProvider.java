@@ -17,6 +17,8 @@
 
 package com.sun.gjc.monitoring;
 
+import com.sun.gjc.spi.base.datastructure.StatementCacheRegistry;
+import com.sun.gjc.util.SQLStatistics;
 import com.sun.gjc.util.SQLTrace;
 import com.sun.gjc.util.SQLTraceCache;
 
@@ -56,19 +58,46 @@ public class JdbcStatsProvider {
             "NumStatementCacheMiss", StatisticImpl.UNIT_COUNT,
             "The total number of Statement Cache misses.");
 
+    private final CountStatisticImpl numStatementCacheEviction = new CountStatisticImpl(
+            "NumStatementCacheEviction", StatisticImpl.UNIT_COUNT,
+            "The total number of statements evicted from full Statement Caches.");
+
+    private final CountStatisticImpl numStatementCachePrewarm = new CountStatisticImpl(
+            "NumStatementCachePrewarm", StatisticImpl.UNIT_COUNT,
+            "The total number of statements prepared in the Statement Caches of new connections in advance.");
+
+    private final StringStatisticImpl hotCachedSqlQueries = new StringStatisticImpl(
+            "HotCachedSqlQueries", "List",
+            "Most frequently looked up statements in the Statement Caches of all connections, with their cache hits and misses");
+
     private final CountStatisticImpl numPotentialStatementLeak = new CountStatisticImpl(
             "NumPotentialStatementLeak", StatisticImpl.UNIT_COUNT,
             "The total number of potential Statement leaks");
 
+    private final StringStatisticImpl sqlExecutionStatistics = new StringStatisticImpl(
+            "SqlExecutionStatistics", "List",
+            "Sql queries with the highest total execution time, with their sampled execution count and percentiles in microseconds");
+
+    private final CountStatisticImpl numSampledSqlExecutions = new CountStatisticImpl(
+            "NumSampledSqlExecutions", StatisticImpl.UNIT_COUNT,
+            "The total number of sql executions measured for the sql execution statistics");
+
     private final PoolInfo poolInfo;
     private SQLTraceCache sqlTraceCache;
+    private final SQLStatistics sqlStatistics;
+    private final int numberOfTopQueries;
+    private final StatementCacheRegistry statementCacheRegistry;
 
     public JdbcStatsProvider(SimpleJndiName poolName, String appName, String moduleName, int sqlTraceCacheSize,
-        long timeToKeepQueries) {
+        long timeToKeepQueries, SQLStatistics sqlStatistics, int numberOfTopQueries,
+        StatementCacheRegistry statementCacheRegistry) {
         poolInfo = new PoolInfo(poolName, appName, moduleName);
         if (sqlTraceCacheSize > 0) {
             this.sqlTraceCache = new SQLTraceCache(poolName, appName, moduleName, sqlTraceCacheSize, timeToKeepQueries);
         }
+        this.sqlStatistics = sqlStatistics;
+        this.numberOfTopQueries = numberOfTopQueries;
+        this.statementCacheRegistry = statementCacheRegistry;
     }
 
     /**
@@ -103,6 +132,40 @@ public class JdbcStatsProvider {
         }
     }
 
+    /**
+     * Whenever a statement is evicted from a full statement cache, increment
+     * numStatementCacheEviction count.
+     * @param poolName JdbcConnectionPool that has got a statement cache eviction event.
+     */
+    @ProbeListener(JdbcRAConstants.STATEMENT_CACHE_DOTTED_NAME + JdbcRAConstants.STATEMENT_CACHE_EVICTION)
+    public void statementCacheEvictionEvent(@ProbeParam("poolName") String poolName,
+                                            @ProbeParam("appName") String appName,
+                                            @ProbeParam("moduleName") String moduleName
+                                            ) {
+
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if(this.poolInfo.equals(poolInfo)){
+            numStatementCacheEviction.increment();
+        }
+    }
+
+    /**
+     * Whenever a statement is prepared in the statement cache of a new connection
+     * in advance, increment numStatementCachePrewarm count.
+     * @param poolName JdbcConnectionPool that has got a statement cache pre-warm event.
+     */
+    @ProbeListener(JdbcRAConstants.STATEMENT_CACHE_DOTTED_NAME + JdbcRAConstants.STATEMENT_CACHE_PREWARM)
+    public void statementCachePrewarmEvent(@ProbeParam("poolName") String poolName,
+                                           @ProbeParam("appName") String appName,
+                                           @ProbeParam("moduleName") String moduleName
+                                           ) {
+
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if(this.poolInfo.equals(poolInfo)){
+            numStatementCachePrewarm.increment();
+        }
+    }
+
     /**
      * Whenever a sql statement that is traced is to be cache for monitoring
      * purpose, the SQLTrace object is created for the specified sql and
@@ -158,6 +221,24 @@ public class JdbcStatsProvider {
         return numStatementCacheMiss;
     }
 
+    @ManagedAttribute(id="numstatementcacheeviction")
+    public CountStatistic getNumStatementCacheEviction() {
+        return numStatementCacheEviction;
+    }
+
+    @ManagedAttribute(id="numstatementcacheprewarm")
+    public CountStatistic getNumStatementCachePrewarm() {
+        return numStatementCachePrewarm;
+    }
+
+    @ManagedAttribute(id="hotcachedsqlqueries")
+    public StringStatistic getHotCachedSqlQueries() {
+        if (statementCacheRegistry != null) {
+            hotCachedSqlQueries.setCurrent(statementCacheRegistry.getHotStatementsReport(numberOfTopQueries));
+        }
+        return hotCachedSqlQueries;
+    }
+
     @ManagedAttribute(id="frequsedsqlqueries")
     public StringStatistic getfreqUsedSqlQueries() {
         if(sqlTraceCache != null) {
@@ -173,6 +254,22 @@ public class JdbcStatsProvider {
         return numPotentialStatementLeak;
     }
 
+    @ManagedAttribute(id="sqlexecutionstatistics")
+    public StringStatistic getSqlExecutionStatistics() {
+        if (sqlStatistics != null) {
+            sqlExecutionStatistics.setCurrent(sqlStatistics.getTopQueriesReport(numberOfTopQueries));
+        }
+        return sqlExecutionStatistics;
+    }
+
+    @ManagedAttribute(id="numsampledsqlexecutions")
+    public CountStatistic getNumSampledSqlExecutions() {
+        if (sqlStatistics != null) {
+            numSampledSqlExecutions.setCount(sqlStatistics.getSampledExecutions());
+        }
+        return numSampledSqlExecutions;
+    }
+
     /**
      * Get the SQLTraceCache associated with this stats provider.
      * @return SQLTraceCache
@@ -180,4 +277,12 @@ public class JdbcStatsProvider {
     public SQLTraceCache getSqlTraceCache() {
         return sqlTraceCache;
     }
+
+    /**
+     * Get the sampled sql execution statistics reported by this stats provider.
+     * @return SQLStatistics, null if they are disabled
+     */
+    public SQLStatistics getSqlStatistics() {
+        return sqlStatistics;
+    }
 }
@@ -59,4 +59,33 @@ public class StatementCacheProbeProvider {
 
     }
 
+    /**
+     * Emits probe event/notification that the given connection pool
+     * <code>poolName</code>has evicted a statement from a full statement cache
+     *
+     * @param poolName for which the statement was evicted
+     */
+    @Probe(name=JdbcRAConstants.STATEMENT_CACHE_EVICTION)
+    public void statementCacheEvictionEvent(@ProbeParam("poolName") String poolName,
+                                            @ProbeParam("appName") String appName,
+                                            @ProbeParam("moduleName") String moduleName
+                                            ) {
+
+    }
+
+    /**
+     * Emits probe event/notification that the given connection pool
+     * <code>poolName</code>has prepared a statement in the statement cache of a
+     * new connection in advance
+     *
+     * @param poolName for which the statement was prepared
+     */
+    @Probe(name=JdbcRAConstants.STATEMENT_CACHE_PREWARM)
+    public void statementCachePrewarmEvent(@ProbeParam("poolName") String poolName,
+                                           @ProbeParam("appName") String appName,
+                                           @ProbeParam("moduleName") String moduleName
+                                           ) {
+
+    }
+
 }
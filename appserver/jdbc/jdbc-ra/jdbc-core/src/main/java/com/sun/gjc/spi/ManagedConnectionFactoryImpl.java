@@ -22,6 +22,9 @@ import com.sun.enterprise.util.i18n.StringManager;
 import com.sun.gjc.common.DataSourceObjectBuilder;
 import com.sun.gjc.common.DataSourceSpec;
 import com.sun.gjc.monitoring.JdbcStatsProvider;
+import com.sun.gjc.spi.base.datastructure.CacheFactory;
+import com.sun.gjc.spi.base.datastructure.StatementCacheRegistry;
+import com.sun.gjc.util.SQLStatistics;
 import com.sun.gjc.util.SQLTraceDelegator;
 import com.sun.logging.LogDomains;
 
@@ -58,6 +61,10 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.Timer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -118,6 +125,12 @@ public abstract class ManagedConnectionFactoryImpl
 
     // Jdbc Stats provider that is created
     private JdbcStatsProvider jdbcStatsProvider;
+    // Sampled sql execution statistics, null when disabled
+    private transient SQLStatistics sqlStatistics;
+    // Statements looked up in the concurrent statement caches of all connections
+    private transient StatementCacheRegistry statementCacheRegistry;
+    // Runs the statement cache pre-warms of the new connections, created on first use
+    private transient ThreadPoolExecutor statementCachePrewarmExecutor;
 
     /**
      * Creates a Connection Factory instance. The <code>ConnectionManager</code>
@@ -1075,6 +1088,40 @@ public abstract class ManagedConnectionFactoryImpl
         }
     }
 
+    /**
+     * Returns the registry of the statements looked up in the statement caches of all
+     * connections, shared by the connections to pre-warm their caches.
+     *
+     * @return the registry, null unless a concurrent statement cache type is used
+     */
+    public synchronized StatementCacheRegistry getStatementCacheRegistry() {
+        if (statementCacheRegistry == null && statementCacheSize > 0 && CacheFactory.isConcurrent(statementCacheType)) {
+            statementCacheRegistry = new StatementCacheRegistry(statementCacheSize * 4);
+        }
+        return statementCacheRegistry;
+    }
+
+    /**
+     * Returns the executor pre-warming the statement caches of the new connections of this pool.
+     * It has a single thread, ended when idle, so the pre-warms of a pool run one after the other
+     * and never delay the timer tasks of the resource adapter.
+     *
+     * @return the executor of this pool
+     */
+    public synchronized Executor getStatementCachePrewarmExecutor() {
+        if (statementCachePrewarmExecutor == null) {
+            String threadName = "statement-cache-prewarm-" + getPoolName();
+            statementCachePrewarmExecutor = new ThreadPoolExecutor(0, 1, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+                    Thread thread = new Thread(task, threadName);
+                    thread.setDaemon(true);
+                    thread.setContextClassLoader(ManagedConnectionFactoryImpl.class.getClassLoader());
+                    return thread;
+                });
+        }
+        return statementCachePrewarmExecutor;
+    }
+
     public String getNumberOfTopQueriesToReport() {
         return spec.getDetail(DataSourceSpec.NUMBEROFTOPQUERIESTOREPORT);
     }
@@ -1091,6 +1138,27 @@ public abstract class ManagedConnectionFactoryImpl
         spec.setDetail(DataSourceSpec.TIMETOKEEPQUERIESINMINUTES, timeToKeepQueries);
     }
 
+    public String getSqlStatisticsSampleRate() {
+        return spec.getDetail(DataSourceSpec.SQLSTATISTICSSAMPLERATE);
+    }
+
+    /**
+     * Sets the fraction of the statement executions measured for the sql statistics
+     * of the pool, between 0 (the default, no statistics) and 1 (every execution).
+     *
+     * @param sampleRate <code>String</code>
+     */
+    public void setSqlStatisticsSampleRate(String sampleRate) {
+        spec.setDetail(DataSourceSpec.SQLSTATISTICSSAMPLERATE, sampleRate);
+    }
+
+    /**
+     * @return the sampled sql execution statistics of the pool, null if they are disabled
+     */
+    public SQLStatistics getSqlStatistics() {
+        return sqlStatistics;
+    }
+
     public String getInitSql() {
         return spec.getDetail(DataSourceSpec.INITSQL);
     }
@@ -1366,17 +1434,14 @@ public abstract class ManagedConnectionFactoryImpl
         String poolMonitoringSubTreeRoot = getPoolMonitoringSubTreeRoot();
         String sqlTraceListeners = getSqlTraceListeners();
 
+        // Reported by the sql trace cache, the sql statistics and the statement cache registry
+        int numberOfTopQueries = parseNumberOfTopQueriesToReport();
+
         // Default values used in case sql tracing is OFF
         int sqlTraceCacheSize = 0;
         long timeToKeepQueries = 0;
         if (sqlTraceListeners != null && !sqlTraceListeners.equals("null")) {
-            if (getNumberOfTopQueriesToReport() != null && !getNumberOfTopQueriesToReport().equals("null")) {
-                // Some value is set for this property
-                sqlTraceCacheSize = Integer.parseInt(getNumberOfTopQueriesToReport());
-            } else {
-                // No property by this name. default to 10 queries
-                sqlTraceCacheSize = 10;
-            }
+            sqlTraceCacheSize = numberOfTopQueries;
             if (getTimeToKeepQueriesInMinutes() != null && !getTimeToKeepQueriesInMinutes().equals("null")) {
                 // Time-To-Keep-Queries property has been set
                 timeToKeepQueries = Integer.parseInt(getTimeToKeepQueriesInMinutes());
@@ -1389,12 +1454,26 @@ public abstract class ManagedConnectionFactoryImpl
             }
         }
 
+        // Sampled sql statistics are independent of the sql trace listeners
+        String sampleRate = getSqlStatisticsSampleRate();
+        if (sampleRate != null && !sampleRate.equals("null") && !sampleRate.isBlank()) {
+            try {
+                double rate = Double.parseDouble(sampleRate);
+                if (rate > 0) {
+                    sqlStatistics = new SQLStatistics(rate, SQLStatistics.DEFAULT_MAX_QUERIES);
+                }
+            } catch (NumberFormatException e) {
+                _logger.log(Level.WARNING, "Invalid value for SqlStatisticsSampleRate: " + sampleRate, e);
+            }
+        }
+        StatementCacheRegistry cacheRegistry = getStatementCacheRegistry();
+
         _logger.finest("MCF Created");
 
         if (statementCacheSize > 0 || (sqlTraceListeners != null && !sqlTraceListeners.equals("null"))
-                || statementLeakTimeout > 0) {
+                || statementLeakTimeout > 0 || sqlStatistics != null) {
             jdbcStatsProvider = new JdbcStatsProvider(getPoolName(), getApplicationName(), getModuleName(),
-                    sqlTraceCacheSize, timeToKeepQueries);
+                    sqlTraceCacheSize, timeToKeepQueries, sqlStatistics, numberOfTopQueries, cacheRegistry);
 
             // Get the poolname and use it to initialize the stats provider n register
             StatsProviderManager.register("jdbc-connection-pool", PluginPoint.SERVER, poolMonitoringSubTreeRoot,
@@ -1410,6 +1489,21 @@ public abstract class ManagedConnectionFactoryImpl
         }
     }
 
+    private int parseNumberOfTopQueriesToReport() {
+        String numberOfTopQueries = getNumberOfTopQueriesToReport();
+        if (numberOfTopQueries == null || numberOfTopQueries.equals("null")) {
+            // No property by this name. default to 10 queries
+            return 10;
+        }
+        try {
+            return Integer.parseInt(numberOfTopQueries);
+        } catch (NumberFormatException e) {
+            _logger.log(Level.WARNING, "Invalid value for NumberOfTopQueriesToReport: " + numberOfTopQueries
+                + ", using 10", e);
+            return 10;
+        }
+    }
+
     @Override
     public void mcfDestroyed() {
         _logger.finest("MCF Destroyed");
@@ -1422,8 +1516,16 @@ public abstract class ManagedConnectionFactoryImpl
 
             StatsProviderManager.unregister(jdbcStatsProvider);
             jdbcStatsProvider = null;
+            sqlStatistics = null;
             _logger.finest("Unregistered JDBCRA Stats Provider");
         }
+
+        synchronized (this) {
+            if (statementCachePrewarmExecutor != null) {
+                statementCachePrewarmExecutor.shutdownNow();
+                statementCachePrewarmExecutor = null;
+            }
+        }
     }
 
     private void detectStatementLeakSupport() {
@@ -29,8 +29,10 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.Hashtable;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Logger;
 
 import javax.security.auth.Subject;
@@ -50,6 +52,9 @@ import com.sun.gjc.spi.base.ConnectionWrapper;
 import com.sun.gjc.spi.base.PreparedStatementWrapper;
 import com.sun.gjc.spi.base.datastructure.Cache;
 import com.sun.gjc.spi.base.datastructure.CacheFactory;
+import com.sun.gjc.spi.base.datastructure.ConcurrentCacheImpl;
+import com.sun.gjc.spi.base.datastructure.StatementCacheRegistry;
+import com.sun.gjc.util.SQLStatistics;
 import com.sun.gjc.util.SQLTraceDelegator;
 import com.sun.gjc.util.StatementLeakDetector;
 import com.sun.logging.LogDomains;
@@ -116,6 +121,8 @@ public class ManagedConnectionImpl
     private int cacheSize;
     private String cacheType;
     private boolean statementCaching;
+    // Pre-warming of the statement cache while the new connection is idle
+    private StatementCachePrewarm statementCachePrewarm;
     private long stmtLeakTimeout;
     private boolean stmtLeakReclaim;
     private boolean statementLeakTracing;
@@ -178,12 +185,22 @@ public class ManagedConnectionImpl
         connectionEvent = new ConnectionEvent(this, ConnectionEvent.CONNECTION_CLOSED);
         tuneStatementCaching(poolInfo, statementCacheSize, statementCacheType);
         tuneStatementLeakTracing(poolInfo, statementLeakTimeout, statementLeakReclaim);
+        if (actualConnection != null) {
+            scheduleStatementCachePrewarm();
+        }
     }
 
     public StatementLeakDetector getLeakDetector() {
         return leakDetector;
     }
 
+    /**
+     * @return the sampled sql execution statistics of the pool, null if they are disabled
+     */
+    public SQLStatistics getSqlStatistics() {
+        return ((ManagedConnectionFactoryImpl) managedConnectionFactory).getSqlStatistics();
+    }
+
     private void executeInitSql(final String initSql) {
         _logger.log(FINE, "jdbc.execute_init_sql_start");
         PreparedStatement statement = null;
@@ -217,7 +234,8 @@ public class ManagedConnectionImpl
         cacheType = statementCacheType;
         if (cacheSize > 0) {
             try {
-                statementCache = CacheFactory.getDataStructure(poolInfo, cacheType, cacheSize);
+                statementCache = CacheFactory.getDataStructure(poolInfo, cacheType, cacheSize,
+                        ((ManagedConnectionFactoryImpl) managedConnectionFactory).getStatementCacheRegistry());
                 statementCaching = true;
             } catch (ResourceException ex) {
                 _logger.severe(ex.getMessage());
@@ -225,6 +243,110 @@ public class ManagedConnectionImpl
         }
     }
 
+    /**
+     * Prepares the statements most used in the pool in the statement cache of this new
+     * connection, in the background until the connection is used for the first time.
+     */
+    private void scheduleStatementCachePrewarm() {
+        if (statementCachePrewarm != null || !(statementCache instanceof ConcurrentCacheImpl)) {
+            return;
+        }
+        ManagedConnectionFactoryImpl managedConnectionFactoryImpl = (ManagedConnectionFactoryImpl) managedConnectionFactory;
+        StatementCacheRegistry registry = managedConnectionFactoryImpl.getStatementCacheRegistry();
+        if (registry == null || !managedConnectionFactoryImpl.isStatementWrappingEnabled()) {
+            return;
+        }
+        final List<CacheObjectKey> hotStatements = registry.getHotStatements(cacheSize);
+        if (hotStatements.isEmpty()) {
+            return;
+        }
+        statementCachePrewarm = new StatementCachePrewarm(() -> prewarmStatementCache(hotStatements));
+        try {
+            managedConnectionFactoryImpl.getStatementCachePrewarmExecutor().execute(statementCachePrewarm);
+        } catch (RejectedExecutionException e) {
+            logFine("Statement cache pre-warm not scheduled: " + e.getMessage());
+        }
+    }
+
+    // Called by the pre-warm task holding its lock
+    private void prewarmStatementCache(List<CacheObjectKey> hotStatements) {
+        try {
+            if (isDestroyed) {
+                return;
+            }
+            Connection connection = getPhysicalConnection();
+            if (connection == null) {
+                return;
+            }
+
+            // Private handle of the statements, it never signals the pool
+            ManagedConnectionFactoryImpl managedConnectionFactoryImpl = (ManagedConnectionFactoryImpl) managedConnectionFactory;
+            ConnectionHolder holder =
+                managedConnectionFactoryImpl.getJdbcObjectsFactory()
+                                            .getConnection(connection, this, null, true, sqlTraceDelegator);
+            int prewarmed = 0;
+            try {
+                ConcurrentCacheImpl cache = (ConcurrentCacheImpl) statementCache;
+                for (CacheObjectKey key : hotStatements) {
+                    if (statementCachePrewarm.isCancelled()) {
+                        break;
+                    }
+                    PreparedStatementWrapper statement = prepareStatementForCache((ConnectionWrapper) holder, key);
+                    if (cache.prewarm(key, statement)) {
+                        prewarmed++;
+                    } else {
+                        statement.setCached(false);
+                        statement.close();
+                    }
+                }
+            } finally {
+                holder.setClosed(true);
+                holder.invalidate();
+            }
+            if (_logger.isLoggable(FINE)) {
+                _logger.log(FINE, "Pre-warmed statement cache with " + prewarmed + " statements");
+            }
+        } catch (ResourceException | SQLException | RuntimeException e) {
+            _logger.log(FINE, "Pre-warming the statement cache failed", e);
+        }
+    }
+
+    private PreparedStatementWrapper prepareStatementForCache(ConnectionWrapper connection, CacheObjectKey key) throws SQLException {
+        String sql = key.getSql();
+        if (CacheObjectKey.CALLABLE_STATEMENT.equals(key.getStatementType())) {
+            if (key.getResultSetHoldability() != 0) {
+                return connection.callableCachedStatement(sql, key.getResultSetType(), key.getResultSetConcurrency(),
+                        key.getResultSetHoldability(), true);
+            }
+            return connection.callableCachedStatement(sql, key.getResultSetType(), key.getResultSetConcurrency(), true);
+        }
+        if (key.getColumnIndexes() != null) {
+            return connection.prepareCachedStatement(sql, key.getColumnIndexes(), true);
+        }
+        if (key.getColumnNames() != null) {
+            return connection.prepareCachedStatement(sql, key.getColumnNames(), true);
+        }
+        if (key.getResultSetType() == 0) {
+            // Result set types are never 0, the key is of a statement with auto generated keys
+            return connection.prepareCachedStatement(sql, key.getAutoGeneratedKeys(), true);
+        }
+        if (key.getResultSetHoldability() != 0) {
+            return connection.prepareCachedStatement(sql, key.getResultSetType(), key.getResultSetConcurrency(),
+                    key.getResultSetHoldability(), true);
+        }
+        return connection.prepareCachedStatement(sql, key.getResultSetType(), key.getResultSetConcurrency(), true);
+    }
+
+    /**
+     * Stops the pre-warming of the statement cache and waits until the physical
+     * connection is no longer used by it.
+     */
+    private void cancelStatementCachePrewarm() {
+        if (statementCachePrewarm != null) {
+            statementCachePrewarm.cancel();
+        }
+    }
+
     private void tuneStatementLeakTracing(PoolInfo poolInfo, long statementLeakTimeout, boolean statementLeakReclaim) {
         stmtLeakTimeout = statementLeakTimeout;
         stmtLeakReclaim = statementLeakReclaim;
@@ -264,6 +386,7 @@ public class ManagedConnectionImpl
     public void associateConnection(Object connection) throws ResourceException {
         logFine("In associateConnection");
         checkIfValid();
+        cancelStatementCachePrewarm();
         if (connection == null) {
             throw new ResourceException(localStrings.getString("jdbc.conn_handle_null"));
         }
@@ -356,6 +479,7 @@ public class ManagedConnectionImpl
         if (isDestroyed) {
             return;
         }
+        cancelStatementCachePrewarm();
         clearStatementCache();
 
         // Connection could be closed even before statement is closed. Connection
@@ -663,6 +787,11 @@ public class ManagedConnectionImpl
      * @return the physical <code>java.sql.Connection</code>
      */
     Connection getActualConnection() throws ResourceException {
+        cancelStatementCachePrewarm();
+        return getPhysicalConnection();
+    }
+
+    private Connection getPhysicalConnection() throws ResourceException {
         if (connectionType == ISXACONNECTION || connectionType == ISPOOLEDCONNECTION) {
             try {
                 if (actualConnection == null) {
@@ -812,6 +941,7 @@ public class ManagedConnectionImpl
      */
     public void initializeConnectionType(int _connectionType) {
         connectionType = _connectionType;
+        scheduleStatementCachePrewarm();
     }
 
     public void incrementCount() {
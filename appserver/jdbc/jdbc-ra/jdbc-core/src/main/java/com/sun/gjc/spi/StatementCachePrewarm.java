@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pre-warming of the statement cache of a new connection, run once by the pre-warm executor
+ * of the pool, see {@link ManagedConnectionFactoryImpl#getStatementCachePrewarmExecutor()}.
+ * <p>
+ * The pre-warm holds a lock while it uses the physical connection. Cancelling it waits for
+ * the lock, so when {@link #cancel()} returns the connection is no longer used by the
+ * pre-warm, whichever thread cancelled it first.
+ */
+final class StatementCachePrewarm implements Runnable {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Runnable prewarm;
+    private volatile boolean cancelled;
+
+    /**
+     * @param prewarm prepares the statements, it should stop when {@link #isCancelled()}
+     */
+    StatementCachePrewarm(Runnable prewarm) {
+        this.prewarm = prewarm;
+    }
+
+    @Override
+    public void run() {
+        if (!lock.tryLock()) {
+            // The connection is being used already
+            return;
+        }
+        try {
+            if (!cancelled) {
+                prewarm.run();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the pre-warm and waits until it no longer uses the connection. A pre-warm cancelled
+     * before it runs does nothing when the executor gets to it.
+     */
+    void cancel() {
+        cancelled = true;
+        // Every caller waits, also the ones coming after the first
+        lock.lock();
+        lock.unlock();
+    }
+
+    /**
+     * @return true if the pre-warm was cancelled
+     */
+    boolean isCancelled() {
+        return cancelled;
+    }
+}
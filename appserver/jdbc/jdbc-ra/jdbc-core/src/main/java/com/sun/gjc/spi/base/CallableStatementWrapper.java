@@ -45,9 +45,10 @@ public abstract class CallableStatementWrapper extends PreparedStatementWrapper
      *
      * @param con ConnectionWrapper <br>
      * @param statement Statement that is to be wrapped<br>
+     * @param sql the sql the statement was prepared with<br>
      */
-    public CallableStatementWrapper(Connection con, CallableStatement statement, boolean cachingEnabled) throws SQLException {
-        super(con, statement, cachingEnabled);
+    public CallableStatementWrapper(Connection con, CallableStatement statement, boolean cachingEnabled, String sql) throws SQLException {
+        super(con, statement, cachingEnabled, sql);
         callableStatement = statement;
     }
 
@@ -38,6 +38,8 @@ import java.util.Calendar;
 import java.util.logging.Level;
 
 import com.sun.gjc.util.ResultSetClosedEventListener;
+import com.sun.gjc.util.SQLLatencyHistogram;
+import com.sun.gjc.util.SQLStatistics;
 
 /**
  * Abstract class for wrapping PreparedStatement<br>
@@ -58,6 +60,8 @@ public abstract class PreparedStatementWrapper extends StatementWrapper implemen
     private int currentFetchDirection;
     private int currentFetchSize;
     private boolean valid = true;
+    private final String sql;
+    private SQLLatencyHistogram sqlHistogram;
 
     /**
      * Abstract class for wrapping PreparedStatement <br>
@@ -65,12 +69,14 @@ public abstract class PreparedStatementWrapper extends StatementWrapper implemen
      * @param con Connection Wrapper <br>
      * @param statement PreparedStatement that is to be wrapped.<br>
      * @param cachingEnabled boolean that enabled/ disables caching <br>
+     * @param sql the sql the statement was prepared with <br>
      * @throws SQLException Exception thrown from underlying statement<br>
      */
-    public PreparedStatementWrapper(Connection con, PreparedStatement statement, boolean cachingEnabled) throws SQLException {
+    public PreparedStatementWrapper(Connection con, PreparedStatement statement, boolean cachingEnabled, String sql) throws SQLException {
         super(con, statement);
         preparedStatement = statement;
         cached = cachingEnabled;
+        this.sql = sql;
         ConnectionHolder wrappedCon = (ConnectionHolder) con;
         leakDetector = wrappedCon.getManagedConnection().getLeakDetector();
 
@@ -109,7 +115,27 @@ public abstract class PreparedStatementWrapper extends StatementWrapper implemen
      */
     @Override
     public int executeUpdate() throws SQLException {
-        return preparedStatement.executeUpdate();
+        final long start = startExecution();
+        try {
+            return preparedStatement.executeUpdate();
+        } finally {
+            endExecution(start);
+        }
+    }
+
+    /**
+     * Records the execution time of a sampled execution of the prepared sql. The
+     * histogram of the sql is looked up once, by the first sampled execution.
+     *
+     * @param start value returned by <code>startExecution</code>
+     */
+    protected final void endExecution(long start) {
+        if (start != SQLStatistics.NOT_SAMPLED) {
+            if (sqlHistogram == null) {
+                sqlHistogram = sqlStatistics.getHistogram(sql);
+            }
+            sqlStatistics.endExecution(sqlHistogram, start);
+        }
     }
 
     /**
@@ -513,7 +539,31 @@ public abstract class PreparedStatementWrapper extends StatementWrapper implemen
      */
     @Override
     public boolean execute() throws SQLException {
-        return preparedStatement.execute();
+        final long start = startExecution();
+        try {
+            return preparedStatement.execute();
+        } finally {
+            endExecution(start);
+        }
+    }
+
+    /**
+     * Submits the batch of parameter sets of the prepared sql to the database for
+     * execution.
+     *
+     * @return an array of update counts containing one element for each command in
+     * the batch
+     * @throws java.sql.SQLException if a database access error occurs or the driver
+     * does not support batch statements
+     */
+    @Override
+    public int[] executeBatch() throws SQLException {
+        final long start = startExecution();
+        try {
+            return preparedStatement.executeBatch();
+        } finally {
+            endExecution(start);
+        }
     }
 
     /**
@@ -28,6 +28,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.sun.gjc.util.MethodExecutor;
+import com.sun.gjc.util.SQLStatistics;
 import com.sun.gjc.util.StatementLeakDetector;
 import com.sun.gjc.util.StatementLeakListener;
 import com.sun.logging.LogDomains;
@@ -48,6 +49,7 @@ public abstract class StatementWrapper implements Statement, StatementLeakListen
     protected MethodExecutor executor;
     private boolean closeOnCompletion;
     protected AtomicInteger resultSetCount = new AtomicInteger();
+    protected SQLStatistics sqlStatistics;
 
 
     /**
@@ -60,6 +62,7 @@ public abstract class StatementWrapper implements Statement, StatementLeakListen
         connection = con;
         jdbcStatement = statement;
         executor = new MethodExecutor();
+        sqlStatistics = ((ConnectionHolder) con).getManagedConnection().getSqlStatistics();
 
         // Start leak tracing if statement is a pure Statement & stmtWrapping is ON
         // Check if this is an instanceof PS/CS. There could exist
@@ -91,7 +94,34 @@ public abstract class StatementWrapper implements Statement, StatementLeakListen
      */
     @Override
     public int executeUpdate(final String sql) throws SQLException {
-        return jdbcStatement.executeUpdate(sql);
+        final long start = startExecution();
+        try {
+            return jdbcStatement.executeUpdate(sql);
+        } finally {
+            endExecution(sql, start);
+        }
+    }
+
+    /**
+     * Starts measuring an execution if the sql statistics of the pool are enabled and the
+     * execution is sampled.
+     *
+     * @return start time to pass to the <code>endExecution</code> method
+     */
+    protected final long startExecution() {
+        return sqlStatistics == null ? SQLStatistics.NOT_SAMPLED : sqlStatistics.startExecution();
+    }
+
+    /**
+     * Records the execution time of a sampled execution of the given sql.
+     *
+     * @param sql executed sql
+     * @param start value returned by <code>startExecution</code>
+     */
+    protected final void endExecution(String sql, long start) {
+        if (start != SQLStatistics.NOT_SAMPLED) {
+            sqlStatistics.endExecution(sql, start);
+        }
     }
 
     /**
@@ -333,7 +363,12 @@ public abstract class StatementWrapper implements Statement, StatementLeakListen
      */
     @Override
     public boolean execute(final String sql) throws SQLException {
-        return jdbcStatement.execute(sql);
+        final long start = startExecution();
+        try {
+            return jdbcStatement.execute(sql);
+        } finally {
+            endExecution(sql, start);
+        }
     }
 
     /**
@@ -644,7 +679,12 @@ public abstract class StatementWrapper implements Statement, StatementLeakListen
      */
     @Override
     public int executeUpdate(final String sql, int autoGeneratedKeys) throws SQLException {
-        return jdbcStatement.executeUpdate(sql, autoGeneratedKeys);
+        final long start = startExecution();
+        try {
+            return jdbcStatement.executeUpdate(sql, autoGeneratedKeys);
+        } finally {
+            endExecution(sql, start);
+        }
     }
 
     /**
@@ -668,7 +708,12 @@ public abstract class StatementWrapper implements Statement, StatementLeakListen
      */
     @Override
     public int executeUpdate(final String sql, int columnIndexes[]) throws SQLException {
-        return jdbcStatement.executeUpdate(sql, columnIndexes);
+        final long start = startExecution();
+        try {
+            return jdbcStatement.executeUpdate(sql, columnIndexes);
+        } finally {
+            endExecution(sql, start);
+        }
     }
 
     /**
@@ -691,7 +736,12 @@ public abstract class StatementWrapper implements Statement, StatementLeakListen
      */
     @Override
     public int executeUpdate(final String sql, String columnNames[]) throws SQLException {
-        return jdbcStatement.executeUpdate(sql, columnNames);
+        final long start = startExecution();
+        try {
+            return jdbcStatement.executeUpdate(sql, columnNames);
+        } finally {
+            endExecution(sql, start);
+        }
     }
 
     /**
@@ -730,7 +780,12 @@ public abstract class StatementWrapper implements Statement, StatementLeakListen
      */
     @Override
     public boolean execute(final String sql, int autoGeneratedKeys) throws SQLException {
-        return jdbcStatement.execute(sql, autoGeneratedKeys);
+        final long start = startExecution();
+        try {
+            return jdbcStatement.execute(sql, autoGeneratedKeys);
+        } finally {
+            endExecution(sql, start);
+        }
     }
 
     /**
@@ -767,7 +822,12 @@ public abstract class StatementWrapper implements Statement, StatementLeakListen
      */
     @Override
     public boolean execute(final String sql, int columnIndexes[]) throws SQLException {
-        return jdbcStatement.execute(sql, columnIndexes);
+        final long start = startExecution();
+        try {
+            return jdbcStatement.execute(sql, columnIndexes);
+        } finally {
+            endExecution(sql, start);
+        }
     }
 
     /**
@@ -806,7 +866,12 @@ public abstract class StatementWrapper implements Statement, StatementLeakListen
      */
     @Override
     public boolean execute(final String sql, String columnNames[]) throws SQLException {
-        return jdbcStatement.execute(sql, columnNames);
+        final long start = startExecution();
+        try {
+            return jdbcStatement.execute(sql, columnNames);
+        } finally {
+            endExecution(sql, start);
+        }
     }
 
     /**
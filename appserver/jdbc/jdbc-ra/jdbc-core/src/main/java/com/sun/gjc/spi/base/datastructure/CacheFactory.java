@@ -42,7 +42,26 @@ public class CacheFactory {
 
     protected final static StringManager localStrings = StringManager.getManager(DataSourceObjectBuilder.class);
 
+    /** Statement cache type of the {@link ConcurrentCacheImpl} evicting the least recently used statements */
+    public static final String CONCURRENT_LRU = "CONCURRENT-LRU";
+    /** Statement cache type of the {@link ConcurrentCacheImpl} evicting the least frequently used statements */
+    public static final String CONCURRENT_LFU = "CONCURRENT-LFU";
+
     public static Cache getDataStructure(PoolInfo poolInfo, String cacheType, int maxSize) throws ResourceException {
+        return getDataStructure(poolInfo, cacheType, maxSize, null);
+    }
+
+    /**
+     * @param poolInfo pool of the connection owning the cache
+     * @param cacheType statement cache type, or the class name of a custom cache
+     * @param maxSize maximal number of statements
+     * @param registry pool wide registry of the statement lookups, used by the
+     * concurrent caches only, may be null
+     * @return the statement cache
+     * @throws ResourceException if a custom cache can not be initialized
+     */
+    public static Cache getDataStructure(PoolInfo poolInfo, String cacheType, int maxSize, StatementCacheRegistry registry)
+            throws ResourceException {
         Cache stmtCacheStructure;
 
         if (cacheType == null || cacheType.trim().equals("")) {
@@ -51,6 +70,12 @@ public class CacheFactory {
         } else if (cacheType.equals("FIXED")) {
             debug("Initializing FIXED Cache Implementation");
             stmtCacheStructure = new FIXEDCacheImpl(poolInfo, maxSize);
+        } else if (cacheType.equals(CONCURRENT_LRU)) {
+            debug("Initializing CONCURRENT-LRU Cache Implementation");
+            stmtCacheStructure = new ConcurrentCacheImpl(poolInfo, maxSize, ConcurrentCacheImpl.EvictionPolicy.LRU, registry);
+        } else if (cacheType.equals(CONCURRENT_LFU)) {
+            debug("Initializing CONCURRENT-LFU Cache Implementation");
+            stmtCacheStructure = new ConcurrentCacheImpl(poolInfo, maxSize, ConcurrentCacheImpl.EvictionPolicy.LFU, registry);
         } else { // consider the value of cacheType as a className
             stmtCacheStructure = initCustomCacheStructurePrivileged(cacheType, maxSize);
         }
@@ -62,6 +87,15 @@ public class CacheFactory {
         return stmtCacheStructure;
     }
 
+    /**
+     * @param cacheType statement cache type
+     * @return true if the type is one of the concurrent caches reporting to a
+     * {@link StatementCacheRegistry}
+     */
+    public static boolean isConcurrent(String cacheType) {
+        return CONCURRENT_LRU.equals(cacheType) || CONCURRENT_LFU.equals(cacheType);
+    }
+
     private static Cache initCustomCacheStructurePrivileged(final String className, final int cacheSize) throws ResourceException {
         Object result = AccessController.doPrivileged(new PrivilegedAction<>() {
             public Object run() {
@@ -0,0 +1,435 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.monitoring.StatementCacheProbeProvider;
+import com.sun.gjc.spi.base.CacheObjectKey;
+import com.sun.gjc.spi.base.PreparedStatementWrapper;
+import com.sun.logging.LogDomains;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+
+/**
+ * Thread safe statement cache with constant time lookups and evictions.
+ * <p>
+ * The statements are found in a {@link ConcurrentHashMap}, so lookups never block. The
+ * eviction order is kept in frequency lists guarded by a lock: with the
+ * {@link EvictionPolicy#LRU} policy all statements are in one list ordered by their last
+ * use, with the {@link EvictionPolicy#LFU} policy every use moves a statement to the list
+ * of the next higher frequency, and the least recently used statement of the lowest
+ * frequency is evicted. A lookup reorders its statement only if the lock is free, so
+ * under contention the order is approximate but lookups never wait.
+ * <p>
+ * Every statement counts its hits. The lookups are also reported to the optional
+ * {@link StatementCacheRegistry} of the pool.
+ */
+public class ConcurrentCacheImpl implements Cache {
+
+    protected final static Logger _logger = LogDomains.getLogger(ConcurrentCacheImpl.class, LogDomains.RSR_LOGGER);
+
+    /**
+     * Order in which the statements are evicted when the cache is full.
+     */
+    public enum EvictionPolicy {
+        /** Least recently used */
+        LRU,
+        /** Least frequently used, then least recently used */
+        LFU
+    }
+
+    private final ConcurrentMap<CacheObjectKey, Node> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    // guarded by evictionLock, frequency lists ordered by ascending frequency
+    private FrequencyList lowest;
+
+    private final int maxSize;
+    private final EvictionPolicy policy;
+    private final PoolInfo poolInfo;
+    private final StatementCacheRegistry registry;
+    private final StatementCacheProbeProvider probeProvider = new StatementCacheProbeProvider();
+
+    /**
+     * @param poolInfo pool of the connection owning the cache
+     * @param maxSize maximal number of statements
+     * @param policy eviction order
+     * @param registry pool wide registry of the statement lookups, may be null
+     */
+    public ConcurrentCacheImpl(PoolInfo poolInfo, int maxSize, EvictionPolicy policy, StatementCacheRegistry registry) {
+        this.poolInfo = poolInfo;
+        this.maxSize = maxSize;
+        this.policy = policy;
+        this.registry = registry;
+    }
+
+    @Override
+    public Object checkAndUpdateCache(CacheObjectKey key) {
+        final Node node = entries.get(key);
+        if (registry != null) {
+            registry.recordLookup(key, node != null);
+        }
+        if (node == null) {
+            _logger.finest("Cache Miss");
+            probeProvider.statementCacheMissEvent(
+                poolInfo.getName().toString(),
+                poolInfo.getApplicationName(),
+                poolInfo.getModuleName());
+            return null;
+        }
+
+        _logger.finest("Cache Hit");
+        node.hits.incrementAndGet();
+        if (evictionLock.tryLock()) {
+            try {
+                touch(node);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+        probeProvider.statementCacheHitEvent(
+            poolInfo.getName().toString(),
+            poolInfo.getApplicationName(),
+            poolInfo.getModuleName());
+        return node.entryObj;
+    }
+
+    @Override
+    public void addToCache(CacheObjectKey key, Object entry, boolean force) {
+        Node evicted = null;
+        evictionLock.lock();
+        try {
+            final Node existing = entries.get(key);
+            if (existing != null) {
+                if (!force) {
+                    return;
+                }
+                entries.remove(key);
+                unlink(existing);
+            } else if (entries.size() >= maxSize) {
+                evicted = removeVictim();
+            }
+            insert(new Node(key, entry));
+        } finally {
+            evictionLock.unlock();
+        }
+        if (evicted != null) {
+            close(evicted);
+            fireEvictionEvent();
+        }
+    }
+
+    /**
+     * Adds a statement prepared in advance, unless the cache is full or already contains
+     * the key. Nothing is evicted.
+     *
+     * @param key that contains the sql string and its type (PS/CS)
+     * @param entry that is the wrapper of PreparedStatement or CallableStatement
+     * @return true if the statement was added
+     */
+    public boolean prewarm(CacheObjectKey key, Object entry) {
+        evictionLock.lock();
+        try {
+            if (entries.size() >= maxSize || entries.containsKey(key)) {
+                return false;
+            }
+            insert(new Node(key, entry));
+        } finally {
+            evictionLock.unlock();
+        }
+        probeProvider.statementCachePrewarmEvent(
+            poolInfo.getName().toString(),
+            poolInfo.getApplicationName(),
+            poolInfo.getModuleName());
+        return true;
+    }
+
+    @Override
+    public void clearCache() {
+        _logger.fine("clearing objects in cache");
+        evictionLock.lock();
+        try {
+            removeAll();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void flushCache() {
+        final List<Node> removed;
+        evictionLock.lock();
+        try {
+            removed = removeAll();
+        } finally {
+            evictionLock.unlock();
+        }
+        for (Node node : removed) {
+            close(node);
+        }
+    }
+
+    @Override
+    public void purge() {
+        final Node evicted;
+        evictionLock.lock();
+        try {
+            evicted = removeVictim();
+        } finally {
+            evictionLock.unlock();
+        }
+        if (evicted != null) {
+            close(evicted);
+            fireEvictionEvent();
+        }
+    }
+
+    // Used only for purging the bad statements.
+    @Override
+    public void purge(Object entry) {
+        Node purged = null;
+        evictionLock.lock();
+        try {
+            for (Node node : entries.values()) {
+                if (node.entryObj == entry) {
+                    entries.remove(node.key, node);
+                    unlink(node);
+                    purged = node;
+                    break;
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+        if (purged != null) {
+            _logger.log(Level.FINEST, "Purging an entry from cache");
+            close(purged);
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public EvictionPolicy getEvictionPolicy() {
+        return policy;
+    }
+
+    /**
+     * @param key key of the statement
+     * @return number of cache hits of the statement since it was added, 0 if it is not
+     * in the cache
+     */
+    public long getHitCount(CacheObjectKey key) {
+        final Node node = entries.get(key);
+        return node == null ? 0 : node.hits.get();
+    }
+
+    @Override
+    public boolean isSynchronized() {
+        return true;
+    }
+
+    private void fireEvictionEvent() {
+        probeProvider.statementCacheEvictionEvent(
+            poolInfo.getName().toString(),
+            poolInfo.getApplicationName(),
+            poolInfo.getModuleName());
+    }
+
+    private void close(Node node) {
+        try {
+            PreparedStatementWrapper ps = (PreparedStatementWrapper) node.entryObj;
+            ps.setCached(false);
+            ps.close();
+        } catch (SQLException e) {
+            _logger.log(Level.FINEST, "Closing a statement removed from the cache failed", e);
+        }
+    }
+
+    // The following methods are called with the eviction lock held.
+
+    private void insert(Node node) {
+        FrequencyList first = lowest;
+        if (first == null || first.frequency != 1) {
+            first = new FrequencyList(1);
+            first.next = lowest;
+            if (lowest != null) {
+                lowest.prev = first;
+            }
+            lowest = first;
+        }
+        entries.put(node.key, node);
+        link(node, first);
+    }
+
+    private Node removeVictim() {
+        if (lowest == null) {
+            return null;
+        }
+        final Node victim = lowest.tail;
+        unlink(victim);
+        entries.remove(victim.key, victim);
+        return victim;
+    }
+
+    private List<Node> removeAll() {
+        final List<Node> removed = new ArrayList<>(entries.values());
+        entries.clear();
+        for (Node node : removed) {
+            node.list = null;
+            node.prev = null;
+            node.next = null;
+        }
+        lowest = null;
+        return removed;
+    }
+
+    private void touch(Node node) {
+        final FrequencyList current = node.list;
+        if (current == null) {
+            // removed by another thread
+            return;
+        }
+        if (policy == EvictionPolicy.LRU) {
+            if (current.head != node) {
+                unlink(node);
+                link(node, current);
+            }
+            return;
+        }
+        FrequencyList next = current.next;
+        if (next == null || next.frequency != current.frequency + 1) {
+            next = new FrequencyList(current.frequency + 1);
+            next.prev = current;
+            next.next = current.next;
+            if (current.next != null) {
+                current.next.prev = next;
+            }
+            current.next = next;
+        }
+        unlink(node);
+        link(node, next);
+    }
+
+    private void link(Node node, FrequencyList list) {
+        if (list.head == null) {
+            // the list may have been removed from the chain when it became empty
+            if (list.prev == null && lowest != list && (lowest == null || list.frequency < lowest.frequency)) {
+                list.next = lowest;
+                if (lowest != null) {
+                    lowest.prev = list;
+                }
+                lowest = list;
+            }
+        }
+        node.list = list;
+        node.prev = null;
+        node.next = list.head;
+        if (list.head != null) {
+            list.head.prev = node;
+        } else {
+            list.tail = node;
+        }
+        list.head = node;
+    }
+
+    private void unlink(Node node) {
+        final FrequencyList list = node.list;
+        if (list == null) {
+            return;
+        }
+        if (node.prev == null) {
+            list.head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            list.tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        node.list = null;
+        node.prev = null;
+        node.next = null;
+
+        if (list.head == null && policy == EvictionPolicy.LFU) {
+            if (list.prev == null) {
+                lowest = list.next;
+            } else {
+                list.prev.next = list.next;
+            }
+            if (list.next != null) {
+                list.next.prev = list.prev;
+            }
+            list.prev = null;
+            list.next = null;
+        } else if (list.head == null && lowest == list) {
+            lowest = null;
+        }
+    }
+
+    /**
+     * Cache object that has an entry. This is used to put inside the statement
+     * cache.
+     */
+    private static final class Node {
+
+        private final CacheObjectKey key;
+        private final Object entryObj;
+        private final AtomicLong hits = new AtomicLong();
+
+        // guarded by the eviction lock
+        private FrequencyList list;
+        private Node prev;
+        private Node next;
+
+        Node(CacheObjectKey key, Object entryObj) {
+            this.key = key;
+            this.entryObj = entryObj;
+        }
+    }
+
+    /**
+     * Statements used equally often, the most recently used first.
+     */
+    private static final class FrequencyList {
+
+        private final long frequency;
+        private Node head;
+        private Node tail;
+        private FrequencyList prev;
+        private FrequencyList next;
+
+        FrequencyList(long frequency) {
+            this.frequency = frequency;
+        }
+    }
+}
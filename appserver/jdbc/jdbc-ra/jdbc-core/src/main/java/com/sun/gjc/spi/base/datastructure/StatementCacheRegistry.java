@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.spi.base.CacheObjectKey;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool wide statistics of the statements looked up in the statement caches of all
+ * connections of a pool.
+ * <p>
+ * The caches of the connections report every lookup, so the registry knows which
+ * statements are hot in the pool. A connection created after a pool flush or resize
+ * uses them to prepare its cache in the background, instead of preparing every hot
+ * statement again on its first use. The number of registered statements is limited,
+ * lookups of further statements are not registered.
+ */
+public class StatementCacheRegistry {
+
+    private static final String LINE_BREAK = "%%%EOL%%%";
+
+    private final int maxStatements;
+    private final ConcurrentMap<CacheObjectKey, Usage> statements = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxStatements maximal number of registered statements
+     */
+    public StatementCacheRegistry(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    /**
+     * Registers a lookup of the statement in the cache of a connection.
+     *
+     * @param key key of the statement
+     * @param hit true if the statement was found in the cache
+     */
+    public void recordLookup(CacheObjectKey key, boolean hit) {
+        Usage usage = statements.get(key);
+        if (usage == null) {
+            if (statements.size() >= maxStatements) {
+                return;
+            }
+            usage = statements.computeIfAbsent(key, k -> new Usage());
+        }
+        if (hit) {
+            usage.hits.increment();
+        } else {
+            usage.misses.increment();
+        }
+    }
+
+    /**
+     * Returns the statements worth preparing in the cache of a new connection, which are
+     * those looked up more than once, most used first.
+     *
+     * @param numberOfStatements maximal number of statements to return
+     * @return keys of the statements
+     */
+    public List<CacheObjectKey> getHotStatements(int numberOfStatements) {
+        final List<CacheObjectKey> hotStatements = new ArrayList<>();
+        for (UsageSnapshot usage : getStatementsByUsage()) {
+            if (hotStatements.size() >= numberOfStatements || usage.getLookups() < 2) {
+                break;
+            }
+            hotStatements.add(usage.key);
+        }
+        return hotStatements;
+    }
+
+    /**
+     * Returns the String representation of the most used statements, one statement per
+     * line with the number of cache hits and misses of all connections.
+     *
+     * @param numberOfStatements maximal number of statements to return
+     * @return string representation used by the monitoring
+     */
+    public String getHotStatementsReport(int numberOfStatements) {
+        final StringBuilder report = new StringBuilder();
+        int count = 0;
+        for (UsageSnapshot usage : getStatementsByUsage()) {
+            if (count++ >= numberOfStatements) {
+                break;
+            }
+            report.append(LINE_BREAK).append(usage.key.getSql())
+                  .append(" | hits=").append(usage.hits)
+                  .append(" | misses=").append(usage.misses);
+        }
+        return report.toString();
+    }
+
+    /**
+     * @return number of registered statements
+     */
+    public int getSize() {
+        return statements.size();
+    }
+
+    /**
+     * Forgets all statements.
+     */
+    public void clear() {
+        statements.clear();
+    }
+
+    /**
+     * The counters are copied first, they keep changing while sorting.
+     */
+    private List<UsageSnapshot> getStatementsByUsage() {
+        final List<UsageSnapshot> usages = new ArrayList<>(statements.size());
+        for (Map.Entry<CacheObjectKey, Usage> entry : statements.entrySet()) {
+            Usage usage = entry.getValue();
+            usages.add(new UsageSnapshot(entry.getKey(), usage.hits.sum(), usage.misses.sum()));
+        }
+        usages.sort(Comparator.comparingLong(UsageSnapshot::getLookups).reversed());
+        return usages;
+    }
+
+    private static final class Usage {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+    }
+
+    private static final class UsageSnapshot {
+
+        private final CacheObjectKey key;
+        private final long hits;
+        private final long misses;
+
+        UsageSnapshot(CacheObjectKey key, long hits, long misses) {
+            this.key = key;
+            this.hits = hits;
+            this.misses = misses;
+        }
+
+        long getLookups() {
+            return hits + misses;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sampled execution time statistics of the sql queries of one connection pool.
+ * <p>
+ * The statement wrappers measure a sampled fraction of their executions and record the
+ * time in the {@link SQLLatencyHistogram} of the normalized query, where literals are
+ * replaced by <code>?</code> so that the same statement with different values shares
+ * one histogram. Unlike the sql trace listeners, no proxy or trace record is involved
+ * and executions which are not sampled cost one random number.
+ * <p>
+ * The number of distinct queries is limited, executions of further queries are only
+ * counted.
+ */
+public class SQLStatistics {
+
+    /** Used when the number of distinct queries is not configured */
+    public static final int DEFAULT_MAX_QUERIES = 1000;
+    /** Returned by {@link #startExecution()} for executions which are not sampled */
+    public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private static final int SAMPLING_SCALE = 1 << 20;
+    private static final String LINE_BREAK = "%%%EOL%%%";
+
+    private final int samplingThreshold;
+    private final int maxQueries;
+    private final ConcurrentMap<String, SQLLatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final LongAdder sampledExecutions = new LongAdder();
+    private final LongAdder untrackedExecutions = new LongAdder();
+
+    /**
+     * @param sampleRate fraction of the executions to measure, between 0 and 1
+     * @param maxQueries maximal number of distinct normalized queries with a histogram
+     */
+    public SQLStatistics(double sampleRate, int maxQueries) {
+        this.samplingThreshold = (int) Math.ceil(Math.min(1d, Math.max(0d, sampleRate)) * SAMPLING_SCALE);
+        this.maxQueries = maxQueries;
+    }
+
+    /**
+     * Decides whether the execution about to start is measured.
+     *
+     * @return the start time in nanoseconds, {@link #NOT_SAMPLED} if the execution is not
+     *         measured
+     */
+    public long startExecution() {
+        if (samplingThreshold < SAMPLING_SCALE
+                && ThreadLocalRandom.current().nextInt(SAMPLING_SCALE) >= samplingThreshold) {
+            return NOT_SAMPLED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the execution time of a sampled execution.
+     *
+     * @param histogram histogram of the query, see {@link #getHistogram(String)}
+     * @param start value returned by {@link #startExecution()}
+     */
+    public void endExecution(SQLLatencyHistogram histogram, long start) {
+        if (start == NOT_SAMPLED) {
+            return;
+        }
+        sampledExecutions.increment();
+        if (histogram == null) {
+            untrackedExecutions.increment();
+            return;
+        }
+        histogram.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+    }
+
+    /**
+     * Records the execution time of a sampled execution.
+     *
+     * @param sql sql as executed by the application
+     * @param start value returned by {@link #startExecution()}
+     */
+    public void endExecution(String sql, long start) {
+        if (start != NOT_SAMPLED) {
+            endExecution(getHistogram(sql), start);
+        }
+    }
+
+    /**
+     * @param sql sql as executed by the application
+     * @return the histogram of the normalized query, null if the sql is null or the
+     *         maximal number of queries is reached
+     */
+    public SQLLatencyHistogram getHistogram(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        final String query = normalize(sql);
+        final SQLLatencyHistogram histogram = histograms.get(query);
+        if (histogram != null || histograms.size() >= maxQueries) {
+            return histogram;
+        }
+        return histograms.computeIfAbsent(query, SQLLatencyHistogram::new);
+    }
+
+    /**
+     * @return number of measured executions
+     */
+    public long getSampledExecutions() {
+        return sampledExecutions.sum();
+    }
+
+    /**
+     * @return number of measured executions of queries without a histogram
+     */
+    public long getUntrackedExecutions() {
+        return untrackedExecutions.sum();
+    }
+
+    /**
+     * @param numberOfQueries maximal number of queries to return
+     * @return the histograms of the queries with the highest total execution time
+     */
+    public List<SQLLatencyHistogram> getTopQueries(int numberOfQueries) {
+        final List<SQLLatencyHistogram> queries = new ArrayList<>(histograms.values());
+        queries.sort(Comparator.comparingLong(SQLLatencyHistogram::getTotalMicros).reversed());
+        return queries.size() > numberOfQueries ? queries.subList(0, numberOfQueries) : queries;
+    }
+
+    /**
+     * Returns the String representation of the queries with the highest total execution
+     * time, one query per line with its execution count and percentiles.
+     *
+     * @param numberOfQueries maximal number of queries to return
+     * @return string representation used by the monitoring
+     */
+    public String getTopQueriesReport(int numberOfQueries) {
+        final StringBuilder report = new StringBuilder();
+        for (SQLLatencyHistogram histogram : getTopQueries(numberOfQueries)) {
+            report.append(LINE_BREAK).append(histogram);
+        }
+        return report.toString();
+    }
+
+    /**
+     * Removes all histograms.
+     */
+    public void reset() {
+        histograms.clear();
+    }
+
+    /**
+     * Replaces the string and numeric literals of the sql by <code>?</code> and collapses
+     * whitespace, so statements differing only in their values are aggregated.
+     *
+     * @param sql sql as executed by the application
+     * @return normalized sql
+     */
+    public static String normalize(String sql) {
+        final int length = sql.length();
+        final StringBuilder normalized = new StringBuilder(length);
+        int i = 0;
+        while (i < length) {
+            final char c = sql.charAt(i);
+            if (c == '\'') {
+                // string literal, '' is an escaped quote
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                normalized.append('?');
+                i++;
+            } else if (Character.isDigit(c) && !isIdentifierPart(normalized)) {
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                normalized.append('?');
+            } else if (Character.isWhitespace(c)) {
+                while (i < length && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (normalized.length() > 0 && i < length) {
+                    normalized.append(' ');
+                }
+            } else {
+                normalized.append(c);
+                i++;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static boolean isIdentifierPart(StringBuilder normalized) {
+        if (normalized.length() == 0) {
+            return false;
+        }
+        final char previous = normalized.charAt(normalized.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '$' || previous == '"';
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StatementCachePrewarmTest {
+
+    @Test
+    public void cancelledBeforeItRuns() {
+        AtomicInteger runs = new AtomicInteger();
+        StatementCachePrewarm prewarm = new StatementCachePrewarm(runs::incrementAndGet);
+        prewarm.cancel();
+        prewarm.run();
+        assertAll(
+            () -> assertTrue(prewarm.isCancelled()),
+            () -> assertEquals(0, runs.get())
+        );
+    }
+
+
+    @Test
+    public void everyCancelWaitsForTheRunningPrewarm() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean usingConnection = new AtomicBoolean();
+        StatementCachePrewarm prewarm = new StatementCachePrewarm(() -> {
+            usingConnection.set(true);
+            running.countDown();
+            try {
+                release.await(10L, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            usingConnection.set(false);
+        });
+        Thread timer = new Thread(prewarm);
+        timer.start();
+        assertTrue(running.await(10L, TimeUnit.SECONDS));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // the second caller sees the pre-warm cancelled already and still has to wait
+            Future<Boolean> first = executor.submit(() -> {
+                prewarm.cancel();
+                return usingConnection.get();
+            });
+            Future<Boolean> second = executor.submit(() -> {
+                while (!prewarm.isCancelled()) {
+                    Thread.onSpinWait();
+                }
+                prewarm.cancel();
+                return usingConnection.get();
+            });
+            assertThrows(TimeoutException.class, () -> first.get(100L, TimeUnit.MILLISECONDS));
+            assertThrows(TimeoutException.class, () -> second.get(100L, TimeUnit.MILLISECONDS));
+            assertTrue(prewarm.isCancelled());
+
+            release.countDown();
+            assertAll(
+                () -> assertFalse(first.get(10L, TimeUnit.SECONDS)),
+                () -> assertFalse(second.get(10L, TimeUnit.SECONDS))
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+        timer.join(10_000L);
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.spi.base.CacheObjectKey;
+import com.sun.gjc.spi.base.PreparedStatementWrapper;
+import com.sun.gjc.spi.base.datastructure.ConcurrentCacheImpl.EvictionPolicy;
+
+import java.sql.ResultSet;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.Test;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentCacheImplTest {
+
+    private static final PoolInfo POOL_INFO = new PoolInfo(SimpleJndiName.of("test-pool"));
+
+
+    @Test
+    public void lruEvictsTheLeastRecentlyUsed() throws Exception {
+        ConcurrentCacheImpl cache = new ConcurrentCacheImpl(POOL_INFO, 3, EvictionPolicy.LRU, null);
+        cache.addToCache(key("a"), statement(), false);
+        PreparedStatementWrapper evicted = evictedStatement();
+        cache.addToCache(key("b"), evicted, false);
+        cache.addToCache(key("c"), statement(), false);
+        assertNotNull(cache.checkAndUpdateCache(key("a")));
+
+        cache.addToCache(key("d"), statement(), false);
+        verify(evicted);
+        assertAll(
+            () -> assertEquals(3, cache.getSize()),
+            () -> assertNull(cache.checkAndUpdateCache(key("b"))),
+            () -> assertNotNull(cache.checkAndUpdateCache(key("a"))),
+            () -> assertNotNull(cache.checkAndUpdateCache(key("c"))),
+            () -> assertNotNull(cache.checkAndUpdateCache(key("d")))
+        );
+    }
+
+
+    @Test
+    public void lfuEvictsTheLeastFrequentlyUsed() throws Exception {
+        ConcurrentCacheImpl cache = new ConcurrentCacheImpl(POOL_INFO, 3, EvictionPolicy.LFU, null);
+        cache.addToCache(key("a"), statement(), false);
+        PreparedStatementWrapper evicted = evictedStatement();
+        cache.addToCache(key("b"), evicted, false);
+        cache.addToCache(key("c"), statement(), false);
+        for (int i = 0; i < 3; i++) {
+            cache.checkAndUpdateCache(key("a"));
+        }
+        cache.checkAndUpdateCache(key("b"));
+        cache.checkAndUpdateCache(key("c"));
+        cache.checkAndUpdateCache(key("c"));
+
+        cache.addToCache(key("d"), statement(), false);
+        verify(evicted);
+        assertAll(
+            () -> assertEquals(3, cache.getHitCount(key("a"))),
+            () -> assertEquals(0, cache.getHitCount(key("b"))),
+            () -> assertEquals(2, cache.getHitCount(key("c"))),
+            () -> assertEquals(0, cache.getHitCount(key("d")))
+        );
+
+        // the new statement is the least frequently used now
+        cache.addToCache(key("e"), statement(), false);
+        assertAll(
+            () -> assertNull(cache.checkAndUpdateCache(key("d"))),
+            () -> assertNotNull(cache.checkAndUpdateCache(key("c"))),
+            () -> assertNotNull(cache.checkAndUpdateCache(key("e")))
+        );
+    }
+
+
+    @Test
+    public void lfuEvictsTheLeastRecentlyUsedOfTheSameFrequency() {
+        ConcurrentCacheImpl cache = new ConcurrentCacheImpl(POOL_INFO, 3, EvictionPolicy.LFU, null);
+        cache.addToCache(key("a"), statement(), false);
+        cache.addToCache(key("b"), statement(), false);
+        cache.addToCache(key("c"), statement(), false);
+
+        cache.addToCache(key("d"), statement(), false);
+        assertAll(
+            () -> assertNull(cache.checkAndUpdateCache(key("a"))),
+            () -> assertNotNull(cache.checkAndUpdateCache(key("b")))
+        );
+    }
+
+
+    @Test
+    public void emptyFrequencyListsAreUnlinked() {
+        ConcurrentCacheImpl cache = new ConcurrentCacheImpl(POOL_INFO, 2, EvictionPolicy.LFU, null);
+        cache.addToCache(key("a"), statement(), false);
+        // leaves the list of frequency 1 empty
+        cache.checkAndUpdateCache(key("a"));
+        cache.addToCache(key("b"), statement(), false);
+        cache.addToCache(key("c"), statement(), false);
+        assertAll(
+            () -> assertNull(cache.checkAndUpdateCache(key("b"))),
+            () -> assertNotNull(cache.checkAndUpdateCache(key("c")))
+        );
+
+        // a has frequency 2, c frequency 3 after its second hit
+        cache.checkAndUpdateCache(key("c"));
+        cache.addToCache(key("d"), statement(), false);
+        assertAll(
+            () -> assertNull(cache.checkAndUpdateCache(key("a"))),
+            () -> assertNotNull(cache.checkAndUpdateCache(key("c"))),
+            () -> assertNotNull(cache.checkAndUpdateCache(key("d")))
+        );
+
+        // all lists empty
+        cache.purge();
+        cache.purge();
+        cache.purge();
+        assertEquals(0, cache.getSize());
+        cache.addToCache(key("e"), statement(), false);
+        cache.addToCache(key("f"), statement(), false);
+        cache.addToCache(key("g"), statement(), false);
+        assertAll(
+            () -> assertEquals(2, cache.getSize()),
+            () -> assertNull(cache.checkAndUpdateCache(key("e"))),
+            () -> assertNotNull(cache.checkAndUpdateCache(key("g")))
+        );
+    }
+
+
+    @Test
+    public void touchAfterConcurrentRemove() {
+        PreparedStatementWrapper purged = statement();
+        ConcurrentCacheImpl[] caches = new ConcurrentCacheImpl[1];
+        // the registry is told about the hit between the lookup and the reordering
+        StatementCacheRegistry registry = new StatementCacheRegistry(10) {
+            @Override
+            public void recordLookup(CacheObjectKey key, boolean hit) {
+                if (hit) {
+                    caches[0].purge(purged);
+                }
+            }
+        };
+        ConcurrentCacheImpl cache = new ConcurrentCacheImpl(POOL_INFO, 2, EvictionPolicy.LFU, registry);
+        caches[0] = cache;
+        cache.addToCache(key("a"), purged, false);
+
+        assertSame(purged, cache.checkAndUpdateCache(key("a")));
+        assertEquals(0, cache.getSize());
+
+        cache.addToCache(key("b"), statement(), false);
+        cache.addToCache(key("c"), statement(), false);
+        cache.addToCache(key("d"), statement(), false);
+        assertAll(
+            () -> assertEquals(2, cache.getSize()),
+            () -> assertNotNull(cache.checkAndUpdateCache(key("d")))
+        );
+    }
+
+
+    @Test
+    public void prewarmRefusesWhenFull() throws Exception {
+        ConcurrentCacheImpl cache = new ConcurrentCacheImpl(POOL_INFO, 2, EvictionPolicy.LRU, null);
+        PreparedStatementWrapper first = createMock(PreparedStatementWrapper.class);
+        PreparedStatementWrapper second = createMock(PreparedStatementWrapper.class);
+        replay(first, second);
+        assertTrue(cache.prewarm(key("a"), first));
+        assertFalse(cache.prewarm(key("a"), statement()));
+        assertTrue(cache.prewarm(key("b"), second));
+
+        assertFalse(cache.prewarm(key("c"), statement()));
+        verify(first, second);
+        assertAll(
+            () -> assertEquals(2, cache.getSize()),
+            () -> assertSame(first, cache.checkAndUpdateCache(key("a"))),
+            () -> assertSame(second, cache.checkAndUpdateCache(key("b"))),
+            () -> assertNull(cache.checkAndUpdateCache(key("c")))
+        );
+    }
+
+
+    @Test
+    public void forcedAddReplacesTheStatement() {
+        ConcurrentCacheImpl cache = new ConcurrentCacheImpl(POOL_INFO, 2, EvictionPolicy.LRU, null);
+        PreparedStatementWrapper first = statement();
+        PreparedStatementWrapper second = statement();
+        cache.addToCache(key("a"), first, false);
+        cache.addToCache(key("a"), second, false);
+        assertSame(first, cache.checkAndUpdateCache(key("a")));
+
+        cache.addToCache(key("a"), second, true);
+        assertAll(
+            () -> assertEquals(1, cache.getSize()),
+            () -> assertSame(second, cache.checkAndUpdateCache(key("a")))
+        );
+    }
+
+
+    private static CacheObjectKey key(String sql) {
+        return new CacheObjectKey(sql, CacheObjectKey.PREPARED_STATEMENT, ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY);
+    }
+
+
+    private static PreparedStatementWrapper statement() {
+        PreparedStatementWrapper statement = createNiceMock(PreparedStatementWrapper.class);
+        replay(statement);
+        return statement;
+    }
+
+
+    /**
+     * @return statement expected to be closed when it is evicted
+     */
+    private static PreparedStatementWrapper evictedStatement() throws Exception {
+        PreparedStatementWrapper statement = createMock(PreparedStatementWrapper.class);
+        statement.setCached(false);
+        statement.close();
+        replay(statement);
+        return statement;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.spi.base.CacheObjectKey;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StatementCacheRegistryTest {
+
+    @Test
+    public void hotStatementsAreTheMostUsedOnes() {
+        StatementCacheRegistry registry = new StatementCacheRegistry(10);
+        registry.recordLookup(key("once"), false);
+        lookup(registry, "twice", 2);
+        lookup(registry, "often", 5);
+        lookup(registry, "sometimes", 3);
+
+        assertAll(
+            () -> assertThat(registry.getHotStatements(10), contains(key("often"), key("sometimes"), key("twice"))),
+            () -> assertThat(registry.getHotStatements(2), contains(key("often"), key("sometimes"))),
+            () -> assertThat(registry.getHotStatements(0), empty())
+        );
+    }
+
+
+    @Test
+    public void lookupsAboveTheLimitAreNotRegistered() {
+        StatementCacheRegistry registry = new StatementCacheRegistry(2);
+        lookup(registry, "a", 2);
+        lookup(registry, "b", 2);
+        lookup(registry, "c", 5);
+
+        List<CacheObjectKey> hotStatements = registry.getHotStatements(10);
+        assertAll(
+            () -> assertEquals(2, registry.getSize()),
+            () -> assertThat(hotStatements, containsInAnyOrder(key("a"), key("b")))
+        );
+
+        registry.clear();
+        assertAll(
+            () -> assertEquals(0, registry.getSize()),
+            () -> assertThat(registry.getHotStatements(10), empty())
+        );
+    }
+
+
+    @Test
+    public void reportCountsHitsAndMisses() {
+        StatementCacheRegistry registry = new StatementCacheRegistry(10);
+        registry.recordLookup(key("select 1"), false);
+        registry.recordLookup(key("select 1"), true);
+        registry.recordLookup(key("select 1"), true);
+        registry.recordLookup(key("select 2"), false);
+
+        assertEquals("%%%EOL%%%select 1 | hits=2 | misses=1",
+            registry.getHotStatementsReport(1));
+    }
+
+
+    private static void lookup(StatementCacheRegistry registry, String sql, int count) {
+        registry.recordLookup(key(sql), false);
+        for (int i = 1; i < count; i++) {
+            registry.recordLookup(key(sql), true);
+        }
+    }
+
+
+    private static CacheObjectKey key(String sql) {
+        return new CacheObjectKey(sql, CacheObjectKey.PREPARED_STATEMENT, ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.util;
+
+import org.junit.jupiter.api.Test;
+
+import static com.sun.gjc.util.SQLLatencyHistogram.bucketIndex;
+import static com.sun.gjc.util.SQLLatencyHistogram.bucketUpperBound;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SQLLatencyHistogramTest {
+
+    private static final long MAX_VALUE = (1L << 37) - 1;
+
+    @Test
+    public void bucketBoundaries() {
+        assertAll(
+            () -> assertEquals(0, bucketIndex(0)),
+            () -> assertEquals(7, bucketIndex(7)),
+            () -> assertEquals(8, bucketIndex(8)),
+            () -> assertEquals(15, bucketIndex(15)),
+            () -> assertEquals(16, bucketIndex(16)),
+            () -> assertEquals(16, bucketIndex(17)),
+            () -> assertEquals(17, bucketIndex(18)),
+            () -> assertEquals(SQLLatencyHistogram.BUCKETS - 1, bucketIndex(MAX_VALUE)),
+            () -> assertEquals(7, bucketUpperBound(7)),
+            () -> assertEquals(8, bucketUpperBound(8)),
+            () -> assertEquals(15, bucketUpperBound(15)),
+            () -> assertEquals(17, bucketUpperBound(16)),
+            () -> assertEquals(MAX_VALUE, bucketUpperBound(SQLLatencyHistogram.BUCKETS - 1))
+        );
+    }
+
+
+    @Test
+    public void everyValueIsWithinItsBucket() {
+        for (long value = 0; value < 100_000; value++) {
+            int index = bucketIndex(value);
+            assertEquals(index, bucketIndex(bucketUpperBound(index)), "upper bound of the bucket of " + value);
+            if (index > 0) {
+                assertEquals(index - 1, bucketIndex(bucketUpperBound(index - 1)));
+                assertTrue(bucketUpperBound(index - 1) < value, "previous bucket of " + value);
+            }
+            assertTrue(bucketUpperBound(index) >= value, "bucket of " + value);
+        }
+    }
+
+
+    @Test
+    public void percentileRanks() {
+        SQLLatencyHistogram histogram = new SQLLatencyHistogram("SELECT ?");
+        for (long micros = 1; micros <= 100; micros++) {
+            histogram.record(micros);
+        }
+        assertAll(
+            () -> assertEquals(100, histogram.getCount()),
+            () -> assertEquals(5050, histogram.getTotalMicros()),
+            () -> assertEquals(50, histogram.getMeanMicros()),
+            () -> assertEquals(100, histogram.getMaxMicros()),
+            () -> assertEquals(1, histogram.getPercentileMicros(0)),
+            () -> assertEquals(1, histogram.getPercentileMicros(1)),
+            // 50 is in the bucket 48-51
+            () -> assertEquals(51, histogram.getPercentileMicros(50)),
+            // 95 is in the bucket 88-95
+            () -> assertEquals(95, histogram.getPercentileMicros(95)),
+            // 99 is in the bucket 96-103, limited by the maximum
+            () -> assertEquals(100, histogram.getPercentileMicros(99)),
+            () -> assertEquals(100, histogram.getPercentileMicros(100))
+        );
+    }
+
+
+    @Test
+    public void emptyHistogram() {
+        SQLLatencyHistogram histogram = new SQLLatencyHistogram("SELECT ?");
+        assertAll(
+            () -> assertEquals(0, histogram.getMeanMicros()),
+            () -> assertEquals(0, histogram.getPercentileMicros(50)),
+            () -> assertEquals(0, histogram.getMaxMicros())
+        );
+    }
+
+
+    @Test
+    public void valuesOutOfRangeAreClamped() {
+        SQLLatencyHistogram histogram = new SQLLatencyHistogram("SELECT ?");
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertAll(
+            () -> assertEquals(MAX_VALUE, histogram.getMaxMicros()),
+            () -> assertEquals(0, histogram.getPercentileMicros(50)),
+            () -> assertEquals(MAX_VALUE, histogram.getPercentileMicros(100))
+        );
+    }
+}
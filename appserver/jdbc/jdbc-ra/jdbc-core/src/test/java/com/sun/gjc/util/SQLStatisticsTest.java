@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.util;
+
+import org.junit.jupiter.api.Test;
+
+import static com.sun.gjc.util.SQLStatistics.normalize;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class SQLStatisticsTest {
+
+    @Test
+    public void normalizeStringLiterals() {
+        assertAll(
+            () -> assertEquals("SELECT * FROM person WHERE name = ? AND city = ?",
+                normalize("SELECT * FROM person WHERE name = 'O''Brien' AND city = 'Praha'")),
+            () -> assertEquals("INSERT INTO t VALUES (?, ?)", normalize("INSERT INTO t VALUES ('''', 'it''s')")),
+            () -> assertEquals("SELECT ? FROM dual", normalize("SELECT '' FROM dual")),
+            () -> assertEquals("SELECT * FROM t WHERE a = ?", normalize("SELECT * FROM t WHERE a = 'unterminated"))
+        );
+    }
+
+
+    @Test
+    public void normalizeKeepsIdentifiersWithDigits() {
+        assertAll(
+            () -> assertEquals("SELECT col1, t2.x2 FROM table3 t2 WHERE col1 = ?",
+                normalize("SELECT col1, t2.x2 FROM table3 t2 WHERE col1 = 42")),
+            () -> assertEquals("SELECT \"1st\" FROM t_1 WHERE $a9 = ?", normalize("SELECT \"1st\" FROM t_1 WHERE $a9 = 9"))
+        );
+    }
+
+
+    @Test
+    public void normalizeDecimals() {
+        assertAll(
+            () -> assertEquals("SELECT * FROM item WHERE price > ? AND rate < ?",
+                normalize("SELECT * FROM item WHERE price > 12.50 AND rate < 0.5")),
+            () -> assertEquals("UPDATE t SET a = -?, b = ?", normalize("UPDATE t SET a = -3.25, b = 1e10")),
+            () -> assertEquals("SELECT ?+?", normalize("SELECT 1+2"))
+        );
+    }
+
+
+    @Test
+    public void normalizeCollapsesWhitespace() {
+        assertEquals("SELECT a FROM t WHERE b = ?", normalize("  SELECT\ta\n  FROM t\r\nWHERE b =   1  "));
+    }
+
+
+    @Test
+    public void queriesDifferingInLiteralsShareHistogram() {
+        SQLStatistics statistics = new SQLStatistics(1d, 10);
+        SQLLatencyHistogram histogram = statistics.getHistogram("SELECT * FROM t WHERE id = 1");
+        assertAll(
+            () -> assertSame(histogram, statistics.getHistogram("SELECT * FROM t WHERE id = 2")),
+            () -> assertNotEquals(histogram, statistics.getHistogram("SELECT * FROM t2 WHERE id = 2")),
+            () -> assertNull(statistics.getHistogram(null))
+        );
+    }
+
+
+    @Test
+    public void queriesAboveTheLimitAreOnlyCounted() {
+        SQLStatistics statistics = new SQLStatistics(1d, 1);
+        statistics.endExecution("SELECT a FROM t", statistics.startExecution());
+        statistics.endExecution("SELECT b FROM t", statistics.startExecution());
+        assertAll(
+            () -> assertNull(statistics.getHistogram("SELECT b FROM t")),
+            () -> assertEquals(2, statistics.getSampledExecutions()),
+            () -> assertEquals(1, statistics.getUntrackedExecutions()),
+            () -> assertEquals(1, statistics.getTopQueries(10).size())
+        );
+    }
+
+
+    @Test
+    public void sampleRate() {
+        SQLStatistics never = new SQLStatistics(0d, 10);
+        SQLStatistics always = new SQLStatistics(1d, 10);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(SQLStatistics.NOT_SAMPLED, never.startExecution());
+            assertNotEquals(SQLStatistics.NOT_SAMPLED, always.startExecution());
+        }
+        never.endExecution("SELECT a FROM t", SQLStatistics.NOT_SAMPLED);
+        assertEquals(0, never.getSampledExecutions());
+    }
+
+
+    @Test
+    public void topQueriesByTotalTime() {
+        SQLStatistics statistics = new SQLStatistics(1d, 10);
+        SQLLatencyHistogram rare = statistics.getHistogram("SELECT a FROM t");
+        SQLLatencyHistogram frequent = statistics.getHistogram("SELECT b FROM t");
+        SQLLatencyHistogram slow = statistics.getHistogram("SELECT c FROM t");
+        rare.record(10);
+        for (int i = 0; i < 100; i++) {
+            frequent.record(20);
+        }
+        slow.record(1000);
+        assertAll(
+            () -> assertThat(statistics.getTopQueries(10), contains(frequent, slow, rare)),
+            () -> assertThat(statistics.getTopQueries(2), contains(frequent, slow))
+        );
+    }
+}
@@ -45,9 +45,10 @@ public class CallableStatementWrapper40 extends CallableStatementWrapper {
      *
      * @param con ConnectionWrapper<br>
      * @param statement CallableStatement that is wrapped<br>
+     * @param sql the sql the statement was prepared with<br>
      */
-    public CallableStatementWrapper40(Connection con, CallableStatement statement, boolean cachingEnabled) throws SQLException {
-        super(con, statement, cachingEnabled);
+    public CallableStatementWrapper40(Connection con, CallableStatement statement, boolean cachingEnabled, String sql) throws SQLException {
+        super(con, statement, cachingEnabled, sql);
     }
 
     /**
@@ -1440,7 +1441,13 @@ public class CallableStatementWrapper40 extends CallableStatementWrapper {
      */
     @Override
     public java.sql.ResultSet executeQuery() throws java.sql.SQLException {
-        ResultSet rs = callableStatement.executeQuery();
+        final long start = startExecution();
+        ResultSet rs;
+        try {
+            rs = callableStatement.executeQuery();
+        } finally {
+            endExecution(start);
+        }
         incrementResultSetReferenceCount();
         return new ResultSetWrapper40(this, rs);
     }
@@ -1459,7 +1466,13 @@ public class CallableStatementWrapper40 extends CallableStatementWrapper {
      */
     @Override
     public java.sql.ResultSet executeQuery(String sql) throws java.sql.SQLException {
-        ResultSet rs = callableStatement.executeQuery(sql);
+        final long start = startExecution();
+        ResultSet rs;
+        try {
+            rs = callableStatement.executeQuery(sql);
+        } finally {
+            endExecution(sql, start);
+        }
         incrementResultSetReferenceCount();
         return new ResultSetWrapper40(this, rs);
     }
@@ -239,12 +239,12 @@ public class ConnectionWrapper40 extends ConnectionHolder40 implements Connectio
         return new PreparedStatementWrapper40(
             this,
             super.prepareStatement(sql, resultSetType, resultSetConcurrency),
-            enableCaching);
+            enableCaching, sql);
     }
 
     @Override
     public PreparedStatementWrapper40 prepareCachedStatement(String sql, String[] columnNames, boolean enableCaching) throws SQLException {
-        return new PreparedStatementWrapper40(this, super.prepareStatement(sql, columnNames), enableCaching);
+        return new PreparedStatementWrapper40(this, super.prepareStatement(sql, columnNames), enableCaching, sql);
     }
 
     @Override
@@ -252,22 +252,22 @@ public class ConnectionWrapper40 extends ConnectionHolder40 implements Connectio
         return new PreparedStatementWrapper40(
             this,
             super.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability),
-            enableCaching);
+            enableCaching, sql);
     }
 
     @Override
     public PreparedStatementWrapper40 prepareCachedStatement(String sql, int[] columnIndexes, boolean enableCaching) throws SQLException {
-        return new PreparedStatementWrapper40(this, super.prepareStatement(sql, columnIndexes), enableCaching);
+        return new PreparedStatementWrapper40(this, super.prepareStatement(sql, columnIndexes), enableCaching, sql);
     }
 
     @Override
     public PreparedStatementWrapper40 prepareCachedStatement(String sql, int autoGeneratedKeys, boolean enableCaching) throws SQLException {
-        return new PreparedStatementWrapper40(this, super.prepareStatement(sql, autoGeneratedKeys), enableCaching);
+        return new PreparedStatementWrapper40(this, super.prepareStatement(sql, autoGeneratedKeys), enableCaching, sql);
     }
 
     @Override
     public CallableStatementWrapper40 callableCachedStatement(String sql, int resultSetType, int resultSetConcurrency, boolean enableCaching) throws SQLException {
-        return new CallableStatementWrapper40(this, super.prepareCall(sql, resultSetType, resultSetConcurrency), enableCaching);
+        return new CallableStatementWrapper40(this, super.prepareCall(sql, resultSetType, resultSetConcurrency), enableCaching, sql);
     }
 
     @Override
@@ -275,7 +275,7 @@ public class ConnectionWrapper40 extends ConnectionHolder40 implements Connectio
         return new CallableStatementWrapper40(
             this,
             super.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability),
-            enableCaching);
+            enableCaching, sql);
     }
 
 }
@@ -39,9 +39,10 @@ public class PreparedStatementWrapper40 extends PreparedStatementWrapper {
      *
      * @param con ConnectionWrapper<br>
      * @param statement PreparedStatement that is wrapped<br>
+     * @param sql the sql the statement was prepared with<br>
      */
-    public PreparedStatementWrapper40(Connection con, PreparedStatement statement, boolean statementCaching) throws SQLException {
-        super(con, statement, statementCaching);
+    public PreparedStatementWrapper40(Connection con, PreparedStatement statement, boolean statementCaching, String sql) throws SQLException {
+        super(con, statement, statementCaching, sql);
     }
 
     /**
@@ -653,7 +654,13 @@ public class PreparedStatementWrapper40 extends PreparedStatementWrapper {
      */
     @Override
     public ResultSet executeQuery() throws SQLException {
-        ResultSet resultSet = preparedStatement.executeQuery();
+        final long start = startExecution();
+        ResultSet resultSet;
+        try {
+            resultSet = preparedStatement.executeQuery();
+        } finally {
+            endExecution(start);
+        }
         incrementResultSetReferenceCount();
         return new ResultSetWrapper40(this, resultSet);
     }
@@ -672,7 +679,13 @@ public class PreparedStatementWrapper40 extends PreparedStatementWrapper {
      */
     @Override
     public ResultSet executeQuery(String sql) throws SQLException {
-        ResultSet resultSet = preparedStatement.executeQuery(sql);
+        final long start = startExecution();
+        ResultSet resultSet;
+        try {
+            resultSet = preparedStatement.executeQuery(sql);
+        } finally {
+            endExecution(sql, start);
+        }
         incrementResultSetReferenceCount();
         return new ResultSetWrapper40(this, resultSet);
     }
@@ -226,6 +226,11 @@ public class StatementWrapper40 extends StatementWrapper {
      */
     @Override
     public ResultSet executeQuery(final String sql) throws SQLException {
-        return new ResultSetWrapper40(this, jdbcStatement.executeQuery(sql));
+        final long start = startExecution();
+        try {
+            return new ResultSetWrapper40(this, jdbcStatement.executeQuery(sql));
+        } finally {
+            endExecution(sql, start);
+        }
     }
 }
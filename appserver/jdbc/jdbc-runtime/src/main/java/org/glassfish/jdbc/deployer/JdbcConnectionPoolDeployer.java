@@ -448,6 +448,10 @@ public class JdbcConnectionPoolDeployer implements ResourceDeployer<JdbcConnecti
                     connectorConnectionPool.setAssociateWithThread(toBoolean(adminPoolProperty.getValue(), false));
                     LOG.log(Level.FINEST, "ASSOCIATEWITHTHREAD");
 
+                } else if ("ASSOCIATIONSCOPE".equals(name.toUpperCase(LOCALE))) {
+                    connectorConnectionPool.setAssociationScope(adminPoolProperty.getValue());
+                    LOG.log(Level.FINEST, "ASSOCIATIONSCOPE");
+
                 } else if ("LAZYCONNECTIONASSOCIATION".equals(name.toUpperCase(LOCALE))) {
                     setLazyEnlistAndLazyAssocProperties(adminPoolProperty.getValue(), adminPool.getProperty(), connectorConnectionPool);
                     LOG.log(Level.FINEST, "LAZYCONNECTIONASSOCIATION");
@@ -504,6 +508,10 @@ public class JdbcConnectionPoolDeployer implements ResourceDeployer<JdbcConnecti
                     configProperties.add(new ConnectorConfigProperty("TimeToKeepQueriesInMinutes", adminPoolProperty.getValue(), "TimeToKeepQueriesInMinutes",
                             String.class.getName()));
 
+                } else if ("SQL-STATISTICS-SAMPLE-RATE".equals(name.toUpperCase(Locale.getDefault()))) {
+                    configProperties.add(new ConnectorConfigProperty("SqlStatisticsSampleRate", adminPoolProperty.getValue(), "SqlStatisticsSampleRate",
+                            String.class.getName()));
+
                 } else if (mcfConPropKeys.containsKey(name.toUpperCase(Locale.getDefault()))) {
                     configProperties.add(new ConnectorConfigProperty(mcfConPropKeys.get(name.toUpperCase(Locale.getDefault())),
                             adminPoolProperty.getValue() == null ? "" : adminPoolProperty.getValue(), "Some property", String.class.getName()));
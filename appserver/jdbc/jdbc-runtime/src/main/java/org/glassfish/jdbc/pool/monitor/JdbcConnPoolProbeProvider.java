@@ -255,4 +255,18 @@ public class JdbcConnPoolProbeProvider extends ConnectionPoolProbeProvider {
     public void connectionRequestDequeuedEvent(@ProbeParam("poolName") String poolName, @ProbeParam("appName") String appName,
             @ProbeParam("moduleName") String moduleName) {
     }
+
+    /**
+     * Emits probe event/notification that a connection request spent
+     * <code>timeWaitedInMillis</code> in the wait queue of the given jdbc
+     * connection pool <code>poolName</code>
+     *
+     * @param poolName
+     * @param timeWaitedInMillis time spent in the wait queue
+     */
+    @Probe(name = "connectionRequestWaitedEvent")
+    @Override
+    public void connectionRequestWaitedEvent(@ProbeParam("poolName") String poolName, @ProbeParam("appName") String appName,
+            @ProbeParam("moduleName") String moduleName, @ProbeParam("timeWaitedInMillis") long timeWaitedInMillis) {
+    }
 }
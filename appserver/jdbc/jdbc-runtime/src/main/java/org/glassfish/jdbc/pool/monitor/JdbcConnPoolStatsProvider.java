@@ -120,6 +120,9 @@ public class JdbcConnPoolStatsProvider {
     private final CountStatisticImpl averageConnWaitTime = new CountStatisticImpl(
             "AverageConnWaitTime", StatisticImpl.UNIT_MILLISECOND,
             "Average wait-time-duration per successful connection request");
+    private final CountStatisticImpl totalWaitQueueTime = new CountStatisticImpl(
+            "TotalWaitQueueTime", StatisticImpl.UNIT_MILLISECOND,
+            "Total time connection requests spent in the wait queue");
     private final CountStatisticImpl waitQueueLength = new CountStatisticImpl(
             "WaitQueueLength", StatisticImpl.UNIT_COUNT,
             "Number of connection requests in the queue waiting to be serviced.");
@@ -458,6 +461,7 @@ public class JdbcConnPoolStatsProvider {
         averageConnWaitTime.reset();
         totalConnRequestWaitTime.reset();
         waitQueueLength.reset();
+        totalWaitQueueTime.reset();
     }
 
     /**
@@ -542,6 +546,27 @@ public class JdbcConnPoolStatsProvider {
         }
     }
 
+    /**
+     * When a connection request leaves the wait queue, add the time it spent
+     * waiting to totalWaitQueueTime.
+     */
+    @ProbeListener(JDBC_PROBE_LISTENER + "connectionRequestWaitedEvent")
+    public void connectionRequestWaitedEvent(
+            @ProbeParam("poolName") String poolName,
+            @ProbeParam("appName") String appName,
+            @ProbeParam("moduleName") String moduleName,
+            @ProbeParam("timeWaitedInMillis") long timeWaitedInMillis) {
+
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if(this.poolInfo.equals(poolInfo)) {
+            if(logger.isLoggable(Level.FINEST)) {
+                logger.finest("Connection request waited event received - " +
+                    "poolName = " + poolName);
+            }
+            totalWaitQueueTime.increment(timeWaitedInMillis);
+        }
+    }
+
     public PoolInfo getPoolInfo() {
         return poolInfo;
     }
@@ -629,4 +654,9 @@ public class JdbcConnPoolStatsProvider {
     public CountStatistic getWaitQueueLength() {
         return waitQueueLength;
     }
+
+    @ManagedAttribute(id="totalwaitqueuetime")
+    public CountStatistic getTotalWaitQueueTime() {
+        return totalWaitQueueTime;
+    }
 }
@@ -384,12 +384,18 @@ public interface JavaEETransactionManager extends TransactionManager {
 
     /**
      * Returns the value to be used to purge transaction tasks after the specified number of cancelled tasks
+     *
+     * @deprecated cancelled transaction timeouts are removed at once, there is nothing to purge
      */
+    @Deprecated
     int getPurgeCancelledTtransactionsAfter();
 
     /**
      * Allows to purge transaction tasks after the specified value of cancelled tasks
+     *
+     * @deprecated cancelled transaction timeouts are removed at once, the value is ignored
      */
+    @Deprecated
     void setPurgeCancelledTtransactionsAfter(int value);
 
 
@@ -21,8 +21,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.Vector;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -54,11 +52,12 @@ import jakarta.transaction.SystemException;
  * delegated to jtsTx.
  *
  *
- * Time out capability is added to the local transactions. This class extends the TimerTask. When the transaction needs
- * to be timedout, this schedules with the timer. At the commit and rollback time, task will be cancelled. If the
- * transaction is timedout, run() method will be called and transaction will be marked for rollback.
+ * Time out capability is added to the local transactions. This class extends the TimeoutWheel.Timeout. When the
+ * transaction needs to be timedout, this schedules with the shared timeout wheel. At the commit and rollback time,
+ * the timeout will be cancelled. If the transaction is timedout, run() method will be called and transaction will
+ * be marked for rollback.
  */
-public final class JavaEETransactionImpl extends TimerTask implements JavaEETransaction {
+public final class JavaEETransactionImpl extends TimeoutWheel.Timeout implements JavaEETransaction {
 
     static Logger _logger = LogDomains.getLogger(JavaEETransactionImpl.class, LogDomains.JTA_LOGGER);
 
@@ -112,17 +111,6 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     // tx-specific ejb container info associated with this tx
     private Object containerData = null;
 
-    static private boolean isTimerInitialized = false;
-    static private Timer timer = null;
-    static private long timerTasksScheduled = 0; // Global counter
-
-    static synchronized private void initializeTimer() {
-        if (isTimerInitialized)
-            return;
-        timer = new Timer(true); // daemon
-        isTimerInitialized = true;
-    }
-
     JavaEETransactionImpl(JavaEETransactionManager javaEETM) {
         this.javaEETM = javaEETM;
         this.txId = getNewTxId();
@@ -138,10 +126,7 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     // START: local transaction timeout
     JavaEETransactionImpl(int timeout, JavaEETransactionManager javaEETM) {
         this(javaEETM);
-        if (!isTimerInitialized)
-            initializeTimer();
-        timer.schedule(this, timeout * 1000L);
-        timerTasksScheduled++;
+        TimeoutWheel.getInstance().schedule(this, timeout * 1000L);
         isTimerTask = true;
         this.timeout = timeout;
     }
@@ -154,7 +139,8 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     }
 
     // START: local transaction timeout
-    // TimerTask run() method implementation
+    // TimeoutWheel.Timeout run() method implementation
+    @Override
     public void run() {
         timedOut = true;
         try {
@@ -176,16 +162,9 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
         return isTimerTask;
     }
 
-    // Cancels the timertask and returns the timeout
+    // Cancels the timeout and returns it, the wheel unlinks it at once so there is nothing to purge
     public int cancelTimerTask() {
         cancel();
-        int mod = javaEETM.getPurgeCancelledTtransactionsAfter();
-        if (mod > 0 && timerTasksScheduled % mod == 0) {
-            int purged = timer.purge();
-            if (_logger.isLoggable(Level.FINE)) {
-                _logger.log(Level.FINE, "Purged " + purged + " timer tasks from canceled queue");
-            }
-        }
         return timeout;
     }
 
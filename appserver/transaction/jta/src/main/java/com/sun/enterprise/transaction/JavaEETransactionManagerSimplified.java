@@ -20,12 +20,15 @@ package com.sun.enterprise.transaction;
 import java.rmi.RemoteException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -123,11 +126,13 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
 
     // admin and monitoring related parameters
     private static final Hashtable statusMap = new Hashtable();
-    private final List activeTransactions = Collections.synchronizedList(new ArrayList());
+    // concurrent set, so that begin and completion don't contend on a single lock
+    private final Set<Transaction> activeTransactions = ConcurrentHashMap.newKeySet();
     private boolean monitoringEnabled = false;
 
     private TransactionServiceProbeProvider monitor;
-    private Hashtable txnTable = null;
+    // snapshot of the transactions returned by the last getActiveTransactions call
+    private volatile Map<String, Transaction> txnTable = Collections.emptyMap();
 
     private Cache resourceTable;
 
@@ -202,7 +207,7 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
 
                 String v = txnService.getPropertyValue("purge-cancelled-transactions-after");
                 if (v != null && v.length() > 0) {
-                    purgeCancelledTtransactions = Integer.parseInt(v);
+                    setPurgeCancelledTtransactionsAfter(Integer.parseInt(v));
                 }
 
                 TransactionServiceConfigListener listener = habitat.getService(TransactionServiceConfigListener.class);
@@ -1023,15 +1028,26 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
 
     /**
      * Modify the value to be used to purge transaction tasks after the specified number of cancelled tasks.
+     *
+     * @deprecated the timeouts are cancelled on the {@link TimeoutWheel}, which unlinks them at once,
+     *             so the value is only kept to be returned by {@link #getPurgeCancelledTtransactionsAfter()}
      */
+    @Deprecated
     @Override
     public void setPurgeCancelledTtransactionsAfter(int num) {
+        if (num > 0) {
+            LOG.log(Level.WARNING, "The purge-cancelled-transactions-after property is obsolete and ignored,"
+                + " cancelled transaction timeouts are removed at once");
+        }
         purgeCancelledTtransactions = num;
     }
 
     /**
      * Returns the value to be used to purge transaction tasks after the specified number of cancelled tasks.
+     *
+     * @deprecated the value is ignored, see {@link #setPurgeCancelledTtransactionsAfter(int)}
      */
+    @Deprecated
     @Override
     public int getPurgeCancelledTtransactionsAfter() {
         return purgeCancelledTtransactions;
@@ -1125,11 +1141,10 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
     @Override
     public ArrayList getActiveTransactions() {
         ArrayList tranBeans = new ArrayList();
-        txnTable = new Hashtable();
-        Object[] activeCopy = activeTransactions.toArray(); // get the clone of the active transactions
-        for (Object element : activeCopy) {
+        Map<String, Transaction> table = new HashMap<>();
+        // the iteration is weakly consistent and does not block begin and completion
+        for (Transaction tran : activeTransactions) {
             try {
-                Transaction tran = (Transaction) element;
                 TransactionAdminBean tBean = getDelegate().getTransactionAdminBean(tran);
                 if (tBean == null) {
                     // Shouldn't happen
@@ -1139,13 +1154,14 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
                         LOG.log(Level.FINE, "TM: Adding txnId " + tBean.getId() + " to txnTable");
                     }
 
-                    txnTable.put(tBean.getId(), tran);
+                    table.put(tBean.getId(), tran);
                     tranBeans.add(tBean);
                 }
             } catch (Exception ex) {
                 LOG.log(Level.SEVERE, "transaction.monitor.error_while_getting_monitor_attr", ex);
             }
         }
+        txnTable = table;
         return tranBeans;
     }
 
@@ -1173,13 +1189,14 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
     @Override
     public void forceRollback(String txnId) throws IllegalStateException, SystemException {
         // XXX - WORK AROUND MONITORING BUG
-        if (txnTable == null || txnTable.size() == 0)
+        if (txnTable.isEmpty())
          {
             getActiveTransactions();
         // XXX - WORK AROUND MONITORING BUG
         }
 
-        if (txnTable == null || txnTable.get(txnId) == null) {
+        Transaction tran = txnTable.get(txnId);
+        if (tran == null) {
             String result = sm.getString("transaction.monitor.rollback_invalid_id");
             throw new IllegalStateException(result);
         } else {
@@ -1187,7 +1204,7 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
                 LOG.log(Level.FINE, "TM: Marking txnId " + txnId + " for rollback");
             }
 
-            ((Transaction) txnTable.get(txnId)).setRollbackOnly();
+            tran.setRollbackOnly();
         }
 
     }
@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.transaction;
+
+import com.sun.logging.LogDomains;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hashed timing wheel expiring the transaction timeouts of the local JTA transactions and of
+ * the JTS coordinators.
+ * <p>
+ * Time is divided into ticks hashed into {@value #SLOTS} slots. A timeout is linked into the
+ * slot of its deadline tick and is itself the list node, so scheduling and cancellation take
+ * constant time and allocate nothing. Each slot is guarded by its own monitor, so concurrent
+ * transactions rarely contend. A single daemon thread sweeps one slot per tick, runs the
+ * timeouts whose deadline passed and leaves those of later revolutions in place. The
+ * {@link Timeout#isBlocking() blocking} timeouts are handed to a few expiration threads instead,
+ * so that they do not hold up the other timeouts.
+ * <p>
+ * A timeout never runs before its deadline. The delay between the deadline and the run is
+ * reported as the expiration lag: it is at most one tick, unless a previous timeout ran long.
+ */
+public final class TimeoutWheel {
+
+    private static final Logger LOG = LogDomains.getLogger(TimeoutWheel.class, LogDomains.JTA_LOGGER);
+
+    /** Precision of the shared wheel */
+    static final long TICK_MILLIS = 100L;
+    /** Number of slots, with the default tick one revolution takes 51.2 seconds */
+    static final int SLOTS = 512;
+    private static final int SLOT_MASK = SLOTS - 1;
+    /** Maximum number of threads running the blocking timeouts */
+    private static final int EXPIRATION_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final Slot[] slots = new Slot[SLOTS];
+    private final Thread ticker;
+    private final ThreadPoolExecutor expirationExecutor;
+
+    private volatile long currentTick;
+    private volatile boolean stopped;
+
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong totalLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+
+    private static final class Holder {
+        private static final TimeoutWheel INSTANCE = new TimeoutWheel("transaction-timeout", TICK_MILLIS);
+    }
+
+    /**
+     * @return the wheel shared by the transaction managers, started on the first call
+     */
+    public static TimeoutWheel getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    TimeoutWheel(String name, long tickMillis) {
+        this.tickMillis = tickMillis;
+        for (int i = 0; i < SLOTS; i++) {
+            slots[i] = new Slot();
+        }
+        this.expirationExecutor = createExpirationExecutor(name);
+        this.startMillis = System.currentTimeMillis();
+        this.ticker = new Thread(this::run, name);
+        this.ticker.setDaemon(true);
+        this.ticker.setContextClassLoader(TimeoutWheel.class.getClassLoader());
+        this.ticker.start();
+    }
+
+    /**
+     * Schedules the timeout to run once after the delay.
+     *
+     * @param timeout timeout which is not scheduled, it may have run or been cancelled before
+     * @param delayMillis delay in milliseconds
+     * @throws IllegalStateException if the timeout is already scheduled
+     */
+    public void schedule(Timeout timeout, long delayMillis) {
+        final long deadlineMillis = System.currentTimeMillis() + Math.max(0L, delayMillis);
+        long tick = Math.max(toTick(deadlineMillis), currentTick + 1);
+        while (true) {
+            final Slot slot = slots[(int) tick & SLOT_MASK];
+            synchronized (slot) {
+                // the ticker may have swept the slot since currentTick was read
+                if (tick > slot.sweptTick) {
+                    if (timeout.slot != null) {
+                        throw new IllegalStateException("The timeout is already scheduled: " + timeout);
+                    }
+                    timeout.deadlineMillis = deadlineMillis;
+                    timeout.deadlineTick = tick;
+                    slot.link(timeout);
+                    return;
+                }
+            }
+            tick++;
+        }
+    }
+
+    /**
+     * @return number of timeouts which ran
+     */
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    /**
+     * @return sum of the delays in milliseconds between the deadlines and the runs
+     */
+    public long getTotalExpirationLagMillis() {
+        return totalLagMillis.get();
+    }
+
+    /**
+     * @return the longest delay in milliseconds between a deadline and the run
+     */
+    public long getMaxExpirationLagMillis() {
+        return maxLagMillis.get();
+    }
+
+    /**
+     * Stops the ticker thread, scheduled timeouts never run.
+     */
+    void stop() {
+        stopped = true;
+        LockSupport.unpark(ticker);
+        expirationExecutor.shutdown();
+    }
+
+    private static ThreadPoolExecutor createExpirationExecutor(String name) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(EXPIRATION_THREADS, EXPIRATION_THREADS,
+            60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                final Thread thread = new Thread(runnable, name + "-expiration-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setContextClassLoader(TimeoutWheel.class.getClassLoader());
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * @return the first tick starting at or after the deadline
+     */
+    private long toTick(long deadlineMillis) {
+        final long sinceStart = deadlineMillis - startMillis;
+        return sinceStart <= 0 ? 0 : (sinceStart + tickMillis - 1) / tickMillis;
+    }
+
+    private void run() {
+        while (!stopped) {
+            try {
+                final long targetTick = (System.currentTimeMillis() - startMillis) / tickMillis;
+                if (targetTick - currentTick > SLOTS) {
+                    // after a long pause sweeping one revolution expires everything due
+                    currentTick = targetTick - SLOTS;
+                }
+                while (currentTick < targetTick && !stopped) {
+                    final long tick = currentTick + 1;
+                    currentTick = tick;
+                    sweep(tick);
+                }
+                final long delay = startMillis + (currentTick + 1) * tickMillis - System.currentTimeMillis();
+                if (delay > 0) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(delay));
+                }
+            } catch (Throwable t) {
+                LOG.log(Level.WARNING, "Transaction timeout wheel tick failed", t);
+            }
+        }
+    }
+
+    private void sweep(long tick) {
+        final Slot slot = slots[(int) tick & SLOT_MASK];
+        // not linked through the timeouts, which may be scheduled again as soon as they are unlinked
+        List<Timeout> expired = null;
+        synchronized (slot) {
+            slot.sweptTick = tick;
+            Timeout timeout = slot.head;
+            while (timeout != null) {
+                final Timeout next = timeout.next;
+                if (timeout.deadlineTick <= tick) {
+                    slot.unlink(timeout);
+                    if (expired == null) {
+                        expired = new ArrayList<>();
+                    }
+                    expired.add(timeout);
+                }
+                timeout = next;
+            }
+        }
+        if (expired == null) {
+            return;
+        }
+        for (Timeout timeout : expired) {
+            if (timeout.isBlocking()) {
+                final long deadlineMillis = timeout.deadlineMillis;
+                try {
+                    expirationExecutor.execute(() -> expire(timeout, deadlineMillis));
+                } catch (RejectedExecutionException e) {
+                    LOG.log(Level.FINE, "Transaction timeout " + timeout + " not run, the wheel is stopped", e);
+                }
+            } else {
+                expire(timeout, timeout.deadlineMillis);
+            }
+        }
+    }
+
+    private void expire(Timeout timeout, long deadlineMillis) {
+        final long lag = Math.max(0L, System.currentTimeMillis() - deadlineMillis);
+        expiredCount.incrementAndGet();
+        totalLagMillis.addAndGet(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+        try {
+            timeout.run();
+        } catch (Throwable t) {
+            LOG.log(Level.WARNING, "Transaction timeout " + timeout + " failed", t);
+        }
+    }
+
+    /**
+     * A task run by the wheel once at its deadline. The same timeout may be scheduled again
+     * after it ran or was cancelled.
+     */
+    public abstract static class Timeout implements Runnable {
+
+        // guarded by the monitor of the slot
+        private volatile Slot slot;
+        private Timeout prev;
+        private Timeout next;
+        private long deadlineTick;
+        private volatile long deadlineMillis;
+
+        protected Timeout() {
+        }
+
+        /**
+         * Cancels the timeout.
+         *
+         * @return true if the timeout was scheduled and did not run yet
+         */
+        public boolean cancel() {
+            final Slot owner = slot;
+            if (owner == null) {
+                return false;
+            }
+            synchronized (owner) {
+                if (slot != owner) {
+                    return false;
+                }
+                owner.unlink(this);
+                return true;
+            }
+        }
+
+        /**
+         * @return true if the timeout may block, for example on remote calls, and must not run
+         *         on the ticker thread. False by default.
+         */
+        protected boolean isBlocking() {
+            return false;
+        }
+
+        /**
+         * @return true if the timeout is waiting for its deadline
+         */
+        public boolean isScheduled() {
+            return slot != null;
+        }
+
+        /**
+         * @return the time in milliseconds since the epoch of the last deadline
+         */
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts.
+     */
+    private static final class Slot {
+
+        private Timeout head;
+        private long sweptTick = -1L;
+
+        void link(Timeout timeout) {
+            timeout.slot = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        void unlink(Timeout timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.slot = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+    }
+}
@@ -31,6 +31,7 @@ import org.glassfish.gmbal.Description;
 import org.glassfish.gmbal.ManagedAttribute;
 import org.glassfish.gmbal.ManagedObject;
 
+import com.sun.enterprise.transaction.TimeoutWheel;
 import com.sun.enterprise.transaction.api.JavaEETransactionManager;
 import com.sun.enterprise.transaction.api.TransactionAdminBean;
 
@@ -62,6 +63,15 @@ public class TransactionServiceStatsProvider {
 
     private StringStatisticImpl state = new StringStatisticImpl("State", "String", "Indicates if the transaction service has been frozen.");
 
+    private CountStatisticImpl timedOutCount = new CountStatisticImpl("TimedOutCount", "count",
+            "Provides the number of transaction timeouts that have expired.");
+
+    private CountStatisticImpl totalTimeoutLag = new CountStatisticImpl("TotalTimeoutLag", "milliseconds",
+            "Provides the total delay between the expiration times of the transaction timeouts and their processing.");
+
+    private CountStatisticImpl maxTimeoutLag = new CountStatisticImpl("MaxTimeoutLag", "milliseconds",
+            "Provides the longest delay between the expiration time of a transaction timeout and its processing.");
+
     private boolean isFrozen = false;
 
     private JavaEETransactionManager txMgr;
@@ -91,6 +101,27 @@ public class TransactionServiceStatsProvider {
         return rolledbackCount;
     }
 
+    @ManagedAttribute(id = "timedoutcount")
+    @Description("Provides the number of transaction timeouts that have expired.")
+    public CountStatistic getTimedOutCount() {
+        timedOutCount.setCount(TimeoutWheel.getInstance().getExpiredCount());
+        return timedOutCount;
+    }
+
+    @ManagedAttribute(id = "totaltimeoutlag")
+    @Description("Provides the total delay between the expiration times of the transaction timeouts and their processing.")
+    public CountStatistic getTotalTimeoutLag() {
+        totalTimeoutLag.setCount(TimeoutWheel.getInstance().getTotalExpirationLagMillis());
+        return totalTimeoutLag;
+    }
+
+    @ManagedAttribute(id = "maxtimeoutlag")
+    @Description("Provides the longest delay between the expiration time of a transaction timeout and its processing.")
+    public CountStatistic getMaxTimeoutLag() {
+        maxTimeoutLag.setCount(TimeoutWheel.getInstance().getMaxExpirationLagMillis());
+        return maxTimeoutLag;
+    }
+
     @ManagedAttribute(id = "state")
     @Description("Indicates if the transaction service has been frozen.")
     public StringStatistic getState() {
@@ -19,9 +19,11 @@ package com.sun.enterprise.transaction;
 
 import com.sun.enterprise.config.serverbeans.ServerTags;
 import com.sun.enterprise.transaction.api.JavaEETransactionManager;
+import com.sun.enterprise.transaction.api.TransactionAdminBean;
 import com.sun.enterprise.transaction.spi.JavaEETransactionManagerDelegate;
 
 import java.beans.PropertyChangeEvent;
+import java.util.List;
 import java.util.logging.Level;
 
 import javax.transaction.xa.XAException;
@@ -143,6 +145,27 @@ public class JavaEETransactionManagerSimplifiedTest {
     }
 
 
+    @Test
+    public void testActiveTransactionsMonitoring() throws Exception {
+        JavaEETransactionManagerSimplified tm = (JavaEETransactionManagerSimplified) txManager;
+        tm.postConstruct();
+        tm.setMonitoringEnabled(true);
+
+        tm.begin();
+        Transaction tx = tm.getTransaction();
+        List<TransactionAdminBean> active = tm.getActiveTransactions();
+        assertEquals(1, active.size());
+        assertEquals(tx, active.get(0).getIdentifier());
+
+        tm.forceRollback(active.get(0).getId());
+        assertEquals("MarkedRollback", getStatusAsString(tx.getStatus()));
+        assertThrows(IllegalStateException.class, () -> tm.forceRollback("unknown"));
+
+        tm.rollback();
+        assertTrue(tm.getActiveTransactions().isEmpty());
+    }
+
+
     @Test
     public void testWrongTMCommit() {
         assertThrows(IllegalStateException.class, () -> txManager.commit(), "commit without transaction");
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class TimeoutWheelTest {
+
+    private TimeoutWheel wheel;
+
+    @BeforeEach
+    public void startWheel() {
+        wheel = new TimeoutWheel("test-timeout", 10L);
+    }
+
+
+    @AfterEach
+    public void stopWheel() {
+        wheel.stop();
+    }
+
+
+    @Test
+    public void timeoutRunsAfterItsDeadline() throws Exception {
+        TestTimeout timeout = new TestTimeout(1);
+        long start = System.currentTimeMillis();
+        wheel.schedule(timeout, 50L);
+        assertTrue(timeout.isScheduled());
+        assertThrows(IllegalStateException.class, () -> wheel.schedule(timeout, 50L));
+
+        assertTrue(timeout.expired.await(5L, TimeUnit.SECONDS));
+        assertAll(
+            () -> assertThat(timeout.runMillis - start, greaterThanOrEqualTo(50L)),
+            () -> assertFalse(timeout.isScheduled()),
+            () -> assertFalse(timeout.cancel()),
+            () -> assertEquals(1L, wheel.getExpiredCount())
+        );
+    }
+
+
+    @Test
+    public void cancelledTimeoutNeverRuns() throws Exception {
+        TestTimeout cancelled = new TestTimeout(1);
+        TestTimeout beyondRevolution = new TestTimeout(1);
+        TestTimeout later = new TestTimeout(1);
+        wheel.schedule(cancelled, 20L);
+        wheel.schedule(beyondRevolution, 10L * TimeoutWheel.SLOTS + 20L);
+        wheel.schedule(later, 100L);
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+
+        assertTrue(later.expired.await(5L, TimeUnit.SECONDS));
+        assertAll(
+            () -> assertEquals(0, cancelled.runs.get()),
+            () -> assertEquals(0, beyondRevolution.runs.get()),
+            () -> assertTrue(beyondRevolution.cancel()),
+            () -> assertEquals(1L, wheel.getExpiredCount())
+        );
+    }
+
+
+    @Test
+    public void timeoutCanBeScheduledAgain() throws Exception {
+        TestTimeout timeout = new TestTimeout(3) {
+            @Override
+            public void run() {
+                super.run();
+                if (expired.getCount() > 0) {
+                    wheel.schedule(this, 10L);
+                }
+            }
+        };
+        wheel.schedule(timeout, 10L);
+
+        assertTrue(timeout.expired.await(5L, TimeUnit.SECONDS));
+        assertAll(
+            () -> assertEquals(3, timeout.runs.get()),
+            () -> assertEquals(3L, wheel.getExpiredCount()),
+            () -> assertThat(wheel.getTotalExpirationLagMillis(), greaterThanOrEqualTo(wheel.getMaxExpirationLagMillis()))
+        );
+    }
+
+
+    @Test
+    public void blockingTimeoutDoesNotHoldUpTheOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        TestTimeout blocking = new TestTimeout(1) {
+            @Override
+            public void run() {
+                super.run();
+                try {
+                    release.await(10L, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            protected boolean isBlocking() {
+                return true;
+            }
+        };
+        TestTimeout later = new TestTimeout(1);
+        wheel.schedule(blocking, 10L);
+        wheel.schedule(later, 100L);
+
+        try {
+            assertTrue(blocking.expired.await(5L, TimeUnit.SECONDS));
+            assertTrue(later.expired.await(5L, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+        assertEquals(2L, wheel.getExpiredCount());
+    }
+
+
+    @Test
+    public void expiredTimeoutsRunWhenOneOfThemIsScheduledAgain() throws Exception {
+        CountDownLatch expired = new CountDownLatch(3);
+        List<TestTimeout> timeouts = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            timeouts.add(new TestTimeout(1) {
+                @Override
+                public void run() {
+                    super.run();
+                    expired.countDown();
+                    // the expired timeouts which did not run yet are no longer in their slot
+                    for (TestTimeout other : timeouts) {
+                        if (other.runs.get() == 0 && !other.isScheduled()) {
+                            wheel.schedule(other, 60_000L);
+                        }
+                    }
+                }
+            });
+        }
+        for (TestTimeout timeout : timeouts) {
+            wheel.schedule(timeout, 50L);
+        }
+
+        assertTrue(expired.await(5L, TimeUnit.SECONDS));
+        for (TestTimeout timeout : timeouts) {
+            timeout.cancel();
+        }
+    }
+
+
+    private static class TestTimeout extends TimeoutWheel.Timeout {
+
+        final CountDownLatch expired;
+        final AtomicInteger runs = new AtomicInteger();
+        volatile long runMillis;
+
+        TestTimeout(int expectedRuns) {
+            expired = new CountDownLatch(expectedRuns);
+        }
+
+        @Override
+        public void run() {
+            runMillis = System.currentTimeMillis();
+            runs.incrementAndGet();
+            expired.countDown();
+        }
+    }
+}
@@ -117,19 +117,26 @@ class LogFile {
      *
      * @see
      */
-    synchronized boolean write( int    writeType,
-                                byte[] record,
-                                int    recordType,
-                                LogLSN recordLSN ) {
+    boolean write( int    writeType,
+                   byte[] record,
+                   int    recordType,
+                   LogLSN recordLSN ) {
 
         boolean result = true;
 
         // Write the record.
         // Set the result based on return code from log write.
+        // A forced record is written buffered, and then forced together with the
+        // records of concurrent committers, without holding the lock of the file.
 
         try {
-            LogLSN resultLSN = handle.writeRecord(record,recordType,
-                                                  (writeType==LogFile.FORCED ? LogHandle.FORCE : LogHandle.BUFFER));
+            LogLSN resultLSN;
+            synchronized( this ) {
+                resultLSN = handle.writeRecord(record,recordType,LogHandle.BUFFER);
+            }
+            if( writeType == LogFile.FORCED )
+                handle.groupCommit.force();
+
             if( recordLSN != null )
                 recordLSN.copy(resultLSN);
         } catch( LogException le ) {
@@ -243,6 +250,9 @@ class LogFile {
 
         boolean result = true;
 
+        if( _logger.isLoggable(Level.FINE) )
+            _logger.log(Level.FINE, "Closing the log, " + handle.groupCommit);
+
         // Call to close the physical log.
 
         try {
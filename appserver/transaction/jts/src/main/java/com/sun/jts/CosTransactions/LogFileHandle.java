@@ -112,6 +112,11 @@ class LogFileHandle {
     int bufferUpdateEnd   = -1;
     int buffPos = 0;
 
+    /**Set when buffered data has been written to the file system by fileFlush
+     * and not yet forced to the disk.
+     */
+    private volatile boolean unforced = false;
+
     static {
         dsyncProp = System.getProperty(DSYNC_PROPERTY);
         if (dsyncProp != null) {
@@ -362,16 +367,18 @@ class LogFileHandle {
      *
      * @see
      */
-    void fileClose()
+    synchronized void fileClose()
         throws LogException {
 
         try {
 
             // If buffered, then ensure that the buffer is stored and synced with the
-            // file system.
+            // file system.  Data flushed but not yet forced is forced as well.
 
             if( bufferUpdateStart != -1 )
                 fileSync();
+            else if( unforced )
+                fileForce();
 
             // Close the file.
 
@@ -456,11 +463,81 @@ class LogFileHandle {
 
                 bufferUpdateStart = -1;
                 bufferUpdateEnd   = -1;
+                unforced = false;
             } catch (Throwable e) {
                 throw new LogException(LogException.LOG_READ_FAILURE,1,
                         sm.getString("jts.log_file_sync_failed"), e);
             }
 
+        // Data written by fileFlush may not be on the disk yet.  fileForce waits
+        // for a force of the group commit which is in progress.
+
+        else
+            fileForce();
+
+    }
+
+    /**Writes the updated part of the buffer to the file system without forcing
+     * it to the disk.  The data is made permanent by a later fileForce, which
+     * does not need the caller to hold the lock of the log.
+     *
+     * @param
+     *
+     * @return
+     *
+     * @exception LogException The write failed
+     *
+     * @see
+     */
+    void fileFlush() throws LogException {
+
+        if( bufferUpdateStart != -1 )
+            try {
+                fhandle.seek(bufferUpdateStart);
+                fhandle.write(bufferData,bufferUpdateStart,bufferUpdateEnd-bufferUpdateStart);
+
+                bufferUpdateStart = -1;
+                bufferUpdateEnd   = -1;
+                unforced = true;
+            } catch (Throwable e) {
+                throw new LogException(LogException.LOG_WRITE_FAILURE,1,
+                        sm.getString("jts.log_write_failed"), e);
+            }
+    }
+
+    /**Forces the data written by fileFlush to the disk.
+     * <p>
+     * Everything flushed before the call is forced, so a single call makes the
+     * records of several concurrent committers permanent.  The file length is
+     * forced too, as the log extents grow by allocFileStorage.
+     *
+     * @param
+     *
+     * @return
+     *
+     * @exception LogException The force failed
+     *
+     * @see
+     */
+    synchronized void fileForce() throws LogException {
+
+        // A closed file has been forced by fileClose.
+
+        if( fhandle == null || !unforced )
+            return;
+
+        // Clear the flag first so that data flushed during the force marks
+        // the file again.
+
+        unforced = false;
+        try {
+            if (dsyncProp == null)
+                fhandle.getChannel().force(true);
+        } catch (Throwable e) {
+            unforced = true;
+            throw new LogException(LogException.LOG_ERROR_FORCING_LOG,1,
+                    sm.getString("jts.log_file_sync_failed"), e);
+        }
     }
 
     /**Reads a vector of records from the file.
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import com.sun.logging.LogDomains;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Forces the records written to a {@link LogHandle} to the disk in batches.
+ * <p>
+ * A committer writes its record buffered and then calls {@link #force()}. The first caller
+ * finding no force in progress becomes the leader of a batch: it optionally waits up to the
+ * maximal batch latency for other committers, writes all buffered records to the file system
+ * and forces the extent files once, without holding the lock of the log. Committers arriving
+ * during the force wait and are served by the next batch, so one force makes the records of
+ * all of them permanent.
+ * <p>
+ * The records are written exactly as by {@link LogHandle#writeRecord} in the
+ * {@link LogHandle#FORCE} mode, so the recovery reads the log as before.
+ */
+final class LogGroupCommit {
+
+    /** Maximal time in microseconds the leader of a batch waits for other committers. */
+    static final String MAX_BATCH_LATENCY_PROPERTY = "com.sun.appserv.transaction.logBatchLatency";
+
+    private static final Logger _logger = LogDomains.getLogger(LogGroupCommit.class, LogDomains.TRANSACTION_LOGGER);
+
+    private final LogHandle handle;
+    private final long maxBatchLatencyNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition forceDone = lock.newCondition();
+
+    // guarded by lock
+    private long requested;
+    private long forced;
+    private boolean forceInProgress;
+    private LogException failure;
+    private long failedFrom;
+    private long failedTo;
+
+    private long batchCount;
+    private long maxBatchSize;
+    private long totalForceTime;
+    private long maxForceTime;
+
+    LogGroupCommit(LogHandle handle) {
+        this(handle, TimeUnit.MICROSECONDS.toNanos(Long.getLong(MAX_BATCH_LATENCY_PROPERTY, 0L)));
+    }
+
+    LogGroupCommit(LogHandle handle, long maxBatchLatencyNanos) {
+        this.handle = handle;
+        this.maxBatchLatencyNanos = Math.max(0L, maxBatchLatencyNanos);
+    }
+
+    /**
+     * Returns when all records written to the log before the call are forced to the disk.
+     *
+     * @throws LogException if the force of the batch containing the records failed
+     */
+    void force() throws LogException {
+        lock.lock();
+        try {
+            final long ticket = ++requested;
+            while (forced < ticket) {
+                if (failure != null && ticket > failedFrom && ticket <= failedTo) {
+                    throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 1, failure.getMessage(), failure);
+                }
+                if (forceInProgress) {
+                    forceDone.awaitUninterruptibly();
+                } else {
+                    forceBatch();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces all records requested so far. Called with the lock held, which is released
+     * while waiting for other committers and while forcing.
+     */
+    private void forceBatch() {
+        forceInProgress = true;
+        try {
+            if (maxBatchLatencyNanos > 0L) {
+                lock.unlock();
+                try {
+                    LockSupport.parkNanos(this, maxBatchLatencyNanos);
+                } finally {
+                    lock.lock();
+                }
+            }
+            final long target = requested;
+            final long start = System.nanoTime();
+            LogException error = null;
+            lock.unlock();
+            try {
+                for (LogFileHandle fileHandle : handle.flushExtents()) {
+                    fileHandle.fileForce();
+                }
+            } catch (LogException e) {
+                error = e;
+            } finally {
+                lock.lock();
+            }
+            final long forceTime = System.nanoTime() - start;
+            if (error == null) {
+                final long batchSize = target - forced;
+                batchCount++;
+                maxBatchSize = Math.max(maxBatchSize, batchSize);
+                totalForceTime += forceTime;
+                maxForceTime = Math.max(maxForceTime, forceTime);
+                forced = target;
+            } else {
+                _logger.log(Level.SEVERE, "jts.log_error", error.toString());
+                failure = error;
+                failedFrom = forced;
+                failedTo = target;
+            }
+        } finally {
+            forceInProgress = false;
+            forceDone.signalAll();
+        }
+    }
+
+    /**
+     * @return number of forces done
+     */
+    long getBatchCount() {
+        lock.lock();
+        try {
+            return batchCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of records made permanent by the forces
+     */
+    long getForcedRecordCount() {
+        lock.lock();
+        try {
+            return forced;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return largest number of records made permanent by a single force
+     */
+    long getMaxBatchSize() {
+        lock.lock();
+        try {
+            return maxBatchSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getTotalForceTime(TimeUnit unit) {
+        lock.lock();
+        try {
+            return unit.convert(totalForceTime, TimeUnit.NANOSECONDS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getMaxForceTime(TimeUnit unit) {
+        lock.lock();
+        try {
+            return unit.convert(maxForceTime, TimeUnit.NANOSECONDS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LogGroupCommit[log=" + handle.logFileName
+            + ", batches=" + getBatchCount()
+            + ", records=" + getForcedRecordCount()
+            + ", maxBatchSize=" + getMaxBatchSize()
+            + ", totalForceMicros=" + getTotalForceTime(TimeUnit.MICROSECONDS)
+            + ", maxForceMicros=" + getMaxForceTime(TimeUnit.MICROSECONDS) + "]";
+    }
+}
@@ -203,6 +203,7 @@ class LogHandle {
     LogFileHandle        logFileHandle = null;
     LogControlDescriptor logControlDescriptor = null;
     LogControl           logControl = null;
+    final LogGroupCommit groupCommit = new LogGroupCommit(this);
 
 
     /**Creates a LogHandle object for the given log instance.
@@ -579,6 +580,38 @@ class LogHandle {
         return result;
     }
 
+    /**Writes the records buffered for the extents written since the last force
+     * to the file system, without forcing them to the disk.
+     * <p>
+     * Used by the group commit, which forces the returned files after releasing
+     * the lock of the log, so that other records can be written meanwhile.
+     * The extents stay marked as written, so writeControlFile forces them
+     * before the control data when it runs before the group force.
+     *
+     * @param
+     *
+     * @return  The handles of the extent files to be forced.
+     *
+     * @exception LogException  The write failed.
+     *
+     * @see
+     */
+    synchronized LogFileHandle[] flushExtents()
+        throws LogException {
+
+        ArrayList flushed = new ArrayList();
+        Enumeration extents = extentTable.elements();
+        while( extents.hasMoreElements() ) {
+            LogExtent nextEDP = (LogExtent)extents.nextElement();
+            if( nextEDP.writtenSinceLastForce ) {
+                nextEDP.fileHandle.fileFlush();
+                flushed.add(nextEDP.fileHandle);
+            }
+        }
+
+        return (LogFileHandle[])flushed.toArray(new LogFileHandle[flushed.size()]);
+    }
+
     /**Reads a record from the log.
      *
      * @param readLSN  The LSN of the record to be read.
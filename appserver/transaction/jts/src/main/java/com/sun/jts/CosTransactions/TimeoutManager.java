@@ -31,12 +31,14 @@
 
 package com.sun.jts.CosTransactions;
 
+import com.sun.enterprise.transaction.TimeoutWheel;
 import com.sun.jts.jtsxa.XID;
 import com.sun.logging.LogDomains;
 
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.Hashtable;
+import java.util.Iterator;
 import java.util.Vector;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -44,8 +46,8 @@ import java.util.logging.Logger;
 import org.omg.CosTransactions.Status;
 
 /**
- * This class records state for timing out transactions, and runs a thread
- * which performs occasional checks to time out transactions.
+ * This class records state for timing out transactions, and schedules the
+ * timeouts with the timeout wheel shared with the local transactions.
  *
  * @version 0.01
  *
@@ -77,7 +79,7 @@ class TimeoutManager {
 
     private static Hashtable     pendingTimeouts = new Hashtable();
     private static Hashtable     indoubtTimeouts = new Hashtable();
-    private static TimeoutThread timeoutThread = null;
+    private static long          retryInterval = 10000;
     private static boolean       timeoutActive = false;
     private static boolean       quiescing = false;
     private static boolean       isSetTimeout = false;
@@ -107,9 +109,7 @@ class TimeoutManager {
 
         // Start the timeout thread.
 
-        if (!timeoutActive && timeoutThread == null) {
-            //  timeoutThread = new TimeoutThread();
-            //  timeoutThread.start();
+        if (!timeoutActive) {
             timeoutActive = true;
         }
     }
@@ -120,8 +120,18 @@ class TimeoutManager {
             return;
         }
         isSetTimeout = true;
-        timeoutThread = new TimeoutThread();
-        timeoutThread.start();
+
+        // A timeout which did not complete its transaction fires again after
+        // this interval, as often as the timeouts used to be checked.
+
+        try {
+            String timeout_interval = Configuration.getPropertyValue(Configuration.TIMEOUT_INTERVAL);
+            if (timeout_interval != null) {
+                retryInterval = Math.max(Integer.parseInt(timeout_interval) * 1000L, 10000L);
+            }
+        } catch (Exception e) {
+            retryInterval = 10000;
+        }
     }
 
     /**
@@ -162,7 +172,7 @@ class TimeoutManager {
                     timeoutInfo.expireTime = new Date().getTime() + seconds * 1000L;
                     timeoutInfo.localTID = localTID;
                     timeoutInfo.timeoutType = timeoutType;
-                    pendingTimeouts.put(localTID, timeoutInfo);
+                    addTimeout(pendingTimeouts, timeoutInfo, seconds * 1000L);
                     break;
                 case TimeoutManager.IN_DOUBT_TIMEOUT:
                     if (!isSetTimeout) {
@@ -173,7 +183,7 @@ class TimeoutManager {
                     timeoutInfo.expireTime = new Date().getTime() + seconds * 1000L;
                     timeoutInfo.localTID = localTID;
                     timeoutInfo.timeoutType = timeoutType;
-                    indoubtTimeouts.put(localTID, timeoutInfo);
+                    addTimeout(indoubtTimeouts, timeoutInfo, seconds * 1000L);
                     break;
 
                 // For any other type, remove the timeout if there is one.
@@ -182,17 +192,20 @@ class TimeoutManager {
                     if (!isSetTimeout) {
                         break;
                     }
-                    result = (pendingTimeouts.remove(localTID) != null);
-                    if (!result) {
-                        result = (indoubtTimeouts.remove(localTID) != null);
+                    timeoutInfo = (TimeoutInfo) pendingTimeouts.remove(localTID);
+                    if (timeoutInfo == null) {
+                        timeoutInfo = (TimeoutInfo) indoubtTimeouts.remove(localTID);
+                    }
+                    result = (timeoutInfo != null);
+                    if (result) {
+                        timeoutInfo.cancel();
                     }
 
                     // If the transaction service is quiescing and
                     // there are no more pending timeouts,
-                    // deactivate timeout and stop the timeout thread.
+                    // deactivate timeout.
 
                     if (quiescing && pendingTimeouts.isEmpty() && indoubtTimeouts.isEmpty()) {
-                        timeoutThread.stop();
                         timeoutActive = false;
                         // pendingTimeouts = null;
                     }
@@ -206,6 +219,52 @@ class TimeoutManager {
         return result;
     }
 
+    /**
+     * Registers the timeout for the transaction, replacing its previous
+     * timeout of the same type, and schedules it with the timeout wheel.
+     *
+     * @param timeouts     The table of timeouts of the type.
+     * @param timeoutInfo  The new timeout.
+     * @param delay        The delay in milliseconds.
+     *
+     * @return
+     *
+     * @see
+     */
+    private static void addTimeout(Hashtable timeouts, TimeoutInfo timeoutInfo, long delay) {
+        TimeoutInfo previous = (TimeoutInfo) timeouts.put(timeoutInfo.localTID, timeoutInfo);
+        if (previous != null) {
+            previous.cancel();
+        }
+        TimeoutWheel.getInstance().schedule(timeoutInfo, delay);
+    }
+
+    /**
+     * Called by an expiration thread of the timeout wheel when a timeout expires.
+     * <p>
+     * The Coordinator removes its timeout when it has finished.  Until then the
+     * timeout fires again after the retry interval, so that an in-doubt
+     * transaction keeps trying to get its outcome.
+     *
+     * @param timeoutInfo  The expired timeout.
+     *
+     * @return
+     *
+     * @see
+     */
+    static void timeoutExpired(TimeoutInfo timeoutInfo) {
+        if (!timeoutActive) {
+            return;
+        }
+
+        timeoutCoordinator(timeoutInfo.localTID, timeoutInfo.timeoutType);
+
+        Hashtable timeouts = timeoutInfo.timeoutType == ACTIVE_TIMEOUT ? pendingTimeouts : indoubtTimeouts;
+        if (timeoutActive && timeouts != null && timeouts.get(timeoutInfo.localTID) == timeoutInfo) {
+            TimeoutWheel.getInstance().schedule(timeoutInfo, retryInterval);
+        }
+    }
+
     /**
      * Takes appropriate action for a timeout.
      * <p>
@@ -322,103 +381,6 @@ class TimeoutManager {
         }
     }
 
-    /**
-     * Periodically checks the existing timeouts.
-     * <p>
-     * This is done to discover if any transactions have overrun their allotted
-     * time.  Those which have are returned as an Enumeration.
-     * <p>
-     * Note that this method should not do anything that will cause a
-     * synchronized method in the RecoveryManager to be called, as this could
-     * cause a deadlock when RecoveryManager methods on other threads call
-     * setTimeout.
-     *
-     * @param
-     *
-     * @return  The information for transactions which have timed out.
-     *
-     * @see
-     */
-     static Enumeration checkTimeouts() {
-        if (!isSetTimeout) {
-            return null;
-        }
-
-        Enumeration result = null;
-
-        // When woken up, go through all current timeouts and identify those
-        // which have expired.
-
-        if (timeoutActive && (pendingTimeouts.size() != 0 || indoubtTimeouts.size() != 0)) {
-            Vector timedOut = null;
-
-            Enumeration timeouts = null;
-
-            synchronized (pendingTimeouts) {
-                timeouts = pendingTimeouts.elements();
-
-                while (timeouts.hasMoreElements()) {
-
-                    TimeoutInfo timeoutInfo = (TimeoutInfo)timeouts.nextElement();
-
-                    // For each timeout in the list, check whether it has expired.
-                    // If so, look up the Coordinator and roll it back.
-
-                    if (new Date().getTime() > timeoutInfo.expireTime) {
-
-                       // Add the TimeoutInfo to the queue of
-                       //those that have timed out.
-
-                       if (timedOut == null) {
-                           timedOut = new Vector();
-                       }
-
-                       timedOut.addElement(timeoutInfo);
-                    }
-               }
-            }
-
-            synchronized (indoubtTimeouts) {
-
-                timeouts = indoubtTimeouts.elements();
-
-                while (timeouts.hasMoreElements()) {
-
-                    TimeoutInfo timeoutInfo = (TimeoutInfo)timeouts.nextElement();
-
-                    // For each timeout in the list, check whether it has expired.
-                    // If so, look up the Coordinator and roll it back.
-
-                    if (new Date().getTime() > timeoutInfo.expireTime) {
-
-                        // Add the TimeoutInfo to the queue of
-                        //those that have timed out.
-
-                        if (timedOut == null) {
-                            timedOut = new Vector();
-                        }
-
-                        timedOut.addElement(timeoutInfo);
-                    }
-                }
-
-            }
-            // Enumerate the transactions which have timed out.
-
-            if (timedOut != null) {
-                result = timedOut.elements();
-            }
-        }
-
-        // The remainder of the timeout processing is not carried out here
-        // because we would get deadlocked with addCoordinator or
-        // removeCoordinator that also update the timeout list.  Hence the
-        // returned enumeration, which may be processed with
-        // no concurrency control.
-
-        return result;
-    }
-
     /**
      * @return a set of in-doubt transaction ids.
      */
@@ -481,10 +443,10 @@ class TimeoutManager {
 
     /**
      * Informs the TimeoutManager that the transaction service
-     * is being shut down. For immediate shutdown, the timeout thread is
-     * stopped and all timeout information discarded.
+     * is being shut down. For immediate shutdown, the timeouts are
+     * cancelled and all timeout information discarded.
      *
-     * For quiesce, the timeout thread is stopped when there are no running
+     * For quiesce, the timeouts are deactivated when there are no running
      * transactions left.
      *
      * @param immediate  Indicates whether to stop immediately.
@@ -495,29 +457,36 @@ class TimeoutManager {
      */
     static void shutdown(boolean immediate) {
 
-        // For immediate, kill the timeout thread and throw
+        // For immediate, cancel the timeouts and throw
         // away all information. Also, if there are no pending
         // timeouts, there is nothing to quiesce so
         // shutdown immediately regardless.
 
         if (immediate ||
             pendingTimeouts == null || pendingTimeouts.isEmpty()) {
-            if (timeoutThread != null) {
-                timeoutThread.stop();
-            }
+            timeoutActive = false;
 
             if (pendingTimeouts != null) {
+                cancelTimeouts(pendingTimeouts);
                 pendingTimeouts.clear();
             }
+            cancelTimeouts(indoubtTimeouts);
 
             pendingTimeouts = null;
-            timeoutThread = null;
-            timeoutActive = false;
         } else {
             quiescing = true;
         }
     }
 
+    private static void cancelTimeouts(Hashtable timeouts) {
+        synchronized (timeouts) {
+            Iterator iterator = timeouts.values().iterator();
+            while (iterator.hasNext()) {
+                ((TimeoutInfo) iterator.next()).cancel();
+            }
+        }
+    }
+
     /**
      * Reports the contents of the TimeoutManager tables.
      *$Only required for debug.
@@ -579,105 +548,24 @@ class TimeoutManager {
 //   0.1   SAJH   Initial implementation.
 //----------------------------------------------------------------------------
 
-class TimeoutInfo extends Object {
+class TimeoutInfo extends TimeoutWheel.Timeout {
     Long localTID = null;
     long expireTime = 0;
     int  timeoutType = TimeoutManager.NO_TIMEOUT;
-}
-
-/**
- * This class represents a thread on which the TimeoutManager can perform
- * timeout checking.
- *
- * @version 0.01
- *
- * @author Simon Holdsworth, IBM Corporation
- *
- * @see
- */
-
-//----------------------------------------------------------------------------
-// CHANGE HISTORY
-//
-// Version By     Change Description
-//   0.01  SAJH   Initial implementation.
-//----------------------------------------------------------------------------
-
-class TimeoutThread extends Thread {
-
-    private int TIMEOUT_INTERVAL ;
-
-    static Logger _logger = LogDomains.getLogger(TimeoutThread.class, LogDomains.TRANSACTION_LOGGER);
 
     /**
-     * TimeoutThread constructor.
-     * <p>
-     * This sets the thread name, and sets the thread to be a daemon thread so
-     * that it does not prevent the process from terminating.
-     *
-     * @param
-     * @return
-     * @see
+     * Called by the timeout wheel at the expiration time.
      */
-    TimeoutThread() {
-        setName("JTS Timeout Thread"/* #Frozen */);
-        setDaemon(true);
-        try {
-            String timeout_interval = Configuration.getPropertyValue(Configuration.TIMEOUT_INTERVAL);
-            if (timeout_interval != null) {
-                TIMEOUT_INTERVAL = Integer.parseInt(timeout_interval);
-                TIMEOUT_INTERVAL *= 1000;
-                if (TIMEOUT_INTERVAL < 10000)
-                    TIMEOUT_INTERVAL = 10000;
-            } else {
-                TIMEOUT_INTERVAL = 10000;
-            }
-        } catch (Exception e) {
-            TIMEOUT_INTERVAL = 10000;
-        }
+    @Override
+    public void run() {
+        TimeoutManager.timeoutExpired(this);
     }
 
     /**
-     * Performs timeout checking on a regular basis (every ten seconds or so).
-     *
-     * @param
-     *
-     * @return
-     *
-     * @see
+     * The coordinator may make remote calls, so the wheel runs the timeout off its ticker thread.
      */
-    public void run() {
-        try {
-            while (true) {
-
-                // Sleep for a while between checks.
-
-                Thread.sleep(TIMEOUT_INTERVAL);
-
-                // Perform timeout checks, getting a list of timed-out
-                // transactions.
-
-                Enumeration timedOut = TimeoutManager.checkTimeouts();
-
-                // Now we must go through the list, telling each
-                // timed-out Coordinator to do something appropriate.
-
-                if (timedOut != null) {
-                    while (timedOut.hasMoreElements()) {
-                        TimeoutInfo timeoutInfo = (TimeoutInfo) timedOut.nextElement();
-
-                        // Look up the Coordinator and tell it to roll back
-                        // if it still exists. Note that we rely on the
-                        // Coordinator calling removeCoordinator when it
-                        // has finished, which will remove the timeout from
-                        // the list, and remove other associations as well.
-
-                        TimeoutManager.timeoutCoordinator(timeoutInfo.localTID, timeoutInfo.timeoutType);
-                    }
-                }
-            }
-        } catch (InterruptedException exc) {
-            _logger.log(Level.INFO,"jts.time_out_thread_stopped");
-        }
+    @Override
+    protected boolean isBlocking() {
+        return true;
     }
 }
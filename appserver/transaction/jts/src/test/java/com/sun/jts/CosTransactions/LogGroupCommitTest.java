@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+public class LogGroupCommitTest {
+
+    private static final int THREADS = 8;
+    private static final int FORCES_PER_THREAD = 20;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void concurrentForcesAreBatched() throws Exception {
+        AtomicInteger flushes = new AtomicInteger();
+        LogHandle handle = new LogHandle(null, "test", null, null) {
+            @Override
+            synchronized LogFileHandle[] flushExtents() {
+                flushes.incrementAndGet();
+                try {
+                    Thread.sleep(5L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new LogFileHandle[0];
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < FORCES_PER_THREAD; j++) {
+                        handle.groupCommit.force();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get(30L, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        LogGroupCommit groupCommit = handle.groupCommit;
+        assertAll(
+            () -> assertEquals(THREADS * FORCES_PER_THREAD, groupCommit.getForcedRecordCount()),
+            () -> assertEquals(flushes.get(), groupCommit.getBatchCount()),
+            () -> assertThat(groupCommit.getBatchCount(), lessThan((long) THREADS * FORCES_PER_THREAD)),
+            () -> assertThat(groupCommit.getMaxBatchSize(), greaterThan(1L)),
+            () -> assertThat(groupCommit.getMaxForceTime(TimeUnit.NANOSECONDS), greaterThan(0L))
+        );
+    }
+
+
+    @Test
+    public void failedForceIsReportedToTheWaiters() throws Exception {
+        AtomicInteger flushes = new AtomicInteger();
+        LogHandle handle = new LogHandle(null, "test", null, null) {
+            @Override
+            synchronized LogFileHandle[] flushExtents() throws LogException {
+                if (flushes.incrementAndGet() == 1) {
+                    throw new LogException(LogException.LOG_WRITE_FAILURE, 1, "disk full", null);
+                }
+                return new LogFileHandle[0];
+            }
+        };
+
+        LogException exception = assertThrows(LogException.class, handle.groupCommit::force);
+        assertEquals(LogException.LOG_ERROR_FORCING_LOG, exception.errorCode);
+
+        handle.groupCommit.force();
+        assertAll(
+            () -> assertEquals(2, flushes.get()),
+            () -> assertEquals(1L, handle.groupCommit.getBatchCount()),
+            () -> assertEquals(2L, handle.groupCommit.getForcedRecordCount())
+        );
+    }
+
+
+    @Test
+    public void flushedDataIsForcedToTheFile() throws Exception {
+        File file = tempDir.resolve("extent.1").toFile();
+        byte[] record = "committed".getBytes(StandardCharsets.US_ASCII);
+        LogFileHandle fileHandle = new LogFileHandle(file, LogFileHandle.OPEN_RDWR | LogFileHandle.OPEN_CREAT);
+        fileHandle.fileWrite(record);
+        assertEquals(0L, file.length());
+
+        fileHandle.fileFlush();
+        fileHandle.fileForce();
+        assertArrayEquals(record, Files.readAllBytes(file.toPath()));
+
+        fileHandle.fileClose();
+        fileHandle.fileForce();
+    }
+
+
+    @Test
+    public void controlFileWrittenBetweenFlushAndForceForcesTheExtents() throws Exception {
+        List<String> events = new ArrayList<>();
+        File extentFile = tempDir.resolve("log.1").toFile();
+        LogFileHandle extentHandle = new LogFileHandle(extentFile, LogFileHandle.OPEN_RDWR | LogFileHandle.OPEN_CREAT) {
+            @Override
+            synchronized void fileForce() throws LogException {
+                events.add("force extent");
+                super.fileForce();
+            }
+        };
+        File controlFile = tempDir.resolve("log.control").toFile();
+        LogFileHandle controlHandle = new LogFileHandle(controlFile, LogFileHandle.OPEN_RDWR | LogFileHandle.OPEN_CREAT) {
+            @Override
+            int fileWrite(byte[] buffer) throws LogException {
+                events.add("write control");
+                return super.fileWrite(buffer);
+            }
+        };
+        LogHandle handle = new LogHandle(null, "test", controlHandle, null);
+        LogExtent extent = new LogExtent(1, extentHandle, extentFile);
+        handle.extentTable.put(1, extent);
+
+        byte[] record = "committed".getBytes(StandardCharsets.US_ASCII);
+        extentHandle.fileWrite(record);
+        extent.writtenSinceLastForce = true;
+
+        // the group commit flushed the extent, but did not force it yet
+        LogFileHandle[] flushed = handle.flushExtents();
+        handle.writeControlFile();
+        assertEquals(List.of("force extent", "write control"), events);
+
+        for (LogFileHandle fileHandle : flushed) {
+            fileHandle.fileForce();
+        }
+        assertArrayEquals(record, Files.readAllBytes(extentFile.toPath()));
+        extentHandle.fileClose();
+        controlHandle.fileClose();
+    }
+}
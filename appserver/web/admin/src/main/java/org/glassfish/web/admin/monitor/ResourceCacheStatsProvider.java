@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.admin.monitor;
+
+import java.util.function.Supplier;
+
+import org.apache.naming.resources.ResourceCache;
+import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.external.statistics.impl.StatisticImpl;
+import org.glassfish.gmbal.AMXMetadata;
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedObject;
+
+/**
+ * Provides the monitoring data of the static resource cache of a web module.
+ * The values are read from the cache when they are requested, the cache
+ * itself is replaced whenever the web module is restarted.
+ */
+@AMXMetadata(type="resource-cache-mon", group="monitoring")
+@ManagedObject
+@Description("Web Module Static Resource Cache Statistics")
+public class ResourceCacheStatsProvider {
+
+    private static final String HIT_COUNT_DESCRIPTION =
+        "Number of lookups of static resources served by the cache";
+    private static final String MISS_COUNT_DESCRIPTION =
+        "Number of lookups of static resources not found in the cache";
+    private static final String EVICTION_COUNT_DESCRIPTION =
+        "Number of resources removed from the cache to make space";
+    private static final String ENTRY_COUNT_DESCRIPTION =
+        "Number of resources in the cache";
+    private static final String CACHE_SIZE_DESCRIPTION =
+        "Current size of the cache in KB";
+
+    private final String moduleName;
+    private final String vsName;
+    private final Supplier<ResourceCache> cacheSupplier;
+
+    private final CountStatisticImpl hitCount;
+    private final CountStatisticImpl missCount;
+    private final CountStatisticImpl evictionCount;
+    private final CountStatisticImpl entryCount;
+    private final CountStatisticImpl cacheSize;
+
+    public ResourceCacheStatsProvider(String moduleName, String vsName,
+            Supplier<ResourceCache> cacheSupplier) {
+        this.moduleName = moduleName;
+        this.vsName = vsName;
+        this.cacheSupplier = cacheSupplier;
+        hitCount = new CountStatisticImpl("HitCount",
+            StatisticImpl.UNIT_COUNT, HIT_COUNT_DESCRIPTION);
+        missCount = new CountStatisticImpl("MissCount",
+            StatisticImpl.UNIT_COUNT, MISS_COUNT_DESCRIPTION);
+        evictionCount = new CountStatisticImpl("EvictionCount",
+            StatisticImpl.UNIT_COUNT, EVICTION_COUNT_DESCRIPTION);
+        entryCount = new CountStatisticImpl("EntryCount",
+            StatisticImpl.UNIT_COUNT, ENTRY_COUNT_DESCRIPTION);
+        cacheSize = new CountStatisticImpl("CacheSize",
+            "KB", CACHE_SIZE_DESCRIPTION);
+    }
+
+    @ManagedAttribute(id="hitcount")
+    @Description(HIT_COUNT_DESCRIPTION)
+    public CountStatistic getHitCount() {
+        ResourceCache cache = cacheSupplier.get();
+        hitCount.setCount(cache == null ? 0L : cache.getHitsCount());
+        return hitCount;
+    }
+
+    @ManagedAttribute(id="misscount")
+    @Description(MISS_COUNT_DESCRIPTION)
+    public CountStatistic getMissCount() {
+        ResourceCache cache = cacheSupplier.get();
+        missCount.setCount(cache == null ? 0L : cache.getMissCount());
+        return missCount;
+    }
+
+    @ManagedAttribute(id="evictioncount")
+    @Description(EVICTION_COUNT_DESCRIPTION)
+    public CountStatistic getEvictionCount() {
+        ResourceCache cache = cacheSupplier.get();
+        evictionCount.setCount(cache == null ? 0L : cache.getEvictionCount());
+        return evictionCount;
+    }
+
+    @ManagedAttribute(id="entrycount")
+    @Description(ENTRY_COUNT_DESCRIPTION)
+    public CountStatistic getEntryCount() {
+        ResourceCache cache = cacheSupplier.get();
+        entryCount.setCount(cache == null ? 0L : cache.getEntryCount());
+        return entryCount;
+    }
+
+    @ManagedAttribute(id="cachesize")
+    @Description(CACHE_SIZE_DESCRIPTION)
+    public CountStatistic getCacheSize() {
+        ResourceCache cache = cacheSupplier.get();
+        cacheSize.setCount(cache == null ? 0L : cache.getCacheSize());
+        return cacheSize;
+    }
+
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    public String getVSName() {
+        return vsName;
+    }
+}
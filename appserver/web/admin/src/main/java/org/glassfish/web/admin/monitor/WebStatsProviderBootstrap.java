@@ -27,6 +27,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.apache.naming.resources.ResourceCache;
 import org.glassfish.external.probe.provider.PluginPoint;
 import org.glassfish.external.probe.provider.StatsProviderManager;
 import jakarta.inject.Inject;
@@ -89,6 +91,12 @@ public class WebStatsProviderBootstrap implements PostConstruct {
 
     public void registerApplicationStatsProviders(String monitoringName,
             String vsName, List<String> servletNames) {
+        registerApplicationStatsProviders(monitoringName, vsName, servletNames, null);
+    }
+
+    public void registerApplicationStatsProviders(String monitoringName,
+            String vsName, List<String> servletNames,
+            Supplier<ResourceCache> resourceCacheSupplier) {
 
         // try register again as it may be unregistered
         registerWebStatsProviders();
@@ -151,6 +159,16 @@ public class WebStatsProviderBootstrap implements PostConstruct {
         }
 
         statspList.add(websp);
+
+        if (resourceCacheSupplier != null) {
+            ResourceCacheStatsProvider resourceCacheStatsProvider =
+                    new ResourceCacheStatsProvider(monitoringName, vsName,
+                        resourceCacheSupplier);
+            StatsProviderManager.register(
+                    "web-container", PluginPoint.APPLICATIONS, node,
+                    resourceCacheStatsProvider);
+            statspList.add(resourceCacheStatsProvider);
+        }
     }
 
     public void unregisterApplicationStatsProviders(String monitoringName,
@@ -142,6 +142,11 @@ public class WebappClassLoader extends GlassfishUrlClassLoader
 
     private static final ResourceBundle rb = logger.getResourceBundle();
 
+    static {
+        // loadClass locks per class name instead of the whole class loader
+        registerAsParallelCapable();
+    }
+
     private static final Function<String, String> PACKAGE_TO_PATH = pkg -> pkg.replace('.', '/');
 
     /**
@@ -969,7 +974,7 @@ public class WebappClassLoader extends GlassfishUrlClassLoader
                 // Create the code source object
                 CodeSource codeSource =
                     new CodeSource(entry.codeBase, entry.certificates);
-                synchronized (this) {
+                synchronized (getClassLoadingLock(name)) {
                     if (entry.loadedClass == null) {
                         /* START GlassFish [680]
                         clazz = defineClass(name, entry.binaryContent, 0,
@@ -1361,7 +1366,7 @@ public class WebappClassLoader extends GlassfishUrlClassLoader
      * @exception ClassNotFoundException if the class was not found
      */
     @Override
-    protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
         if (name == null) {
             return null;
         }
@@ -1372,6 +1377,14 @@ public class WebappClassLoader extends GlassfishUrlClassLoader
             throw new IllegalStateException(getString(LogFacade.NOT_STARTED, name));
         }
 
+        synchronized (getClassLoadingLock(name)) {
+            return loadClassUnderLock(name, resolve);
+        }
+    }
+
+
+    private Class<?> loadClassUnderLock(String name, boolean resolve) throws ClassNotFoundException {
+
         // (0) Check our previously loaded local class cache
         Class<?> clazz = findLoadedClass0(name);
         if (clazz != null) {
@@ -2335,15 +2348,17 @@ public class WebappClassLoader extends GlassfishUrlClassLoader
             throw new ClassNotFoundException(name);
         }
 
-        synchronized (this) {
-            Class<?> clazz = entry.loadedClass;
-            if (clazz != null) {
-                return entry;
-            }
+        // loadedClass is volatile and binaryContent is cleared after loadedClass was set
+        if (entry.loadedClass != null) {
+            return entry;
+        }
 
-            if (entry.binaryContent == null) {
-                throw new ClassNotFoundException(name);
+        if (entry.binaryContent == null) {
+            // another thread may have just defined the class
+            if (entry.loadedClass != null) {
+                return entry;
             }
+            throw new ClassNotFoundException(name);
         }
 
         // Looking up the package
@@ -2788,9 +2803,7 @@ public class WebappClassLoader extends GlassfishUrlClassLoader
 
         ResourceEntry entry = resourceEntries.get(name);
         if (entry != null) {
-            synchronized(this) {
-                return entry.loadedClass;
-            }
+            return entry.loadedClass;
         }
         return null;  // FIXME - findLoadedResource()
 
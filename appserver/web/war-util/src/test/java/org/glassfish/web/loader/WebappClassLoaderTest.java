@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.loader;
+
+import java.io.InputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WebappClassLoaderTest {
+
+    private static final String PROBE_CLASS = Probe.class.getName();
+    private static final String PROBE_PATH = PROBE_CLASS.replace('.', '/') + ".class";
+
+    private GeneratingClassLoader loader;
+
+    @BeforeEach
+    public void startLoader() {
+        // the platform class loader doesn't see the test classes
+        loader = new GeneratingClassLoader(ClassLoader.getPlatformClassLoader());
+        loader.start();
+    }
+
+
+    @AfterEach
+    public void closeLoader() throws Exception {
+        loader.close();
+    }
+
+
+    @Test
+    public void parallelCapable() throws Exception {
+        try (WebappClassLoader webappLoader = new WebappClassLoader()) {
+            assertTrue(webappLoader.isRegisteredAsParallelCapable());
+        }
+    }
+
+
+    @Test
+    public void classAddedToParentIsFound() throws Exception {
+        GrowingClassLoader parent = new GrowingClassLoader();
+        try (WebappClassLoader webappLoader = new WebappClassLoader(parent)) {
+            webappLoader.start();
+            assertThrows(ClassNotFoundException.class, () -> webappLoader.loadClass(PROBE_CLASS));
+
+            parent.probeAvailable = true;
+            Class<?> probe = webappLoader.loadClass(PROBE_CLASS);
+            assertSame(parent, probe.getClassLoader());
+        }
+    }
+
+
+    @Test
+    public void classDefinedAfterNotFoundIsLoaded() throws Exception {
+        // class generators first try to load the class, then define it
+        assertThrows(ClassNotFoundException.class, () -> loader.loadClass(PROBE_CLASS));
+        Class<?> generated = loader.define(PROBE_CLASS, readProbe());
+        assertAll(
+            () -> assertSame(generated, loader.loadClass(PROBE_CLASS)),
+            () -> assertSame(generated, loader.loadClass(PROBE_CLASS, true)),
+            () -> assertSame(loader, generated.getClassLoader())
+        );
+    }
+
+
+    private static byte[] readProbe() throws Exception {
+        try (InputStream input = Probe.class.getClassLoader().getResourceAsStream(PROBE_PATH)) {
+            assertNotNull(input);
+            return input.readAllBytes();
+        }
+    }
+
+
+    public static class Probe {
+    }
+
+
+    /** Parent which gains the probe class later, like a delegating class loader. */
+    private static class GrowingClassLoader extends ClassLoader {
+
+        volatile boolean probeAvailable;
+
+        GrowingClassLoader() {
+            super(ClassLoader.getPlatformClassLoader());
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            if (!probeAvailable || !PROBE_CLASS.equals(name)) {
+                throw new ClassNotFoundException(name);
+            }
+            try {
+                byte[] bytes = readProbe();
+                return defineClass(name, bytes, 0, bytes.length);
+            } catch (Exception e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+
+
+    private static class GeneratingClassLoader extends WebappClassLoader {
+
+        GeneratingClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
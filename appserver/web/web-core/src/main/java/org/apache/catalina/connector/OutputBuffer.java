@@ -17,6 +17,7 @@
 
 package org.apache.catalina.connector;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
 import java.nio.channels.InterruptedByTimeoutException;
@@ -422,6 +423,37 @@ public class OutputBuffer extends Writer
     }
 
 
+    /**
+     * True if the connector supports sendfile for this response and
+     * nothing has been added to the buffer yet.
+     */
+    public boolean isSendfileEnabled() {
+        return !suspended && isNew() && grizzlyOutputBuffer.isSendfileEnabled();
+    }
+
+
+    /**
+     * Hands a region of the given file to the connector, which transfers it
+     * to the client with <code>FileChannel.transferTo</code> without copying
+     * it through the heap. The content length is set to the length of the
+     * region and the headers are flushed; the connector completes the
+     * response once the region has been written.
+     *
+     * @param file The file to send
+     * @param offset Offset of the first byte of the region
+     * @param length Length of the region
+     *
+     * @throws IOException An underlying IOException occurred
+     */
+    public void sendfile(File file, long offset, long length)
+        throws IOException {
+
+        grizzlyOutputBuffer.sendfile(file, offset, length, null);
+        bytesWritten += (int) Math.min(length, Integer.MAX_VALUE - bytesWritten);
+
+    }
+
+
     public void setBufferSize(int size) {
         if (size > grizzlyOutputBuffer.getBufferSize()) {
             grizzlyOutputBuffer.setBufferSize(size);
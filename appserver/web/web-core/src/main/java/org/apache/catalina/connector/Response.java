@@ -33,6 +33,7 @@ import static org.glassfish.common.util.InputValidationUtil.getSafeHeaderName;
 import static org.glassfish.common.util.InputValidationUtil.getSafeHeaderValue;
 import static org.glassfish.web.util.HtmlEntityEncoder.encodeXSS;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintWriter;
@@ -620,6 +621,26 @@ public class Response implements HttpResponse, HttpServletResponse {
         return outputStream;
     }
 
+    /**
+     * Send a region of the given file to the client with sendfile, if the
+     * connector supports it and nothing has been written to this response yet.
+     *
+     * @param file The file to send
+     * @param offset Offset of the first byte of the region
+     * @param length Length of the region
+     * @return <code>true</code> if the region has been handed to the connector,
+     *         <code>false</code> if the caller has to write the content itself
+     * @exception IOException if an input/output error occurs
+     */
+    public boolean sendfile(File file, long offset, long length) throws IOException {
+        if (included || usingWriter || isCommitted() || !outputBuffer.isSendfileEnabled()) {
+            return false;
+        }
+
+        outputBuffer.sendfile(file, offset, length);
+        return true;
+    }
+
     /**
      * Return the Locale assigned to this response.
      */
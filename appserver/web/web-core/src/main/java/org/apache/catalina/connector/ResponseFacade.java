@@ -20,6 +20,7 @@ package org.apache.catalina.connector;
 
 import static org.apache.catalina.LogFacade.NULL_RESPONSE_OBJECT;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
@@ -136,6 +137,21 @@ public class ResponseFacade implements HttpServletResponse {
         return sos;
     }
 
+    /**
+     * Send a region of the given file to the client with sendfile.
+     *
+     * @see Response#sendfile(File, long, long)
+     */
+    public boolean sendfile(File file, long offset, long length) throws IOException {
+        checkResponseNull();
+
+        if (isFinished()) {
+            return false;
+        }
+
+        return response.sendfile(file, offset, length);
+    }
+
     @Override
     public PrintWriter getWriter() throws IOException {
         checkResponseNull();
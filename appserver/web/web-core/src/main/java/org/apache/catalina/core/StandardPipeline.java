@@ -148,6 +148,12 @@ public class StandardPipeline
     // in the pipeline, if any
     private Valve lastTcValve;
 
+    /**
+     * The valves of this pipeline as they are invoked by a request, compiled
+     * whenever a valve is added or removed or the basic valve is changed.
+     */
+    private volatile Chain chain = new Chain(this);
+
 
     // --------------------------------------------------------- Public Methods
 
@@ -387,6 +393,7 @@ public class StandardPipeline
 
         synchronized (this) {
             this.basic = valve;
+            compile();
         }
 
     }
@@ -439,10 +446,13 @@ public class StandardPipeline
         }
 
         // Add this Valve to the set associated with this Pipeline
-        GlassFishValve results[] = new GlassFishValve[valves.length +1];
-        System.arraycopy(valves, 0, results, 0, valves.length);
-        results[valves.length] = valve;
-        valves = results;
+        synchronized (this) {
+            GlassFishValve results[] = new GlassFishValve[valves.length +1];
+            System.arraycopy(valves, 0, results, 0, valves.length);
+            results[valves.length] = valve;
+            valves = results;
+            compile();
+        }
     }
 
 
@@ -492,6 +502,8 @@ public class StandardPipeline
         if (basic != null) {
             valve.setNext((Valve) basic);
         }
+
+        compile();
     }
 
 
@@ -516,7 +528,7 @@ public class StandardPipeline
      * otherwise
      */
     public boolean hasNonBasicValves() {
-        return ((valves != null && valves.length > 0) || firstTcValve != null);
+        return chain.hasNonBasicValves;
     }
 
 
@@ -558,79 +570,77 @@ public class StandardPipeline
     private void doInvoke(Request request, Response response, boolean chaining)
             throws IOException, ServletException {
 
-        if ((valves.length > 0) || (basic != null)) {
-            // Set the status so that if there are no valves (other than the
-            // basic one), the basic valve's request processing logic will
-            // be invoked
-            int status = GlassFishValve.INVOKE_NEXT;
-
-            // Iterate over all the valves in the pipeline and invoke
-            // each valve's processing logic and then move onto to the
-            // next valve in the pipeline only if the previous valve indicated
-            // that the pipeline should proceed.
-            int i;
-            for (i = 0; i < valves.length; i++) {
-                Request req = request;
-                Response resp = response;
-                if (chaining) {
-                    req = getRequest(request);
-                    resp = getResponse(request, response);
-                }
-                status = valves[i].invoke(req, resp);
-                if (status != GlassFishValve.INVOKE_NEXT)
-                    break;
-            }
+        // The compiled chain is immutable, so postInvoke() is invoked on the
+        // same valves as invoke(), even if a valve gets added or removed
+        // during the invocation of the basic valve (e.g., in case access
+        // logging is enabled or disabled by some kind of admin servlet)
+        final Chain chain = this.chain;
+        final GlassFishValve[] chainValves = chain.valves;
+        if ((chainValves.length == 0) && (chain.basic == null)) {
+            throw new ServletException
+                    (rb.getString(LogFacade.NO_VALVES_IN_PIPELINE_EXCEPTION));
+        }
 
-            // Save a reference to the valve[], to ensure that postInvoke()
-            // is invoked on the original valve[], in case a valve gets added
-            // or removed during the invocation of the basic valve (e.g.,
-            // in case access logging is enabled or disabled by some kind of
-            // admin servlet), in which case the indices used for postInvoke
-            // invocations below would be off
-            GlassFishValve[] savedValves = valves;
-
-            // Invoke the basic valve's request processing and post-request
-            // logic only if the pipeline was not aborted (i.e. no valve
-            // returned END_PIPELINE).
-            // In addition, the basic valve needs to be invoked by the
-            // pipeline only if no Tomcat-style valves have been added.
-            // Otherwise, it will be invoked by the last Tomcat-style valve
-            // directly.
-            if (status == GlassFishValve.INVOKE_NEXT) {
-                if (firstTcValve != null) {
-                    firstTcValve.invoke(
-                        (org.apache.catalina.connector.Request) request,
-                        (org.apache.catalina.connector.Response) response);
-                } else if (basic != null) {
-                    Request req = request;
-                    Response resp = response;
-                    if (chaining) {
-                        req = getRequest(request);
-                        resp = getResponse(request, response);
-                    }
-                    basic.invoke(req, resp);
-                    basic.postInvoke(req, resp);
-                }
+        Request valveRequest = request;
+        Response valveResponse = response;
+
+        // Set the status so that if there are no valves (other than the
+        // basic one), the basic valve's request processing logic will
+        // be invoked
+        int status = GlassFishValve.INVOKE_NEXT;
+
+        // Iterate over all the valves in the pipeline and invoke
+        // each valve's processing logic and then move onto to the
+        // next valve in the pipeline only if the previous valve indicated
+        // that the pipeline should proceed.
+        int i;
+        for (i = 0; i < chainValves.length; i++) {
+            if (chaining) {
+                valveRequest = getRequest(request);
+                valveResponse = getResponse(request, response);
             }
+            status = chainValves[i].invoke(valveRequest, valveResponse);
+            if (status != GlassFishValve.INVOKE_NEXT)
+                break;
+        }
 
-            // Invoke the post-request processing logic only on those valves
-            // that returned a status of INVOKE_NEXT
-            for (int j = i - 1; j >= 0; j--) {
-                Request req = request;
-                Response resp = response;
+        // Invoke the basic valve's request processing and post-request
+        // logic only if the pipeline was not aborted (i.e. no valve
+        // returned END_PIPELINE).
+        // In addition, the basic valve needs to be invoked by the
+        // pipeline only if no Tomcat-style valves have been added.
+        // Otherwise, it will be invoked by the last Tomcat-style valve
+        // directly.
+        if (status == GlassFishValve.INVOKE_NEXT) {
+            if (chain.firstTcValve != null) {
+                chain.firstTcValve.invoke(
+                    (org.apache.catalina.connector.Request) request,
+                    (org.apache.catalina.connector.Response) response);
+            } else if (chain.basic != null) {
                 if (chaining) {
-                    req = getRequest(request);
-                    resp = getResponse(request, response);
+                    valveRequest = getRequest(request);
+                    valveResponse = getResponse(request, response);
+                }
+                chain.basic.invoke(valveRequest, valveResponse);
+                if (chain.basicPostInvoke) {
+                    chain.basic.postInvoke(valveRequest, valveResponse);
                 }
-
-                savedValves[j].postInvoke(req, resp);
             }
+        }
 
-            savedValves = null;
-
-        } else {
-            throw new ServletException
-                    (rb.getString(LogFacade.NO_VALVES_IN_PIPELINE_EXCEPTION));
+        // Invoke the post-request processing logic only on those valves
+        // that returned a status of INVOKE_NEXT, skipping the valves which
+        // inherit the no-op implementation
+        final boolean[] postInvoke = chain.postInvoke;
+        for (int j = i - 1; j >= 0; j--) {
+            if (!postInvoke[j]) {
+                continue;
+            }
+            if (chaining) {
+                valveRequest = getRequest(request);
+                valveResponse = getResponse(request, response);
+            }
+            chainValves[j].postInvoke(valveRequest, valveResponse);
         }
 
         // Calls the protocol handler's init method if the request is marked to be upgraded
@@ -710,7 +720,10 @@ public class StandardPipeline
                 continue;
             results[n++] = valves[i];
         }
-        valves = results;
+        synchronized (this) {
+            valves = results;
+            compile();
+        }
         try {
             if (valve instanceof Contained)
                 ((Contained) valve).setContainer(null);
@@ -807,6 +820,31 @@ public class StandardPipeline
     // ------------------------------------------------------ Private Methods
 
 
+    /**
+     * Rebuilds the compiled chain from the current valves.
+     */
+    private synchronized void compile() {
+        chain = new Chain(this);
+    }
+
+
+    /*
+     * Checks if the given valve overrides the no-op postInvoke() of
+     * ValveBase, so that the pipeline can skip calling it.
+     */
+    private static boolean hasPostInvoke(GlassFishValve valve) {
+        try {
+            Method m = valve.getClass().getMethod(
+                        "postInvoke",
+                        org.apache.catalina.Request.class,
+                        org.apache.catalina.Response.class);
+            return !ValveBase.class.equals(m.getDeclaringClass());
+        } catch (Exception e) {
+            return true;
+        }
+    }
+
+
     /*
      * Checks if the give valve is a GlassFish-style valve that was compiled
      * against the old org.apache.catalina.Valve interface (from
@@ -834,4 +872,35 @@ public class StandardPipeline
             return false;
         }
     }
+
+
+    // --------------------------------------------------------- Chain Class
+
+
+    /**
+     * Immutable view of the valves of a pipeline, so a request reads the
+     * whole pipeline state with a single volatile read and doesn't call
+     * the post-request logic of valves which don't have any.
+     */
+    private static final class Chain {
+
+        final GlassFishValve[] valves;
+        final boolean[] postInvoke;
+        final Valve firstTcValve;
+        final GlassFishValve basic;
+        final boolean basicPostInvoke;
+        final boolean hasNonBasicValves;
+
+        Chain(StandardPipeline pipeline) {
+            valves = pipeline.valves;
+            postInvoke = new boolean[valves.length];
+            for (int i = 0; i < valves.length; i++) {
+                postInvoke[i] = hasPostInvoke(valves[i]);
+            }
+            firstTcValve = pipeline.firstTcValve;
+            basic = pipeline.basic;
+            basicPostInvoke = (basic != null) && hasPostInvoke(basic);
+            hasNonBasicValves = (valves.length > 0) || (firstTcValve != null);
+        }
+    }
 }
@@ -74,6 +74,7 @@ import javax.xml.transform.stream.StreamSource;
 
 import org.apache.catalina.Globals;
 import org.apache.catalina.LogFacade;
+import org.apache.catalina.connector.ResponseFacade;
 import org.apache.catalina.core.ContextsAdapterUtility;
 import org.apache.catalina.util.ServerInfo;
 import org.apache.catalina.util.URLEncoder;
@@ -239,6 +240,22 @@ public class DefaultServlet
     protected int sendfileSize = 48 * 1024;
 
 
+    /**
+     * Should precompressed variants of static resources (for example
+     * <code>style.css.gz</code> next to <code>style.css</code>) be served to
+     * the clients which accept their content encoding?
+     */
+    protected boolean precompressed = false;
+
+
+    /**
+     * Content encodings of the precompressed variants in order of
+     * preference, with the file extension of each variant.
+     */
+    protected static final String[][] PRECOMPRESSED_ENCODINGS = {
+        { "br", ".br" }, { "gzip", ".gz" } };
+
+
     /**
      * Should the Accept-Ranges: bytes header be send with static resources?
      */
@@ -347,6 +364,8 @@ public class DefaultServlet
                 Integer.parseInt(sc.getInitParameter("sendfileSize")) * 1024;
         }
 
+        precompressed = Boolean.parseBoolean(sc.getInitParameter("precompressed"));
+
         if (sc.getInitParameter("maxHeaderRangeItems") != null) {
             maxHeaderRangeItems =
                 Integer.parseInt(sc.getInitParameter("maxHeaderRangeItems"));
@@ -821,7 +840,8 @@ public class DefaultServlet
             AlternateDocBase match = AlternateDocBase.findMatch(
                                             path, alternateDocBases);
             if (match != null) {
-                cacheEntry = ((ProxyDirContext) ContextsAdapterUtility.unwrap(match.getResources())).lookupCache(path);
+                proxyDirContext = (ProxyDirContext) ContextsAdapterUtility.unwrap(match.getResources());
+                cacheEntry = proxyDirContext.lookupCache(path);
             } else {
                 // None of the url patterns for alternate docbases matched
                 cacheEntry = proxyDirContext.lookupCache(path);
@@ -882,6 +902,24 @@ public class DefaultServlet
             }
         }
 
+        // Serve a precompressed variant the client accepts, if there is one.
+        // The content type is still the one of the requested resource.
+        CacheEntry resourceEntry = cacheEntry;
+        if (precompressed && (cacheEntry.context == null)) {
+            response.addHeader("Vary", "Accept-Encoding");
+            for (String[] encoding : PRECOMPRESSED_ENCODINGS) {
+                if (acceptsEncoding(request, encoding[0])) {
+                    CacheEntry variant = proxyDirContext.lookupVariant(
+                        cacheEntry, encoding[0], encoding[1]);
+                    if (variant != null) {
+                        response.setHeader("Content-Encoding", encoding[0]);
+                        cacheEntry = variant;
+                        break;
+                    }
+                }
+            }
+        }
+
         // Check if the conditions specified in the optional If headers are
         // satisfied.
         if (cacheEntry.context == null) {
@@ -897,10 +935,10 @@ public class DefaultServlet
         }
 
         // Find content type.
-        String contentType = cacheEntry.attributes.getMimeType();
-        if (contentType == null && !cacheEntry.attributes.isMimeTypeInitialized()) {
-            contentType = getServletContext().getMimeType(cacheEntry.name);
-            cacheEntry.attributes.setMimeType(contentType);
+        String contentType = resourceEntry.attributes.getMimeType();
+        if (contentType == null && !resourceEntry.attributes.isMimeTypeInitialized()) {
+            contentType = getServletContext().getMimeType(resourceEntry.name);
+            resourceEntry.attributes.setMimeType(contentType);
         }
 
         ArrayList<Range> ranges = null;
@@ -1928,35 +1966,70 @@ public class DefaultServlet
 
 
     /**
-     * Check if sendfile can be used.
+     * Check if sendfile can be used and, if so, hand the file region
+     * over to the connector, which writes it to the client with
+     * <code>FileChannel.transferTo</code> instead of copying it through
+     * the servlet output stream.
+     *
+     * @return <code>true</code> if the content has been sent
      */
     protected boolean checkSendfile(HttpServletRequest request,
                                   HttpServletResponse response,
                                   CacheEntry entry,
-                                  long length, Range range) {
+                                  long length, Range range)
+        throws IOException {
         if ((sendfileSize > 0)
             && (entry.resource != null)
             && ((length > sendfileSize) || (entry.resource.getContent() == null))
             && (entry.attributes.getCanonicalPath() != null)
-            && (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support")))
+            && !request.isSecure()
+            && !response.containsHeader("Content-Encoding")
             && (request.getClass().getName().equals("org.apache.catalina.connector.RequestFacade"))
             && (response.getClass().getName().equals("org.apache.catalina.connector.ResponseFacade"))) {
-            request.setAttribute("org.apache.tomcat.sendfile.filename", entry.attributes.getCanonicalPath());
-            if (range == null) {
-                request.setAttribute("org.apache.tomcat.sendfile.start", Long.valueOf(0L));
-                request.setAttribute("org.apache.tomcat.sendfile.end", Long.valueOf(length));
-            } else {
-                request.setAttribute("org.apache.tomcat.sendfile.start", Long.valueOf(range.start));
-                request.setAttribute("org.apache.tomcat.sendfile.end", Long.valueOf(range.end + 1));
-            }
-            request.setAttribute("org.apache.tomcat.sendfile.token", this);
-            return true;
+            File file = new File(entry.attributes.getCanonicalPath());
+            long start = (range == null) ? 0L : range.start;
+            return ((ResponseFacade) response).sendfile(file, start, length);
         } else {
             return false;
         }
     }
 
 
+    /**
+     * Check if the request accepts the given content encoding, that is if
+     * it is listed in an Accept-Encoding header with a non zero quality.
+     */
+    protected boolean acceptsEncoding(HttpServletRequest request,
+                                      String encoding) {
+        Enumeration<String> headers = request.getHeaders("Accept-Encoding");
+        while (headers.hasMoreElements()) {
+            StringTokenizer tokenizer =
+                new StringTokenizer(headers.nextElement(), ",");
+            while (tokenizer.hasMoreTokens()) {
+                String token = tokenizer.nextToken();
+                int semicolon = token.indexOf(';');
+                String name = (semicolon < 0) ? token : token.substring(0, semicolon);
+                if (!name.trim().equalsIgnoreCase(encoding)) {
+                    continue;
+                }
+                if (semicolon < 0) {
+                    return true;
+                }
+                String quality = token.substring(semicolon + 1).trim();
+                if (!quality.startsWith("q=")) {
+                    return true;
+                }
+                try {
+                    return Double.parseDouble(quality.substring(2).trim()) > 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+
     /**
      * Check if the if-match condition is satisfied.
      *
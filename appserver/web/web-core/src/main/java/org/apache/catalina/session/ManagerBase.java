@@ -18,7 +18,6 @@
 package org.apache.catalina.session;
 
 import com.sun.enterprise.util.uuid.UuidGenerator;
-import com.sun.enterprise.util.uuid.UuidGeneratorImpl;
 import org.apache.catalina.*;
 import org.apache.catalina.core.StandardContext;
 import org.apache.catalina.core.StandardHost;
@@ -124,15 +123,16 @@ public abstract class ManagerBase implements Manager {
     /**
      * A random number generator to use when generating session identifiers.
      */
-    private Random random = null;
+    private volatile Random random = null;
 
 
     /**
      * The Uuid Generator to be used
      * when generating universally unique session identifiers.
+     * The default generator doesn't serialize concurrent session creation.
      * HERCULES: add
      */
-    protected UuidGenerator uuidGenerator = new UuidGeneratorImpl();
+    protected volatile UuidGenerator uuidGenerator = new StripedSessionIdGenerator();
 
 
     /**
@@ -404,6 +404,10 @@ public abstract class ManagerBase implements Manager {
 
         int oldSessionIdLength = this.sessionIdLength;
         this.sessionIdLength = idLength;
+        if (idLength > 0 && idLength != oldSessionIdLength
+                && uuidGenerator.getClass() == StripedSessionIdGenerator.class) {
+            uuidGenerator = new StripedSessionIdGenerator(idLength, Runtime.getRuntime().availableProcessors() * 2);
+        }
         support.firePropertyChange("sessionIdLength",
                                    Integer.valueOf(oldSessionIdLength),
                                    Integer.valueOf(this.sessionIdLength));
@@ -496,7 +500,18 @@ public abstract class ManagerBase implements Manager {
      * generating session identifiers.  If there is no such generator
      * currently defined, construct and seed a new one.
      */
-    public synchronized Random getRandom() {
+    public Random getRandom() {
+        Random current = this.random;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            return initRandom();
+        }
+    }
+
+
+    private Random initRandom() {
         if (this.random == null) {
             // Calculate the new random number generator seed
             long seed = System.currentTimeMillis();
@@ -506,18 +521,19 @@ public abstract class ManagerBase implements Manager {
                  long update = ((byte) entropy[i]) << ((i % 8) * 8);
                  seed ^= update;
             }
+            Random newRandom;
             try {
                  // Construct and seed a new random number generator
                  Class<?> clazz = Class.forName(randomClass);
-                 this.random = (Random) clazz.newInstance();
-                 this.random.setSeed(seed);
+                 newRandom = (Random) clazz.newInstance();
+                 newRandom.setSeed(seed);
             } catch (Exception e) {
                  // Fall back to the simple case
                 String msg = MessageFormat.format(rb.getString(LogFacade.INIT_RANDOM_NUMBER_GENERATOR_EXCEPTION),
                                                   randomClass);
                  log.log(Level.SEVERE, msg, e);
-                 this.random = new java.util.Random();
-                 this.random.setSeed(seed);
+                 newRandom = new java.util.Random();
+                 newRandom.setSeed(seed);
             }
             long t2=System.currentTimeMillis();
             if( (t2-t1) > 100 )
@@ -526,6 +542,8 @@ public abstract class ManagerBase implements Manager {
                                                        randomClass);
                      log.log(Level.FINE, msg + " " + (t2-t1));
                  }
+            // Publish only the seeded instance
+            this.random = newRandom;
         }
 
         return (this.random);
@@ -910,7 +928,7 @@ public abstract class ManagerBase implements Manager {
      * Generate and return a new session identifier.
      * Hercules:added
      */
-    protected synchronized String generateSessionId(Object obj) {
+    protected String generateSessionId(Object obj) {
         return uuidGenerator.generateUuid(obj);
     }
 
@@ -918,7 +936,7 @@ public abstract class ManagerBase implements Manager {
      * Generate and return a new session identifier.
      * Hercules:modified
      */
-    protected synchronized String generateSessionId() {
+    protected String generateSessionId() {
         return generateSessionId(new Object());
     }
 
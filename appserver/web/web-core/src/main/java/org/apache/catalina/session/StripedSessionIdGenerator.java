@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import com.sun.enterprise.util.uuid.UuidGenerator;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Session identifier generator which doesn't serialize session creation on a single
+ * {@link SecureRandom}.
+ * <p>
+ * Random bytes are taken from several stripes, each with its own {@link SecureRandom}
+ * and a batch of pre-generated bytes, so the generator is called once per
+ * {@value #IDS_PER_BATCH} identifiers. Threads use the stripe chosen by their thread id
+ * and move to another one if it is busy.
+ * <p>
+ * The identifier is the hexadecimal form of <code>idLength</code> random bytes.
+ * The object passed to {@link #generateUuid(Object)} is ignored, uniqueness relies on
+ * the randomness of the identifier.
+ */
+public class StripedSessionIdGenerator implements UuidGenerator {
+
+    private static final int DEFAULT_ID_LENGTH = 16;
+    private static final int IDS_PER_BATCH = 64;
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final Stripe[] stripes;
+    private final int idLength;
+
+    /**
+     * Creates the generator with 16 byte identifiers and two stripes per processor.
+     */
+    public StripedSessionIdGenerator() {
+        this(DEFAULT_ID_LENGTH, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+
+    /**
+     * @param idLength number of random bytes of each identifier
+     * @param stripeCount number of {@link SecureRandom} instances
+     */
+    public StripedSessionIdGenerator(int idLength, int stripeCount) {
+        if (idLength <= 0) {
+            throw new IllegalArgumentException("idLength must be positive: " + idLength);
+        }
+        this.idLength = idLength;
+        this.stripes = new Stripe[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(idLength * IDS_PER_BATCH);
+        }
+    }
+
+
+    @Override
+    public String generateUuid() {
+        char[] id = new char[idLength * 2];
+        Stripe stripe = lockStripe();
+        try {
+            stripe.nextId(id, idLength);
+        } finally {
+            stripe.lock.unlock();
+        }
+        return new String(id);
+    }
+
+
+    @Override
+    public String generateUuid(Object obj) {
+        return generateUuid();
+    }
+
+
+    private Stripe lockStripe() {
+        int home = (int) (Thread.currentThread().getId() % stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe stripe = stripes[(home + i) % stripes.length];
+            if (stripe.lock.tryLock()) {
+                return stripe;
+            }
+        }
+        Stripe stripe = stripes[home];
+        stripe.lock.lock();
+        return stripe;
+    }
+
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final SecureRandom random = new SecureRandom();
+        private final byte[] batch;
+        private int position;
+
+        Stripe(int batchSize) {
+            this.batch = new byte[batchSize];
+            this.position = batchSize;
+        }
+
+
+        void nextId(char[] target, int idLength) {
+            if (position + idLength > batch.length) {
+                random.nextBytes(batch);
+                position = 0;
+            }
+            for (int i = 0; i < idLength; i++) {
+                byte b = batch[position + i];
+                target[i * 2] = HEX[(b >> 4) & 0xF];
+                target[i * 2 + 1] = HEX[b & 0xF];
+            }
+            // Don't keep handed out identifiers in memory.
+            Arrays.fill(batch, position, position + idLength, (byte) 0);
+            position += idLength;
+        }
+    }
+}
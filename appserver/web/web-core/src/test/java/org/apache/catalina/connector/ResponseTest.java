@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.connector;
+
+import java.io.File;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResponseTest {
+
+    private final File file = new File("static.bin");
+
+    private Response response;
+    private OutputBuffer outputBuffer;
+    private org.glassfish.grizzly.http.server.Response grizzlyResponse;
+
+    @BeforeEach
+    public void init() {
+        outputBuffer = createMock(OutputBuffer.class);
+        grizzlyResponse = createNiceMock(org.glassfish.grizzly.http.server.Response.class);
+        response = new Response();
+        response.outputBuffer = outputBuffer;
+        response.grizzlyResponse = grizzlyResponse;
+    }
+
+
+    @Test
+    public void sendfile() throws Exception {
+        expect(outputBuffer.isSendfileEnabled()).andReturn(true);
+        outputBuffer.sendfile(file, 100L, 200L);
+        expectLastCall();
+        replay(outputBuffer, grizzlyResponse);
+
+        assertTrue(response.sendfile(file, 100L, 200L));
+        verify(outputBuffer);
+    }
+
+
+    @Test
+    public void sendfileNotEnabled() throws Exception {
+        // not supported by the listener, or content already written
+        expect(outputBuffer.isSendfileEnabled()).andReturn(false);
+        replay(outputBuffer, grizzlyResponse);
+
+        assertFalse(response.sendfile(file, 0L, 200L));
+        verify(outputBuffer);
+    }
+
+
+    @Test
+    public void sendfileCommitted() throws Exception {
+        expect(grizzlyResponse.isCommitted()).andStubReturn(true);
+        replay(outputBuffer, grizzlyResponse);
+
+        assertFalse(response.sendfile(file, 0L, 200L));
+        verify(outputBuffer);
+    }
+
+
+    @Test
+    public void sendfileIncluded() throws Exception {
+        replay(outputBuffer, grizzlyResponse);
+        response.setIncluded(true);
+
+        assertFalse(response.sendfile(file, 0L, 200L));
+        verify(outputBuffer);
+    }
+
+
+    @Test
+    public void sendfileUsingWriter() throws Exception {
+        replay(outputBuffer, grizzlyResponse);
+        response.usingWriter = true;
+
+        assertFalse(response.sendfile(file, 0L, 200L));
+        verify(outputBuffer);
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.core;
+
+import jakarta.servlet.ServletException;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.catalina.Request;
+import org.apache.catalina.Response;
+import org.apache.catalina.valves.ValveBase;
+import org.glassfish.web.valve.GlassFishValve;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Drives a mock request through an engine, host, context and wrapper level
+ * pipeline, each level's basic valve invoking the pipeline of the next level
+ * the same way the standard basic valves do.
+ */
+@State(Scope.Benchmark)
+public class StandardPipelineBenchmarkTest {
+
+    private static final int LEVELS = 4;
+    /**
+     * Microseconds per request through four levels with four valves each. High enough to pass on all
+     * standard environments, but exceeded when the chain is not reused between requests.
+     */
+    private static final double MAX_TIME_PER_REQUEST = 2d;
+
+    @Param({"0", "2", "4"})
+    public int valvesPerLevel;
+
+    private StandardPipeline engine;
+    private Request request;
+    private Response response;
+
+
+    @Test
+    public void invoke_1thread() throws Exception {
+        runBenchmark(1);
+    }
+
+
+    @Test
+    public void invoke_allProcessors() throws Exception {
+        runBenchmark(Runtime.getRuntime().availableProcessors());
+    }
+
+
+    private void runBenchmark(int threads) throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".invoke$")
+            .warmupForks(0).warmupIterations(1).warmupTime(TimeValue.milliseconds(100L))
+            .measurementIterations(1).forks(1).measurementTime(TimeValue.milliseconds(300L))
+            .threads(threads).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.AverageTime).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(3));
+        Map<String, Double> times = new HashMap<>();
+        for (RunResult result : results) {
+            times.put(result.getParams().getParam("valvesPerLevel"), result.getPrimaryResult().getScore());
+        }
+        // levels without valves are bypassed, so they must be cheaper than levels running their valves
+        assertThat(times.toString(), times.get("0"), lessThan(times.get("4")));
+        assertThat(times.toString(), times.get("4"), lessThan(MAX_TIME_PER_REQUEST));
+    }
+
+
+    @Setup(Level.Trial)
+    public void createPipelines() {
+        request = createNiceMock(Request.class);
+        response = createNiceMock(Response.class);
+        replay(request, response);
+
+        StandardPipeline next = null;
+        for (int level = 0; level < LEVELS; level++) {
+            StandardPipeline pipeline = new StandardPipeline();
+            pipeline.setBasic(next == null ? new ServiceValve() : new NextLevelValve(next));
+            for (int i = 0; i < valvesPerLevel; i++) {
+                // Like most valves, only every other one has post-request logic
+                pipeline.addValve(i % 2 == 0 ? new PassValve() : new PostInvokeValve());
+            }
+            next = pipeline;
+        }
+        engine = next;
+    }
+
+
+    @Benchmark
+    public void invoke(Blackhole blackhole) throws Exception {
+        engine.invoke(request, response);
+        blackhole.consume(request);
+    }
+
+
+    /**
+     * Invokes the pipeline of the next level, skipping it if there is only
+     * the basic valve, like StandardEngineValve, StandardHostValve and
+     * StandardContextValve do.
+     */
+    private static final class NextLevelValve extends ValveBase {
+
+        private final StandardPipeline next;
+
+        NextLevelValve(StandardPipeline next) {
+            this.next = next;
+        }
+
+        @Override
+        public int invoke(Request request, Response response) throws IOException, ServletException {
+            if (next.hasNonBasicValves()) {
+                next.invoke(request, response);
+            } else {
+                GlassFishValve basic = next.getBasic();
+                basic.invoke(request, response);
+                basic.postInvoke(request, response);
+            }
+            return END_PIPELINE;
+        }
+    }
+
+
+    private static final class ServiceValve extends ValveBase {
+
+        @Override
+        public int invoke(Request request, Response response) {
+            return END_PIPELINE;
+        }
+    }
+
+
+    private static final class PassValve extends ValveBase {
+
+        @Override
+        public int invoke(Request request, Response response) {
+            return INVOKE_NEXT;
+        }
+    }
+
+
+    private static final class PostInvokeValve extends ValveBase {
+
+        private int postInvoked;
+
+        @Override
+        public int invoke(Request request, Response response) {
+            return INVOKE_NEXT;
+        }
+
+        @Override
+        public void postInvoke(Request request, Response response) {
+            postInvoked++;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.core;
+
+import jakarta.servlet.ServletException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.catalina.Request;
+import org.apache.catalina.Response;
+import org.apache.catalina.valves.ValveBase;
+import org.glassfish.web.valve.GlassFishValve;
+import org.junit.jupiter.api.Test;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.replay;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StandardPipelineTest {
+
+    private final List<String> calls = new ArrayList<>();
+    private final Request request = createNiceMock(Request.class);
+    private final Response response = createNiceMock(Response.class);
+
+
+    @Test
+    public void postInvokeInReverseOrderForValvesWhichProceeded() throws Exception {
+        replay(request, response);
+        StandardPipeline pipeline = new StandardPipeline();
+        pipeline.setBasic(valve("basic", GlassFishValve.END_PIPELINE, true));
+        pipeline.addValve(valve("a", GlassFishValve.INVOKE_NEXT, true));
+        pipeline.addValve(valve("b", GlassFishValve.INVOKE_NEXT, false));
+        pipeline.addValve(valve("c", GlassFishValve.INVOKE_NEXT, true));
+        assertTrue(pipeline.hasNonBasicValves());
+
+        pipeline.invoke(request, response);
+        assertEquals(List.of("a", "b", "c", "basic", "post basic", "post c", "post a"), calls);
+
+        calls.clear();
+        pipeline.addValve(valve("stop", GlassFishValve.END_PIPELINE, true));
+        pipeline.invoke(request, response);
+        assertEquals(List.of("a", "b", "c", "stop", "post c", "post a"), calls);
+    }
+
+
+    @Test
+    public void valveRemovedDuringInvocationIsStillPostInvoked() throws Exception {
+        replay(request, response);
+        StandardPipeline pipeline = new StandardPipeline();
+        RecordingValve removed = valve("a", GlassFishValve.INVOKE_NEXT, true);
+        pipeline.addValve(removed);
+        pipeline.setBasic(new RecordingValve("basic", GlassFishValve.END_PIPELINE) {
+            @Override
+            public int invoke(Request request, Response response) {
+                pipeline.removeValve(removed);
+                return super.invoke(request, response);
+            }
+        });
+
+        pipeline.invoke(request, response);
+        assertEquals(List.of("a", "basic", "post a"), calls);
+        assertFalse(pipeline.hasNonBasicValves());
+    }
+
+
+    @Test
+    public void emptyPipeline() {
+        assertThrows(ServletException.class, () -> new StandardPipeline().invoke(request, response));
+    }
+
+
+    private RecordingValve valve(String name, int status, boolean hasPostInvoke) {
+        return hasPostInvoke ? new PostRecordingValve(name, status) : new RecordingValve(name, status);
+    }
+
+
+    private class RecordingValve extends ValveBase {
+
+        final String name;
+        private final int status;
+
+        RecordingValve(String name, int status) {
+            this.name = name;
+            this.status = status;
+        }
+
+        @Override
+        public int invoke(Request request, Response response) {
+            calls.add(name);
+            return status;
+        }
+    }
+
+
+    private class PostRecordingValve extends RecordingValve {
+
+        PostRecordingValve(String name, int status) {
+            super(name, status);
+        }
+
+        @Override
+        public void postInvoke(Request request, Response response) {
+            calls.add("post " + name);
+        }
+    }
+}
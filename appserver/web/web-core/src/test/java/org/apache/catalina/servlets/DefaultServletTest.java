@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.servlets;
+
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.catalina.Globals;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.RequestFacade;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.connector.ResponseFacade;
+import org.apache.naming.resources.FileDirContext;
+import org.apache.naming.resources.ProxyDirContext;
+import org.easymock.Capture;
+import org.easymock.CaptureType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.easymock.EasyMock.anyLong;
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.anyString;
+import static org.easymock.EasyMock.capture;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.newCapture;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DefaultServletTest {
+
+    private static final byte[] CONTENT = "body { color: red; }".getBytes(UTF_8);
+    private static final byte[] GZIP_CONTENT = {31, -117, 8, 0, 1, 2, 3};
+    private static final byte[] BROTLI_CONTENT = {11, 2, -128, 4, 5};
+    private static final long STATIC_LENGTH = 4096L;
+
+    @TempDir
+    Path docBase;
+
+    private final Map<String, String> headers = new HashMap<>();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private final Capture<String> contentType = newCapture();
+
+    @BeforeEach
+    public void init() throws Exception {
+        Files.write(docBase.resolve("style.css"), CONTENT);
+    }
+
+
+    @Test
+    public void servesPrecompressedVariant() throws Exception {
+        Files.write(docBase.resolve("style.css.gz"), GZIP_CONTENT);
+
+        serve(createServlet(true), "gzip, deflate");
+
+        assertEquals("gzip", headers.get("Content-Encoding"));
+        assertEquals("Accept-Encoding", headers.get("Vary"));
+        assertEquals("text/css", contentType.getValue());
+        assertArrayEquals(GZIP_CONTENT, body.toByteArray());
+    }
+
+
+    @Test
+    public void prefersBrotliVariant() throws Exception {
+        Files.write(docBase.resolve("style.css.gz"), GZIP_CONTENT);
+        Files.write(docBase.resolve("style.css.br"), BROTLI_CONTENT);
+
+        serve(createServlet(true), "gzip, br");
+
+        assertEquals("br", headers.get("Content-Encoding"));
+        assertArrayEquals(BROTLI_CONTENT, body.toByteArray());
+    }
+
+
+    @Test
+    public void skipsEncodingWithZeroQuality() throws Exception {
+        Files.write(docBase.resolve("style.css.gz"), GZIP_CONTENT);
+        Files.write(docBase.resolve("style.css.br"), BROTLI_CONTENT);
+
+        serve(createServlet(true), "br;q=0, gzip;q=0.5");
+
+        assertEquals("gzip", headers.get("Content-Encoding"));
+        assertArrayEquals(GZIP_CONTENT, body.toByteArray());
+    }
+
+
+    @Test
+    public void servesResourceWithoutVariant() throws Exception {
+        serve(createServlet(true), "gzip");
+
+        assertNull(headers.get("Content-Encoding"));
+        assertEquals("Accept-Encoding", headers.get("Vary"));
+        assertEquals("text/css", contentType.getValue());
+        assertArrayEquals(CONTENT, body.toByteArray());
+    }
+
+
+    @Test
+    public void servesResourceIfEncodingNotAccepted() throws Exception {
+        Files.write(docBase.resolve("style.css.gz"), GZIP_CONTENT);
+
+        serve(createServlet(true), null);
+
+        assertNull(headers.get("Content-Encoding"));
+        assertArrayEquals(CONTENT, body.toByteArray());
+    }
+
+
+    @Test
+    public void precompressedOffByDefault() throws Exception {
+        Files.write(docBase.resolve("style.css.gz"), GZIP_CONTENT);
+
+        serve(createServlet(false), "gzip");
+
+        assertNull(headers.get("Content-Encoding"));
+        assertNull(headers.get("Vary"));
+        assertArrayEquals(CONTENT, body.toByteArray());
+    }
+
+
+    @Test
+    public void sendfileFullContent() throws Exception {
+        Response response = createSendfileResponse();
+        expect(response.sendfile(staticFile(), 0L, STATIC_LENGTH)).andReturn(true);
+
+        serveWithFacades(createServlet("sendfileSize", "1"), null, response);
+
+        verify(response);
+        assertEquals(0, body.size());
+    }
+
+
+    @Test
+    public void sendfileRange() throws Exception {
+        Response response = createSendfileResponse();
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        expectLastCall();
+        expect(response.sendfile(staticFile(), 100L, 100L)).andReturn(true);
+
+        serveWithFacades(createServlet("sendfileSize", "1"), "bytes=100-199", response);
+
+        verify(response);
+        assertEquals(0, body.size());
+    }
+
+
+    @Test
+    public void sendfileRejectedFallsBackToCopy() throws Exception {
+        // the response was committed or written to meanwhile
+        Response response = createSendfileResponse();
+        expect(response.sendfile(staticFile(), 0L, STATIC_LENGTH)).andReturn(false);
+
+        serveWithFacades(createServlet("sendfileSize", "1"), null, response);
+
+        verify(response);
+        assertArrayEquals(Files.readAllBytes(staticFile().toPath()), body.toByteArray());
+    }
+
+
+    @Test
+    public void smallCachedFileNotSentWithSendfile() throws Exception {
+        Response response = createSendfileResponse();
+        expect(response.sendfile(anyObject(File.class), anyLong(), anyLong()))
+            .andThrow(new AssertionError("Cached file smaller than sendfileSize sent with sendfile")).anyTimes();
+
+        serveWithFacades(createServlet("sendfileSize", "8"), null, response);
+
+        assertArrayEquals(Files.readAllBytes(staticFile().toPath()), body.toByteArray());
+    }
+
+
+    private DefaultServlet createServlet(boolean precompressed) throws Exception {
+        return createServlet("precompressed", Boolean.toString(precompressed));
+    }
+
+
+    private DefaultServlet createServlet(String initParameter, String value) throws Exception {
+        FileDirContext dirContext = new FileDirContext();
+        dirContext.setDocBase(docBase.toString());
+        ProxyDirContext resources = new ProxyDirContext(new Hashtable<String, String>(), dirContext);
+
+        ServletContext servletContext = createNiceMock(ServletContext.class);
+        expect(servletContext.getAttribute(Globals.RESOURCES_ATTR)).andStubReturn(resources);
+        expect(servletContext.getMimeType("/style.css")).andStubReturn("text/css");
+        ServletConfig config = createNiceMock(ServletConfig.class);
+        expect(config.getServletContext()).andStubReturn(servletContext);
+        expect(config.getInitParameter(initParameter)).andStubReturn(value);
+        replay(servletContext, config);
+
+        DefaultServlet servlet = new DefaultServlet();
+        servlet.init(config);
+        return servlet;
+    }
+
+
+    private void serve(DefaultServlet servlet, String acceptEncoding) throws Exception {
+        HttpServletRequest request = createNiceMock(HttpServletRequest.class);
+        expect(request.getServletPath()).andStubReturn("/style.css");
+        expect(request.getMethod()).andStubReturn("GET");
+        expect(request.getDateHeader(anyString())).andStubReturn(-1L);
+        List<String> acceptEncodings = acceptEncoding == null ? List.of() : List.of(acceptEncoding);
+        expect(request.getHeaders("Accept-Encoding")).andStubAnswer(() -> Collections.enumeration(acceptEncodings));
+
+        HttpServletResponse response = createNiceMock(HttpServletResponse.class);
+        Capture<String> names = newCapture(CaptureType.ALL);
+        Capture<String> values = newCapture(CaptureType.ALL);
+        response.setHeader(capture(names), capture(values));
+        expectLastCall().anyTimes();
+        response.addHeader(capture(names), capture(values));
+        expectLastCall().anyTimes();
+        response.setContentType(capture(contentType));
+        expectLastCall().anyTimes();
+        expect(response.containsHeader(anyString())).andStubAnswer(() -> names.getValues().contains("Content-Encoding"));
+        expect(response.getOutputStream()).andStubReturn(new CapturingOutputStream(body));
+        replay(request, response);
+
+        servlet.serveResource(request, response, true);
+
+        for (int i = 0; i < names.getValues().size(); i++) {
+            headers.put(names.getValues().get(i), values.getValues().get(i));
+        }
+    }
+
+
+    private File staticFile() throws Exception {
+        return docBase.resolve("static.bin").toFile().getCanonicalFile();
+    }
+
+
+    private Response createSendfileResponse() throws Exception {
+        byte[] content = new byte[(int) STATIC_LENGTH];
+        Arrays.fill(content, (byte) 'x');
+        Files.write(docBase.resolve("static.bin"), content);
+
+        Response response = createNiceMock(Response.class);
+        expect(response.getOutputStream()).andStubReturn(new CapturingOutputStream(body));
+        return response;
+    }
+
+
+    /**
+     * Serves the static file through the connector facades, the only responses
+     * which may be sent with sendfile.
+     */
+    private void serveWithFacades(DefaultServlet servlet, String range, Response response) throws Exception {
+        Request request = createNiceMock(Request.class);
+        expect(request.getServletPath()).andStubReturn("/static.bin");
+        expect(request.getMethod()).andStubReturn("GET");
+        expect(request.getDateHeader(anyString())).andStubReturn(-1L);
+        expect(request.getHeader("Range")).andStubReturn(range);
+        replay(request, response);
+
+        servlet.serveResource(new RequestFacade(request), new ResponseFacade(response), true);
+    }
+
+
+    private static class CapturingOutputStream extends ServletOutputStream {
+
+        private final ByteArrayOutputStream target;
+
+        CapturingOutputStream(ByteArrayOutputStream target) {
+            this.target = target;
+        }
+
+
+        @Override
+        public void write(int b) {
+            target.write(b);
+        }
+
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
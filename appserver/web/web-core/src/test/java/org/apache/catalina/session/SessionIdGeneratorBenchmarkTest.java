@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.apache.catalina.session;
+
+import com.sun.enterprise.util.uuid.UuidGenerator;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares session identifier generation of the {@link StripedSessionIdGenerator}
+ * with the former default generator, single threaded and with a thread per processor.
+ */
+@State(Scope.Benchmark)
+public class SessionIdGeneratorBenchmarkTest {
+
+    @Param({"com.sun.enterprise.util.uuid.UuidGeneratorImpl",
+        "org.apache.catalina.session.StripedSessionIdGenerator"})
+    public String generatorClass;
+
+    private StandardManager manager;
+
+
+    @Test
+    public void generateSessionId_1thread() throws Exception {
+        // both generators own a single random source then, the striped one must not fall behind
+        runBenchmark(1, 0.8);
+    }
+
+
+    @Test
+    public void generateSessionId_allProcessors() throws Exception {
+        int processors = Runtime.getRuntime().availableProcessors();
+        runBenchmark(processors, processors > 1 ? 1.0 : 0.8);
+    }
+
+
+    /**
+     * @param minimumRatio the throughput of the striped generator relative to the former generator
+     */
+    private void runBenchmark(int threads, double minimumRatio) throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".generateSessionId$")
+            .warmupForks(0).warmupIterations(1).warmupTime(TimeValue.milliseconds(100L))
+            .measurementIterations(1).forks(1).measurementTime(TimeValue.milliseconds(300L))
+            .threads(threads).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+        Map<String, Double> scores = new HashMap<>();
+        for (RunResult result : results) {
+            String generator = result.getParams().getParam("generatorClass");
+            scores.put(generator.substring(generator.lastIndexOf('.') + 1), result.getPrimaryResult().getScore());
+        }
+        assertThat(scores.toString(), scores.get("StripedSessionIdGenerator"),
+            greaterThan(scores.get("UuidGeneratorImpl") * minimumRatio));
+    }
+
+
+    @Setup(Level.Trial)
+    public void createManager() throws Exception {
+        manager = new StandardManager();
+        manager.setUuidGenerator((UuidGenerator) Class.forName(generatorClass).getDeclaredConstructor().newInstance());
+    }
+
+
+    @Benchmark
+    public String generateSessionId() {
+        return manager.generateSessionId(this);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StripedSessionIdGeneratorTest {
+
+    @Test
+    public void managerGeneratesUniqueIds() {
+        StandardManager mgr = new StandardManager();
+        mgr.setSessionIdLength(20);
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            String id = mgr.generateSessionId();
+            assertEquals(40, id.length(), id);
+            assertTrue(id.matches("[0-9A-F]+"), id);
+            ids.add(id);
+        }
+        assertEquals(1000, ids.size());
+    }
+
+
+    @Test
+    public void concurrentThreadsGenerateUniqueIds() throws Exception {
+        // fewer stripes than threads, so the threads move between the stripes and their batches
+        StripedSessionIdGenerator generator = new StripedSessionIdGenerator(16, 2);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    ids.add(generator.generateUuid());
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(30_000L);
+        }
+        assertEquals(8000, ids.size());
+    }
+
+
+    @Test
+    public void invalidIdLength() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedSessionIdGenerator(0, 1));
+    }
+}
@@ -27,6 +27,7 @@ import com.sun.enterprise.web.accesslog.AccessLogFormatter;
 import com.sun.enterprise.web.accesslog.CombinedAccessLogFormatterImpl;
 import com.sun.enterprise.web.accesslog.CommonAccessLogFormatterImpl;
 import com.sun.enterprise.web.accesslog.DefaultAccessLogFormatterImpl;
+import com.sun.enterprise.web.accesslog.StripedAccessLogWriter;
 import com.sun.enterprise.web.pluggable.WebContainerFeatureFactory;
 
 import java.io.File;
@@ -232,6 +233,21 @@ public final class PEAccessLogValve
     private boolean flushRealTime = true;
 
 
+    /**
+     * Number of buffers request threads encode their log entries into.
+     * If greater than zero and the log is not flushed in real time,
+     * the {@link StripedAccessLogWriter} is used instead of the shared
+     * <code>CharBuffer</code>.
+     */
+    private int bufferStripes;
+
+
+    /**
+     * The striped writer, if active.
+     */
+    private volatile StripedAccessLogWriter stripedWriter;
+
+
     /**
      * Are we supposed to add datestamp to first access log file we create,
      * or only after first rotation?
@@ -335,6 +351,21 @@ public final class PEAccessLogValve
         return bufferSize;
     }
 
+    /**
+     * Set the number of direct <code>ByteBuffer</code> stripes, 0 disables
+     * the striped writer.
+     */
+    public void setBufferStripes(int stripes) {
+        bufferStripes = Math.max(0, stripes);
+    }
+
+    /**
+     * Return the number of direct <code>ByteBuffer</code> stripes
+     */
+    public int getBufferStripes() {
+        return bufferStripes;
+    }
+
     // ------------------------------------------------------------- Properties
 
 
@@ -548,6 +579,14 @@ public final class PEAccessLogValve
             return;
         }
 
+        StripedAccessLogWriter writer = stripedWriter;
+        if (writer != null) {
+            if (formatter != null) {
+                writer.append(formatter, request, response);
+            }
+            return;
+        }
+
         synchronized (lock){
             // Reset properly the buffer in case of an unexpected
             // exception.
@@ -588,6 +627,44 @@ public final class PEAccessLogValve
      */
     public void log() throws IOException {
 
+        rotateIfNeeded();
+
+        synchronized (lock) {
+            try {
+                charBuffer.flip();
+                ByteBuffer byteBuffer = ByteBuffer.wrap(charBuffer.toString().getBytes(Charset.defaultCharset()));
+                while (byteBuffer.hasRemaining()) {
+                    fileChannel.write(byteBuffer);
+                }
+            } catch (IOException ex) {
+
+            } finally {
+                charBuffer.clear();
+            }
+        }
+    }
+
+
+    /**
+     * Writes buffers drained by the {@link StripedAccessLogWriter} to the log
+     * file with a gathering write, switching files if the date has changed
+     * since the previous write.
+     */
+    private void log(ByteBuffer[] buffers) throws IOException {
+        rotateIfNeeded();
+        synchronized (this) {
+            long remaining = 0;
+            for (ByteBuffer buffer : buffers) {
+                remaining += buffer.remaining();
+            }
+            while (remaining > 0) {
+                remaining -= fileChannel.write(buffers);
+            }
+        }
+    }
+
+
+    private void rotateIfNeeded() throws IOException {
         if (rotatable){
             long systime = System.currentTimeMillis();
             long rotationIntervalLong = rotationInterval * 1000L;
@@ -609,20 +686,6 @@ public final class PEAccessLogValve
                 }
             }
         }
-
-        synchronized (lock) {
-            try {
-                charBuffer.flip();
-                ByteBuffer byteBuffer = ByteBuffer.wrap(charBuffer.toString().getBytes(Charset.defaultCharset()));
-                while (byteBuffer.hasRemaining()) {
-                    fileChannel.write(byteBuffer);
-                }
-            } catch (IOException ex) {
-
-            } finally {
-                charBuffer.clear();
-            }
-        }
     }
 
 
@@ -745,6 +808,23 @@ public final class PEAccessLogValve
             }
         }
 
+        /*
+         * The accessLogBufferStripes property defined under <virtual-server>
+         * enables the striped writer, where request threads encode their
+         * entries into one of the given number of direct buffers.
+         */
+        String acBufferStripes = vsBean.getPropertyValue(
+            Constants.ACCESS_LOG_BUFFER_STRIPES_PROPERTY, null);
+        if (acBufferStripes != null) {
+            try {
+                setBufferStripes(Integer.parseInt(acBufferStripes));
+            } catch (NumberFormatException ex){
+                _logger.log(Level.WARNING,
+                    LogFacade.INVALID_ACCESS_LOG_BUFFER_STRIPES,
+                    acBufferStripes);
+            }
+        }
+
         return true;
     }
 
@@ -1009,8 +1089,16 @@ public final class PEAccessLogValve
         lastAccessLogCreationTime = systime;
 
         if (!flushRealTime){
-            // Start the background writer writerThread
-            threadStart();
+            if (bufferStripes > 0 && writeInterval > 0) {
+                // Start the striped writer and its background thread
+                StripedAccessLogWriter writer = new StripedAccessLogWriter(
+                    bufferStripes, bufferSize, writeInterval, Charset.defaultCharset(), this::log);
+                writer.start();
+                stripedWriter = writer;
+            } else {
+                // Start the background writer writerThread
+                threadStart();
+            }
         }
 
         started = true;
@@ -1036,7 +1124,12 @@ public final class PEAccessLogValve
         lifecycle.fireLifecycleEvent(STOP_EVENT, null);
         started = false;
 
-        if (!flushRealTime){
+        StripedAccessLogWriter writer = stripedWriter;
+        if (writer != null) {
+            // Stop the background thread and write all pending entries
+            stripedWriter = null;
+            writer.stop();
+        } else if (!flushRealTime){
             // Stop the background writer thread
             threadStop();
         }
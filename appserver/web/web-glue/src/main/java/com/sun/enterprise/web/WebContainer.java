@@ -76,6 +76,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.imageio.ImageIO;
+import javax.naming.directory.DirContext;
 
 import org.apache.catalina.Connector;
 import org.apache.catalina.Container;
@@ -92,6 +93,7 @@ import org.apache.catalina.core.StandardEngine;
 import org.apache.catalina.startup.ContextConfig;
 import org.apache.catalina.util.RequestUtil;
 import org.apache.catalina.util.ServerInfo;
+import org.apache.naming.resources.ProxyDirContext;
 import org.glassfish.api.admin.ServerEnvironment;
 import org.glassfish.api.event.EventListener;
 import org.glassfish.api.event.EventTypes;
@@ -1790,7 +1792,12 @@ public class WebContainer implements org.glassfish.api.container.Container, Post
             }
         }
 
-        webStatsProviderBootstrap.registerApplicationStatsProviders(monitoringNodeName, vs.getName(), servletNames);
+        WebModule webModule = ctx;
+        webStatsProviderBootstrap.registerApplicationStatsProviders(monitoringNodeName, vs.getName(), servletNames,
+            () -> {
+                DirContext resources = webModule.getResources();
+                return resources instanceof ProxyDirContext ? ((ProxyDirContext) resources).getCache() : null;
+            });
 
         vs.addChild(ctx);
 
@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.web.accesslog;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.catalina.Request;
+import org.apache.catalina.Response;
+import org.glassfish.web.LogFacade;
+
+/**
+ * Access log writer which encodes log entries on the request thread directly into one of
+ * several direct <code>ByteBuffer</code> stripes, while a single background thread drains
+ * full buffers to the log file using gathering writes.
+ * <p>
+ * Request threads pick their stripe by thread id and fall over to the next stripe if it is
+ * busy, so they practically never wait for each other, and never wait for the file i/o.
+ * Log entries are never split between two buffers, so lines of different stripes don't
+ * interleave in the log file.
+ */
+public final class StripedAccessLogWriter implements Runnable {
+
+    private static final Logger LOG = LogFacade.getLogger();
+
+    /** Buffers retained for reuse per stripe, surplus buffers are left to the GC. */
+    private static final int POOLED_BUFFERS_PER_STRIPE = 2;
+
+    private final Stripe[] stripes;
+    private final int bufferSize;
+    private final long flushIntervalNanos;
+    private final LogSink sink;
+
+    private final ConcurrentLinkedQueue<ByteBuffer> fullBuffers = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<ByteBuffer> freeBuffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger freeBufferCount = new AtomicInteger();
+    // keeps concurrent drains from writing batches out of order
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+    private volatile Thread writerThread;
+    private volatile boolean done;
+
+    /**
+     * Target of the drained buffers.
+     */
+    public interface LogSink {
+
+        /**
+         * Writes all remaining bytes of the given buffers.
+         *
+         * @param buffers buffers ready to be written, in order
+         * @throws IOException if the write failed
+         */
+        void write(ByteBuffer[] buffers) throws IOException;
+    }
+
+
+    /**
+     * @param stripeCount number of buffers request threads are spread across
+     * @param bufferSize size of each direct buffer in bytes
+     * @param flushIntervalSeconds max time between flushes of partially filled buffers
+     * @param charset charset of the log file
+     * @param sink target of the drained buffers
+     */
+    public StripedAccessLogWriter(int stripeCount, int bufferSize, int flushIntervalSeconds, Charset charset, LogSink sink) {
+        this.bufferSize = bufferSize;
+        this.flushIntervalNanos = TimeUnit.SECONDS.toNanos(Math.max(1, flushIntervalSeconds));
+        this.sink = sink;
+        this.stripes = new Stripe[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(charset, bufferSize);
+        }
+    }
+
+
+    /**
+     * Starts the background writer thread.
+     */
+    public void start() {
+        done = false;
+        Thread thread = new Thread(this, "AccessLogWriter");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+    }
+
+
+    /**
+     * Stops the background writer thread and writes all pending log entries.
+     * Entries appended after the stop are written directly by the appending thread.
+     */
+    public void stop() {
+        done = true;
+        Thread thread = writerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writerThread = null;
+        }
+        drain(true);
+    }
+
+
+    /**
+     * Formats the access log entry for the given request and response and stores it
+     * to the buffer of the stripe of the calling thread.
+     *
+     * @param formatter access log formatter
+     * @param request request being processed
+     * @param response response being processed
+     */
+    public void append(AccessLogFormatter formatter, Request request, Response response) {
+        Stripe stripe = lockStripe();
+        boolean handedOff = false;
+        try {
+            CharBuffer chars = format(stripe, formatter, request, response);
+            if (chars == null) {
+                return;
+            }
+            handedOff = encode(stripe, chars);
+        } finally {
+            stripe.lock.unlock();
+        }
+        if (done) {
+            // Stopped - nobody else would write the entry
+            drain(true);
+        } else if (handedOff) {
+            Thread thread = writerThread;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+
+    @Override
+    public void run() {
+        long nextFlush = System.nanoTime() + flushIntervalNanos;
+        while (!done) {
+            LockSupport.parkNanos(this, nextFlush - System.nanoTime());
+            // After an unpark only the full buffers are written, partially filled stripes
+            // are flushed when the interval elapses, even if busy stripes unpark us often.
+            long now = System.nanoTime();
+            boolean intervalElapsed = now - nextFlush >= 0;
+            drain(intervalElapsed);
+            if (intervalElapsed) {
+                nextFlush = now + flushIntervalNanos;
+            }
+        }
+    }
+
+
+    private Stripe lockStripe() {
+        int home = (int) (Thread.currentThread().getId() % stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe stripe = stripes[(home + i) % stripes.length];
+            if (stripe.lock.tryLock()) {
+                return stripe;
+            }
+        }
+        Stripe stripe = stripes[home];
+        stripe.lock.lock();
+        return stripe;
+    }
+
+
+    private CharBuffer format(Stripe stripe, AccessLogFormatter formatter, Request request, Response response) {
+        for (int i = 0; i < 2; i++) {
+            CharBuffer chars = stripe.chars;
+            chars.clear();
+            try {
+                formatter.appendLogEntry(request, response, chars);
+                chars.put('\n');
+                chars.flip();
+                return chars;
+            } catch (BufferOverflowException ex) {
+                if (i == 1) {
+                    LOG.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {ex});
+                    return null;
+                }
+                stripe.chars = CharBuffer.allocate(chars.capacity() * 2);
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * @return true if a full buffer was handed off to the writer thread
+     */
+    private boolean encode(Stripe stripe, CharBuffer chars) {
+        int maxBytes = (int) Math.ceil(chars.remaining() * stripe.encoder.maxBytesPerChar());
+        boolean handedOff = false;
+        if (maxBytes > stripe.bytes.remaining()) {
+            if (stripe.bytes.position() > 0) {
+                handOff(stripe);
+                handedOff = true;
+            }
+            if (maxBytes > stripe.bytes.remaining()) {
+                // Entry is larger than the whole buffer - rare, so it may allocate.
+                try {
+                    fullBuffers.offer(stripe.encoder.encode(chars));
+                } catch (CharacterCodingException e) {
+                    LOG.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {e});
+                }
+                return true;
+            }
+        }
+        stripe.encoder.reset();
+        stripe.encoder.encode(chars, stripe.bytes, true);
+        stripe.encoder.flush(stripe.bytes);
+        return handedOff;
+    }
+
+
+    private void handOff(Stripe stripe) {
+        ByteBuffer full = stripe.bytes;
+        full.flip();
+        fullBuffers.offer(full);
+        stripe.bytes = takeFreeBuffer();
+    }
+
+
+    private ByteBuffer takeFreeBuffer() {
+        ByteBuffer buffer = freeBuffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        freeBufferCount.decrementAndGet();
+        return buffer;
+    }
+
+
+    private void releaseBuffer(ByteBuffer buffer) {
+        if (!buffer.isDirect() || buffer.capacity() != bufferSize) {
+            return;
+        }
+        buffer.clear();
+        if (freeBufferCount.incrementAndGet() <= stripes.length * POOLED_BUFFERS_PER_STRIPE) {
+            freeBuffers.offer(buffer);
+        } else {
+            freeBufferCount.decrementAndGet();
+        }
+    }
+
+
+    private void drain(boolean includePartialBuffers) {
+        drainLock.lock();
+        try {
+            drainLocked(includePartialBuffers);
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+
+    private void drainLocked(boolean includePartialBuffers) {
+        if (includePartialBuffers) {
+            for (Stripe stripe : stripes) {
+                stripe.lock.lock();
+                try {
+                    if (stripe.bytes.position() > 0) {
+                        handOff(stripe);
+                    }
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+        }
+        List<ByteBuffer> batch = new ArrayList<>();
+        ByteBuffer buffer;
+        while ((buffer = fullBuffers.poll()) != null) {
+            batch.add(buffer);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            sink.write(batch.toArray(new ByteBuffer[batch.size()]));
+        } catch (IOException e) {
+            LOG.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {e});
+        } finally {
+            for (ByteBuffer written : batch) {
+                releaseBuffer(written);
+            }
+        }
+    }
+
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final CharsetEncoder encoder;
+        private CharBuffer chars;
+        private ByteBuffer bytes;
+
+        Stripe(Charset charset, int bufferSize) {
+            this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.chars = CharBuffer.allocate(bufferSize);
+            this.bytes = ByteBuffer.allocateDirect(bufferSize);
+        }
+    }
+}
@@ -577,6 +577,11 @@ public class LogFacade {
             level = "WARNING")
     public static final String INVALID_ACCESS_LOG_BUFFER_SIZE = prefix + "00101";
 
+    @LogMessageInfo(
+            message = "Invalid accessLogBufferStripes value [{0}]",
+            level = "WARNING")
+    public static final String INVALID_ACCESS_LOG_BUFFER_STRIPES = prefix + "00286";
+
     @LogMessageInfo(
             message = "Unable to parse max-history-files access log configuration [{0}]",
             level = "WARNING")
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.web.accesslog;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.catalina.Request;
+import org.apache.catalina.Response;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StripedAccessLogWriterTest {
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private final StringBuilder log = new StringBuilder();
+
+
+    @Test
+    public void appendFallsOverToFreeStripe() throws Exception {
+        StripedAccessLogWriter writer = new StripedAccessLogWriter(2, BUFFER_SIZE, 60, UTF_8, this::write);
+        writer.start();
+        try {
+            CountDownLatch formatting = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Thread blocked = new Thread(() -> writer.append(new BlockingFormatter(formatting, release), null, null));
+            blocked.start();
+            assertTrue(formatting.await(10, TimeUnit.SECONDS));
+
+            // one stripe is held by the blocked thread, the other one is free
+            Thread other = new Thread(() -> writer.append(new EntryFormatter("other"), null, null));
+            other.start();
+            other.join(10_000L);
+            assertFalse(other.isAlive(), "Append waited for the busy stripe");
+
+            release.countDown();
+            blocked.join(10_000L);
+        } finally {
+            writer.stop();
+        }
+        // stripes are drained in their order, which depends on thread ids
+        String written = getLog();
+        assertTrue(written.equals("other\nblocked\n") || written.equals("blocked\nother\n"), written);
+    }
+
+
+    @Test
+    public void partialStripeFlushedOnIntervalUnderSteadyTraffic() throws Exception {
+        StripedAccessLogWriter writer = new StripedAccessLogWriter(2, BUFFER_SIZE, 1, UTF_8, this::write);
+        writer.start();
+        AtomicBoolean running = new AtomicBoolean(true);
+        try {
+            Thread quiet = new Thread(() -> writer.append(new EntryFormatter("quiet"), null, null));
+            // busy thread must use the other stripe, thread ids are sequential
+            Thread busy = new Thread(() -> {
+                EntryFormatter formatter = new EntryFormatter("x".repeat(BUFFER_SIZE * 2 / 3));
+                while (running.get()) {
+                    // every entry is handed off to the writer and unparks it
+                    writer.append(formatter, null, null);
+                    try {
+                        Thread.sleep(1L);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+            if (quiet.getId() % 2 == busy.getId() % 2) {
+                busy = new Thread(busy::run);
+            }
+            quiet.start();
+            quiet.join();
+            busy.start();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+            while (!getLog().contains("quiet\n") && System.nanoTime() < deadline) {
+                Thread.sleep(50L);
+            }
+            assertTrue(getLog().contains("quiet\n"), "Partially filled stripe was not flushed");
+        } finally {
+            running.set(false);
+            writer.stop();
+        }
+    }
+
+
+    @Test
+    public void stopWritesPendingAndLateEntries() throws Exception {
+        StripedAccessLogWriter writer = new StripedAccessLogWriter(2, BUFFER_SIZE, 60, UTF_8, this::write);
+        writer.start();
+        writer.append(new EntryFormatter("pending"), null, null);
+        assertEquals("", getLog());
+
+        writer.stop();
+        assertEquals("pending\n", getLog());
+
+        writer.append(new EntryFormatter("late"), null, null);
+        assertEquals("pending\nlate\n", getLog());
+    }
+
+
+    @Test
+    public void oversizedEntryWritten() throws Exception {
+        StripedAccessLogWriter writer = new StripedAccessLogWriter(1, BUFFER_SIZE, 60, UTF_8, this::write);
+        writer.start();
+        // fits the char buffer, but not the byte buffer in the worst case of the encoder
+        String oversized = "y".repeat(BUFFER_SIZE - 24);
+        writer.append(new EntryFormatter("first"), null, null);
+        writer.append(new EntryFormatter(oversized), null, null);
+        writer.stop();
+        assertEquals("first\n" + oversized + "\n", getLog());
+    }
+
+
+    private void write(ByteBuffer[] buffers) {
+        synchronized (log) {
+            for (ByteBuffer buffer : buffers) {
+                log.append(UTF_8.decode(buffer));
+            }
+        }
+    }
+
+
+    private String getLog() {
+        synchronized (log) {
+            return log.toString();
+        }
+    }
+
+
+    private static class EntryFormatter extends AccessLogFormatter {
+
+        private final String entry;
+
+        EntryFormatter(String entry) {
+            super(null);
+            this.entry = entry;
+        }
+
+
+        @Override
+        public void appendLogEntry(Request request, Response response, CharBuffer charBuffer) {
+            charBuffer.put(entry);
+        }
+    }
+
+
+    private static class BlockingFormatter extends EntryFormatter {
+
+        private final CountDownLatch formatting;
+        private final CountDownLatch release;
+
+        BlockingFormatter(CountDownLatch formatting, CountDownLatch release) {
+            super("blocked");
+            this.formatting = formatting;
+            this.release = release;
+        }
+
+
+        @Override
+        public void appendLogEntry(Request request, Response response, CharBuffer charBuffer) {
+            formatting.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.appendLogEntry(request, response, charBuffer);
+        }
+    }
+}
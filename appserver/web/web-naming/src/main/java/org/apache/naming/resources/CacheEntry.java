@@ -17,6 +17,9 @@
 
 package org.apache.naming.resources;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import javax.naming.directory.DirContext;
 
 /**
@@ -40,6 +43,12 @@ public class CacheEntry {
     public long accessCount = 0;
     public int size = 1;
 
+    /**
+     * Precompressed variants of this resource which have been looked up,
+     * by content encoding.
+     */
+    public volatile ConcurrentMap<String, Variant> variants = null;
+
 
     // ----------------------------------------------------- Public Methods
 
@@ -53,6 +62,7 @@ public class CacheEntry {
         exists = true;
         accessCount = 0;
         size = 1;
+        variants = null;
     }
 
 
@@ -65,4 +75,40 @@ public class CacheEntry {
     }
 
 
+    /**
+     * Return the precompressed variants of this resource, creating the map
+     * if needed.
+     */
+    ConcurrentMap<String, Variant> getVariants() {
+        ConcurrentMap<String, Variant> result = variants;
+        if (result == null) {
+            result = new ConcurrentHashMap<String, Variant>(4);
+            variants = result;
+        }
+        return result;
+    }
+
+
+    // ----------------------------------------------------- Variant Class
+
+
+    /**
+     * Result of the lookup of a precompressed sibling of a resource, such
+     * as <code>style.css.gz</code> for <code>style.css</code>. It is only
+     * valid as long as the resource keeps the ETag it had at lookup time.
+     */
+    public static final class Variant {
+
+        public final String eTag;
+        public final String name;
+        public final boolean exists;
+
+        public Variant(String eTag, String name, boolean exists) {
+            this.eTag = eTag;
+            this.name = name;
+            this.exists = exists;
+        }
+    }
+
+
 }
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.Hashtable;
+import java.util.Objects;
 
 import javax.naming.Binding;
 import javax.naming.Context;
@@ -1369,6 +1370,47 @@ public class ProxyDirContext implements DirContext {
     }
 
 
+    /**
+     * Retrieves the precompressed variant of the given resource for a content
+     * encoding, that is the sibling resource whose name is the name of the
+     * resource followed by the given extension (for example
+     * <code>.gz</code>). The outcome of the sibling lookup is remembered in
+     * the entry of the resource for as long as its ETag does not change, so
+     * resources without a precompressed variant don't hit the file system
+     * again.
+     *
+     * @param entry the cache entry of the resource
+     * @param encoding the content encoding, for example <code>gzip</code>
+     * @param extension the file extension of the variant
+     * @return the cache entry of the variant, or <code>null</code> if there
+     * is no such variant
+     */
+    public CacheEntry lookupVariant(CacheEntry entry, String encoding,
+                                    String extension) {
+        if (!entry.exists || (entry.resource == null)
+            || (entry.attributes == null)) {
+            return null;
+        }
+        String eTag = entry.attributes.getETag();
+        CacheEntry.Variant variant = entry.getVariants().get(encoding);
+        if ((variant != null) && Objects.equals(variant.eTag, eTag)) {
+            if (!variant.exists) {
+                return null;
+            }
+            CacheEntry variantEntry = lookupCache(variant.name);
+            if (variantEntry.exists && (variantEntry.resource != null)) {
+                return variantEntry;
+            }
+        }
+        String name = entry.name + extension;
+        CacheEntry variantEntry = lookupCache(name);
+        boolean exists = variantEntry.exists && (variantEntry.resource != null);
+        entry.getVariants().put(encoding,
+            new CacheEntry.Variant(eTag, name, exists));
+        return exists ? variantEntry : null;
+    }
+
+
     // ------------------------------------------------------ Protected Methods
 
 
@@ -1560,12 +1602,10 @@ public class ProxyDirContext implements DirContext {
         // Set timestamp
         entry.timestamp = System.currentTimeMillis() + cacheTTL;
 
-        // Add new entry to cache
-        synchronized (cache) {
-            // Check cache size, and remove elements if too big
-            if ((cache.lookup(name) == null) && cache.allocate(entry.size)) {
-                cache.load(entry);
-            }
+        // Add new entry to cache, unless it is too big. An entry which was
+        // added concurrently is kept, so no space is made for this one.
+        if (!cache.contains(name) && cache.allocate(entry.size)) {
+            cache.load(entry);
         }
 
     }
@@ -1577,9 +1617,7 @@ public class ProxyDirContext implements DirContext {
     protected boolean cacheUnload(String name) {
         if (cache == null)
             return false;
-        synchronized (cache) {
-            return cache.unload(name);
-        }
+        return cache.unload(name);
     }
 
 
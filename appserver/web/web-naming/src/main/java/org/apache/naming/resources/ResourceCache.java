@@ -18,10 +18,21 @@
 
 package org.apache.naming.resources;
 
-import java.util.HashMap;
-import java.security.SecureRandom;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * Implements a special purpose cache.
+ * <p>
+ * Entries are indexed by name in a concurrent hash map, so lookups never
+ * block and inserts and removals don't copy the index. The cache is bounded
+ * by the total weight of its entries (the entry size in KB), and space is
+ * made by sampling entries from a moving eviction hand and removing the
+ * ones which are accessed less than the desired access ratio.
  *
  * @author <a href="mailto:remm@apache.org">Remy Maucherat</a>
  * @version $Revision: 1.3 $
@@ -40,23 +51,30 @@ public class ResourceCache {
 
 
     /**
-     * Random generator used to determine elements to free.
+     * Cache.
+     * Path -> Cache entry.
      */
-    protected SecureRandom random = new SecureRandom();
+    protected final ConcurrentMap<String, CacheEntry> cache =
+        new ConcurrentHashMap<String, CacheEntry>();
 
 
     /**
-     * Cache.
-     * Path -> Cache entry.
+     * Not found cache.
      */
-    protected CacheEntry[] cache = new CacheEntry[0];
+    protected final ConcurrentMap<String, CacheEntry> notFoundCache =
+        new ConcurrentHashMap<String, CacheEntry>();
 
 
     /**
-     * Not found cache.
+     * Lock held while making space, it also guards the eviction hand.
+     */
+    protected final ReentrantLock evictionLock = new ReentrantLock();
+
+
+    /**
+     * Position of the next entry considered for removal.
      */
-    protected HashMap<String, CacheEntry> notFoundCache =
-        new HashMap<String, CacheEntry>();
+    private Iterator<CacheEntry> evictionHand;
 
 
     /**
@@ -87,19 +105,25 @@ public class ResourceCache {
     /**
      * Current cache size in KB.
      */
-    protected int cacheSize = 0;
+    protected final AtomicInteger cacheSize = new AtomicInteger();
 
 
     /**
      * Number of accesses to the cache.
      */
-    protected long accessCount = 0;
+    protected final LongAdder accessCount = new LongAdder();
 
 
     /**
      * Number of cache hits.
      */
-    protected long hitsCount = 0;
+    protected final LongAdder hitsCount = new LongAdder();
+
+
+    /**
+     * Number of entries removed to make space.
+     */
+    protected final LongAdder evictionCount = new LongAdder();
 
 
     // ------------------------------------------------------------- Properties
@@ -107,11 +131,9 @@ public class ResourceCache {
 
     /**
      * Return the access count.
-     * Note: Update is not synced, so the number may not be completely
-     * accurate.
      */
     public long getAccessCount() {
-        return accessCount;
+        return accessCount.sum();
     }
 
 
@@ -135,7 +157,16 @@ public class ResourceCache {
      * Return the current cache size in KB.
      */
     public int getCacheSize() {
-        return cacheSize;
+        return cacheSize.get();
+    }
+
+
+    /**
+     * Return the number of cached resources, not counting the names
+     * which were not found.
+     */
+    public int getEntryCount() {
+        return cache.size();
     }
 
 
@@ -157,11 +188,25 @@ public class ResourceCache {
 
     /**
      * Return the number of cache hits.
-     * Note: Update is not synced, so the number may not be completely
-     * accurate.
      */
     public long getHitsCount() {
-        return hitsCount;
+        return hitsCount.sum();
+    }
+
+
+    /**
+     * Return the number of cache misses.
+     */
+    public long getMissCount() {
+        return Math.max(0L, accessCount.sum() - hitsCount.sum());
+    }
+
+
+    /**
+     * Return the number of entries removed to make space for new ones.
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
     }
 
 
@@ -200,226 +245,135 @@ public class ResourceCache {
     // --------------------------------------------------------- Public Methods
 
 
+    /**
+     * Make room for an entry of the given size. At most
+     * <code>maxAllocateIterations</code> entries are examined; if they are
+     * not enough to free the requested space, the cache is left unchanged.
+     *
+     * @return <code>true</code> if the space is available
+     */
     public boolean allocate(int space) {
 
-        int toFree = space - (cacheMaxSize - cacheSize);
-
-        if (toFree <= 0) {
+        if (space - (cacheMaxSize - cacheSize.get()) <= 0) {
             return true;
         }
 
-        // Increase the amount to free so that allocate won't have to run right
-        // away again
-        toFree += (cacheMaxSize / 20);
+        evictionLock.lock();
+        try {
+            int toFree = space - (cacheMaxSize - cacheSize.get());
+            if (toFree <= 0) {
+                return true;
+            }
 
-        int size = notFoundCache.size();
-        if (size > spareNotFoundEntries) {
-            notFoundCache.clear();
-            cacheSize -= size;
-            toFree -= size;
-        }
+            // Increase the amount to free so that allocate won't have to run
+            // right away again
+            toFree += (cacheMaxSize / 20);
 
-        if (toFree <= 0) {
-            return true;
-        }
+            if (notFoundCache.size() > spareNotFoundEntries) {
+                for (String name : notFoundCache.keySet()) {
+                    if (notFoundCache.remove(name) != null) {
+                        cacheSize.decrementAndGet();
+                        toFree--;
+                    }
+                }
+            }
 
-        int attempts = 0;
-        int entriesFound = 0;
-        long totalSpace = 0;
-        int[] toRemove = new int[maxAllocateIterations];
-        while (toFree > 0) {
-            if (attempts == maxAllocateIterations) {
-                // Give up, no changes are made to the current cache
-                return false;
+            if (toFree <= 0) {
+                return true;
             }
-            if (toFree > 0) {
-                // Randomly select an entry in the array
-                int entryPos = -1;
-                boolean unique = false;
-                int count = 0;
-                while (!unique) {
-                    unique = true;
-                    entryPos = random.nextInt(cache.length) ;
-                    // Guarantee uniqueness
-                    for (int i = 0; i < entriesFound; i++) {
-                        if (toRemove[i] == entryPos) {
-                            unique = false;
-                        }
+
+            long accesses = Math.max(1L, accessCount.sum());
+            int limit = Math.min(maxAllocateIterations, cache.size());
+            CacheEntry[] toRemove = new CacheEntry[limit];
+            int entriesFound = 0;
+            for (int attempts = 0; (toFree > 0) && (attempts < limit); attempts++) {
+                if ((evictionHand == null) || !evictionHand.hasNext()) {
+                    evictionHand = cache.values().iterator();
+                    if (!evictionHand.hasNext()) {
+                        break;
                     }
                 }
-                long entryAccessRatio =
-                    ((cache[entryPos].accessCount * 100) / accessCount);
+                CacheEntry entry = evictionHand.next();
+                long entryAccessRatio = ((entry.accessCount * 100) / accesses);
                 if (entryAccessRatio < desiredEntryAccessRatio) {
-                    toRemove[entriesFound] = entryPos;
-                    totalSpace += cache[entryPos].size;
-                    toFree -= cache[entryPos].size;
-                    entriesFound++;
+                    toRemove[entriesFound++] = entry;
+                    toFree -= entry.size;
                 }
             }
-            attempts++;
-        }
 
-        // Now remove the selected entries
-        java.util.Arrays.sort(toRemove, 0, entriesFound);
-        CacheEntry[] newCache = new CacheEntry[cache.length - entriesFound];
-        int pos = 0;
-        int n = -1;
-        if (entriesFound > 0) {
-            n = toRemove[0];
-            for (int i = 0; i < cache.length; i++) {
-                if (i == n) {
-                    if ((pos + 1) < entriesFound) {
-                        n = toRemove[pos + 1];
-                        pos++;
-                    } else {
-                        pos++;
-                        n = -1;
-                    }
-                } else {
-                    newCache[i - pos] = cache[i];
+            if (toFree > 0) {
+                // Give up, no changes are made to the current cache
+                return false;
+            }
+
+            // Now remove the selected entries
+            for (int i = 0; i < entriesFound; i++) {
+                CacheEntry entry = toRemove[i];
+                if (cache.remove(entry.name, entry)) {
+                    cacheSize.addAndGet(-entry.size);
+                    evictionCount.increment();
                 }
             }
+            return true;
+        } finally {
+            evictionLock.unlock();
         }
-        cache = newCache;
-        cacheSize -= totalSpace;
-
-        return true;
 
     }
 
 
     public CacheEntry lookup(String name) {
 
-        CacheEntry cacheEntry = null;
-        CacheEntry[] currentCache = cache;
-        accessCount++;
-        int pos = find(currentCache, name);
-        if ((pos != -1) && (name.equals(currentCache[pos].name))) {
-            cacheEntry = currentCache[pos];
-        }
+        accessCount.increment();
+        CacheEntry cacheEntry = cache.get(name);
         if (cacheEntry == null) {
-            try {
-                cacheEntry = notFoundCache.get(name);
-            } catch (Exception e) {
-                // Ignore: the reliability of this lookup is not critical
-            }
+            cacheEntry = notFoundCache.get(name);
         }
         if (cacheEntry != null) {
-            hitsCount++;
+            hitsCount.increment();
         }
         return cacheEntry;
 
     }
 
 
+    /**
+     * Check if an entry with the given name is cached, without counting
+     * an access.
+     */
+    public boolean contains(String name) {
+        return cache.containsKey(name) || notFoundCache.containsKey(name);
+    }
+
+
+    /**
+     * Add the given entry, unless an entry with the same name has been
+     * added concurrently.
+     */
     public void load(CacheEntry entry) {
         if (entry.exists) {
-            if (insertCache(entry)) {
-                cacheSize += entry.size;
+            if (cache.putIfAbsent(entry.name, entry) == null) {
+                cacheSize.addAndGet(entry.size);
             }
         } else {
-            int sizeIncrement = (notFoundCache.get(entry.name) == null) ? 1 : 0;
-            notFoundCache.put(entry.name, entry);
-            cacheSize += sizeIncrement;
+            if (notFoundCache.put(entry.name, entry) == null) {
+                cacheSize.incrementAndGet();
+            }
         }
     }
 
 
     public boolean unload(String name) {
-        CacheEntry removedEntry = removeCache(name);
+        CacheEntry removedEntry = cache.remove(name);
         if (removedEntry != null) {
-            cacheSize -= removedEntry.size;
+            cacheSize.addAndGet(-removedEntry.size);
             return true;
         } else if (notFoundCache.remove(name) != null) {
-
-            cacheSize--;
+            cacheSize.decrementAndGet();
             return true;
         }
         return false;
     }
 
 
-    /**
-     * Find a map elemnt given its name in a sorted array of map elements.
-     * This will return the index for the closest inferior or equal item in the
-     * given array.
-     */
-    private static final int find(CacheEntry[] map, String name) {
-
-        int a = 0;
-        int b = map.length - 1;
-
-        // Special cases: -1 and 0
-        if (b == -1) {
-            return -1;
-        }
-        if (name.compareTo(map[0].name) < 0) {
-            return -1;
-        }
-        if (b == 0) {
-            return 0;
-        }
-
-        int i = 0;
-        while (true) {
-            i = (b + a) >>> 1;
-            int result = name.compareTo(map[i].name);
-            if (result > 0) {
-                a = i;
-            } else if (result == 0) {
-                return i;
-            } else {
-                b = i;
-            }
-            if ((b - a) == 1) {
-                int result2 = name.compareTo(map[b].name);
-                if (result2 < 0) {
-                    return a;
-                } else {
-                    return b;
-                }
-            }
-        }
-
-    }
-
-
-    /**
-     * Insert into the right place in a sorted MapElement array, and prevent
-     * duplicates.
-     */
-    private final boolean insertCache(CacheEntry newElement) {
-        CacheEntry[] oldCache = cache;
-        int pos = find(oldCache, newElement.name);
-        if ((pos != -1) && (newElement.name.equals(oldCache[pos].name))) {
-            return false;
-        }
-        CacheEntry[] newCache = new CacheEntry[cache.length + 1];
-        System.arraycopy(oldCache, 0, newCache, 0, pos + 1);
-        newCache[pos + 1] = newElement;
-        System.arraycopy
-            (oldCache, pos + 1, newCache, pos + 2, oldCache.length - pos - 1);
-        cache = newCache;
-        return true;
-    }
-
-
-    /**
-     * Insert into the right place in a sorted MapElement array.
-     */
-    private final CacheEntry removeCache(String name) {
-        CacheEntry[] oldCache = cache;
-        int pos = find(oldCache, name);
-        if ((pos != -1) && (name.equals(oldCache[pos].name))) {
-            CacheEntry[] newCache = new CacheEntry[cache.length - 1];
-            System.arraycopy(oldCache, 0, newCache, 0, pos);
-            System.arraycopy(oldCache, pos + 1, newCache, pos,
-                             oldCache.length - pos - 1);
-            cache = newCache;
-            return oldCache[pos];
-        }
-        return null;
-    }
-
-
 }
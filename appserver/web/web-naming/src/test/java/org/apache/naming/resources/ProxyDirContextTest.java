@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.naming.resources;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Hashtable;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProxyDirContextTest {
+
+    @TempDir
+    Path docBase;
+
+    private ProxyDirContext context;
+
+    @BeforeEach
+    public void init() throws Exception {
+        FileDirContext dirContext = new FileDirContext();
+        dirContext.setDocBase(docBase.toString());
+        context = new ProxyDirContext(new Hashtable<String, String>(), dirContext);
+    }
+
+
+    @Test
+    public void loadOfCachedNameDoesNotEvict() throws Exception {
+        Files.writeString(docBase.resolve("a.txt"), "a");
+        Files.writeString(docBase.resolve("b.txt"), "b");
+        context.cache.setCacheMaxSize(2);
+        CacheEntry cached = context.lookupCache("/a.txt");
+        context.lookupCache("/b.txt");
+        assertEquals(2, context.cache.getCacheSize());
+
+        // a concurrent load of the same name, it must not make space for itself
+        CacheEntry concurrent = new CacheEntry();
+        concurrent.name = "/a.txt";
+        context.cacheLoad(concurrent);
+
+        assertEquals(0L, context.cache.getEvictionCount());
+        assertEquals(2, context.cache.getCacheSize());
+        assertTrue(context.cache.contains("/b.txt"));
+        assertSame(cached, context.lookupCache("/a.txt"));
+    }
+
+
+    @Test
+    public void lookupVariant() throws Exception {
+        Files.writeString(docBase.resolve("style.css"), "body {}");
+        byte[] compressed = {31, -117, 8, 0};
+        Files.write(docBase.resolve("style.css.gz"), compressed);
+
+        CacheEntry entry = context.lookupCache("/style.css");
+        CacheEntry variant = context.lookupVariant(entry, "gzip", ".gz");
+        assertNotNull(variant);
+        assertEquals("/style.css.gz", variant.name);
+        assertArrayEquals(compressed, variant.resource.getContent());
+        assertSame(variant, context.lookupVariant(entry, "gzip", ".gz"));
+    }
+
+
+    @Test
+    public void lookupVariantRemembersMissingVariant() throws Exception {
+        Files.writeString(docBase.resolve("style.css"), "body {}");
+
+        CacheEntry entry = context.lookupCache("/style.css");
+        assertNull(context.lookupVariant(entry, "br", ".br"));
+
+        // not looked up again while the resource keeps its ETag
+        Files.write(docBase.resolve("style.css.br"), "compressed".getBytes(UTF_8));
+        assertNull(context.lookupVariant(entry, "br", ".br"));
+        assertNull(context.lookupVariant(context.lookupCache("/missing.css"), "br", ".br"));
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.naming.resources;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResourceCacheTest {
+
+    private ResourceCache cache;
+
+    @BeforeEach
+    public void init() {
+        cache = new ResourceCache();
+        cache.setCacheMaxSize(10);
+    }
+
+
+    @Test
+    public void lookupCountsHitsAndMisses() throws Exception {
+        CacheEntry entry = entry("/a", 2);
+        cache.load(entry);
+
+        assertSame(entry, cache.lookup("/a"));
+        assertNull(cache.lookup("/b"));
+        assertEquals(2L, cache.getAccessCount());
+        assertEquals(1L, cache.getHitsCount());
+        assertEquals(1L, cache.getMissCount());
+    }
+
+
+    @Test
+    public void containsDoesNotCountAccess() throws Exception {
+        cache.load(entry("/a", 1));
+        CacheEntry notFound = entry("/missing", 1);
+        notFound.exists = false;
+        cache.load(notFound);
+
+        assertTrue(cache.contains("/a"));
+        assertTrue(cache.contains("/missing"));
+        assertFalse(cache.contains("/b"));
+        assertEquals(0L, cache.getAccessCount());
+    }
+
+
+    @Test
+    public void loadKeepsExistingEntry() throws Exception {
+        CacheEntry first = entry("/a", 2);
+        cache.load(first);
+        cache.load(entry("/a", 3));
+
+        assertSame(first, cache.lookup("/a"));
+        assertEquals(2, cache.getCacheSize());
+        assertEquals(1, cache.getEntryCount());
+    }
+
+
+    @Test
+    public void unloadReleasesSpace() throws Exception {
+        cache.load(entry("/a", 4));
+        CacheEntry notFound = entry("/missing", 1);
+        notFound.exists = false;
+        cache.load(notFound);
+        assertEquals(5, cache.getCacheSize());
+
+        assertTrue(cache.unload("/a"));
+        assertTrue(cache.unload("/missing"));
+        assertFalse(cache.unload("/a"));
+        assertEquals(0, cache.getCacheSize());
+        assertEquals(0, cache.getEntryCount());
+    }
+
+
+    @Test
+    public void allocateEvictsRarelyAccessedEntries() throws Exception {
+        CacheEntry rare = entry("/rare", 4);
+        CacheEntry frequent = entry("/frequent", 4);
+        frequent.accessCount = 100;
+        cache.load(rare);
+        cache.load(frequent);
+
+        assertTrue(cache.allocate(4));
+        assertFalse(cache.contains("/rare"));
+        assertTrue(cache.contains("/frequent"));
+        assertEquals(4, cache.getCacheSize());
+        assertEquals(1L, cache.getEvictionCount());
+    }
+
+
+    @Test
+    public void allocateGivesUpWithoutChanges() throws Exception {
+        CacheEntry first = entry("/first", 4);
+        CacheEntry second = entry("/second", 4);
+        first.accessCount = 100;
+        second.accessCount = 100;
+        cache.load(first);
+        cache.load(second);
+
+        assertFalse(cache.allocate(4));
+        assertTrue(cache.contains("/first"));
+        assertTrue(cache.contains("/second"));
+        assertEquals(8, cache.getCacheSize());
+        assertEquals(0L, cache.getEvictionCount());
+    }
+
+
+    @Test
+    public void allocateWithinFreeSpace() throws Exception {
+        cache.load(entry("/a", 4));
+
+        assertTrue(cache.allocate(6));
+        assertTrue(cache.contains("/a"));
+        assertEquals(0L, cache.getEvictionCount());
+    }
+
+
+    private static CacheEntry entry(String name, int size) {
+        CacheEntry entry = new CacheEntry();
+        entry.name = name;
+        entry.size = size;
+        return entry;
+    }
+}
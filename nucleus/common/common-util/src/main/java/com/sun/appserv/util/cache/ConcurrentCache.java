@@ -0,0 +1,861 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.util.cache;
+
+import com.sun.enterprise.util.CULoggerInfo;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ConcurrentCache
+ * in-memory bounded cache without per-access locking, which may be used in place of
+ * the {@link LruCache}.
+ * <p>
+ * Entries are kept in a {@link ConcurrentHashMap}, so {@link #get(Object)} doesn't take
+ * any lock, and all statistics are {@link LongAdder}s. Instead of an LRU list the cache
+ * keeps an approximate access frequency of keys in a small count-min sketch
+ * (the TinyLFU policy):
+ * <ul>
+ * <li>when the cache is full, a few entries are sampled and the least frequently used one
+ * (the least recently used one of equally frequent entries) is the eviction victim,
+ * <li>a newly added entry is admitted only if it is used more frequently than the victim,
+ * otherwise the new entry is evicted instead, so one-hit wonders don't push out hot entries.
+ * </ul>
+ * Evictions are done by one thread at a time, so the number of entries may exceed the
+ * maximum by a few entries for a short time. Evicted entries are reported to the
+ * {@link CacheListener}s.
+ */
+public class ConcurrentCache implements Cache {
+
+    // the item never expires
+    public static final long NO_TIMEOUT = -1;
+
+    static final int MAX_ENTRIES = 1 << 30;
+
+    // number of entries compared to find an eviction victim
+    private static final int SAMPLE_SIZE = 8;
+
+    // max number of locks used for waitRefresh/notifyRefresh
+    private static final int MAX_REFRESH_LOCKS = 1 << 16;
+
+    protected int maxEntries;
+    protected long timeout = NO_TIMEOUT;
+
+    protected int defaultMaxEntries = Constants.DEFAULT_MAX_ENTRIES;
+    protected boolean isUnbounded;
+
+    private ConcurrentHashMap<Object, CacheEntry> entries;
+    private FrequencySketch sketch;
+
+    // eviction is done by the single thread holding the lock
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private Iterator<CacheEntry> evictionHand;
+
+    // boolean status and locks for item thread-safe refreshes
+    private Object[] refreshLocks;
+    private boolean[] refreshFlags;
+
+    private final LongAdder entryCount = new LongAdder();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder removalCount = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder addCount = new LongAdder();
+    private final LongAdder overflowCount = new LongAdder();
+    private final LongAdder trimCount = new LongAdder();
+    private final LongAdder rejectionCount = new LongAdder();
+
+    protected List<CacheListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * default constructor
+     */
+    public ConcurrentCache() { }
+
+    /**
+     * constructor with specified max entries.
+     * @param defaultMaxEntries specifies the default max entries
+     *        to use when the maxEntries is <= 0.
+     */
+    public ConcurrentCache(int defaultMaxEntries) {
+        this.defaultMaxEntries = defaultMaxEntries;
+    }
+
+    /**
+     * initialize the cache
+     * @param maxEntries maximum number of entries expected in the cache
+     * @param props opaque list of properties for a given cache implementation
+     */
+    @Override
+    public void init(int maxEntries, Properties props) {
+        init(maxEntries, BaseCache.DEFAULT_LOAD_FACTOR, props);
+    }
+
+    /**
+     * initialize the cache
+     * @param maxEntries maximum number of entries expected in the cache
+     * @param timeout to be used to trim the expired entries
+     * @param loadFactor the load factor
+     * @param props opaque list of properties for a given cache implementation
+     */
+    public void init(int maxEntries, long timeout, float loadFactor, Properties props) {
+        setTimeout(timeout);
+        init(maxEntries, loadFactor, props);
+    }
+
+    /**
+     * initialize the cache
+     * @param maxEntries maximum number of entries expected in the cache;
+     *        if <= 0 the cache is unbounded
+     * @param loadFactor the load factor of the underlying hash table
+     * @param props opaque list of properties for a given cache implementation
+     */
+    @Override
+    public void init(int maxEntries, float loadFactor, Properties props) {
+        if (maxEntries <= 0) {
+            maxEntries = defaultMaxEntries;
+
+            // mark this cache unbounded
+            isUnbounded = true;
+        }
+        if (maxEntries <= 0) {
+            String msg = CULoggerInfo.getString(CULoggerInfo.illegalMaxEntries);
+            throw new IllegalArgumentException(MessageFormat.format(msg, maxEntries));
+        }
+        if (maxEntries > MAX_ENTRIES) {
+            maxEntries = MAX_ENTRIES;
+        }
+        if (loadFactor <= 0) {
+            loadFactor = BaseCache.DEFAULT_LOAD_FACTOR;
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new ConcurrentHashMap<>(Math.min(maxEntries, 1 << 16), loadFactor);
+        this.sketch = new FrequencySketch(maxEntries);
+
+        int locks = 1;
+        while (locks < maxEntries && locks < MAX_REFRESH_LOCKS) {
+            locks <<= 1;
+        }
+        refreshLocks = new Object[locks];
+        refreshFlags = new boolean[locks];
+        for (int i = 0; i < locks; i++) {
+            refreshLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * sets the timeout value
+     * @param timeout to be used to trim the expired entries
+     */
+    public void setTimeout(long timeout) {
+        // accept a positive timeout
+        if (timeout > 0) {
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * add the cache module listener
+     * @param listener <code>CacheListener</code> implementation
+     */
+    @Override
+    public void addCacheListener(CacheListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Returns a hash code for non-null Object x.
+     */
+    protected int hash(Object x) {
+        int h = x.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * get the index of the item given a key
+     * @param key of the entry
+     * @return the index to be used for {@link #waitRefresh(int)} and {@link #notifyRefresh(int)}
+     */
+    @Override
+    public int getIndex(Object key) {
+        return hash(key) & (refreshLocks.length - 1);
+    }
+
+    /**
+     * get the item stored at the key.
+     * @param key lookup key
+     * @returns the item stored at the key; null if not found.
+     */
+    @Override
+    public Object get(Object key) {
+        CacheEntry entry = entries.get(key);
+        if (entry == null) {
+            // misses count too, so a key requested often gets admitted when it is put
+            sketch.increment(hash(key));
+            missCount.increment();
+            return null;
+        }
+        entryAccessed(entry);
+        hitCount.increment();
+        return entry.value;
+    }
+
+    /**
+     * get all the items stored at the key.
+     * @param key lookup key
+     * @returns an Iterator over the items with the given key.
+     */
+    @Override
+    public Iterator getAll(Object key) {
+        List<Object> valueList = new ArrayList<>();
+        for (CacheEntry entry = entries.get(key); entry != null; entry = entry.next) {
+            entryAccessed(entry);
+            hitCount.increment();
+            valueList.add(entry.value);
+        }
+        return valueList.iterator();
+    }
+
+    /**
+     * check if the cache contains the item at the key
+     * @param key lookup key
+     * @returns true if there is an item stored at the key; false if not.
+     */
+    @Override
+    public boolean contains(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * get an Iterator for the keys stored in the cache
+     * @returns an Iterator
+     */
+    @Override
+    public Iterator keys() {
+        List<Object> keyList = new ArrayList<>(entries.size());
+        for (CacheEntry head : entries.values()) {
+            for (CacheEntry entry = head; entry != null; entry = entry.next) {
+                keyList.add(entry.key);
+            }
+        }
+        return keyList.iterator();
+    }
+
+    /**
+     * get an Enumeration for the keys stored in the cache
+     * @returns an Enumeration
+     */
+    @Override
+    public Enumeration elements() {
+        Vector<Object> keyList = new Vector<>();
+        for (CacheEntry head : entries.values()) {
+            for (CacheEntry entry = head; entry != null; entry = entry.next) {
+                keyList.addElement(entry.key);
+            }
+        }
+        return keyList.elements();
+    }
+
+    /**
+     * get an Iterator for the values stored in the cache
+     * @returns an Iterator
+     */
+    @Override
+    public Iterator values() {
+        List<Object> valueList = new ArrayList<>(entries.size());
+        for (CacheEntry head : entries.values()) {
+            for (CacheEntry entry = head; entry != null; entry = entry.next) {
+                valueList.add(entry.value);
+            }
+        }
+        return valueList.iterator();
+    }
+
+    /**
+     * cache the given value at the specified key and return previous value
+     * @param key lookup key
+     * @param value item value to be stored
+     * @returns the previous item stored at the key; null if not found.
+     */
+    @Override
+    public Object put(Object key, Object value) {
+        return put(key, value, -1, false);
+    }
+
+    /**
+     * cache the given value at the specified key and return previous value
+     * @param key lookup key
+     * @param value item value to be stored
+     * @param size in bytes of the value being cached
+     * @returns the previous item stored at the key; null if not found.
+     */
+    @Override
+    public Object put(Object key, Object value, int size) {
+        return put(key, value, size, false);
+    }
+
+    /**
+     * add the given value to the cache at the specified key
+     * @param key lookup key
+     * @param value item value to be stored
+     */
+    @Override
+    public void add(Object key, Object value) {
+        put(key, value, -1, true);
+    }
+
+    /**
+     * add the given value with specified size to the cache at specified key
+     * @param key lookup key
+     * @param value item value to be stored
+     * @param size in bytes of the value being added
+     */
+    @Override
+    public void add(Object key, Object value, int size) {
+        put(key, value, size, true);
+    }
+
+    /**
+     * cache the given value at the specified key and return previous value
+     * @param key lookup key
+     * @param value item value to be stored
+     * @param size in bytes of the value being cached
+     * @param addValue treat this operation as add (default is to replace)
+     * @returns the previous item stored at the key; null if not found.
+     */
+    protected Object put(Object key, Object value, int size, boolean addValue) {
+        final int hashCode = hash(key);
+        final CacheEntry created = new CacheEntry(hashCode, key, value, size);
+        final Object[] oldValue = new Object[1];
+        final boolean[] refreshed = new boolean[1];
+        entries.compute(key, (k, head) -> {
+            if (head == null || addValue) {
+                created.next = head;
+                return created;
+            }
+            oldValue[0] = head.refreshValue(value, size);
+            head.lastAccessed = System.currentTimeMillis();
+            refreshed[0] = true;
+            return head;
+        });
+
+        sketch.increment(hashCode);
+        if (refreshed[0]) {
+            refreshCount.increment();
+            return oldValue[0];
+        }
+
+        entryCount.increment();
+        addCount.increment();
+        if (!isUnbounded && entryCount.sum() > maxEntries) {
+            overflowCount.increment();
+            evict(created);
+        }
+        return null;
+    }
+
+    /**
+     * remove the item stored at the key.
+     * @param key lookup key
+     * @returns the item stored at the key; null if not found.
+     */
+    @Override
+    public Object remove(Object key) {
+        return remove(key, null);
+    }
+
+    /**
+     * remove the given value stored at the key; value-specific removals.
+     * @param key lookup key
+     * @param value to match (for a multi-valued keys); null matches any value
+     * @returns the item stored at the key; null if not found.
+     */
+    @Override
+    public Object remove(Object key, Object value) {
+        final CacheEntry[] removed = new CacheEntry[1];
+        entries.computeIfPresent(key, (k, head) -> {
+            CacheEntry prev = null;
+            for (CacheEntry entry = head; entry != null; prev = entry, entry = entry.next) {
+                if (value == null || value == entry.value) {
+                    removed[0] = entry;
+                    return unlink(head, prev, entry);
+                }
+            }
+            return head;
+        });
+
+        if (removed[0] == null) {
+            missCount.increment();
+            return null;
+        }
+        entryCount.decrement();
+        removalCount.increment();
+        hitCount.increment();
+        return removed[0].value;
+    }
+
+    /**
+     * remove all the item with the given key.
+     * @param key lookup key
+     */
+    @Override
+    public void removeAll(Object key) {
+        CacheEntry head = entries.remove(key);
+        for (CacheEntry entry = head; entry != null; entry = entry.next) {
+            entry.removed = true;
+            entryCount.decrement();
+            removalCount.increment();
+        }
+    }
+
+    /**
+     * wait for a refresh on the object associated with the key
+     * @param index index of the entry, see {@link #getIndex(Object)}
+     * @returns true on successful notification, or false if there is
+     *  no thread refreshing this entry.
+     */
+    @Override
+    public boolean waitRefresh(int index) {
+        synchronized (refreshLocks[index]) {
+            if (!refreshFlags[index]) {
+                refreshFlags[index] = true;
+                return false;
+            }
+
+            // wait till refresh is finished
+            try {
+                while (refreshFlags[index]) {
+                    refreshLocks[index].wait();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * notify threads waiting for a refresh on the object associated with the key
+     * @param index index of the entry, see {@link #getIndex(Object)}
+     */
+    @Override
+    public void notifyRefresh(int index) {
+        synchronized (refreshLocks[index]) {
+            refreshFlags[index] = false;
+            refreshLocks[index].notifyAll();
+        }
+    }
+
+    /**
+     * clear all the entries from the cache.
+     * @returns the number of entries cleared from the cache
+     */
+    @Override
+    public int clear() {
+        int count = 0;
+        for (Object key : entries.keySet()) {
+            CacheEntry head = entries.remove(key);
+            for (CacheEntry entry = head; entry != null; entry = entry.next) {
+                entry.removed = true;
+                entryCount.decrement();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * is this cache empty?
+     * @returns true if the cache is empty; false otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * get the number of entries in the cache
+     * @return the number of entries the cache currently holds
+     */
+    @Override
+    public int getEntryCount() {
+        return entryCount.intValue();
+    }
+
+    /**
+     * trim the expired entries from the cache.
+     * @param maxCount maximum number of invalid entries to trim
+     *        specify Integer.MAX_VALUE to trim all timedout entries
+     *
+     * This call is to be scheduled by a thread managed by the container.
+     */
+    @Override
+    public void trimExpiredEntries(int maxCount) {
+        if (timeout == NO_TIMEOUT) {
+            return;
+        }
+        long expiredBefore = System.currentTimeMillis() - timeout;
+        int count = 0;
+        for (CacheEntry head : entries.values()) {
+            for (CacheEntry entry = head; entry != null && count < maxCount; entry = entry.next) {
+                if (entry.lastAccessed <= expiredBefore && trimEntry(entry)) {
+                    count++;
+                }
+            }
+            if (count >= maxCount) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * get the desired statistic counter
+     * @param key to corresponding stat
+     * @return an Object corresponding to the stat
+     * See also: Constant.java for the key
+     */
+    @Override
+    public Object getStatByName(String key) {
+        if (key == null) {
+            return null;
+        }
+        switch (key) {
+            case Constants.STAT_BASECACHE_MAX_ENTRIES:
+            case Constants.STAT_BASECACHE_THRESHOLD:
+                return Integer.valueOf(maxEntries);
+            case Constants.STAT_BASECACHE_TABLE_SIZE:
+                return Integer.valueOf(entries.size());
+            case Constants.STAT_BASECACHE_ENTRY_COUNT:
+                return Integer.valueOf(entryCount.intValue());
+            case Constants.STAT_BASECACHE_HIT_COUNT:
+                return Integer.valueOf(hitCount.intValue());
+            case Constants.STAT_BASECACHE_MISS_COUNT:
+                return Integer.valueOf(missCount.intValue());
+            case Constants.STAT_BASECACHE_REMOVAL_COUNT:
+                return Integer.valueOf(removalCount.intValue());
+            case Constants.STAT_BASECACHE_REFRESH_COUNT:
+                return Integer.valueOf(refreshCount.intValue());
+            case Constants.STAT_BASECACHE_OVERFLOW_COUNT:
+                return Integer.valueOf(overflowCount.intValue());
+            case Constants.STAT_BASECACHE_ADD_COUNT:
+                return Integer.valueOf(addCount.intValue());
+            case Constants.STAT_CONCURRENTCACHE_TRIM_COUNT:
+                return Integer.valueOf(trimCount.intValue());
+            case Constants.STAT_CONCURRENTCACHE_REJECTION_COUNT:
+                return Integer.valueOf(rejectionCount.intValue());
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * get the stats snapshot
+     * @return a Map of stats
+     * See also: Constant.java for the keys
+     */
+    @Override
+    public Map getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        for (String key : new String[] {Constants.STAT_BASECACHE_MAX_ENTRIES, Constants.STAT_BASECACHE_THRESHOLD,
+            Constants.STAT_BASECACHE_TABLE_SIZE, Constants.STAT_BASECACHE_ENTRY_COUNT,
+            Constants.STAT_BASECACHE_HIT_COUNT, Constants.STAT_BASECACHE_MISS_COUNT,
+            Constants.STAT_BASECACHE_REMOVAL_COUNT, Constants.STAT_BASECACHE_REFRESH_COUNT,
+            Constants.STAT_BASECACHE_OVERFLOW_COUNT, Constants.STAT_BASECACHE_ADD_COUNT,
+            Constants.STAT_CONCURRENTCACHE_TRIM_COUNT, Constants.STAT_CONCURRENTCACHE_REJECTION_COUNT}) {
+            stats.put(key, getStatByName(key));
+        }
+        return stats;
+    }
+
+    /**
+     * clear the stats
+     */
+    @Override
+    public void clearStats() {
+        hitCount.reset();
+        missCount.reset();
+        removalCount.reset();
+        refreshCount.reset();
+        overflowCount.reset();
+        addCount.reset();
+        trimCount.reset();
+        rejectionCount.reset();
+    }
+
+    /**
+     * Clears the cache and removes all listeners. This method should be called
+     * at the end of this object's life cycle.
+     */
+    @Override
+    public void destroy() {
+        if (entries != null) {
+            clear();
+        }
+        listeners.clear();
+    }
+
+    private void entryAccessed(CacheEntry entry) {
+        sketch.increment(entry.hashCode);
+        // avoid writing the shared entry more than once per millisecond
+        long now = System.currentTimeMillis();
+        if (entry.lastAccessed != now) {
+            entry.lastAccessed = now;
+        }
+    }
+
+    /**
+     * Removes entries until the cache is within its bounds. Only one thread evicts at a time,
+     * others just continue, the evicting thread takes care of their entries too.
+     * @param candidate the entry just added to the cache
+     */
+    private void evict(CacheEntry candidate) {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            while (entryCount.sum() > maxEntries) {
+                CacheEntry victim = sampleVictim();
+                if (victim == null) {
+                    return;
+                }
+                if (candidate != null && candidate != victim && !candidate.removed
+                        && sketch.frequency(candidate.hashCode) <= sketch.frequency(victim.hashCode)) {
+                    // TinyLFU admission: the new entry is colder than the victim
+                    victim = candidate;
+                    rejectionCount.increment();
+                }
+                candidate = null;
+                trimEntry(victim);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * @return the least frequently used of the next {@value #SAMPLE_SIZE} entries of the table
+     */
+    private CacheEntry sampleVictim() {
+        CacheEntry victim = null;
+        int victimFrequency = Integer.MAX_VALUE;
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            if (evictionHand == null || !evictionHand.hasNext()) {
+                evictionHand = entries.values().iterator();
+                if (!evictionHand.hasNext()) {
+                    break;
+                }
+            }
+            CacheEntry entry = evictionHand.next();
+            int frequency = sketch.frequency(entry.hashCode);
+            if (victim == null || frequency < victimFrequency
+                    || (frequency == victimFrequency && entry.lastAccessed < victim.lastAccessed)) {
+                victim = entry;
+                victimFrequency = frequency;
+            }
+        }
+        return victim;
+    }
+
+    /**
+     * remove the entry from the cache and notify listeners
+     * @param target entry to be trimmed
+     * @return true if this call removed the entry
+     */
+    private boolean trimEntry(CacheEntry target) {
+        final boolean[] trimmed = new boolean[1];
+        entries.computeIfPresent(target.key, (k, head) -> {
+            CacheEntry prev = null;
+            for (CacheEntry entry = head; entry != null; prev = entry, entry = entry.next) {
+                if (entry == target) {
+                    trimmed[0] = true;
+                    return unlink(head, prev, entry);
+                }
+            }
+            return head;
+        });
+        if (!trimmed[0]) {
+            return false;
+        }
+        entryCount.decrement();
+        trimCount.increment();
+        for (CacheListener listener : listeners) {
+            listener.trimEvent(target.key, target.value);
+        }
+        return true;
+    }
+
+    /**
+     * Unlinks the entry from the list of entries of its key. Called inside of the
+     * hash table's compute methods only.
+     * @return new head of the list
+     */
+    private static CacheEntry unlink(CacheEntry head, CacheEntry prev, CacheEntry entry) {
+        entry.removed = true;
+        if (prev == null) {
+            return entry.next;
+        }
+        prev.next = entry.next;
+        return head;
+    }
+
+    /** entry of the cache; entries of a multi-valued key are linked */
+    protected static class CacheEntry {
+        final int hashCode;
+        final Object key;
+        volatile Object value;
+        volatile int size;
+        volatile long lastAccessed;
+        volatile boolean removed;
+
+        // next value of the same key, changed inside of the hash table's compute methods only
+        volatile CacheEntry next;
+
+        protected CacheEntry(int hashCode, Object key, Object value, int size) {
+            this.hashCode = hashCode;
+            this.key = key;
+            this.value = value;
+            this.size = size;
+            this.lastAccessed = System.currentTimeMillis();
+        }
+
+        /**
+         * get the item's key
+         */
+        public Object getKey() {
+            return key;
+        }
+
+        /**
+         * get the item's value
+         */
+        public Object getValue() {
+            return value;
+        }
+
+        /**
+         * @return size of the entry in bytes
+         * a value of -1 indicates unknown size
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * refresh the item's value
+         * @param value value to be updated
+         * @param newSize of the field
+         */
+        protected Object refreshValue(Object value, int newSize) {
+            Object oldValue = this.value;
+            this.value = value;
+            this.size = newSize;
+            return oldValue;
+        }
+
+        @Override
+        public String toString() {
+            return "key: " + key + "; value: " + value;
+        }
+    }
+
+    /**
+     * Count-min sketch with 4-bit counters estimating how often a key was used recently.
+     * The counters are halved after every 10 * <code>maxEntries</code> increments, so the
+     * estimate ages out. Updates are not synchronized by design: a lost update only makes
+     * the estimate slightly less accurate.
+     */
+    static final class FrequencySketch {
+
+        private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int tableMask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maxEntries) {
+            int size = 64;
+            while (size < maxEntries && size < (1 << 24)) {
+                size <<= 1;
+            }
+            table = new long[size];
+            tableMask = size - 1;
+            sampleSize = (int) Math.min(10L * size, Integer.MAX_VALUE);
+        }
+
+        int frequency(int hashCode) {
+            int start = (hashCode & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int offset = (start + i) << 2;
+                int count = (int) ((table[indexOf(hashCode, i)] >>> offset) & 0xFL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        void increment(int hashCode) {
+            int start = (hashCode & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                added |= incrementAt(indexOf(hashCode, i), start + i);
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        private boolean incrementAt(int index, int counter) {
+            int offset = counter << 2;
+            long mask = 0xFL << offset;
+            long word = table[index];
+            if ((word & mask) == mask) {
+                // saturated, skip the write
+                return false;
+            }
+            table[index] = word + (1L << offset);
+            return true;
+        }
+
+        private int indexOf(int hashCode, int depth) {
+            long hash = (hashCode + SEEDS[depth]) * SEEDS[depth];
+            hash += hash >>> 32;
+            return ((int) hash) & tableMask;
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions = sampleSize >>> 1;
+        }
+    }
+}
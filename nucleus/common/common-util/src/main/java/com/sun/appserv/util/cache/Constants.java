@@ -52,4 +52,7 @@ public class Constants {
 
     public final static String STAT_BOUNDEDMULTILRUCACHE_CURRENT_SIZE="cache.BoundedMultiLruCache.stat_currentSize";
     public final static String STAT_BOUNDEDMULTILRUCACHE_MAX_SIZE="cache.BoundedMultiLruCache.stat_maxSize";
+
+    public final static String STAT_CONCURRENTCACHE_TRIM_COUNT="cache.ConcurrentCache.stat_trimCount";
+    public final static String STAT_CONCURRENTCACHE_REJECTION_COUNT="cache.ConcurrentCache.stat_rejectionCount";
 }
@@ -54,13 +54,13 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.Hashtable;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.Vector;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -91,16 +91,24 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
     /** logger for this class */
     private static final Logger _logger=CULoggerInfo.getLogger();
 
+    static {
+        // class loading locks per class name instead of the loader's monitor
+        registerAsParallelCapable();
+    }
+
     /**
-     * list of url entries of this class loader. Using LinkedHashSet instead of original ArrayList
-     * for faster search.
+     * list of url entries of this class loader. Entries are only appended (or cleared by done),
+     * so a copy-on-write set allows lookups to iterate over it without holding any lock.
      */
-    private final Set<URLEntry> urlSet = Collections.synchronizedSet(new LinkedHashSet<URLEntry>());
+    private final Set<URLEntry> urlSet = new CopyOnWriteArraySet<>();
 
     /** cache of not found resources */
     private final Map<String, String> notFoundResources = new ConcurrentHashMap<>();
 
-    /** cache of not found classes */
+    /**
+     * cache of classes not found in the urls of this class loader. Misses of the parents are not
+     * cached, the parents may gain classes later.
+     */
     private final Map<String, String> notFoundClasses = new ConcurrentHashMap<>();
 
     /**
@@ -467,14 +475,10 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
             return null;
         }
 
-        // This code is dubious, because it iterates over items that could
-        // be changing via another thread.   It appears that since 'urlSet' cannot shrink
-        // that the iteration at least won't go out of bounds.  And it's probably OK
-        // if more than one thread adds the same resource to 'notFoundResources'.
-        //
-        // HOWEVER, there is still a race condition from the check for 'doneCalled' above.
-        // That's OK for 'notFoundResources', but it could lead to an ArrayIndexOutOfBounds
-        // excpetion for 'urlSet', should the set be cleared while looping.
+        // 'urlSet' is a copy-on-write set, so the iteration works on a snapshot and
+        // needs no lock. It's OK if more than one thread adds the same resource to
+        // 'notFoundResources'. If done() is called while iterating, the closed
+        // entries simply don't find the resource.
 
         // resource is in the not found list
         String nf = notFoundResources.get(name);
@@ -482,17 +486,14 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
             return null;
         }
 
-        synchronized(this) {
-            for (final URLEntry u : this.urlSet) {
-
-                if (!u.hasItem(name)) {
-                    continue;
-                }
+        for (final URLEntry u : this.urlSet) {
+            if (!u.hasItem(name)) {
+                continue;
+            }
 
-                final URL url = findResource0(u, name);
-                if (url != null) {
-                    return url;
-                }
+            final URL url = findResource0(u, name);
+            if (url != null) {
+                return url;
             }
         }
 
@@ -743,14 +744,15 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
      * have to be read and reading the bytes. It does not actually define
      * the Class object.
      * <p>
-     * To preclude a race condition on checking 'doneCalled', as well as transient errors
-     * if done() is called while running, this method is 'synchronized'.
+     * The method doesn't hold any lock, the class loading lock of the class name is held by
+     * the caller. If done() is called while running, entries closed meanwhile don't return
+     * any bytes and the class is reported as not found.
      *
      * @param name class name in java.lang.Object format
      * @return class bytes as well protection domain information
      * @throws ClassNotFoundException
      */
-    protected synchronized ClassData findClassData(String name) throws ClassNotFoundException {
+    protected ClassData findClassData(String name) throws ClassNotFoundException {
         if (doneCalled) {
             ClassNotFoundException exception = new ClassNotFoundException(name);
             _logger.log(Level.WARNING, CULoggerInfo.getString(CULoggerInfo.findClassAfterDone, name, this), exception);
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+
+/**
+ * Creates virtual threads through reflection, so the callers can be compiled for Java
+ * versions without them.
+ */
+public final class VirtualThreads {
+
+    /** Thread.ofVirtual(), Thread.Builder.name(String, long) and Thread.Builder.factory() */
+    private static final Method[] VIRTUAL_THREAD_BUILDER = findVirtualThreadBuilder();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true if the running JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        return VIRTUAL_THREAD_BUILDER != null;
+    }
+
+    /**
+     * @param prefix the prefix of the thread names
+     * @param start the number appended to the name of the first thread
+     * @return factory of virtual threads named prefix followed by a counter
+     * @throws UnsupportedOperationException if the JVM does not support virtual threads
+     */
+    public static ThreadFactory newThreadFactory(String prefix, long start) {
+        if (VIRTUAL_THREAD_BUILDER == null) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this JVM");
+        }
+        try {
+            final Object builder = VIRTUAL_THREAD_BUILDER[0].invoke(null);
+            // Thread.Builder.name returns the same builder
+            VIRTUAL_THREAD_BUILDER[1].invoke(builder, prefix, start);
+            return (ThreadFactory) VIRTUAL_THREAD_BUILDER[2].invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Can not create the virtual thread factory", e);
+        }
+    }
+
+    private static Method[] findVirtualThreadBuilder() {
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            // throws an UnsupportedOperationException when virtual threads are a disabled preview feature
+            ofVirtual.invoke(null);
+            return new Method[] {
+                ofVirtual,
+                builderClass.getMethod("name", String.class, long.class),
+                builderClass.getMethod("factory")};
+        } catch (ReflectiveOperationException e) {
+            CULoggerInfo.getLogger().log(Level.FINEST, "Virtual threads are not supported by this JVM", e);
+            return null;
+        }
+    }
+}
@@ -34,6 +34,11 @@ import java.util.Arrays;
  */
 public class GlassfishUrlClassLoader extends URLClassLoader {
 
+    static {
+        // Subclasses can be registered as parallel capable only if their parent class is.
+        registerAsParallelCapable();
+    }
+
     /**
      * Initializes the internal classpath.
      *
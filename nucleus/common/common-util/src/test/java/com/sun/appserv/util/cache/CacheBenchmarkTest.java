@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.util.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares the {@link ConcurrentCache} with the {@link LruCache} on a read mostly workload
+ * with a skewed key distribution: a cache miss is followed by a put.
+ */
+@State(Scope.Benchmark)
+public class CacheBenchmarkTest {
+
+    private static final int MAX_ENTRIES = 1024;
+    private static final int KEYS = MAX_ENTRIES * 4;
+
+    @Param({"com.sun.appserv.util.cache.LruCache",
+        "com.sun.appserv.util.cache.ConcurrentCache"})
+    public String cacheClass;
+
+    private Cache cache;
+    private String[] keys;
+
+
+    @Test
+    public void getOrPut_1thread() throws Exception {
+        // the monitor of the LRU cache is not contended, the concurrent cache must not fall behind much
+        runBenchmark(1, 0.8);
+    }
+
+
+    @Test
+    public void getOrPut_8threads() throws Exception {
+        runBenchmark(8, 1.0);
+    }
+
+
+    @Test
+    public void getOrPut_64threads() throws Exception {
+        runBenchmark(64, 1.0);
+    }
+
+
+    /**
+     * @param minimumRatio the throughput of the concurrent cache relative to the LRU cache
+     */
+    private void runBenchmark(int threads, double minimumRatio) throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".getOrPut$")
+            .warmupForks(0).warmupIterations(1).warmupTime(TimeValue.milliseconds(100L))
+            .measurementIterations(1).forks(1).measurementTime(TimeValue.milliseconds(300L))
+            .threads(threads).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+        Map<String, Double> scores = new HashMap<>();
+        for (RunResult result : results) {
+            String cache = result.getParams().getParam("cacheClass");
+            scores.put(cache.substring(cache.lastIndexOf('.') + 1), result.getPrimaryResult().getScore());
+        }
+        assertThat(scores.toString(), scores.get("ConcurrentCache"),
+            greaterThan(scores.get("LruCache") * minimumRatio));
+    }
+
+
+    @Setup(Level.Trial)
+    public void createCache() throws Exception {
+        cache = (Cache) Class.forName(cacheClass).getDeclaredConstructor().newInstance();
+        cache.init(MAX_ENTRIES, null);
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "/app/page" + i;
+        }
+    }
+
+
+    @TearDown(Level.Trial)
+    public void destroyCache() {
+        cache.destroy();
+    }
+
+
+    @Benchmark
+    public Object getOrPut() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // the lower quarter of the keys gets most of the requests
+        int index = random.nextInt(4) == 0 ? random.nextInt(KEYS) : random.nextInt(KEYS / 4);
+        String key = keys[index];
+        Object value = cache.get(key);
+        if (value == null) {
+            cache.put(key, key);
+            return key;
+        }
+        return value;
+    }
+}
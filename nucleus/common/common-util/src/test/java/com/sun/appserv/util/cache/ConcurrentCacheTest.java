@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.util.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentCacheTest {
+
+    @Test
+    public void putGetRemove() {
+        ConcurrentCache cache = new ConcurrentCache();
+        cache.init(16, null);
+
+        assertNull(cache.put("a", "1"));
+        assertEquals("1", cache.put("a", "2"));
+        assertEquals("2", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.getEntryCount());
+
+        assertEquals("2", cache.remove("a"));
+        assertNull(cache.remove("a"));
+        assertTrue(cache.isEmpty());
+        assertAll(
+            () -> assertEquals(1, cache.getStatByName(Constants.STAT_BASECACHE_ADD_COUNT)),
+            () -> assertEquals(1, cache.getStatByName(Constants.STAT_BASECACHE_REFRESH_COUNT)),
+            () -> assertEquals(2, cache.getStatByName(Constants.STAT_BASECACHE_HIT_COUNT)),
+            () -> assertEquals(2, cache.getStatByName(Constants.STAT_BASECACHE_MISS_COUNT)),
+            () -> assertEquals(1, cache.getStatByName(Constants.STAT_BASECACHE_REMOVAL_COUNT))
+        );
+    }
+
+
+    @Test
+    public void multiValuedKeys() {
+        ConcurrentCache cache = new ConcurrentCache();
+        cache.init(16, null);
+
+        cache.add("a", "1");
+        cache.add("a", "2");
+        cache.add("a", "3");
+        assertEquals(3, cache.getEntryCount());
+        assertEquals(3, count(cache.getAll("a")));
+
+        assertEquals("2", cache.remove("a", "2"));
+        assertEquals(2, count(cache.getAll("a")));
+
+        cache.removeAll("a");
+        assertFalse(cache.contains("a"));
+        assertEquals(0, cache.getEntryCount());
+    }
+
+
+    @Test
+    public void evictionKeepsFrequentlyUsedEntries() {
+        ConcurrentCache cache = new ConcurrentCache();
+        cache.init(100, null);
+        List<Object> trimmed = new ArrayList<>();
+        cache.addCacheListener((key, value) -> trimmed.add(key));
+
+        for (int i = 0; i < 100; i++) {
+            cache.put("hot" + i, i);
+            for (int j = 0; j < 5; j++) {
+                assertNotNull(cache.get("hot" + i));
+            }
+        }
+        for (int i = 0; i < 1000; i++) {
+            cache.put("cold" + i, i);
+        }
+
+        assertEquals(100, cache.getEntryCount());
+        assertEquals(1000, trimmed.size());
+        assertEquals(1000, cache.getStatByName(Constants.STAT_CONCURRENTCACHE_TRIM_COUNT));
+        int hot = 0;
+        for (int i = 0; i < 100; i++) {
+            if (cache.contains("hot" + i)) {
+                hot++;
+            }
+        }
+        assertTrue(hot > 90, "Hot entries left in the cache: " + hot);
+    }
+
+
+    @Test
+    public void trimExpiredEntries() throws Exception {
+        ConcurrentCache cache = new ConcurrentCache();
+        cache.init(16, 1L, BaseCache.DEFAULT_LOAD_FACTOR, null);
+        List<Object> trimmed = new ArrayList<>();
+        cache.addCacheListener((key, value) -> trimmed.add(key));
+
+        cache.put("a", "1");
+        cache.put("b", "2");
+        Thread.sleep(10L);
+        cache.trimExpiredEntries(1);
+        assertEquals(1, cache.getEntryCount());
+        cache.trimExpiredEntries(Integer.MAX_VALUE);
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(2, trimmed.size());
+    }
+
+
+    @Test
+    public void refreshNotification() throws Exception {
+        ConcurrentCache cache = new ConcurrentCache();
+        cache.init(16, null);
+        int index = cache.getIndex("a");
+
+        assertFalse(cache.waitRefresh(index));
+        Thread waiter = new Thread(() -> assertTrue(cache.waitRefresh(index)));
+        waiter.start();
+        Thread.sleep(50L);
+        cache.notifyRefresh(index);
+        waiter.join(10_000L);
+        assertFalse(waiter.isAlive());
+    }
+
+
+    private static int count(Iterator<?> iterator) {
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.loader;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ASURLClassLoaderTest {
+
+    private static final String PROBE_CLASS = Probe.class.getName();
+    private static final String PROBE_PATH = PROBE_CLASS.replace('.', '/') + ".class";
+
+    @TempDir
+    File classesDir;
+
+    @Test
+    public void parallelCapable() {
+        ASURLClassLoader loader = new ASURLClassLoader(null);
+        try {
+            assertTrue(loader.isRegisteredAsParallelCapable());
+        } finally {
+            loader.done();
+        }
+    }
+
+
+    @Test
+    public void notFoundClassesAreForgottenWhenUrlsChange() throws Exception {
+        ASURLClassLoader loader = new ASURLClassLoader(null);
+        try {
+            loader.appendURL(classesDir);
+            assertThrows(ClassNotFoundException.class, () -> loader.loadClass(PROBE_CLASS));
+
+            Path target = classesDir.toPath().resolve(PROBE_PATH);
+            Files.createDirectories(target.getParent());
+            try (InputStream input = Probe.class.getClassLoader().getResourceAsStream(PROBE_PATH)) {
+                assertNotNull(input);
+                Files.copy(input, target);
+            }
+            // still remembered as not found
+            assertThrows(ClassNotFoundException.class, () -> loader.loadClass(PROBE_CLASS));
+
+            loader.refresh();
+            Class<?> probe = loader.loadClass(PROBE_CLASS);
+            assertAll(
+                () -> assertEquals(PROBE_CLASS, probe.getName()),
+                () -> assertSame(loader, probe.getClassLoader()),
+                () -> assertSame(probe, loader.loadClass(PROBE_CLASS))
+            );
+        } finally {
+            loader.done();
+        }
+    }
+
+
+    @Test
+    public void classDefinedAfterNotFoundIsLoaded() throws Exception {
+        GeneratingClassLoader loader = new GeneratingClassLoader();
+        try {
+            // class generators first try to load the class, then define it
+            assertThrows(ClassNotFoundException.class, () -> loader.loadClass(PROBE_CLASS));
+            Class<?> generated = loader.define(PROBE_CLASS, readProbe());
+            assertAll(
+                () -> assertSame(generated, loader.loadClass(PROBE_CLASS)),
+                () -> assertSame(loader, generated.getClassLoader())
+            );
+        } finally {
+            loader.done();
+        }
+    }
+
+
+    @Test
+    public void classAddedToParentIsFound() throws Exception {
+        GrowingClassLoader parent = new GrowingClassLoader();
+        ASURLClassLoader loader = new ASURLClassLoader(parent);
+        try {
+            loader.appendURL(classesDir);
+            assertThrows(ClassNotFoundException.class, () -> loader.loadClass(PROBE_CLASS));
+
+            parent.probeAvailable = true;
+            Class<?> probe = loader.loadClass(PROBE_CLASS);
+            assertSame(parent, probe.getClassLoader());
+        } finally {
+            loader.done();
+        }
+    }
+
+
+    private static byte[] readProbe() throws Exception {
+        try (InputStream input = Probe.class.getClassLoader().getResourceAsStream(PROBE_PATH)) {
+            assertNotNull(input);
+            return input.readAllBytes();
+        }
+    }
+
+
+    public static class Probe {
+    }
+
+
+    /** Parent which gains the probe class later, like a delegating class loader. */
+    private static class GrowingClassLoader extends ClassLoader {
+
+        volatile boolean probeAvailable;
+
+        GrowingClassLoader() {
+            super(ClassLoader.getPlatformClassLoader());
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            if (!probeAvailable || !PROBE_CLASS.equals(name)) {
+                throw new ClassNotFoundException(name);
+            }
+            try {
+                byte[] bytes = readProbe();
+                return defineClass(name, bytes, 0, bytes.length);
+            } catch (Exception e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+
+
+    private static class GeneratingClassLoader extends ASURLClassLoader {
+
+        GeneratingClassLoader() {
+            super((ClassLoader) null);
+        }
+
+        Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
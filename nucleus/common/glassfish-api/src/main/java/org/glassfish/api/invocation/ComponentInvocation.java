@@ -254,6 +254,25 @@ public class ComponentInvocation implements Cloneable {
         return moduleName;
     }
 
+    /**
+     * Clears the state of the previous call so that the invocation can be reused for another
+     * call on the same component. The component id, type, container and names are kept.
+     */
+    protected void recycle() {
+        preInvokeDoneStatus = false;
+        auth = null;
+        instance = null;
+        instanceName = null;
+        jndiEnvironment = null;
+        transaction = null;
+        transactionCompleting = false;
+        oldSecurityContext = null;
+        resourceTableKey = null;
+        resourceHandler = null;
+        transactionOperationsManager = null;
+        clearRegistry();
+    }
+
     @Override
     public ComponentInvocation clone() {
         ComponentInvocation newInv = null;
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2007, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,18 +17,26 @@
 
 package org.glassfish.internal.grizzly;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.glassfish.grizzly.http.server.HttpHandler;
 import org.glassfish.grizzly.http.server.naming.NamingContext;
+import org.glassfish.grizzly.http.server.util.AlternateDocBase;
 import org.glassfish.grizzly.http.server.util.Mapper;
 import org.jvnet.hk2.annotations.ContractsProvided;
 import org.jvnet.hk2.annotations.Service;
 
 /**
  * Extended that {@link Mapper} that prevent the WebContainer to unregister the current {@link Mapper} configuration.
+ * <p>
+ * Every change is also recorded, and after it a new {@link Mapper} is built from the records and published
+ * as the {@link #getSnapshot() snapshot}. A snapshot is never changed, so request threads can map against it
+ * without any lock.
  *
  * @author Jeanfrancois Arcand
  */
@@ -39,6 +48,12 @@ public class ContextMapper extends Mapper {
     // The id of the associated network-listener
     private String id;
 
+    // Changes applied to this mapper, replayed into every snapshot. Guarded by this.
+    private final List<Change> changes = new ArrayList<>();
+    // Number of changes in progress on the current thread, nested changes are published with the outermost one
+    private int changeDepth;
+    private volatile Mapper snapshot = new Mapper();
+
     public ContextMapper() {
         this(Logger.getAnonymousLogger());
     }
@@ -51,11 +66,14 @@ public class ContextMapper extends Mapper {
      * {@inheritDoc}
      */
     @Override
-    public void addWrapper(final String hostName, final String contextPath, final String path,
+    public synchronized void addWrapper(final String hostName, final String contextPath, final String path,
         final Object wrapper, final boolean jspWildCard, final String servletName,
         final boolean isEmptyPathSpecial) {
-        super.addWrapper(hostName, contextPath, path, wrapper, jspWildCard,
-                servletName, isEmptyPathSpecial);
+        change(new Change(hostName, contextPath, path,
+                mapper -> mapper.addWrapper(hostName, contextPath, path, wrapper, jspWildCard,
+                servletName, isEmptyPathSpecial)),
+            () -> super.addWrapper(hostName, contextPath, path, wrapper, jspWildCard,
+                servletName, isEmptyPathSpecial));
         if (logger.isLoggable(Level.FINE)) {
             logger.log(Level.FINE, "Wrapper-Host: {0} contextPath {1} wrapper {2} "
                     + "path {3} jspWildcard {4} servletName {5} isEmptyPathSpecial {6}",
@@ -71,7 +89,8 @@ public class ContextMapper extends Mapper {
     public synchronized void addHost(final String name, final String[] aliases,
         final Object host) {
 
-        super.addHost(name, aliases, host);
+        change(new Change(name, null, null, mapper -> mapper.addHost(name, aliases, host)),
+            () -> super.addHost(name, aliases, host));
         if (logger.isLoggable(Level.FINE)) {
             logger.log(Level.FINE, "Host-Host: {0} aliases {1} host {2}",
                     new Object[]{name, Arrays.toString(aliases), host});
@@ -82,7 +101,7 @@ public class ContextMapper extends Mapper {
      * {@inheritDoc}
      */
     @Override
-    public void addContext(final String hostName, final String path, final Object context,
+    public synchronized void addContext(final String hostName, final String path, final Object context,
         final String[] welcomeResources, final NamingContext resources) {
         if (logger.isLoggable(Level.FINE)) {
             logger.log(Level.FINE, "Context-Host: {0} path {1} context {2} port {3}",
@@ -95,7 +114,72 @@ public class ContextMapper extends Mapper {
         if (adapter != null && "org.apache.catalina.connector.CoyoteAdapter".equals(adapter.getClass().getName())) {
             removeContext(hostName, path);
         }
-        super.addContext(hostName, path, context, welcomeResources, resources);
+        change(new Change(hostName, path, null,
+                mapper -> mapper.addContext(hostName, path, context, welcomeResources, resources)),
+            () -> super.addContext(hostName, path, context, welcomeResources, resources));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void addContext(final String hostName, final String path, final Object context,
+        final String[] welcomeResources, final NamingContext resources,
+        final List<AlternateDocBase> alternateDocBases) {
+        change(new Change(hostName, path, null,
+                mapper -> mapper.addContext(hostName, path, context, welcomeResources, resources,
+                alternateDocBases)),
+            () -> super.addContext(hostName, path, context, welcomeResources, resources, alternateDocBases));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void addWrapper(final String hostName, final String contextPath, final String path,
+        final Object wrapper, final boolean jspWildCard) {
+        change(new Change(hostName, contextPath, path,
+                mapper -> mapper.addWrapper(hostName, contextPath, path, wrapper, jspWildCard)),
+            () -> super.addWrapper(hostName, contextPath, path, wrapper, jspWildCard));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void removeContext(final String hostName, final String path) {
+        change(Change.removal(hostName, path, null, mapper -> mapper.removeContext(hostName, path)),
+            () -> super.removeContext(hostName, path));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void removeWrapper(final String hostName, final String contextPath, final String path) {
+        change(Change.removal(hostName, contextPath, path,
+                mapper -> mapper.removeWrapper(hostName, contextPath, path)),
+            () -> super.removeWrapper(hostName, contextPath, path));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void setDefaultHostName(final String name) {
+        change(Change.setting("defaultHostName", null, mapper -> mapper.setDefaultHostName(name)),
+            () -> super.setDefaultHostName(name));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void setDefaultContextPath(final String hostName, final String defaultContextPath)
+        throws Exception {
+        change(Change.setting("defaultContextPath", hostName,
+                mapper -> mapper.setDefaultContextPath(hostName, defaultContextPath)),
+            () -> super.setDefaultContextPath(hostName, defaultContextPath));
     }
 
     /**
@@ -113,6 +197,13 @@ public class ContextMapper extends Mapper {
         this.adapter = adapter;
     }
 
+    /**
+     * @return the {@link Mapper} with all changes completed so far, which is never changed
+     */
+    public Mapper getSnapshot() {
+        return snapshot;
+    }
+
     public HttpHandler getHttpHandler() {
         return adapter;
     }
@@ -127,4 +218,120 @@ public class ContextMapper extends Mapper {
     public String getId() {
         return id;
     }
+
+    /**
+     * Applies the update to this mapper and records the change for the snapshots. Called with
+     * this mapper locked. The {@link Mapper} may implement an operation by calling another
+     * overridden one, so nested changes are recorded too and only the outermost change builds
+     * a new snapshot. Replaying both is harmless, as repeating a change does not alter the result.
+     */
+    private <E extends Exception> void change(final Change change, final Update<E> update) throws E {
+        changeDepth++;
+        try {
+            update.apply();
+            record(change);
+        } finally {
+            if (--changeDepth == 0) {
+                publishSnapshot();
+            }
+        }
+    }
+
+    private void record(final Change change) {
+        if (change.removal || change.setting != null) {
+            // the removed or replaced changes have no effect anymore, which keeps the records
+            // from growing with every redeployment and from holding the undeployed contexts
+            for (int i = changes.size() - 1; i >= 0; i--) {
+                if (change.replaces(changes.get(i), changes, i)) {
+                    changes.remove(i);
+                }
+            }
+        }
+        changes.add(change);
+    }
+
+    private void publishSnapshot() {
+        final Mapper mapper = new Mapper();
+        for (Change change : changes) {
+            try {
+                change.replay.apply(mapper);
+            } catch (Exception e) {
+                logger.log(Level.FINE, "Failed to replay a mapper change on the snapshot", e);
+            }
+        }
+        snapshot = mapper;
+    }
+
+    private interface Update<E extends Exception> {
+        void apply() throws E;
+    }
+
+    private interface Replay {
+        void apply(Mapper mapper) throws Exception;
+    }
+
+    /**
+     * A change applied to this mapper, with the host, context and wrapper it concerns.
+     */
+    private static final class Change {
+        private final String host;
+        private final String context;
+        private final String wrapper;
+        private final boolean removal;
+        // name of the value set by a setter, null for the other changes
+        private final String setting;
+        private final Replay replay;
+
+        Change(final String host, final String context, final String wrapper, final Replay replay) {
+            this(host, context, wrapper, false, null, replay);
+        }
+
+        private Change(final String host, final String context, final String wrapper, final boolean removal,
+            final String setting, final Replay replay) {
+            this.host = host;
+            this.context = context;
+            this.wrapper = wrapper;
+            this.removal = removal;
+            this.setting = setting;
+            this.replay = replay;
+        }
+
+        static Change removal(final String host, final String context, final String wrapper, final Replay replay) {
+            return new Change(host, context, wrapper, true, null, replay);
+        }
+
+        static Change setting(final String setting, final String host, final Replay replay) {
+            return new Change(host, null, null, false, setting, replay);
+        }
+
+        /**
+         * @return true if the earlier change at the index has no effect after this change
+         */
+        boolean replaces(final Change earlier, final List<Change> changes, final int index) {
+            if (setting != null) {
+                return setting.equals(earlier.setting) && Objects.equals(host, earlier.host);
+            }
+            if (earlier.setting != null || !Objects.equals(host, earlier.host)
+                || !Objects.equals(context, earlier.context)) {
+                return false;
+            }
+            // removing a context also removes its wrappers
+            if (wrapper != null && !wrapper.equals(earlier.wrapper)) {
+                return false;
+            }
+            if (!earlier.removal) {
+                return true;
+            }
+            // an earlier removal may also have removed what was added through a host alias,
+            // so it is only dropped if nothing was added to the same path on another host before
+            for (int i = 0; i < index; i++) {
+                final Change other = changes.get(i);
+                if (!other.removal && other.setting == null && !Objects.equals(host, other.host)
+                    && Objects.equals(context, other.context)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
@@ -75,6 +75,9 @@ public class CreateThreadpool implements AdminCommand, AdminCommandSecurity.Prea
     @Param(name="maxqueuesize", optional=true, alias="maxQueueSize", defaultValue = "4096")
     String maxQueueSize;
 
+    @Param(name="virtualthreads", optional=true, alias="virtualThreads", defaultValue = "false")
+    Boolean virtualThreads;
+
     @Param(name = "target", optional = true, defaultValue = SystemPropertyConstants.DEFAULT_SERVER_INSTANCE_NAME)
     String target;
 
@@ -133,6 +136,7 @@ public class CreateThreadpool implements AdminCommand, AdminCommandSecurity.Prea
                     newPool.setMinThreadPoolSize(minthreadpoolsize);
                     newPool.setMaxQueueSize(maxQueueSize);
                     newPool.setIdleThreadTimeoutSeconds(idletimeout);
+                    newPool.setVirtualThreads(virtualThreads.toString());
                     param.getThreadPool().add(newPool);
                     return newPool;
                 }
@@ -61,7 +61,6 @@ public class ContainerMapper extends ADBAwareHttpHandler {
 
     private static final Logger LOGGER = KernelLoggerInfo.getLogger();
     private final static String ROOT = "";
-    private ContextMapper mapper;
     private final GrizzlyListener listener;
     private String defaultHostName = "server";
     private final GrizzlyService grizzlyService;
@@ -73,14 +72,14 @@ public class ContainerMapper extends ADBAwareHttpHandler {
             Request.<DataChunk>createNote("DataChunk");
     private final ReentrantReadWriteLock mapperLock;
 
-
-    private static final AfterServiceListener afterServiceListener =
-            new AfterServiceListenerImpl();
     /**
-     * Are we running multiple {@ Adapter} or {@link HttpHandlerChain}
+     * Mapper configuration read by the request path, replaced as a whole on every change.
      */
-    private boolean mapMultipleAdapter;
+    private volatile MapperState state = new MapperState(null, false);
+
 
+    private static final AfterServiceListener afterServiceListener =
+            new AfterServiceListenerImpl();
     public ContainerMapper(final GrizzlyService service,
             final GrizzlyListener grizzlyListener) {
         listener = grizzlyListener;
@@ -108,7 +107,7 @@ public class ContainerMapper extends ADBAwareHttpHandler {
      * @param mapper
      */
     protected void setMapper(ContextMapper mapper) {
-        this.mapper = mapper;
+        publishState(mapper, state.mapMultipleAdapter);
     }
 
     /**
@@ -118,6 +117,7 @@ public class ContainerMapper extends ADBAwareHttpHandler {
         mapperLock.writeLock().lock();
 
         try {
+            final ContextMapper mapper = state.mapper;
             mapper.setDefaultHostName(defaultHostName);
             mapper.addHost(defaultHostName, new String[]{}, null);
             mapper.addContext(defaultHostName, ROOT,
@@ -178,77 +178,65 @@ public class ContainerMapper extends ADBAwareHttpHandler {
         throws CharConversionException, Exception {
 
         MappingData mappingData;
-        mapperLock.readLock().lock();
-
-        try {
-            // If we have only one Adapter deployed, invoke that Adapter directly.
-            if (!mapMultipleAdapter) {
-                // Remove the MappingData as we might delegate the request
-                // to be serviced directly by the WebContainer
-                final HttpHandler httpHandler = mapper.getHttpHandler();
-                if (httpHandler != null) {
-                    request.setNote(MAPPING_DATA, null);
-//                    httpHandler.service(request, response);
-//                    return;
-                    return new HttpHandlerCallable(httpHandler,
-                            request, response);
-                }
+        final MapperState mapperState = state;
+
+        // If we have only one Adapter deployed, invoke that Adapter directly.
+        if (!mapperState.mapMultipleAdapter) {
+            // Remove the MappingData as we might delegate the request
+            // to be serviced directly by the WebContainer
+            final HttpHandler httpHandler = mapperState.mapper.getHttpHandler();
+            if (httpHandler != null) {
+                request.setNote(MAPPING_DATA, null);
+                return new HttpHandlerCallable(httpHandler,
+                        request, response);
             }
+        }
 
-            final DataChunk decodedURI = request.getRequest()
-                    .getRequestURIRef().getDecodedRequestURIBC(isAllowEncodedSlash());
+        final DataChunk decodedURI = request.getRequest()
+                .getRequestURIRef().getDecodedRequestURIBC(isAllowEncodedSlash());
 
-            mappingData = request.getNote(MAPPING_DATA);
-            if (mappingData == null) {
-                mappingData = new MappingData();
-                request.setNote(MAPPING_DATA, mappingData);
-            } else {
-                mappingData.recycle();
+        mappingData = request.getNote(MAPPING_DATA);
+        if (mappingData == null) {
+            mappingData = new MappingData();
+            request.setNote(MAPPING_DATA, mappingData);
+        } else {
+            mappingData.recycle();
+        }
+        HttpHandler httpHandler;
+
+        final CharChunk decodedURICC = decodedURI.getCharChunk();
+        final int semicolon = decodedURICC.indexOf(';', 0);
+
+        // Map the request without any trailling.
+        httpHandler = mapUri(request, decodedURI, semicolon, mappingData);
+        if (httpHandler == null || httpHandler instanceof ContainerMapper) {
+            String ext = decodedURI.toString();
+            String type = "";
+            if (ext.lastIndexOf(".") > 0) {
+                ext = "*" + ext.substring(ext.lastIndexOf("."));
+                type = ext.substring(ext.lastIndexOf(".") + 1);
             }
-            HttpHandler httpHandler;
-
-            final CharChunk decodedURICC = decodedURI.getCharChunk();
-            final int semicolon = decodedURICC.indexOf(';', 0);
-
-            // Map the request without any trailling.
-            httpHandler = mapUriWithSemicolon(request, decodedURI,
-                    semicolon, mappingData);
-            if (httpHandler == null || httpHandler instanceof ContainerMapper) {
-                String ext = decodedURI.toString();
-                String type = "";
-                if (ext.lastIndexOf(".") > 0) {
-                    ext = "*" + ext.substring(ext.lastIndexOf("."));
-                    type = ext.substring(ext.lastIndexOf(".") + 1);
-                }
 
-                if (!MimeType.contains(type) && !"/".equals(ext)) {
-                    initializeFileURLPattern(ext);
-                    mappingData.recycle();
-                    httpHandler = mapUriWithSemicolon(request, decodedURI,
-                            semicolon, mappingData);
-                } else {
-//                    super.service(request, response);
-//                    return;
-                    return new SuperCallable(request, response);
-                }
+            if (!MimeType.contains(type) && !"/".equals(ext)) {
+                initializeFileURLPattern(ext);
+                mappingData.recycle();
+                httpHandler = mapUri(request, decodedURI, semicolon, mappingData);
+            } else {
+                return new SuperCallable(request, response);
             }
+        }
 
-            if (LOGGER.isLoggable(Level.FINE)) {
-                LOGGER.log(Level.FINE, "Request: {0} was mapped to Adapter: {1}",
-                        new Object[]{decodedURI.toString(), httpHandler});
-            }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Request: {0} was mapped to Adapter: {1}",
+                    new Object[]{decodedURI.toString(), httpHandler});
+        }
 
-            // The Adapter used for servicing static pages doesn't decode the
-            // request by default, hence do not pass the undecoded request.
-            if (httpHandler == null || httpHandler instanceof ContainerMapper) {
-//                super.service(request, response);
-                return new SuperCallable(request, response);
-            } else {
-//                httpHandler.service(request, response);
-                return new HttpHandlerCallable(httpHandler, request, response);
-            }
-        } finally {
-            mapperLock.readLock().unlock();
+        // The Adapter used for servicing static pages doesn't decode the
+        // request by default, hence do not pass the undecoded request.
+        if (httpHandler == null || httpHandler instanceof ContainerMapper) {
+            return new SuperCallable(request, response);
+        } else {
+            return new HttpHandlerCallable(httpHandler, request, response);
         }
     }
 
@@ -270,9 +258,9 @@ public class ContainerMapper extends ADBAwareHttpHandler {
                     ((SnifferAdapter) httpHandler).initialize(sniffer, this);
                     ContextRootInfo c = new ContextRootInfo(httpHandler, null);
 
-                    mapperLock.readLock().unlock();
                     mapperLock.writeLock().lock();
                     try {
+                        final ContextMapper mapper = state.mapper;
                         for (String pattern : sniffer.getURLPatterns()) {
                             for (String host : grizzlyService.hosts) {
                                 mapper.addWrapper(host, ROOT, pattern, c,
@@ -280,7 +268,6 @@ public class ContainerMapper extends ADBAwareHttpHandler {
                             }
                         }
                     } finally {
-                        mapperLock.readLock().lock();
                         mapperLock.writeLock().unlock();
                     }
 
@@ -306,39 +293,40 @@ public class ContainerMapper extends ADBAwareHttpHandler {
             final DataChunk decodedURI, int semicolonPos,
             final MappingData mappingData) throws Exception {
 
-        mapperLock.readLock().lock();
+        return mapUri(req, decodedURI, semicolonPos, mappingData);
+    }
 
-        try {
-            final CharChunk charChunk = decodedURI.getCharChunk();
-            final int oldStart = charChunk.getStart();
-            final int oldEnd = charChunk.getEnd();
+    private HttpHandler mapUri(final Request req,
+            final DataChunk decodedURI, int semicolonPos,
+            final MappingData mappingData) throws Exception {
 
-            if (semicolonPos == 0) {
-                semicolonPos = decodedURI.indexOf(';', 0);
-            }
+        final CharChunk charChunk = decodedURI.getCharChunk();
+        final int oldStart = charChunk.getStart();
+        final int oldEnd = charChunk.getEnd();
 
-            DataChunk localDecodedURI = decodedURI;
-            if (semicolonPos >= 0) {
-                charChunk.setEnd(semicolonPos);
-                // duplicate the URI path, because Mapper may corrupt the attributes,
-                // which follow the path
-                localDecodedURI = req.getNote(DATA_CHUNK);
-                if (localDecodedURI == null) {
-                    localDecodedURI = DataChunk.newInstance();
-                    req.setNote(DATA_CHUNK, localDecodedURI);
-                }
-                localDecodedURI.duplicate(decodedURI);
+        if (semicolonPos == 0) {
+            semicolonPos = decodedURI.indexOf(';', 0);
+        }
+
+        DataChunk localDecodedURI = decodedURI;
+        if (semicolonPos >= 0) {
+            charChunk.setEnd(semicolonPos);
+            // duplicate the URI path, because Mapper may corrupt the attributes,
+            // which follow the path
+            localDecodedURI = req.getNote(DATA_CHUNK);
+            if (localDecodedURI == null) {
+                localDecodedURI = DataChunk.newInstance();
+                req.setNote(DATA_CHUNK, localDecodedURI);
             }
+            localDecodedURI.duplicate(decodedURI);
+        }
 
 
-            try {
-                return map(req, localDecodedURI, mappingData);
-            } finally {
-                charChunk.setStart(oldStart);
-                charChunk.setEnd(oldEnd);
-            }
+        try {
+            return map(req, localDecodedURI, mappingData);
         } finally {
-            mapperLock.readLock().unlock();
+            charChunk.setStart(oldStart);
+            charChunk.setEnd(oldEnd);
         }
     }
 
@@ -348,11 +336,28 @@ public class ContainerMapper extends ADBAwareHttpHandler {
         if (mappingData == null) {
             mappingData = req.getNote(MAPPING_DATA);
         }
-        // Map the request to its Adapter/Container and also it's Servlet if
-        // the request is targetted to the CoyoteAdapter.
-        mapper.map(req.getRequest().serverName(), decodedURI, mappingData);
-
+        final HttpHandler httpHandler = map(req.getRequest().serverName(), decodedURI, mappingData);
         updatePaths(req, mappingData);
+        return httpHandler;
+    }
+
+    /**
+     * Maps the host and decoded URI to the registered {@link HttpHandler}.
+     *
+     * @param serverName host name of the request
+     * @param decodedURI decoded URI without path parameters
+     * @param mappingData receives the mapping result
+     * @return the mapped {@link HttpHandler}, this mapper for the root context or null
+     * @throws Exception
+     */
+    HttpHandler map(final DataChunk serverName, final DataChunk decodedURI,
+            final MappingData mappingData) throws Exception {
+
+        final ContextMapper mapper = state.mapper;
+        // Map the request to its Adapter/Container and also it's Servlet if
+        // the request is targetted to the CoyoteAdapter. The snapshot never changes,
+        // so no lock is needed while the web container updates the mapper.
+        mapper.getSnapshot().map(serverName, decodedURI, mappingData);
 
         ContextRootInfo contextRootInfo;
         if (mappingData.context != null && (mappingData.context instanceof ContextRootInfo
@@ -378,7 +383,7 @@ public class ContainerMapper extends ADBAwareHttpHandler {
                     new Object[]{this, contextRoot, httpService, container, String.valueOf(listener.getPort())});
         }
 
-        mapMultipleAdapter = true;
+        final ContextMapper mapper = state.mapper;
         ContextRootInfo c = new ContextRootInfo(httpService, container);
         for (String host : vs) {
             mapper.addContext(host, contextRoot, c, new String[0], null);
@@ -388,6 +393,7 @@ public class ContainerMapper extends ADBAwareHttpHandler {
             }
              */
         }
+        publishState(mapper, true);
     }
 
     public void unregister(String contextRoot) {
@@ -395,6 +401,7 @@ public class ContainerMapper extends ADBAwareHttpHandler {
             LOGGER.log(Level.FINE, "MAPPER({0}) UNREGISTER contextRoot: {1}",
                     new Object[]{this, contextRoot});
         }
+        final ContextMapper mapper = state.mapper;
         for (String host : grizzlyService.hosts) {
             mapper.removeContext(host, contextRoot);
         }
@@ -406,7 +413,7 @@ public class ContainerMapper extends ADBAwareHttpHandler {
                     new Object[]{this, endpoint});
         }
 
-        mapMultipleAdapter = true;
+        final ContextMapper mapper = state.mapper;
         final String contextRoot = endpoint.getContextRoot();
         final Collection<String> vs = endpoint.getVirtualServers();
 
@@ -430,12 +437,37 @@ public class ContainerMapper extends ADBAwareHttpHandler {
             }
              */
         }
+        publishState(mapper, true);
     }
 
     public void unregister(final Endpoint endpoint) {
         unregister(endpoint.getContextRoot());
     }
 
+    /**
+     * Replaces the published {@link MapperState}. The mappings themselves are published by the
+     * {@link ContextMapper} as its snapshot.
+     */
+    private synchronized void publishState(final ContextMapper mapper, final boolean mapMultipleAdapter) {
+        state = new MapperState(mapper, mapMultipleAdapter || state.mapMultipleAdapter);
+    }
+
+    /**
+     * Immutable snapshot of the mapper configuration.
+     */
+    private static final class MapperState {
+        private final ContextMapper mapper;
+        /**
+         * Are we running multiple {@link Adapter} or {@link HttpHandlerChain}
+         */
+        private final boolean mapMultipleAdapter;
+
+        MapperState(final ContextMapper mapper, final boolean mapMultipleAdapter) {
+            this.mapper = mapper;
+            this.mapMultipleAdapter = mapMultipleAdapter;
+        }
+    }
+
     private final static class HttpHandlerCallable implements Callable {
         private final HttpHandler httpHandler;
         private final Request request;
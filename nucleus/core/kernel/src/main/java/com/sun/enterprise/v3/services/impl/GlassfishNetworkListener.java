@@ -33,6 +33,7 @@ import com.sun.enterprise.v3.services.impl.monitor.KeepAliveMonitor;
 import com.sun.enterprise.v3.services.impl.monitor.ThreadPoolMonitor;
 import org.glassfish.grizzly.Buffer;
 import org.glassfish.grizzly.config.GenericGrizzlyListener;
+import org.glassfish.grizzly.config.VirtualThreadExecutorService;
 import org.glassfish.grizzly.config.dom.Http;
 import org.glassfish.grizzly.config.dom.NetworkListener;
 import org.glassfish.grizzly.config.dom.Protocol;
@@ -233,6 +234,16 @@ public class GlassfishNetworkListener extends GenericGrizzlyListener {
         return config;
     }
 
+    @Override
+    protected VirtualThreadExecutorService createVirtualThreadPool(final NetworkListener networkListener,
+                                                                  final ThreadPool threadPool) {
+
+        final VirtualThreadExecutorService pool = super.createVirtualThreadPool(
+                networkListener, threadPool);
+        pool.addMonitor(new ThreadPoolMonitor(grizzlyService.getMonitoring(), name, pool));
+        return pool;
+    }
+
     @Override
     protected org.glassfish.grizzly.http.HttpServerFilter createHttpServerCodecFilter(
             final Http http,
@@ -18,6 +18,7 @@ package com.sun.enterprise.v3.services.impl.monitor;
 
 import com.sun.enterprise.v3.services.impl.monitor.stats.ConnectionQueueStatsProvider;
 import com.sun.enterprise.v3.services.impl.monitor.stats.ThreadPoolStatsProvider;
+import org.glassfish.grizzly.config.VirtualThreadExecutorService;
 import org.glassfish.grizzly.threadpool.AbstractThreadPool;
 import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
 import org.glassfish.grizzly.threadpool.ThreadPoolProbe;
@@ -26,7 +27,7 @@ import org.glassfish.grizzly.threadpool.ThreadPoolProbe;
  *
  * @author oleksiys
  */
-public class ThreadPoolMonitor implements ThreadPoolProbe {
+public class ThreadPoolMonitor implements ThreadPoolProbe, VirtualThreadExecutorService.Monitor {
     private final GrizzlyMonitoring grizzlyMonitoring;
     private final String monitoringId;
 
@@ -52,6 +53,25 @@ public class ThreadPoolMonitor implements ThreadPoolProbe {
         }
     }
 
+    /**
+     * Reports every virtual thread as a thread allocated and dispatched from the pool
+     * while it runs its task.
+     */
+    public ThreadPoolMonitor(GrizzlyMonitoring grizzlyMonitoring,
+            String monitoringId, VirtualThreadExecutorService threadPool) {
+        this.grizzlyMonitoring = grizzlyMonitoring;
+        this.monitoringId = monitoringId;
+
+        if (grizzlyMonitoring != null) {
+            final ThreadPoolStatsProvider threadPoolStatsProvider =
+                    grizzlyMonitoring.getThreadPoolStatsProvider(monitoringId);
+            if (threadPoolStatsProvider != null) {
+                threadPoolStatsProvider.setStatsObject(threadPool);
+                threadPoolStatsProvider.reset();
+            }
+        }
+    }
+
     @Override
     public void onThreadPoolStartEvent(AbstractThreadPool threadPool) {
     }
@@ -106,6 +126,22 @@ public class ThreadPoolMonitor implements ThreadPoolProbe {
                 Thread.currentThread().getId());
     }
 
+    @Override
+    public void onTaskStart(VirtualThreadExecutorService threadPool, Thread thread) {
+        grizzlyMonitoring.getThreadPoolProbeProvider().threadAllocatedEvent(
+                monitoringId, threadPool.getName(), thread.getId());
+        grizzlyMonitoring.getThreadPoolProbeProvider().threadDispatchedFromPoolEvent(
+                monitoringId, threadPool.getName(), thread.getId());
+    }
+
+    @Override
+    public void onTaskComplete(VirtualThreadExecutorService threadPool, Thread thread) {
+        grizzlyMonitoring.getThreadPoolProbeProvider().threadReturnedToPoolEvent(
+                monitoringId, threadPool.getName(), thread.getId());
+        grizzlyMonitoring.getThreadPoolProbeProvider().threadReleasedEvent(
+                monitoringId, threadPool.getName(), thread.getId());
+    }
+
     @Override
     public void onTaskQueueEvent(AbstractThreadPool threadPool, Runnable task) {
         grizzlyMonitoring.getConnectionQueueProbeProvider().onTaskQueuedEvent(
@@ -25,6 +25,7 @@ import org.glassfish.gmbal.AMXMetadata;
 import org.glassfish.gmbal.Description;
 import org.glassfish.gmbal.ManagedAttribute;
 import org.glassfish.gmbal.ManagedObject;
+import org.glassfish.grizzly.config.VirtualThreadExecutorService;
 import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
 
 /**
@@ -46,6 +47,7 @@ public class ThreadPoolStatsProvider implements StatsProvider {
     protected final CountStatisticImpl currentThreadsBusy = new CountStatisticImpl("CurrentThreadsBusy", "count", "Provides the number of request processing threads currently in use in the listener thread pool serving requests");
 
     protected volatile ThreadPoolConfig threadPoolConfig;
+    protected volatile VirtualThreadExecutorService virtualThreadPool;
 
     public ThreadPoolStatsProvider(String name) {
         this.name = name;
@@ -53,7 +55,7 @@ public class ThreadPoolStatsProvider implements StatsProvider {
 
     @Override
     public Object getStatsObject() {
-        return threadPoolConfig;
+        return virtualThreadPool == null ? threadPoolConfig : virtualThreadPool;
     }
 
     @Override
@@ -63,6 +65,11 @@ public class ThreadPoolStatsProvider implements StatsProvider {
         } else {
             threadPoolConfig = null;
         }
+        if (object instanceof VirtualThreadExecutorService) {
+            virtualThreadPool = (VirtualThreadExecutorService) object;
+        } else {
+            virtualThreadPool = null;
+        }
     }
 
     @ManagedAttribute(id = "maxthreads")
@@ -169,6 +176,12 @@ public class ThreadPoolStatsProvider implements StatsProvider {
             coreThreadsCount.setCount(threadPoolConfig.getCorePoolSize());
             currentThreadCount.setCount(0);
             currentThreadsBusy.setCount(0);
+        } else if (virtualThreadPool != null) {
+            // one virtual thread per running task, without limit
+            maxThreadsCount.setCount(-1);
+            coreThreadsCount.setCount(0);
+            currentThreadCount.setCount(virtualThreadPool.getActiveCount());
+            currentThreadsBusy.setCount(virtualThreadPool.getActiveCount());
         }
 
         totalExecutedTasksCount.setCount(0);
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.v3.services.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.glassfish.grizzly.http.server.HttpHandler;
+import org.glassfish.grizzly.http.server.Request;
+import org.glassfish.grizzly.http.server.Response;
+import org.glassfish.grizzly.http.server.util.MappingData;
+import org.glassfish.grizzly.http.util.DataChunk;
+import org.glassfish.internal.grizzly.ContextMapper;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares the mapping throughput of the {@link ContainerMapper} with many deployed applications
+ * to the same mapping done under the mapper read lock, as requests were mapped before.
+ */
+@State(Scope.Benchmark)
+public class ContainerMapperBenchmarkTest {
+
+    private static final String HOST = "server";
+    private static final int APPLICATIONS = 64;
+
+    private ContainerMapper containerMapper;
+    private ReentrantReadWriteLock mapperLock;
+    private HttpHandler[] handlers;
+
+
+    @Test
+    public void mapOnEveryCore() throws Exception {
+        Map<String, Double> scores = runBenchmarks(".(map|mapWithReadLock)$",
+            Runtime.getRuntime().availableProcessors());
+        // the saved read lock is small next to the mapping itself, on a single core it is within
+        // the noise of the short measurement
+        assertThat(scores.toString(), scores.get("map"), greaterThan(scores.get("mapWithReadLock") * 0.8));
+    }
+
+
+    @Test
+    public void mapDuringRedeploy() throws Exception {
+        Map<String, Double> scores = runBenchmarks(".(redeploy|redeployWithReadLock)$", 0);
+        assertThat(scores.toString(), scores.get("redeploy"), greaterThan(scores.get("redeployWithReadLock")));
+    }
+
+
+    private Map<String, Double> runBenchmarks(String benchmarks, int threads) throws Exception {
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.include(getClass().getName() + benchmarks)
+            .warmupForks(0).warmupIterations(1).warmupTime(TimeValue.milliseconds(100L))
+            .measurementIterations(1).forks(1).measurementTime(TimeValue.milliseconds(300L))
+            .timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true);
+        if (threads > 0) {
+            builder.threads(threads);
+        }
+        Options options = builder.build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+        Map<String, Double> scores = new HashMap<>();
+        for (RunResult result : results) {
+            String benchmark = result.getParams().getBenchmark();
+            String name = benchmark.substring(benchmark.lastIndexOf('.') + 1);
+            double mapping = result.getPrimaryResult().getScore();
+            for (Map.Entry<String, Result> secondary : result.getSecondaryResults().entrySet()) {
+                // a group scores the sum of its methods, only its mapping threads are compared
+                if (secondary.getKey().startsWith("map")) {
+                    mapping = secondary.getValue().getScore();
+                }
+            }
+            scores.put(name, mapping);
+        }
+        return scores;
+    }
+
+
+    @Setup(Level.Trial)
+    public void createMapper() {
+        GrizzlyService service = createMock(GrizzlyService.class);
+        mapperLock = new ReentrantReadWriteLock();
+        expect(service.obtainMapperLock()).andReturn(mapperLock).anyTimes();
+        replay(service);
+        service.hosts = new ArrayList<>(List.of(HOST));
+
+        containerMapper = new ContainerMapper(service, null);
+        containerMapper.setMapper(new ContextMapper());
+        containerMapper.setDefaultHost(HOST);
+        containerMapper.configureMapper();
+
+        handlers = new HttpHandler[APPLICATIONS];
+        for (int i = 0; i < APPLICATIONS; i++) {
+            handlers[i] = new TestHttpHandler();
+            containerMapper.register("/app" + i, List.of(HOST), handlers[i], null);
+        }
+    }
+
+
+    @Benchmark
+    public HttpHandler map(MappingState mapping) throws Exception {
+        return mapping.map(containerMapper);
+    }
+
+
+    @Benchmark
+    public HttpHandler mapWithReadLock(MappingState mapping) throws Exception {
+        return mapWithReadLock(mapping);
+    }
+
+
+    @Benchmark
+    @Group("redeploy")
+    @GroupThreads(7)
+    public HttpHandler mapWhileRedeploying(MappingState mapping) throws Exception {
+        return mapping.map(containerMapper);
+    }
+
+
+    @Benchmark
+    @Group("redeploy")
+    @GroupThreads(1)
+    public void redeployApplication() {
+        redeploy();
+    }
+
+
+    @Benchmark
+    @Group("redeployWithReadLock")
+    @GroupThreads(7)
+    public HttpHandler mapWithReadLockWhileRedeploying(MappingState mapping) throws Exception {
+        return mapWithReadLock(mapping);
+    }
+
+
+    @Benchmark
+    @Group("redeployWithReadLock")
+    @GroupThreads(1)
+    public void redeployApplicationWithWriteLock() {
+        // the web container holds the write lock while it changes the mapper
+        mapperLock.writeLock().lock();
+        try {
+            redeploy();
+        } finally {
+            mapperLock.writeLock().unlock();
+        }
+    }
+
+
+    private HttpHandler mapWithReadLock(MappingState mapping) throws Exception {
+        mapperLock.readLock().lock();
+        try {
+            return mapping.map(containerMapper);
+        } finally {
+            mapperLock.readLock().unlock();
+        }
+    }
+
+
+    private void redeploy() {
+        int application = ThreadLocalRandom.current().nextInt(APPLICATIONS);
+        containerMapper.unregister("/app" + application);
+        containerMapper.register("/app" + application, List.of(HOST), handlers[application], null);
+    }
+
+
+    /**
+     * Mapping buffers of a request processing thread.
+     */
+    @State(Scope.Thread)
+    public static class MappingState {
+
+        final DataChunk host = DataChunk.newInstance();
+        final DataChunk uri = DataChunk.newInstance();
+        final MappingData mappingData = new MappingData();
+
+        HttpHandler map(ContainerMapper containerMapper) throws Exception {
+            host.setString(HOST);
+            uri.setString("/app" + ThreadLocalRandom.current().nextInt(APPLICATIONS) + "/index.jsp");
+            mappingData.recycle();
+            return containerMapper.map(host, uri, mappingData);
+        }
+    }
+
+
+    private static class TestHttpHandler extends HttpHandler {
+
+        @Override
+        public void service(Request request, Response response) {
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.v3.services.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.glassfish.grizzly.config.ContextRootInfo;
+import org.glassfish.grizzly.http.server.HttpHandler;
+import org.glassfish.grizzly.http.server.Request;
+import org.glassfish.grizzly.http.server.Response;
+import org.glassfish.grizzly.http.server.util.Mapper;
+import org.glassfish.grizzly.http.server.util.MappingData;
+import org.glassfish.grizzly.http.util.DataChunk;
+import org.glassfish.internal.grizzly.ContextMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ContainerMapperTest {
+
+    private static final String HOST = "server";
+    private static final int APPLICATIONS = 8;
+
+    private ContextMapper contextMapper;
+    private ContainerMapper containerMapper;
+    private HttpHandler[] handlers;
+
+
+    @BeforeEach
+    public void createMapper() {
+        GrizzlyService service = createMock(GrizzlyService.class);
+        expect(service.obtainMapperLock()).andReturn(new ReentrantReadWriteLock()).anyTimes();
+        replay(service);
+        service.hosts = new ArrayList<>(List.of(HOST));
+
+        containerMapper = new ContainerMapper(service, null);
+        contextMapper = new ContextMapper();
+        containerMapper.setMapper(contextMapper);
+        containerMapper.setDefaultHost(HOST);
+        containerMapper.configureMapper();
+
+        handlers = new HttpHandler[APPLICATIONS];
+        for (int i = 0; i < APPLICATIONS; i++) {
+            handlers[i] = new TestHttpHandler();
+            containerMapper.register("/app" + i, List.of(HOST), handlers[i], null);
+        }
+    }
+
+
+    @Test
+    public void registerAndUnregister() throws Exception {
+        Mapping mapping = new Mapping();
+        assertSame(handlers[3], mapping.map("/app3/index.jsp"));
+
+        containerMapper.unregister("/app3");
+        assertSame(containerMapper, mapping.map("/app3/index.jsp"));
+
+        containerMapper.register("/app3", List.of(HOST), handlers[3], null);
+        assertSame(handlers[3], mapping.map("/app3/index.jsp"));
+    }
+
+
+    @Test
+    public void contextsAddedToTheContextMapperAreMapped() throws Exception {
+        // the web container changes the context mapper directly, not through the container mapper
+        HttpHandler handler = new TestHttpHandler();
+        contextMapper.addContext(HOST, "/web", new ContextRootInfo(handler, null), new String[0], null);
+        Mapping mapping = new Mapping();
+        assertSame(handler, mapping.map("/web/index.jsp"));
+
+        contextMapper.removeContext(HOST, "/web");
+        assertSame(containerMapper, mapping.map("/web/index.jsp"));
+    }
+
+
+    @Test
+    public void publishedSnapshotIsNotChanged() throws Exception {
+        Mapper snapshot = contextMapper.getSnapshot();
+        containerMapper.unregister("/app2");
+        assertNotSame(snapshot, contextMapper.getSnapshot());
+
+        DataChunk host = DataChunk.newInstance();
+        host.setString(HOST);
+        DataChunk uri = DataChunk.newInstance();
+        uri.setString("/app2/index.jsp");
+        MappingData mappingData = new MappingData();
+        snapshot.map(host, uri, mappingData);
+        assertSame(handlers[2], ((ContextRootInfo) mappingData.context).getHttpHandler());
+    }
+
+
+    @Test
+    public void mapWhileRedeploying() throws Exception {
+        AtomicBoolean redeploying = new AtomicBoolean(true);
+        Thread redeployer = new Thread(() -> {
+            while (redeploying.get()) {
+                containerMapper.unregister("/app0");
+                containerMapper.register("/app0", List.of(HOST), handlers[0], null);
+            }
+        });
+        redeployer.start();
+        try {
+            Mapping mapping = new Mapping();
+            for (int i = 0; i < 10_000; i++) {
+                // the other applications are never affected by the redeployment
+                assertSame(handlers[1], mapping.map("/app1/index.jsp"));
+                HttpHandler redeployed = mapping.map("/app0/index.jsp");
+                assertTrue(redeployed == handlers[0] || redeployed == containerMapper, () -> "Mapped to " + redeployed);
+            }
+        } finally {
+            redeploying.set(false);
+            redeployer.join(10_000L);
+        }
+    }
+
+
+    /**
+     * Mapping buffers of a request processing thread.
+     */
+    private class Mapping {
+
+        final DataChunk host = DataChunk.newInstance();
+        final DataChunk uri = DataChunk.newInstance();
+        final MappingData mappingData = new MappingData();
+
+        HttpHandler map(String path) throws Exception {
+            host.setString(HOST);
+            uri.setString(path);
+            mappingData.recycle();
+            return containerMapper.map(host, uri, mappingData);
+        }
+    }
+
+
+    private static class TestHttpHandler extends HttpHandler {
+
+        @Override
+        public void service(Request request, Response response) {
+        }
+    }
+}
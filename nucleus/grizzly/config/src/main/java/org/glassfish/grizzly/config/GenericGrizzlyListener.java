@@ -564,6 +564,19 @@ public class GenericGrizzlyListener implements GrizzlyListener {
             final NetworkListener networkListener,
             final ThreadPool threadPool) {
 
+        if (Boolean.parseBoolean(threadPool.getVirtualThreads())) {
+            if (VirtualThreadExecutorService.isSupported()) {
+                workerExecutorService = createVirtualThreadPool(networkListener, threadPool);
+                transport.setWorkerThreadPool(workerExecutorService);
+                return;
+            }
+
+            LOGGER.log(Level.WARNING,
+                    "The thread pool {0} is configured to use virtual threads,"
+                    + " which are not supported by this JVM. Platform threads will be used instead.",
+                    threadPool.getName());
+        }
+
         final String classname = threadPool.getClassname();
         if (classname != null &&
                 !ThreadPool.DEFAULT_THREAD_POOL_CLASS_NAME.equals(classname)) {
@@ -609,6 +622,12 @@ public class GenericGrizzlyListener implements GrizzlyListener {
         }
     }
 
+    protected VirtualThreadExecutorService createVirtualThreadPool(final NetworkListener networkListener,
+                                                                  final ThreadPool threadPool) {
+        // same initial classloader as the platform thread pool, see configureThreadPoolConfig
+        return new VirtualThreadExecutorService(networkListener.getName(), getClass().getClassLoader());
+    }
+
     protected ThreadPoolConfig configureThreadPoolConfig(final NetworkListener networkListener,
                                                          final ThreadPool threadPool) {
 
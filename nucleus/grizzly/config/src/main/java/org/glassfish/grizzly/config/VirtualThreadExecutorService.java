@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.config;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.enterprise.util.VirtualThreads;
+
+import org.glassfish.grizzly.Grizzly;
+
+/**
+ * Runs every task in a new virtual thread, for the network listeners whose thread-pool has
+ * {@code virtual-threads} enabled.
+ * <p>
+ * Virtual threads are created through reflection, so this class can be compiled for
+ * Java versions without them; {@link #isSupported()} tells whether the running JVM has them.
+ */
+public class VirtualThreadExecutorService extends AbstractExecutorService {
+
+    private static final Logger LOGGER = Grizzly.logger(VirtualThreadExecutorService.class);
+
+    /**
+     * Receives the start and the completion of the tasks, on the thread running the task.
+     */
+    public interface Monitor {
+
+        void onTaskStart(VirtualThreadExecutorService executor, Thread thread);
+
+        void onTaskComplete(VirtualThreadExecutorService executor, Thread thread);
+    }
+
+    private final String name;
+    private final ClassLoader initialClassLoader;
+    private final ThreadFactory threadFactory;
+    private final List<Monitor> monitors = new CopyOnWriteArrayList<>();
+
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final LongAdder completedTaskCount = new LongAdder();
+
+    private final ReentrantLock terminationLock = new ReentrantLock();
+    private final Condition terminated = terminationLock.newCondition();
+    private volatile boolean shutdown;
+
+    /**
+     * @param name the prefix of the thread names
+     * @param initialClassLoader the context class loader of the threads
+     * @throws UnsupportedOperationException if the JVM does not support virtual threads
+     */
+    public VirtualThreadExecutorService(String name, ClassLoader initialClassLoader) {
+        this.threadFactory = VirtualThreads.newThreadFactory(name + "-virtual-", 0L);
+        this.name = name;
+        this.initialClassLoader = initialClassLoader;
+    }
+
+    /**
+     * @return true if the running JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        return VirtualThreads.isSupported();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void addMonitor(Monitor monitor) {
+        monitors.add(monitor);
+    }
+
+    /**
+     * @return the number of started tasks which did not complete yet
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    public long getCompletedTaskCount() {
+        return completedTaskCount.sum();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        activeCount.incrementAndGet();
+        if (shutdown) {
+            taskDone();
+            throw new RejectedExecutionException("The thread pool " + name + " is shut down");
+        }
+        final Thread thread;
+        try {
+            thread = threadFactory.newThread(() -> run(command));
+            thread.setContextClassLoader(initialClassLoader);
+            threads.add(thread);
+            thread.start();
+        } catch (RuntimeException | Error e) {
+            taskDone();
+            throw e;
+        }
+    }
+
+    private void run(Runnable command) {
+        final Thread thread = Thread.currentThread();
+        try {
+            for (Monitor monitor : monitors) {
+                monitor.onTaskStart(this, thread);
+            }
+            command.run();
+        } catch (Throwable t) {
+            LOGGER.log(Level.WARNING, "Uncaught exception in the thread pool " + name, t);
+        } finally {
+            completedTaskCount.increment();
+            for (Monitor monitor : monitors) {
+                monitor.onTaskComplete(this, thread);
+            }
+            threads.remove(thread);
+            taskDone();
+        }
+    }
+
+    private void taskDone() {
+        if (activeCount.decrementAndGet() == 0 && shutdown) {
+            signalTermination();
+        }
+    }
+
+    private void signalTermination() {
+        terminationLock.lock();
+        try {
+            terminated.signalAll();
+        } finally {
+            terminationLock.unlock();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        if (activeCount.get() == 0) {
+            signalTermination();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && activeCount.get() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        terminationLock.lock();
+        try {
+            while (!isTerminated()) {
+                if (nanos <= 0L) {
+                    return false;
+                }
+                nanos = terminated.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            terminationLock.unlock();
+        }
+    }
+}
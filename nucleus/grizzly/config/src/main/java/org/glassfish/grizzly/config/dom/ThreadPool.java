@@ -86,6 +86,16 @@ public interface ThreadPool extends ConfigBeanProxy, PropertyBag {
 
     void setMinThreadPoolSize(String value);
 
+    /**
+     * Runs every task in a new virtual thread, when the JVM supports them, instead of
+     * a pool of platform threads. The pool sizes, the queue size and the classname are
+     * then ignored.
+     */
+    @Attribute(defaultValue = "false", dataType = Boolean.class)
+    String getVirtualThreads();
+
+    void setVirtualThreads(String value);
+
     /**
      * This is an id for the work-queue e.g. "thread-pool-1", "thread-pool-2" etc
      */
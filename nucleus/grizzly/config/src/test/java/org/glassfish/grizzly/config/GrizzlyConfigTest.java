@@ -328,6 +328,26 @@ public class GrizzlyConfigTest {
         }
     }
 
+    @Test
+    public void virtualThreads() throws IOException, InstantiationException {
+        GrizzlyConfig grizzlyConfig = null;
+        try {
+            grizzlyConfig = new GrizzlyConfig("grizzly-config-virtual-threads.xml");
+            grizzlyConfig.setupNetwork();
+            GenericGrizzlyListener listener = (GenericGrizzlyListener) getListener(grizzlyConfig, "http-listener-1");
+            helper.addStaticHttpHandler(listener, 0);
+
+            final String content = helper.getContent(new URL("http://localhost:38082").openConnection());
+            assertEquals("<html><body>You've found the server on port 38082</body></html>", content);
+            assertEquals(VirtualThreadExecutorService.isSupported(),
+                listener.getTransport().getWorkerThreadPool() instanceof VirtualThreadExecutorService);
+        } finally {
+            if (grizzlyConfig != null) {
+                grizzlyConfig.shutdown();
+            }
+        }
+    }
+
     @Test
     public void schemeOverride() throws IOException, InstantiationException {
         GrizzlyConfig grizzlyConfig = null;